@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.io.Serializable;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.OrderUtils;
 import org.springframework.lang.Nullable;
@@ -105,15 +106,19 @@ public class BeanFactoryAspectInstanceFactory implements MetadataAwareAspectInst
 
 	@Override
 	@Nullable
+	@SuppressWarnings("deprecation")
 	public Object getAspectCreationMutex() {
 		if (this.beanFactory.isSingleton(this.name)) {
 			// Rely on singleton semantics provided by the factory -> no local lock.
 			return null;
 		}
-		else if (this.beanFactory instanceof ConfigurableBeanFactory) {
+		else if (this.beanFactory instanceof DefaultSingletonBeanRegistry registry) {
 			// No singleton guarantees from the factory -> let's lock locally but
 			// reuse the factory's singleton lock, just in case a lazy dependency
 			// of our advice bean happens to trigger the singleton lock implicitly...
+			return registry.getSingletonLock();
+		}
+		else if (this.beanFactory instanceof ConfigurableBeanFactory) {
 			return ((ConfigurableBeanFactory) this.beanFactory).getSingletonMutex();
 		}
 		else {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.aop.aspectj.annotation;
 
 import java.io.Serializable;
+import java.util.concurrent.locks.Lock;
 
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -56,19 +57,33 @@ public class LazySingletonAspectInstanceFactoryDecorator implements MetadataAwar
 				aspectInstance = this.maaif.getAspectInstance();
 				this.materialized = aspectInstance;
 			}
+			else if (mutex instanceof Lock lock) {
+				lock.lock();
+				try {
+					aspectInstance = materialize();
+				}
+				finally {
+					lock.unlock();
+				}
+			}
 			else {
 				synchronized (mutex) {
-					aspectInstance = this.materialized;
-					if (aspectInstance == null) {
-						aspectInstance = this.maaif.getAspectInstance();
-						this.materialized = aspectInstance;
-					}
+					aspectInstance = materialize();
 				}
 			}
 		}
 		return aspectInstance;
 	}
 
+	private Object materialize() {
+		Object aspectInstance = this.materialized;
+		if (aspectInstance == null) {
+			aspectInstance = this.maaif.getAspectInstance();
+			this.materialized = aspectInstance;
+		}
+		return aspectInstance;
+	}
+
 	public boolean isMaterialized() {
 		return (this.materialized != null);
 	}
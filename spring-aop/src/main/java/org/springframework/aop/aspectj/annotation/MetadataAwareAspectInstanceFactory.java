@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,6 +42,9 @@ public interface MetadataAwareAspectInstanceFactory extends AspectInstanceFactor
 
 	/**
 	 * Return the best possible creation mutex for this factory.
+	 * <p>As of 6.0, the returned mutex may also be a
+	 * {@link java.util.concurrent.locks.Lock} which is to be locked
+	 * rather than synchronized on.
 	 * @return the mutex object (may be {@code null} for no mutex to use)
 	 * @since 4.3
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,14 @@ package org.springframework.aop.support;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.aopalliance.aop.Advice;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
-import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -52,7 +54,7 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 	@Nullable
 	private transient volatile Advice advice;
 
-	private transient volatile Object adviceMonitor = new Object();
+	private transient volatile Lock adviceLock = new ReentrantLock();
 
 
 	/**
@@ -78,15 +80,15 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
-		resetAdviceMonitor();
+		resetAdviceLock();
 	}
 
-	private void resetAdviceMonitor() {
-		if (this.beanFactory instanceof ConfigurableBeanFactory) {
-			this.adviceMonitor = ((ConfigurableBeanFactory) this.beanFactory).getSingletonMutex();
+	private void resetAdviceLock() {
+		if (this.beanFactory instanceof DefaultSingletonBeanRegistry registry) {
+			this.adviceLock = registry.getSingletonLock();
 		}
 		else {
-			this.adviceMonitor = new Object();
+			this.adviceLock = new ReentrantLock();
 		}
 	}
 
@@ -96,9 +98,14 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 	 * @since 3.1
 	 */
 	public void setAdvice(Advice advice) {
-		synchronized (this.adviceMonitor) {
+		Lock lock = this.adviceLock;
+		lock.lock();
+		try {
 			this.advice = advice;
 		}
+		finally {
+			lock.unlock();
+		}
 	}
 
 	@Override
@@ -121,7 +128,9 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 			// No singleton guarantees from the factory -> let's lock locally but
 			// reuse the factory's singleton lock, just in case a lazy dependency
 			// of our advice bean happens to trigger the singleton lock implicitly...
-			synchronized (this.adviceMonitor) {
+			Lock lock = this.adviceLock;
+			lock.lock();
+			try {
 				advice = this.advice;
 				if (advice == null) {
 					advice = this.beanFactory.getBean(this.adviceBeanName, Advice.class);
@@ -129,6 +138,9 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 				}
 				return advice;
 			}
+			finally {
+				lock.unlock();
+			}
 		}
 	}
 
@@ -155,7 +167,7 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 		ois.defaultReadObject();
 
 		// Initialize transient fields.
-		resetAdviceMonitor();
+		resetAdviceLock();
 	}
 
 }
@@ -968,7 +968,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Nullable
 	private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
-		synchronized (getSingletonMutex()) {
+		getSingletonLock().lock();
+		try {
 			BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
 			if (bw != null) {
 				return (FactoryBean<?>) bw.getWrappedInstance();
@@ -977,6 +978,10 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			if (beanInstance instanceof FactoryBean) {
 				return (FactoryBean<?>) beanInstance;
 			}
+			if (isParallelSingletonCreation()) {
+				// No partial creation while the FactoryBean might get created by another thread
+				return null;
+			}
 			if (isSingletonCurrentlyInCreation(beanName) ||
 					(mbd.getFactoryBeanName() != null && isSingletonCurrentlyInCreation(mbd.getFactoryBeanName()))) {
 				return null;
@@ -1021,6 +1026,9 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			}
 			return fb;
 		}
+		finally {
+			getSingletonLock().unlock();
+		}
 	}
 
 	/**
@@ -1873,10 +1881,14 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Override
 	protected void removeSingleton(String beanName) {
-		synchronized (getSingletonMutex()) {
+		getSingletonLock().lock();
+		try {
 			super.removeSingleton(beanName);
 			this.factoryBeanInstanceCache.remove(beanName);
 		}
+		finally {
+			getSingletonLock().unlock();
+		}
 	}
 
 	/**
@@ -1884,10 +1896,14 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Override
 	protected void clearSingletonCache() {
-		synchronized (getSingletonMutex()) {
+		getSingletonLock().lock();
+		try {
 			super.clearSingletonCache();
 			this.factoryBeanInstanceCache.clear();
 		}
+		finally {
+			getSingletonLock().unlock();
+		}
 	}
 
 	/**
@@ -38,6 +38,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -148,6 +149,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether to allow eager class loading even for lazy-init beans. */
 	private boolean allowEagerClassLoading = true;
 
+	/** Optional Executor for pre-instantiating singletons in parallel. */
+	@Nullable
+	private Executor bootstrapExecutor;
+
 	/** Optional OrderComparator for dependency Lists and arrays. */
 	@Nullable
 	private Comparator<Object> dependencyComparator;
@@ -267,6 +272,37 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.allowEagerClassLoading;
 	}
 
+	/**
+	 * Set an {@link Executor} for pre-instantiating non-lazy singletons in parallel.
+	 * <p>By default, {@link #preInstantiateSingletons()} creates all non-lazy
+	 * singletons one after the other in the calling thread. With an Executor,
+	 * a dependency graph is derived from the bean definitions (explicit
+	 * "depends-on" declarations, bean references in constructor arguments and
+	 * properties, and factory bean names), and independent singletons get
+	 * instantiated in parallel. Dependencies which are not declared in the bean
+	 * definitions, e.g. autowired fields, are resolved on demand: a singleton
+	 * currently created by another thread is awaited.
+	 * <p>This is primarily useful for singletons with slow I/O-bound
+	 * initialization. The given Executor should be bounded, e.g. a
+	 * {@code ThreadPoolTaskExecutor} with a fixed pool size, and should
+	 * not reject tasks. Note that the instantiation order of independent
+	 * singletons is not defined in parallel mode.
+	 * @since 6.0
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setBootstrapExecutor(@Nullable Executor bootstrapExecutor) {
+		this.bootstrapExecutor = bootstrapExecutor;
+	}
+
+	/**
+	 * Return the {@link Executor} for pre-instantiating singletons in parallel, if any.
+	 * @since 6.0
+	 */
+	@Nullable
+	public Executor getBootstrapExecutor() {
+		return this.bootstrapExecutor;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -313,6 +349,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (otherFactory instanceof DefaultListableBeanFactory otherListableFactory) {
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
+			this.bootstrapExecutor = otherListableFactory.bootstrapExecutor;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware
 			setAutowireCandidateResolver(otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
@@ -917,17 +954,14 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
 		// Trigger initialization of all non-lazy singleton beans...
-		for (String beanName : beanNames) {
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
-						getBean(beanName);
-					}
-				}
-				else {
-					getBean(beanName);
+		if (this.bootstrapExecutor != null) {
+			new ParallelSingletonInstantiation(this, this.bootstrapExecutor).instantiate(beanNames);
+		}
+		else {
+			for (String beanName : beanNames) {
+				RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+				if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+					preInstantiateSingleton(beanName);
 				}
 			}
 		}
@@ -944,6 +978,23 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Instantiate the given non-lazy singleton, or the given FactoryBean
+	 * and potentially its object.
+	 * @param beanName the name of the bean
+	 */
+	void preInstantiateSingleton(String beanName) {
+		if (isFactoryBean(beanName)) {
+			Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+			if (bean instanceof SmartFactoryBean<?> smartFactoryBean && smartFactoryBean.isEagerInit()) {
+				getBean(beanName);
+			}
+		}
+		else {
+			getBean(beanName);
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
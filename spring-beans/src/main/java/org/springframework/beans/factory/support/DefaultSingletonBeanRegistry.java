@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,20 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -32,6 +37,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -78,7 +84,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
 	/** Cache of singleton factories: bean name to ObjectFactory. */
-	private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+	private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
 	/** Cache of early singleton objects: bean name to bean instance. */
 	private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
@@ -113,12 +119,39 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Map between depending bean names: bean name to Set of bean names for the bean's dependencies. */
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
+	/** Common lock for singleton creation and for the singleton caches above. */
+	private final ReentrantLock singletonLock = new ReentrantLock();
+
+	/** Whether singletons may currently be created by several threads in parallel. */
+	private volatile boolean parallelSingletonCreation = false;
+
+	/** Threads creating singletons in parallel: creation key (usually the bean name) to creating thread. */
+	private final Map<String, Thread> singletonCreationThreads = new ConcurrentHashMap<>(16);
+
+	/** Threads waiting for a singleton created by another thread: thread to creation key. */
+	private final Map<Thread, String> singletonWaitingThreads = new ConcurrentHashMap<>(16);
+
+	/** Names of beans currently in creation within the current thread, during parallel creation. */
+	private final ThreadLocal<Set<String>> singletonsCurrentlyInCreationByThread =
+			new NamedThreadLocal<>("Singletons currently in creation");
+
+	/** Names of beans currently excluded from in creation checks within the current thread, during parallel creation. */
+	private final ThreadLocal<Set<String>> inCreationCheckExclusionsByThread =
+			new NamedThreadLocal<>("Singletons currently excluded from in creation checks");
+
+	/** Lock for waiting on singletons created by other threads. */
+	private final Lock singletonWaitLock = new ReentrantLock();
+
+	/** Signalled whenever the parallel creation of a singleton has finished. */
+	private final Condition singletonCreationFinished = this.singletonWaitLock.newCondition();
+
 
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "Bean name must not be null");
 		Assert.notNull(singletonObject, "Singleton object must not be null");
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			Object oldObject = this.singletonObjects.get(beanName);
 			if (oldObject != null) {
 				throw new IllegalStateException("Could not register object [" + singletonObject +
@@ -126,6 +159,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			}
 			addSingleton(beanName, singletonObject);
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 	}
 
 	/**
@@ -135,12 +171,16 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @param singletonObject the singleton object
 	 */
 	protected void addSingleton(String beanName, Object singletonObject) {
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			this.singletonObjects.put(beanName, singletonObject);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
 			this.registeredSingletons.add(beanName);
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 	}
 
 	/**
@@ -153,13 +193,17 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(singletonFactory, "Singleton factory must not be null");
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			if (!this.singletonObjects.containsKey(beanName)) {
 				this.singletonFactories.put(beanName, singletonFactory);
 				this.earlySingletonObjects.remove(beanName);
 				this.registeredSingletons.add(beanName);
 			}
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 	}
 
 	@Override
@@ -183,22 +227,65 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
 			singletonObject = this.earlySingletonObjects.get(beanName);
 			if (singletonObject == null && allowEarlyReference) {
-				synchronized (this.singletonObjects) {
-					// Consistent creation of early reference within full singleton lock
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						singletonObject = this.earlySingletonObjects.get(beanName);
-						if (singletonObject == null) {
-							ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-							if (singletonFactory != null) {
-								singletonObject = singletonFactory.getObject();
-								this.earlySingletonObjects.put(beanName, singletonObject);
-								this.singletonFactories.remove(beanName);
-							}
-						}
+				singletonObject = obtainEarlySingleton(beanName);
+			}
+		}
+		return singletonObject;
+	}
+
+	@Nullable
+	private Object obtainEarlySingleton(String beanName) {
+		if (this.parallelSingletonCreation) {
+			return obtainEarlySingletonInParallel(beanName);
+		}
+		this.singletonLock.lock();
+		try {
+			// Consistent creation of early reference within full singleton lock
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				singletonObject = this.earlySingletonObjects.get(beanName);
+				if (singletonObject == null) {
+					ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+					if (singletonFactory != null) {
+						singletonObject = singletonFactory.getObject();
+						this.earlySingletonObjects.put(beanName, singletonObject);
+						this.singletonFactories.remove(beanName);
 					}
 				}
 			}
+			return singletonObject;
+		}
+		finally {
+			this.singletonLock.unlock();
+		}
+	}
+
+	/**
+	 * Variant of {@link #obtainEarlySingleton} for parallel singleton creation,
+	 * not holding the singleton lock since the early reference may depend on
+	 * singletons created by other threads (e.g. advisors for an auto-proxy creator).
+	 * Only ever called within the thread creating the singleton or within a thread
+	 * that the creating thread is (indirectly) waiting for; removing the singleton
+	 * factory claims the early reference for the current thread.
+	 */
+	@Nullable
+	private Object obtainEarlySingletonInParallel(String beanName) {
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			singletonObject = this.earlySingletonObjects.get(beanName);
+			if (singletonObject == null) {
+				ObjectFactory<?> singletonFactory = this.singletonFactories.remove(beanName);
+				if (singletonFactory != null) {
+					try {
+						singletonObject = singletonFactory.getObject();
+					}
+					catch (RuntimeException | Error ex) {
+						this.singletonFactories.putIfAbsent(beanName, singletonFactory);
+						throw ex;
+					}
+					this.earlySingletonObjects.put(beanName, singletonObject);
+				}
+			}
 		}
 		return singletonObject;
 	}
@@ -213,57 +300,264 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		synchronized (this.singletonObjects) {
+		if (this.parallelSingletonCreation) {
+			return getSingletonInParallel(beanName, singletonFactory);
+		}
+		this.singletonLock.lock();
+		try {
 			Object singletonObject = this.singletonObjects.get(beanName);
 			if (singletonObject == null) {
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+				singletonObject = createSingleton(beanName, singletonFactory, true);
+			}
+			return singletonObject;
+		}
+		finally {
+			this.singletonLock.unlock();
+		}
+	}
+
+	/**
+	 * Variant of {@link #getSingleton(String, ObjectFactory)} for parallel singleton
+	 * creation: instead of holding the singleton lock, the creating thread is
+	 * registered per bean, with other threads waiting for that specific bean.
+	 * A circular reference across creating threads is resolved through an early
+	 * singleton reference, just like within a single thread.
+	 */
+	private Object getSingletonInParallel(String beanName, ObjectFactory<?> singletonFactory) {
+		return createInParallel(beanName, () -> this.singletonObjects.get(beanName),
+				() -> obtainEarlySingleton(beanName), () -> createSingleton(beanName, singletonFactory, false));
+	}
+
+	/**
+	 * Perform the given creation step exclusively for the given key during
+	 * parallel singleton creation: the creating thread is registered per key,
+	 * with other threads waiting for that specific creation step to finish.
+	 * Waiting threads participate in the detection of circular references
+	 * across threads, which get resolved through an early reference if possible.
+	 * @param creationKey the bean name, or a distinct key for a related creation
+	 * step which must not clash with any bean name
+	 * @param existing the lookup of an already created object for the given key
+	 * @param earlyReference the lookup of an early reference for the given key,
+	 * or {@code null} if not supported
+	 * @param creation the creation step to perform
+	 * @return the existing or newly created object
+	 * @since 6.0
+	 * @see #isParallelSingletonCreation()
+	 */
+	<T> T createInParallel(String creationKey, Supplier<T> existing,
+			@Nullable Supplier<T> earlyReference, Supplier<T> creation) {
+
+		Thread currentThread = Thread.currentThread();
+		while (true) {
+			T object = existing.get();
+			if (object != null) {
+				return object;
+			}
+			Thread creationThread = this.singletonCreationThreads.putIfAbsent(creationKey, currentThread);
+			if (creationThread == null) {
+				try {
+					object = existing.get();
+					return (object != null ? object : creation.get());
 				}
-				beforeSingletonCreation(beanName);
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
+				finally {
+					this.singletonCreationThreads.remove(creationKey);
+					signalSingletonCreationFinished();
 				}
-				try {
-					singletonObject = singletonFactory.getObject();
-					newSingleton = true;
+			}
+			if (creationThread == currentThread) {
+				// Nested request within the creating thread -> regular in-creation check
+				return creation.get();
+			}
+			if (awaitCreation(creationKey, creationThread, existing, earlyReference != null)) {
+				object = earlyReference.get();
+				if (object != null) {
+					return object;
 				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
-					singletonObject = this.singletonObjects.get(beanName);
-					if (singletonObject == null) {
-						throw ex;
-					}
+			}
+			// Finished or failed in the other thread -> check again, potentially creating it here.
+		}
+	}
+
+	private Object createSingleton(String beanName, ObjectFactory<?> singletonFactory, boolean withinLock) {
+		if (this.singletonsCurrentlyInDestruction) {
+			throw new BeanCreationNotAllowedException(beanName,
+					"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+					"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+		}
+		beforeSingletonCreation(beanName);
+		Object singletonObject;
+		boolean newSingleton = false;
+		boolean recordSuppressedExceptions = (withinLock && this.suppressedExceptions == null);
+		if (recordSuppressedExceptions) {
+			this.suppressedExceptions = new LinkedHashSet<>();
+		}
+		try {
+			singletonObject = singletonFactory.getObject();
+			newSingleton = true;
+		}
+		catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime ->
+			// if yes, proceed with it since the exception indicates that state.
+			singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				throw ex;
+			}
+		}
+		catch (BeanCreationException ex) {
+			if (recordSuppressedExceptions) {
+				for (Exception suppressedException : this.suppressedExceptions) {
+					ex.addRelatedCause(suppressedException);
 				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
+			}
+			throw ex;
+		}
+		finally {
+			if (recordSuppressedExceptions) {
+				this.suppressedExceptions = null;
+			}
+			afterSingletonCreation(beanName);
+		}
+		if (newSingleton) {
+			addSingleton(beanName, singletonObject);
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Wait for the creation step for the given key to be finished by the given thread.
+	 * @return {@code true} if the current thread is supposed to proceed with an
+	 * early reference, resolving a circular reference across threads, or
+	 * {@code false} once the creation step has finished in the other thread
+	 */
+	private boolean awaitCreation(String creationKey, Thread creationThread,
+			Supplier<?> existing, boolean earlyReferenceSupported) {
+
+		if (this.singletonLock.isHeldByCurrentThread()) {
+			// Waiting within the singleton lock would block the creating thread
+			throw new BeanCurrentlyInCreationException(creationKey);
+		}
+		Thread currentThread = Thread.currentThread();
+		this.singletonWaitLock.lock();
+		try {
+			this.singletonWaitingThreads.put(currentThread, creationKey);
+			// Let other waiting threads check for a circular reference
+			this.singletonCreationFinished.signalAll();
+			while (this.singletonCreationThreads.get(creationKey) == creationThread && existing.get() == null) {
+				List<String> awaitedKeys = getCircularlyAwaitedKeys(creationKey);
+				if (awaitedKeys != null) {
+					// Decided within the wait lock: only one thread in the cycle proceeds,
+					// with all other threads in the cycle waiting for it
+					if (earlyReferenceSupported && hasEarlySingleton(creationKey)) {
+						return true;
 					}
-					throw ex;
-				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+					if (awaitedKeys.stream().noneMatch(this::hasEarlySingleton)) {
+						throw new BeanCurrentlyInCreationException(creationKey);
 					}
-					afterSingletonCreation(beanName);
-				}
-				if (newSingleton) {
-					addSingleton(beanName, singletonObject);
+					// Another thread in the cycle is able to proceed with an early reference
 				}
+				this.singletonCreationFinished.await();
 			}
-			return singletonObject;
+			return false;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeanCreationException(creationKey, "Interrupted while waiting for singleton creation", ex);
+		}
+		finally {
+			this.singletonWaitingThreads.remove(currentThread);
+			this.singletonWaitLock.unlock();
+		}
+	}
+
+	/**
+	 * Determine whether the given key is awaited in a cycle of waiting threads
+	 * which leads back to the current thread.
+	 * @return the awaited keys in the cycle, or {@code null} if there is no cycle
+	 */
+	@Nullable
+	private List<String> getCircularlyAwaitedKeys(String creationKey) {
+		Thread currentThread = Thread.currentThread();
+		List<String> awaitedKeys = new ArrayList<>();
+		String awaitedKey = creationKey;
+		while (awaitedKey != null && awaitedKeys.size() <= this.singletonWaitingThreads.size()) {
+			awaitedKeys.add(awaitedKey);
+			Thread creationThread = this.singletonCreationThreads.get(awaitedKey);
+			if (creationThread == null) {
+				return null;
+			}
+			if (creationThread == currentThread) {
+				return awaitedKeys;
+			}
+			awaitedKey = this.singletonWaitingThreads.get(creationThread);
+		}
+		return null;
+	}
+
+	/**
+	 * Determine whether the given thread is (indirectly) waiting for a
+	 * creation step performed by the current thread.
+	 */
+	private boolean isAwaitingCurrentThread(Thread thread) {
+		Thread currentThread = Thread.currentThread();
+		Thread waitingThread = thread;
+		for (int i = 0; i <= this.singletonWaitingThreads.size(); i++) {
+			String awaitedKey = this.singletonWaitingThreads.get(waitingThread);
+			if (awaitedKey == null) {
+				return false;
+			}
+			Thread creationThread = this.singletonCreationThreads.get(awaitedKey);
+			if (creationThread == currentThread) {
+				return true;
+			}
+			if (creationThread == null) {
+				return false;
+			}
+			waitingThread = creationThread;
+		}
+		return false;
+	}
+
+	private boolean hasEarlySingleton(String beanName) {
+		return (this.earlySingletonObjects.containsKey(beanName) || this.singletonFactories.containsKey(beanName));
+	}
+
+	private void signalSingletonCreationFinished() {
+		this.singletonWaitLock.lock();
+		try {
+			this.singletonCreationFinished.signalAll();
+		}
+		finally {
+			this.singletonWaitLock.unlock();
 		}
 	}
 
+	/**
+	 * Specify whether singletons may currently be created by several threads in
+	 * parallel, e.g. during parallel pre-instantiation of singletons.
+	 * <p>When switched on, the creation of a singleton does not hold the common
+	 * singleton lock. Instead, a thread requesting a singleton currently created
+	 * by another thread waits for that specific singleton to be finished.
+	 * The in-creation state of singletons is tracked per creating thread then,
+	 * see {@link #isSingletonCurrentlyInCreation}.
+	 * <p>Only to be switched while no singletons are currently in creation.
+	 * @since 6.0
+	 * @see #getSingleton(String, ObjectFactory)
+	 */
+	protected void setParallelSingletonCreation(boolean parallelSingletonCreation) {
+		this.parallelSingletonCreation = parallelSingletonCreation;
+	}
+
+	/**
+	 * Return whether singletons may currently be created by several threads in parallel.
+	 * @since 6.0
+	 */
+	protected boolean isParallelSingletonCreation() {
+		return this.parallelSingletonCreation;
+	}
+
 	/**
 	 * Register an exception that happened to get suppressed during the creation of a
 	 * singleton bean instance, e.g. a temporary circular reference resolution problem.
@@ -274,26 +568,34 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see BeanCreationException#getRelatedCauses()
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			if (this.suppressedExceptions != null && this.suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
 				this.suppressedExceptions.add(ex);
 			}
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 	}
 
 	/**
 	 * Remove the bean with the given name from the singleton cache of this factory,
 	 * to be able to clean up eager registration of a singleton if creation failed.
 	 * @param beanName the name of the bean
-	 * @see #getSingletonMutex()
+	 * @see #getSingletonLock()
 	 */
 	protected void removeSingleton(String beanName) {
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			this.singletonObjects.remove(beanName);
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
 			this.registeredSingletons.remove(beanName);
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 	}
 
 	@Override
@@ -303,22 +605,38 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	@Override
 	public String[] getSingletonNames() {
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			return StringUtils.toStringArray(this.registeredSingletons);
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 	}
 
 	@Override
 	public int getSingletonCount() {
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			return this.registeredSingletons.size();
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 	}
 
 
 	public void setCurrentlyInCreation(String beanName, boolean inCreation) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		if (!inCreation) {
+		if (this.parallelSingletonCreation) {
+			if (!inCreation) {
+				addThreadBoundName(this.inCreationCheckExclusionsByThread, beanName);
+			}
+			else {
+				removeThreadBoundName(this.inCreationCheckExclusionsByThread, beanName);
+			}
+		}
+		else if (!inCreation) {
 			this.inCreationCheckExclusions.add(beanName);
 		}
 		else {
@@ -328,7 +646,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	public boolean isCurrentlyInCreation(String beanName) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		return (!this.inCreationCheckExclusions.contains(beanName) && isActuallyInCreation(beanName));
+		return (!isInCreationCheckExcluded(beanName) && isActuallyInCreation(beanName));
+	}
+
+	private boolean isInCreationCheckExcluded(String beanName) {
+		if (this.parallelSingletonCreation) {
+			Set<String> exclusions = this.inCreationCheckExclusionsByThread.get();
+			return (exclusions != null && exclusions.contains(beanName));
+		}
+		return this.inCreationCheckExclusions.contains(beanName);
 	}
 
 	protected boolean isActuallyInCreation(String beanName) {
@@ -338,9 +664,24 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/**
 	 * Return whether the specified singleton bean is currently in creation
 	 * (within the entire factory).
+	 * <p>During parallel singleton creation, this only refers to the creation
+	 * chain of the current thread: singletons in creation within the current
+	 * thread, or within a thread which is (indirectly) waiting for the current
+	 * thread. Singletons in creation within other threads are not considered
+	 * as in creation, to be awaited on request instead.
 	 * @param beanName the name of the bean
+	 * @see #isParallelSingletonCreation()
 	 */
 	public boolean isSingletonCurrentlyInCreation(String beanName) {
+		if (this.parallelSingletonCreation) {
+			Set<String> inCreation = this.singletonsCurrentlyInCreationByThread.get();
+			if (inCreation != null && inCreation.contains(beanName)) {
+				return true;
+			}
+			Thread creationThread = this.singletonCreationThreads.get(beanName);
+			return (creationThread != null && creationThread != Thread.currentThread() &&
+					isAwaitingCurrentThread(creationThread));
+		}
 		return this.singletonsCurrentlyInCreation.contains(beanName);
 	}
 
@@ -351,7 +692,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #isSingletonCurrentlyInCreation
 	 */
 	protected void beforeSingletonCreation(String beanName) {
-		if (!this.inCreationCheckExclusions.contains(beanName) && !this.singletonsCurrentlyInCreation.add(beanName)) {
+		if (!isInCreationCheckExcluded(beanName) && !(this.parallelSingletonCreation ?
+				addThreadBoundName(this.singletonsCurrentlyInCreationByThread, beanName) :
+				this.singletonsCurrentlyInCreation.add(beanName))) {
 			throw new BeanCurrentlyInCreationException(beanName);
 		}
 	}
@@ -363,11 +706,33 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see #isSingletonCurrentlyInCreation
 	 */
 	protected void afterSingletonCreation(String beanName) {
-		if (!this.inCreationCheckExclusions.contains(beanName) && !this.singletonsCurrentlyInCreation.remove(beanName)) {
+		if (!isInCreationCheckExcluded(beanName) && !(this.parallelSingletonCreation ?
+				removeThreadBoundName(this.singletonsCurrentlyInCreationByThread, beanName) :
+				this.singletonsCurrentlyInCreation.remove(beanName))) {
 			throw new IllegalStateException("Singleton '" + beanName + "' isn't currently in creation");
 		}
 	}
 
+	private static boolean addThreadBoundName(ThreadLocal<Set<String>> threadBoundNames, String beanName) {
+		Set<String> names = threadBoundNames.get();
+		if (names == null) {
+			names = new HashSet<>();
+			threadBoundNames.set(names);
+		}
+		return names.add(beanName);
+	}
+
+	private static boolean removeThreadBoundName(ThreadLocal<Set<String>> threadBoundNames, String beanName) {
+		Set<String> names = threadBoundNames.get();
+		if (names == null || !names.remove(beanName)) {
+			return false;
+		}
+		if (names.isEmpty()) {
+			threadBoundNames.remove();
+		}
+		return true;
+	}
+
 
 	/**
 	 * Add the given bean to the list of disposable beans in this registry.
@@ -508,9 +873,13 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		if (logger.isTraceEnabled()) {
 			logger.trace("Destroying singletons in " + this);
 		}
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			this.singletonsCurrentlyInDestruction = true;
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 
 		String[] disposableBeanNames;
 		synchronized (this.disposableBeans) {
@@ -532,13 +901,17 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @since 4.3.15
 	 */
 	protected void clearSingletonCache() {
-		synchronized (this.singletonObjects) {
+		this.singletonLock.lock();
+		try {
 			this.singletonObjects.clear();
 			this.singletonFactories.clear();
 			this.earlySingletonObjects.clear();
 			this.registeredSingletons.clear();
 			this.singletonsCurrentlyInDestruction = false;
 		}
+		finally {
+			this.singletonLock.unlock();
+		}
 	}
 
 	/**
@@ -622,12 +995,28 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	}
 
 	/**
-	 * Exposes the singleton mutex to subclasses and external collaborators.
-	 * <p>Subclasses should synchronize on the given Object if they perform
-	 * any sort of extended singleton creation phase. In particular, subclasses
-	 * should <i>not</i> have their own mutexes involved in singleton creation,
+	 * Exposes the singleton lock to subclasses and external collaborators.
+	 * <p>Subclasses should hold the given lock if they perform any sort of
+	 * extended singleton creation phase. In particular, subclasses should
+	 * <i>not</i> have their own locks involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>In contrast to a monitor, a {@link ReentrantLock} does not pin the
+	 * carrier thread when a virtual thread blocks during singleton creation.
+	 * @since 6.0
+	 */
+	public final Lock getSingletonLock() {
+		return this.singletonLock;
+	}
+
+	/**
+	 * Exposes the former singleton mutex to external collaborators.
+	 * <p><b>NOTE:</b> Singleton creation is not guarded by this mutex anymore.
+	 * Synchronizing on it neither waits for a singleton currently in creation
+	 * nor prevents a concurrent registration; it is only retained for
+	 * collaborators which need a registry-wide monitor for their own state.
+	 * @deprecated as of 6.0, in favor of {@link #getSingletonLock()}
 	 */
+	@Deprecated
 	@Override
 	public final Object getSingletonMutex() {
 		return this.singletonObjects;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.FactoryBeanNotInitializedException;
 import org.springframework.lang.Nullable;
@@ -84,40 +85,20 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	 */
 	protected Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
 		if (factory.isSingleton() && containsSingleton(beanName)) {
-			synchronized (getSingletonMutex()) {
-				Object object = this.factoryBeanObjectCache.get(beanName);
-				if (object == null) {
-					object = doGetObjectFromFactoryBean(factory, beanName);
-					// Only post-process and store if not put there already during getObject() call above
-					// (e.g. because of circular reference processing triggered by custom getBean calls)
-					Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
-					if (alreadyThere != null) {
-						object = alreadyThere;
-					}
-					else {
-						if (shouldPostProcess) {
-							if (isSingletonCurrentlyInCreation(beanName)) {
-								// Temporarily return non-post-processed object, not storing it yet..
-								return object;
-							}
-							beforeSingletonCreation(beanName);
-							try {
-								object = postProcessObjectFromFactoryBean(object, beanName);
-							}
-							catch (Throwable ex) {
-								throw new BeanCreationException(beanName,
-										"Post-processing of FactoryBean's singleton object failed", ex);
-							}
-							finally {
-								afterSingletonCreation(beanName);
-							}
-						}
-						if (containsSingleton(beanName)) {
-							this.factoryBeanObjectCache.put(beanName, object);
-						}
-					}
-				}
-				return object;
+			if (isParallelSingletonCreation()) {
+				// Exclusive creation per FactoryBean during parallel singleton creation,
+				// since its object may depend on singletons created by other threads:
+				// keyed with the factory prefix, not clashing with any bean name.
+				return createInParallel(BeanFactory.FACTORY_BEAN_PREFIX + beanName,
+						() -> this.factoryBeanObjectCache.get(beanName), null,
+						() -> getSingletonObjectFromFactoryBean(factory, beanName, shouldPostProcess));
+			}
+			getSingletonLock().lock();
+			try {
+				return getSingletonObjectFromFactoryBean(factory, beanName, shouldPostProcess);
+			}
+			finally {
+				getSingletonLock().unlock();
 			}
 		}
 		else {
@@ -134,6 +115,53 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		}
 	}
 
+	/**
+	 * Obtain the cached singleton object from the given FactoryBean,
+	 * creating and caching it if necessary.
+	 * <p>To be called within the singleton lock, or exclusively per
+	 * FactoryBean during parallel singleton creation.
+	 * @param factory the FactoryBean instance
+	 * @param beanName the name of the bean
+	 * @param shouldPostProcess whether the bean is subject to post-processing
+	 * @return the object obtained from the FactoryBean
+	 * @throws BeanCreationException if FactoryBean object creation failed
+	 */
+	private Object getSingletonObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
+		Object object = this.factoryBeanObjectCache.get(beanName);
+		if (object == null) {
+			object = doGetObjectFromFactoryBean(factory, beanName);
+			// Only post-process and store if not put there already during getObject() call above
+			// (e.g. because of circular reference processing triggered by custom getBean calls)
+			Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
+			if (alreadyThere != null) {
+				object = alreadyThere;
+			}
+			else {
+				if (shouldPostProcess) {
+					if (isSingletonCurrentlyInCreation(beanName)) {
+						// Temporarily return non-post-processed object, not storing it yet..
+						return object;
+					}
+					beforeSingletonCreation(beanName);
+					try {
+						object = postProcessObjectFromFactoryBean(object, beanName);
+					}
+					catch (Throwable ex) {
+						throw new BeanCreationException(beanName,
+								"Post-processing of FactoryBean's singleton object failed", ex);
+					}
+					finally {
+						afterSingletonCreation(beanName);
+					}
+				}
+				if (containsSingleton(beanName)) {
+					this.factoryBeanObjectCache.put(beanName, object);
+				}
+			}
+		}
+		return object;
+	}
+
 	/**
 	 * Obtain an object to expose from the given FactoryBean.
 	 * @param factory the FactoryBean instance
@@ -200,10 +228,14 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	 */
 	@Override
 	protected void removeSingleton(String beanName) {
-		synchronized (getSingletonMutex()) {
+		getSingletonLock().lock();
+		try {
 			super.removeSingleton(beanName);
 			this.factoryBeanObjectCache.remove(beanName);
 		}
+		finally {
+			getSingletonLock().unlock();
+		}
 	}
 
 	/**
@@ -211,10 +243,14 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 	 */
 	@Override
 	protected void clearSingletonCache() {
-		synchronized (getSingletonMutex()) {
+		getSingletonLock().lock();
+		try {
 			super.clearSingletonCache();
 			this.factoryBeanObjectCache.clear();
 		}
+		finally {
+			getSingletonLock().unlock();
+		}
 	}
 
 }
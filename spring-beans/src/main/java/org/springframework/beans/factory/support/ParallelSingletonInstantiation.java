@@ -0,0 +1,288 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Helper class for pre-instantiating the non-lazy singletons of a
+ * {@link DefaultListableBeanFactory} in parallel.
+ *
+ * <p>Derives a dependency graph from the merged bean definitions: explicit
+ * "depends-on" declarations, bean references in constructor arguments and
+ * property values, as well as factory bean names. Every singleton is scheduled
+ * on the given {@link Executor} once all of its declared dependencies have been
+ * instantiated, so independent parts of the graph get instantiated in parallel.
+ * Dependencies which are not declared in the bean definitions (e.g. autowired
+ * fields) are resolved on demand, awaiting singletons currently created by
+ * other threads.
+ *
+ * <p>Records a {@code spring.beans.instantiate.parallel} startup step, tagged
+ * with the critical path: the chain of singletons which determined the overall
+ * duration of the parallel instantiation.
+ *
+ * @author agent
+ * @since 6.0
+ * @see DefaultListableBeanFactory#setBootstrapExecutor
+ */
+final class ParallelSingletonInstantiation {
+
+	private static final Log logger = LogFactory.getLog(ParallelSingletonInstantiation.class);
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	private final Executor executor;
+
+	private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+
+	ParallelSingletonInstantiation(DefaultListableBeanFactory beanFactory, Executor executor) {
+		this.beanFactory = beanFactory;
+		this.executor = executor;
+	}
+
+
+	/**
+	 * Instantiate all non-lazy singletons among the given bean names,
+	 * returning once all of them have been instantiated.
+	 * @param beanNames the bean names to consider, in registration order
+	 */
+	void instantiate(List<String> beanNames) {
+		StartupStep parallelInstantiation = this.beanFactory.getApplicationStartup()
+				.start("spring.beans.instantiate.parallel");
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = this.beanFactory.getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				this.nodes.put(beanName, new Node(beanName, bd));
+			}
+		}
+		for (Node node : this.nodes.values()) {
+			for (String dependency : getDeclaredDependencies(node.bd)) {
+				Node dependencyNode = this.nodes.get(this.beanFactory.canonicalName(dependency));
+				if (dependencyNode != null && dependencyNode != node) {
+					node.dependencies.add(dependencyNode);
+				}
+			}
+		}
+
+		long start = System.nanoTime();
+		this.beanFactory.setParallelSingletonCreation(true);
+		try {
+			Set<Node> inProgress = new HashSet<>();
+			List<CompletableFuture<Void>> futures = new ArrayList<>(this.nodes.size());
+			for (Node node : this.nodes.values()) {
+				futures.add(schedule(node, inProgress));
+			}
+			try {
+				CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+			}
+			catch (CompletionException ex) {
+				// Rethrow the original failure below
+			}
+		}
+		finally {
+			this.beanFactory.setParallelSingletonCreation(false);
+		}
+
+		Throwable ex = this.failure.get();
+		if (ex != null) {
+			parallelInstantiation.end();
+		}
+		if (ex instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		}
+		if (ex instanceof Error error) {
+			throw error;
+		}
+
+		List<String> criticalPath = getCriticalPath();
+		long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Instantiated " + this.nodes.size() + " singletons in parallel within " + duration +
+					" ms, with critical path " + criticalPath);
+		}
+		parallelInstantiation.tag("beanCount", String.valueOf(this.nodes.size()))
+				.tag("criticalPath", StringUtils.collectionToCommaDelimitedString(criticalPath))
+				.tag("duration", String.valueOf(duration))
+				.end();
+	}
+
+	/**
+	 * Schedule the instantiation of the given node once its dependencies are
+	 * instantiated. A circular reference between declared dependencies is left
+	 * to on-demand resolution within the thread creating the first bean.
+	 */
+	private CompletableFuture<Void> schedule(Node node, Set<Node> inProgress) {
+		if (node.future != null) {
+			return node.future;
+		}
+		inProgress.add(node);
+		List<CompletableFuture<Void>> dependencyFutures = new ArrayList<>(node.dependencies.size());
+		for (Node dependency : node.dependencies) {
+			if (!inProgress.contains(dependency)) {
+				dependencyFutures.add(schedule(dependency, inProgress));
+			}
+		}
+		inProgress.remove(node);
+		CompletableFuture<Void> future = CompletableFuture
+				.allOf(dependencyFutures.toArray(new CompletableFuture<?>[0]))
+				.thenRunAsync(() -> instantiate(node), this.executor)
+				.whenComplete((result, ex) -> {
+					if (ex != null) {
+						// Also covers a RejectedExecutionException from the executor
+						this.failure.compareAndSet(null, unwrap(ex));
+					}
+				});
+		node.future = future;
+		return future;
+	}
+
+	private void instantiate(Node node) {
+		if (this.failure.get() != null) {
+			// Stop instantiating further singletons after a failure
+			return;
+		}
+		node.start = System.nanoTime();
+		try {
+			this.beanFactory.preInstantiateSingleton(node.beanName);
+		}
+		catch (Throwable ex) {
+			this.failure.compareAndSet(null, ex);
+			throw ex;
+		}
+		finally {
+			node.end = System.nanoTime();
+			node.instantiated = true;
+		}
+	}
+
+	private static Throwable unwrap(Throwable ex) {
+		return (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+	}
+
+	private Set<String> getDeclaredDependencies(RootBeanDefinition bd) {
+		Set<String> dependencies = new LinkedHashSet<>();
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				dependencies.add(BeanFactoryUtils.transformedBeanName(dependency));
+			}
+		}
+		if (bd.getFactoryBeanName() != null) {
+			dependencies.add(bd.getFactoryBeanName());
+		}
+		if (bd.hasConstructorArgumentValues()) {
+			for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+				addReferencedBeanName(valueHolder.getValue(), dependencies);
+			}
+			for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+				addReferencedBeanName(valueHolder.getValue(), dependencies);
+			}
+		}
+		if (bd.hasPropertyValues()) {
+			for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+				addReferencedBeanName(pv.getValue(), dependencies);
+			}
+		}
+		return dependencies;
+	}
+
+	private void addReferencedBeanName(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof BeanReference beanReference) {
+			dependencies.add(BeanFactoryUtils.transformedBeanName(beanReference.getBeanName()));
+		}
+	}
+
+	/**
+	 * Determine the chain of singletons ending with the last instantiated one,
+	 * following the dependency which got instantiated last in each step.
+	 */
+	private List<String> getCriticalPath() {
+		Node last = null;
+		for (Node node : this.nodes.values()) {
+			if (node.instantiated && (last == null || node.end > last.end)) {
+				last = node;
+			}
+		}
+		Deque<String> criticalPath = new ArrayDeque<>();
+		Set<Node> visited = new HashSet<>();
+		Node current = last;
+		while (current != null && visited.add(current)) {
+			criticalPath.addFirst(current.beanName);
+			Node critical = null;
+			for (Node dependency : current.dependencies) {
+				if (dependency.instantiated && dependency.end <= current.start &&
+						(critical == null || dependency.end > critical.end)) {
+					critical = dependency;
+				}
+			}
+			current = critical;
+		}
+		return new ArrayList<>(criticalPath);
+	}
+
+
+	private static final class Node {
+
+		final String beanName;
+
+		final RootBeanDefinition bd;
+
+		final List<Node> dependencies = new ArrayList<>();
+
+		@Nullable
+		CompletableFuture<Void> future;
+
+		volatile long start;
+
+		volatile long end;
+
+		volatile boolean instantiated;
+
+		Node(String beanName, RootBeanDefinition bd) {
+			this.beanName = beanName;
+			this.bd = bd;
+		}
+	}
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.SmartFactoryBean;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for parallel pre-instantiation of singletons through
+ * {@link DefaultListableBeanFactory#setBootstrapExecutor}.
+ *
+ * @author agent
+ */
+class ParallelSingletonInstantiationTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	void independentSingletonsInstantiatedInParallel() {
+		CountDownLatch latch = new CountDownLatch(4);
+		for (int i = 0; i < 4; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(LatchBean.class);
+			bd.getConstructorArgumentValues().addGenericArgumentValue(latch);
+			this.beanFactory.registerBeanDefinition("bean" + i, bd);
+		}
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		// Each bean waits for all others to be in creation at the same time
+		for (int i = 0; i < 4; i++) {
+			assertThat(this.beanFactory.getBean("bean" + i, LatchBean.class).completed).isTrue();
+		}
+	}
+
+	@Test
+	void declaredDependenciesInstantiatedFirst() {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
+		this.beanFactory.registerBeanDefinition("tb", bd);
+		this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		TestBean tb = this.beanFactory.getBean("tb", TestBean.class);
+		assertThat(tb.getSpouse()).isSameAs(this.beanFactory.getBean("spouse"));
+	}
+
+	@Test
+	void circularReference() {
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.getPropertyValues().add("spouse", new RuntimeBeanReference("tb2"));
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("tb1"));
+		this.beanFactory.registerBeanDefinition("tb1", bd1);
+		this.beanFactory.registerBeanDefinition("tb2", bd2);
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		TestBean tb1 = this.beanFactory.getBean("tb1", TestBean.class);
+		TestBean tb2 = this.beanFactory.getBean("tb2", TestBean.class);
+		assertThat(tb1.getSpouse()).isSameAs(tb2);
+		assertThat(tb2.getSpouse()).isSameAs(tb1);
+	}
+
+	@Test
+	void undeclaredDependencyAwaitedFromOtherThread() {
+		SlowBean.instances.set(0);
+		this.beanFactory.registerBeanDefinition("slow", new RootBeanDefinition(SlowBean.class));
+		for (int i = 0; i < 3; i++) {
+			this.beanFactory.registerBeanDefinition("lookup" + i, new RootBeanDefinition(LookupBean.class));
+		}
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		Object slow = this.beanFactory.getBean("slow");
+		for (int i = 0; i < 3; i++) {
+			assertThat(this.beanFactory.getBean("lookup" + i, LookupBean.class).slowBean).isSameAs(slow);
+		}
+		assertThat(SlowBean.instances.get()).isEqualTo(1);
+	}
+
+	@Test
+	void factoryBeanObjectWithCircularReferenceAcrossThreads() {
+		this.beanFactory.registerBeanDefinition("circular", new RootBeanDefinition(CircularBean.class));
+		this.beanFactory.registerBeanDefinition("factory", new RootBeanDefinition(CircularFactoryBean.class));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		this.beanFactory.preInstantiateSingletons();
+
+		CircularBean circular = this.beanFactory.getBean("circular", CircularBean.class);
+		FactoryBeanObject object = this.beanFactory.getBean("factory", FactoryBeanObject.class);
+		assertThat(circular.factoryBeanObject).isSameAs(object);
+		assertThat(object.circularBean).isSameAs(circular);
+	}
+
+	@Test
+	void instantiationFailure() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.beanFactory.registerBeanDefinition("failing", new RootBeanDefinition(FailingBean.class));
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(this.beanFactory::preInstantiateSingletons)
+				.satisfies(ex -> assertThat(ex.getBeanName()).isEqualTo("failing"));
+		assertThat(this.beanFactory.isParallelSingletonCreation()).isFalse();
+	}
+
+	@Test
+	void rejectedExecution() {
+		this.beanFactory.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		this.executor.shutdown();
+		this.beanFactory.setBootstrapExecutor(this.executor);
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(this.beanFactory::preInstantiateSingletons);
+		assertThat(this.beanFactory.isParallelSingletonCreation()).isFalse();
+		assertThat(this.beanFactory.containsSingleton("tb")).isFalse();
+	}
+
+
+	static class LatchBean {
+
+		final boolean completed;
+
+		LatchBean(CountDownLatch latch) throws InterruptedException {
+			latch.countDown();
+			this.completed = latch.await(5, TimeUnit.SECONDS);
+		}
+	}
+
+
+	static class SlowBean {
+
+		static final AtomicInteger instances = new AtomicInteger();
+
+		SlowBean() throws InterruptedException {
+			Thread.sleep(100);
+			instances.incrementAndGet();
+		}
+	}
+
+
+	static class LookupBean implements BeanFactoryAware {
+
+		Object slowBean;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.slowBean = beanFactory.getBean("slow");
+		}
+	}
+
+
+	static class CircularBean implements BeanFactoryAware, InitializingBean {
+
+		private BeanFactory beanFactory;
+
+		Object factoryBeanObject;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		@Override
+		public void afterPropertiesSet() throws InterruptedException {
+			// Let the FactoryBean object creation start in another thread
+			Thread.sleep(100);
+			this.factoryBeanObject = this.beanFactory.getBean("factory");
+		}
+	}
+
+
+	static class CircularFactoryBean implements SmartFactoryBean<FactoryBeanObject>, BeanFactoryAware {
+
+		private BeanFactory beanFactory;
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		@Override
+		public FactoryBeanObject getObject() {
+			return new FactoryBeanObject(this.beanFactory.getBean("circular"));
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return FactoryBeanObject.class;
+		}
+
+		@Override
+		public boolean isEagerInit() {
+			return true;
+		}
+	}
+
+
+	static class FactoryBeanObject {
+
+		final Object circularBean;
+
+		FactoryBeanObject(Object circularBean) {
+			this.circularBean = circularBean;
+		}
+	}
+
+
+	static class FailingBean {
+
+		FailingBean() {
+			throw new IllegalStateException("Instantiation failure");
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,16 @@
 
 package org.springframework.cache.caffeine;
 
+import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.lang.Nullable;
@@ -29,6 +35,14 @@ import org.springframework.util.Assert;
  * Spring {@link org.springframework.cache.Cache} adapter implementation
  * on top of a Caffeine {@link com.github.benmanes.caffeine.cache.Cache} instance.
  *
+ * <p>Supports the {@link #retrieve(Object)} and {@link #retrieve(Object, Supplier)}
+ * operations through Caffeine's {@link AsyncCache}, when provided via the
+ * {@link #CaffeineCache(String, AsyncCache, boolean)} constructor.
+ *
+ * <p>Supports refresh-ahead through {@link #getAge(Object)} if the Caffeine
+ * cache has been configured with {@code expireAfterWrite} or
+ * {@code refreshAfterWrite}, which keep track of the write time of each entry.
+ *
  * <p>Requires Caffeine 2.1 or higher.
  *
  * @author Ben Manes
@@ -43,6 +57,9 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 
 	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
 
+	@Nullable
+	private AsyncCache<Object, Object> asyncCache;
+
 
 	/**
 	 * Create a {@link CaffeineCache} instance with the specified name and the
@@ -72,6 +89,24 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		this.cache = cache;
 	}
 
+	/**
+	 * Create a {@link CaffeineCache} instance with the specified name and the
+	 * given internal {@link AsyncCache} to use.
+	 * @param name the name of the cache
+	 * @param cache the backing Caffeine AsyncCache instance
+	 * @param allowNullValues whether to accept and convert {@code null} values
+	 * for this cache
+	 * @since 6.0
+	 */
+	public CaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(cache, "Cache must not be null");
+		this.name = name;
+		this.cache = cache.synchronous();
+		this.asyncCache = cache;
+	}
+
 
 	@Override
 	public final String getName() {
@@ -83,6 +118,19 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.cache;
 	}
 
+	/**
+	 * Return the Caffeine AsyncCache instance backing this cache, if any.
+	 * @throws IllegalStateException if no AsyncCache is available
+	 * @since 6.0
+	 * @see #CaffeineCache(String, AsyncCache, boolean)
+	 * @see CaffeineCacheManager#setAsyncCacheMode
+	 */
+	public final AsyncCache<Object, Object> getAsyncCache() {
+		Assert.state(this.asyncCache != null,
+				"No Caffeine AsyncCache available: set CaffeineCacheManager.setAsyncCacheMode(true)");
+		return this.asyncCache;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
@@ -90,6 +138,48 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return (T) fromStoreValue(this.cache.get(key, new LoadFunction(valueLoader)));
 	}
 
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		CompletableFuture<?> result = obtainAsyncCache().getIfPresent(key);
+		if (result != null && isAllowNullValues()) {
+			result = result.thenApply(this::toValueWrapper);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		if (isAllowNullValues()) {
+			return (CompletableFuture<T>) obtainAsyncCache()
+					.get(key, (k, e) -> valueLoader.get().thenApply(this::toStoreValue))
+					.thenApply(this::fromStoreValue);
+		}
+		else {
+			return (CompletableFuture<T>) obtainAsyncCache().get(key, (k, e) -> valueLoader.get());
+		}
+	}
+
+	private AsyncCache<Object, Object> obtainAsyncCache() {
+		if (this.asyncCache == null) {
+			throw new UnsupportedOperationException("No Caffeine AsyncCache available for cache '" +
+					this.name + "': set CaffeineCacheManager.setAsyncCacheMode(true)");
+		}
+		return this.asyncCache;
+	}
+
+	@Override
+	@Nullable
+	public Duration getAge(Object key) {
+		Policy<Object, Object> policy = this.cache.policy();
+		Optional<Duration> age = policy.expireAfterWrite().flatMap(expiration -> expiration.ageOf(key));
+		if (age.isEmpty()) {
+			age = policy.refreshAfterWrite().flatMap(refresh -> refresh.ageOf(key));
+		}
+		return age.orElse(null);
+	}
+
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.caffeine;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.CaffeineSpec;
@@ -193,6 +195,24 @@ public class CaffeineCacheManagerTests {
 			.withMessageContaining("I only know ping");
 	}
 
+	@Test
+	public void asyncMode() {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		cm.setAsyncCacheMode(true);
+		assertThat(cm.isAsyncCacheMode()).isTrue();
+
+		Cache cache1x = cm.getCache("c1");
+		assertThat(cache1x).isNotSameAs(cache1);
+		assertThat(((CaffeineCache) cache1x).getAsyncCache()).isNotNull();
+		cache1x.put("key1", "value1");
+		assertThat(cache1x.retrieve("key1").join()).isInstanceOfSatisfying(Cache.ValueWrapper.class,
+				wrapper -> assertThat(wrapper.get()).isEqualTo("value1"));
+		assertThat(cache1x.retrieve("key2", () -> CompletableFuture.completedFuture("value2")).join())
+				.isEqualTo("value2");
+		assertThat(cache1x.get("key2").get()).isEqualTo("value2");
+	}
+
 	@Test
 	public void customCacheRegistration() {
 		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
@@ -16,6 +16,10 @@
 
 package org.springframework.cache.caffeine;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +29,7 @@ import org.springframework.cache.Cache.ValueWrapper;
 import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
@@ -93,6 +98,56 @@ class CaffeineCacheTests extends AbstractValueAdaptingCacheTests<CaffeineCache>
 		assertThatIllegalStateException().isThrownBy(() -> loadingCache.get(new Object(), Long.class));
 	}
 
+	@Test
+	void testAsyncCacheRetrieve() {
+		CaffeineCache asyncCache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), true);
+		Object key = new Object();
+		assertThat(asyncCache.retrieve(key)).isNull();
+
+		CompletableFuture<String> pending = new CompletableFuture<>();
+		CompletableFuture<String> result = asyncCache.retrieve(key, () -> pending);
+		assertThat(asyncCache.retrieve(key, () -> CompletableFuture.completedFuture("other")))
+				.isNotDone();
+		pending.complete("value");
+		assertThat(result.join()).isEqualTo("value");
+
+		assertThat(((ValueWrapper) asyncCache.retrieve(key).join()).get()).isEqualTo("value");
+		assertThat(asyncCache.get(key).get()).isEqualTo("value");
+	}
+
+	@Test
+	void testAsyncCacheRetrieveNullValue() {
+		CaffeineCache asyncCache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder().buildAsync(), true);
+		Object key = new Object();
+		assertThat(asyncCache.retrieve(key, () -> CompletableFuture.completedFuture(null)).join()).isNull();
+		assertThat(((ValueWrapper) asyncCache.retrieve(key).join()).get()).isNull();
+	}
+
+	@Test
+	void testRetrieveWithoutAsyncCache() {
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> getCache().retrieve(new Object()));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> getCache().retrieve(new Object(), () -> CompletableFuture.completedFuture("value")));
+	}
+
+	@Test
+	void testGetAgeWithExpireAfterWrite() {
+		AtomicLong ticker = new AtomicLong();
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME, Caffeine.newBuilder()
+				.expireAfterWrite(Duration.ofMinutes(1)).ticker(ticker::get).build());
+		assertThat(cache.getAge("key")).isNull();
+		cache.put("key", "value");
+		ticker.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(cache.getAge("key")).isEqualTo(Duration.ofSeconds(10));
+	}
+
+	@Test
+	void testGetAgeWithoutWriteTimes() {
+		getCache().put("key", "value");
+		assertThat(getCache().getAge("key")).isNull();
+	}
+
 	@Test
 	void testPutIfAbsentNullValue() {
 		CaffeineCache cache = getCache();
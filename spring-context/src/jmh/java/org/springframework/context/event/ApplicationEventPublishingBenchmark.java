@@ -0,0 +1,152 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Benchmark for {@code publishEvent} throughput, with and without
+ * {@linkplain AbstractApplicationEventMulticaster#freezeListeners() frozen listeners}.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ApplicationEventPublishingBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"false", "true"})
+		public boolean frozenListeners;
+
+		@Param("20")
+		public int listenerCount;
+
+		public GenericApplicationContext context;
+
+		public ApplicationEvent event;
+
+		@Setup
+		public void setup() {
+			this.context = new GenericApplicationContext();
+			RootBeanDefinition multicaster = new RootBeanDefinition(SimpleApplicationEventMulticaster.class);
+			multicaster.getPropertyValues().add("freezeListenersOnRefresh", this.frozenListeners);
+			this.context.registerBeanDefinition(
+					AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME, multicaster);
+			for (int i = 0; i < this.listenerCount; i++) {
+				Class<?> listenerType = switch (i % 3) {
+					case 0 -> OrderCreatedListener.class;
+					case 1 -> OrderShippedListener.class;
+					default -> OrderPayloadListener.class;
+				};
+				this.context.registerBeanDefinition("listener" + i, new RootBeanDefinition(listenerType));
+			}
+			this.context.refresh();
+			this.event = new OrderCreatedEvent(this);
+		}
+
+		@TearDown
+		public void teardown() {
+			this.context.close();
+		}
+	}
+
+	@Benchmark
+	public void publishApplicationEvent(BenchmarkState state) {
+		state.context.publishEvent(state.event);
+	}
+
+	@Benchmark
+	public void publishPayloadEvent(BenchmarkState state) {
+		state.context.publishEvent(new Order("42"));
+	}
+
+	@Benchmark
+	public void publishUnmatchedEvent(BenchmarkState state) {
+		state.context.publishEvent("unmatched");
+	}
+
+
+	public record Order(String id) {
+	}
+
+
+	@SuppressWarnings("serial")
+	public static class OrderCreatedEvent extends ApplicationEvent {
+
+		public OrderCreatedEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	public static class OrderShippedEvent extends ApplicationEvent {
+
+		public OrderShippedEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	public static class OrderCreatedListener implements ApplicationListener<OrderCreatedEvent> {
+
+		public int count;
+
+		@Override
+		public void onApplicationEvent(OrderCreatedEvent event) {
+			this.count++;
+		}
+	}
+
+
+	public static class OrderShippedListener implements ApplicationListener<OrderShippedEvent> {
+
+		public int count;
+
+		@Override
+		public void onApplicationEvent(OrderShippedEvent event) {
+			this.count++;
+		}
+	}
+
+
+	public static class OrderPayloadListener implements ApplicationListener<PayloadApplicationEvent<Order>> {
+
+		public int count;
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<Order> event) {
+			this.count++;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,10 @@
 
 package org.springframework.cache;
 
+import java.time.Duration;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
 
@@ -100,6 +103,83 @@ public interface Cache {
 	@Nullable
 	<T> T get(Object key, Callable<T> valueLoader);
 
+	/**
+	 * Return the value to which this cache maps the specified key,
+	 * wrapped in a {@link CompletableFuture}. This operation must not block
+	 * but is allowed to return a completed {@link CompletableFuture} if the
+	 * corresponding value is immediately available.
+	 * <p>Can return {@code null} if the cache can immediately determine that
+	 * it contains no mapping for this key (e.g. through an in-memory key map).
+	 * Otherwise, the cached value will be returned in the {@link CompletableFuture},
+	 * with {@code null} indicating a late-determined cache miss. A nested
+	 * {@link ValueWrapper} potentially indicates a nullable cached value;
+	 * the cached value may also be represented as a plain element if null
+	 * values are not supported.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException}:
+	 * this method is only called for {@code CompletableFuture} and reactive
+	 * return types on cached methods.
+	 * @param key the key whose associated value is to be returned
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture} which may also be empty when a cache
+	 * miss has been late-determined. A straight {@code null} being returned
+	 * means that the cache immediately determined that it contains no mapping
+	 * for this key. A {@link ValueWrapper} contained within the
+	 * {@code CompletableFuture} indicates a cached value that is potentially
+	 * {@code null}; this is sensible in a late-determined scenario where a
+	 * regular CompletableFuture-contained {@code null} indicates a cache miss.
+	 * @since 6.0
+	 * @see #retrieve(Object, Supplier)
+	 */
+	@Nullable
+	default CompletableFuture<?> retrieve(Object key) {
+		throw new UnsupportedOperationException(
+				getClass().getName() + " does not support CompletableFuture-based retrieval");
+	}
+
+	/**
+	 * Return the value to which this cache maps the specified key, obtaining
+	 * that value from {@code valueLoader} if necessary. This method provides
+	 * a simple substitute for the conventional "if cached, return; otherwise
+	 * create, cache and return" pattern, based on {@link CompletableFuture}.
+	 * This operation must not block.
+	 * <p>If possible, implementations should ensure that the loading operation
+	 * is synchronized so that the specified {@code valueLoader} is only called
+	 * once in case of concurrent access on the same key.
+	 * <p>Null values are generally not supported by this method. The provided
+	 * {@link CompletableFuture} handle produces a value or raises an exception.
+	 * If the {@code valueLoader} raises an exception, it will be propagated
+	 * to the returned {@code CompletableFuture} handle.
+	 * <p>The default implementation throws an {@link UnsupportedOperationException}:
+	 * this method is only called for {@code CompletableFuture} and reactive
+	 * return types on cached methods.
+	 * @param key the key whose associated value is to be returned
+	 * @return the value to which this cache maps the specified key, contained
+	 * within a {@link CompletableFuture} which will never be {@code null}
+	 * @since 6.0
+	 * @see #retrieve(Object)
+	 * @see #get(Object, Callable)
+	 */
+	default <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		throw new UnsupportedOperationException(
+				getClass().getName() + " does not support CompletableFuture-based retrieval");
+	}
+
+	/**
+	 * Return the time elapsed since the entry for the specified key was
+	 * last written, as needed for refreshing entries ahead of their expiration.
+	 * <p>The default implementation returns {@code null}: refresh-ahead is
+	 * only supported by caches which keep track of their write times.
+	 * @param key the key whose entry age is to be returned
+	 * @return the age of the entry, or {@code null} if this cache contains
+	 * no mapping for the key or does not know when it has been written
+	 * @since 6.0
+	 * @see org.springframework.cache.annotation.Cacheable#refreshAfter()
+	 */
+	@Nullable
+	default Duration getAge(Object key) {
+		return null;
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.cache.annotation;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -25,6 +26,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.CacheLoadCoalescer;
 import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Configuration;
@@ -63,6 +65,12 @@ public abstract class AbstractCachingConfiguration implements ImportAware {
 	@Nullable
 	protected Supplier<CacheErrorHandler> errorHandler;
 
+	@Nullable
+	protected Supplier<CacheLoadCoalescer> cacheLoadCoalescer;
+
+	@Nullable
+	protected Supplier<Executor> cacheRefreshExecutor;
+
 
 	@Override
 	public void setImportMetadata(AnnotationMetadata importMetadata) {
@@ -100,6 +108,8 @@ public abstract class AbstractCachingConfiguration implements ImportAware {
 		this.cacheResolver = cachingConfigurerSupplier.adapt(CachingConfigurer::cacheResolver);
 		this.keyGenerator = cachingConfigurerSupplier.adapt(CachingConfigurer::keyGenerator);
 		this.errorHandler = cachingConfigurerSupplier.adapt(CachingConfigurer::errorHandler);
+		this.cacheLoadCoalescer = cachingConfigurerSupplier.adapt(CachingConfigurer::cacheLoadCoalescer);
+		this.cacheRefreshExecutor = cachingConfigurerSupplier.adapt(CachingConfigurer::cacheRefreshExecutor);
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -181,4 +181,23 @@ public @interface Cacheable {
 	 */
 	boolean sync() default false;
 
+	/**
+	 * The age after which a cached value is refreshed ahead of its expiration.
+	 * <p>Once an entry is older than this threshold, the stale value is still
+	 * returned from the cache, while the underlying method is invoked on the
+	 * configured refresh executor to update the entry in the background. At most
+	 * one refresh is in progress for a given cache entry at any time.
+	 * <p>A refresh runs after the original invocation has returned, on another
+	 * thread: the method must not depend on thread-bound context of the caller,
+	 * such as a transaction, a security context or request-scoped beans.
+	 * <p>The value may either be a number of milliseconds or a
+	 * {@link java.time.Duration#parse ISO-8601 duration} such as {@code "PT5M"}.
+	 * Default is {@code ""}, meaning that entries are never refreshed ahead.
+	 * <p>Requires a cache that keeps track of the age of its entries, see
+	 * {@link org.springframework.cache.Cache#getAge(Object)}.
+	 * @since 6.0
+	 * @see CachingConfigurer#cacheRefreshExecutor()
+	 */
+	String refreshAfter() default "";
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,11 @@
 
 package org.springframework.cache.annotation;
 
+import java.util.concurrent.Executor;
+
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.cache.interceptor.CacheLoadCoalescer;
 import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.lang.Nullable;
@@ -141,4 +144,42 @@ public interface CachingConfigurer {
 		return null;
 	}
 
+	/**
+	 * Return the {@link CacheLoadCoalescer} to use to coalesce concurrent
+	 * invocations on a cache miss for the same key into a single invocation.
+	 * <p>By default, no coalescing happens unless {@code sync} is requested
+	 * on the {@link Cacheable @Cacheable} operation.
+	 * <p>Implementations must explicitly declare
+	 * {@link org.springframework.context.annotation.Bean @Bean}, e.g.
+	 * <pre class="code">
+	 * &#064;Configuration
+	 * &#064;EnableCaching
+	 * public class AppConfig implements CachingConfigurer {
+	 *     &#064;Bean // important!
+	 *     &#064;Override
+	 *     public CacheLoadCoalescer cacheLoadCoalescer() {
+	 *         return new CacheLoadCoalescer();
+	 *     }
+	 *     // ...
+	 * }
+	 * </pre>
+	 * @since 6.0
+	 */
+	@Nullable
+	default CacheLoadCoalescer cacheLoadCoalescer() {
+		return null;
+	}
+
+	/**
+	 * Return the {@link Executor} to use for refreshing stale cache entries
+	 * ahead of their expiration, as requested through {@link Cacheable#refreshAfter()}.
+	 * <p>By default, a small pool of daemon threads with a bounded queue is used,
+	 * skipping refreshes once the queue is full.
+	 * @since 6.0
+	 */
+	@Nullable
+	default Executor cacheRefreshExecutor() {
+		return null;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,7 +64,8 @@ public class ProxyCachingConfiguration extends AbstractCachingConfiguration {
 	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
 	public CacheInterceptor cacheInterceptor(CacheOperationSource cacheOperationSource) {
 		CacheInterceptor interceptor = new CacheInterceptor();
-		interceptor.configure(this.errorHandler, this.keyGenerator, this.cacheResolver, this.cacheManager);
+		interceptor.configure(this.errorHandler, this.keyGenerator, this.cacheResolver, this.cacheManager,
+				this.cacheLoadCoalescer, this.cacheRefreshExecutor);
 		interceptor.setCacheOperationSource(cacheOperationSource);
 		return interceptor;
 	}
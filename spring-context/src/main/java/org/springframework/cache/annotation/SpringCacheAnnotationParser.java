@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -128,6 +129,7 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 		builder.setCacheManager(cacheable.cacheManager());
 		builder.setCacheResolver(cacheable.cacheResolver());
 		builder.setSync(cacheable.sync());
+		builder.setRefreshAfter(parseRefreshAfter(ae, cacheable.refreshAfter()));
 
 		defaultConfig.applyDefault(builder);
 		CacheableOperation op = builder.build();
@@ -136,6 +138,37 @@ public class SpringCacheAnnotationParser implements CacheAnnotationParser, Seria
 		return op;
 	}
 
+	@Nullable
+	private Duration parseRefreshAfter(AnnotatedElement ae, String refreshAfter) {
+		if (!StringUtils.hasText(refreshAfter)) {
+			return null;
+		}
+		Duration duration;
+		try {
+			duration = (isDigits(refreshAfter) ? Duration.ofMillis(Long.parseLong(refreshAfter)) :
+					Duration.parse(refreshAfter));
+		}
+		catch (RuntimeException ex) {
+			throw new IllegalStateException("Invalid cache annotation configuration on '" +
+					ae.toString() + "'. Cannot parse 'refreshAfter' value [" + refreshAfter +
+					"]: expected a number of milliseconds or an ISO-8601 duration.", ex);
+		}
+		if (duration.isNegative() || duration.isZero()) {
+			throw new IllegalStateException("Invalid cache annotation configuration on '" +
+					ae.toString() + "'. The 'refreshAfter' value [" + refreshAfter + "] must be positive.");
+		}
+		return duration;
+	}
+
+	private static boolean isDigits(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (!Character.isDigit(value.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private CacheEvictOperation parseEvictAnnotation(
 			AnnotatedElement ae, DefaultCacheConfig defaultConfig, CacheEvict cacheEvict) {
 
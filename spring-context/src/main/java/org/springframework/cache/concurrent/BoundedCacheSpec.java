@@ -0,0 +1,244 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.function.ToLongBiFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable specification for a {@link BoundedConcurrentMapCache}: capacity
+ * (either a maximum number of entries or a maximum total weight), optional
+ * time-to-live and time-to-idle settings, and the eviction policy to apply
+ * once the capacity has been reached.
+ *
+ * <p>Instances are created through {@link #builder()}:
+ * <pre class="code">
+ * BoundedCacheSpec spec = BoundedCacheSpec.builder()
+ *     .maximumSize(10_000)
+ *     .expireAfterWrite(Duration.ofMinutes(10))
+ *     .build();
+ * </pre>
+ *
+ * @author agent
+ * @since 6.0
+ * @see BoundedConcurrentMapCache
+ * @see ConcurrentMapCacheManager#setBoundedCacheSpec
+ * @see ConcurrentMapCacheManager#setBoundedCacheSpecs
+ */
+public final class BoundedCacheSpec {
+
+	private final long maximumSize;
+
+	private final long maximumWeight;
+
+	@Nullable
+	private final ToLongBiFunction<Object, Object> weigher;
+
+	@Nullable
+	private final Duration expireAfterWrite;
+
+	@Nullable
+	private final Duration expireAfterAccess;
+
+	private final EvictionPolicy evictionPolicy;
+
+
+	private BoundedCacheSpec(Builder builder) {
+		this.maximumSize = builder.maximumSize;
+		this.maximumWeight = builder.maximumWeight;
+		this.weigher = builder.weigher;
+		this.expireAfterWrite = builder.expireAfterWrite;
+		this.expireAfterAccess = builder.expireAfterAccess;
+		this.evictionPolicy = builder.evictionPolicy;
+	}
+
+
+	/**
+	 * Return the maximum number of entries, or {@code -1} if the cache is
+	 * not bounded by entry count.
+	 */
+	public long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Return the maximum total weight of all entries, or {@code -1} if the
+	 * cache is not bounded by weight.
+	 */
+	public long getMaximumWeight() {
+		return this.maximumWeight;
+	}
+
+	/**
+	 * Return the function computing the weight of an entry, if any.
+	 */
+	@Nullable
+	public ToLongBiFunction<Object, Object> getWeigher() {
+		return this.weigher;
+	}
+
+	/**
+	 * Return the time after which an entry expires once it has been written.
+	 */
+	@Nullable
+	public Duration getExpireAfterWrite() {
+		return this.expireAfterWrite;
+	}
+
+	/**
+	 * Return the time after which an entry expires once it has last been accessed.
+	 */
+	@Nullable
+	public Duration getExpireAfterAccess() {
+		return this.expireAfterAccess;
+	}
+
+	/**
+	 * Return the policy for choosing an eviction victim.
+	 */
+	public EvictionPolicy getEvictionPolicy() {
+		return this.evictionPolicy;
+	}
+
+	@Override
+	public String toString() {
+		return "BoundedCacheSpec [maximumSize=" + this.maximumSize + ", maximumWeight=" + this.maximumWeight +
+				", expireAfterWrite=" + this.expireAfterWrite + ", expireAfterAccess=" + this.expireAfterAccess +
+				", evictionPolicy=" + this.evictionPolicy + "]";
+	}
+
+
+	/**
+	 * Obtain a new {@link Builder} for a {@code BoundedCacheSpec}.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+
+	/**
+	 * Policy for choosing the entry to evict once a cache has reached its capacity.
+	 */
+	public enum EvictionPolicy {
+
+		/**
+		 * Evict the least recently used entry.
+		 */
+		LRU,
+
+		/**
+		 * Segmented LRU: new entries start in a probationary segment and are
+		 * promoted to a protected segment on their first hit, so that a burst of
+		 * one-time accesses cannot flush frequently used entries out of the cache.
+		 * Victims are chosen from the probationary segment first.
+		 */
+		SEGMENTED_LRU
+
+	}
+
+
+	/**
+	 * Builder for a {@link BoundedCacheSpec}.
+	 */
+	public static final class Builder {
+
+		private long maximumSize = -1;
+
+		private long maximumWeight = -1;
+
+		@Nullable
+		private ToLongBiFunction<Object, Object> weigher;
+
+		@Nullable
+		private Duration expireAfterWrite;
+
+		@Nullable
+		private Duration expireAfterAccess;
+
+		private EvictionPolicy evictionPolicy = EvictionPolicy.SEGMENTED_LRU;
+
+		private Builder() {
+		}
+
+		/**
+		 * Bound the cache to the given number of entries.
+		 * <p>Mutually exclusive with {@link #maximumWeight}.
+		 */
+		public Builder maximumSize(long maximumSize) {
+			Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		/**
+		 * Bound the cache to the given total weight of entries, as computed
+		 * by the given weigher for each key and (internal) store value.
+		 * <p>Mutually exclusive with {@link #maximumSize}.
+		 */
+		public Builder maximumWeight(long maximumWeight, ToLongBiFunction<Object, Object> weigher) {
+			Assert.isTrue(maximumWeight >= 0, "Maximum weight must not be negative");
+			Assert.notNull(weigher, "Weigher must not be null");
+			this.maximumWeight = maximumWeight;
+			this.weigher = weigher;
+			return this;
+		}
+
+		/**
+		 * Expire entries once the given time has elapsed since they were written.
+		 */
+		public Builder expireAfterWrite(Duration expireAfterWrite) {
+			Assert.isTrue(expireAfterWrite.compareTo(Duration.ZERO) > 0, "Expiration time must be positive");
+			this.expireAfterWrite = expireAfterWrite;
+			return this;
+		}
+
+		/**
+		 * Expire entries once the given time has elapsed since they were last
+		 * read or written.
+		 */
+		public Builder expireAfterAccess(Duration expireAfterAccess) {
+			Assert.isTrue(expireAfterAccess.compareTo(Duration.ZERO) > 0, "Expiration time must be positive");
+			this.expireAfterAccess = expireAfterAccess;
+			return this;
+		}
+
+		/**
+		 * Set the eviction policy to apply. Default is
+		 * {@link EvictionPolicy#SEGMENTED_LRU}.
+		 */
+		public Builder evictionPolicy(EvictionPolicy evictionPolicy) {
+			Assert.notNull(evictionPolicy, "EvictionPolicy must not be null");
+			this.evictionPolicy = evictionPolicy;
+			return this;
+		}
+
+		/**
+		 * Build the {@link BoundedCacheSpec}.
+		 * @throws IllegalStateException if both a maximum size and a maximum
+		 * weight have been specified
+		 */
+		public BoundedCacheSpec build() {
+			Assert.state(this.maximumSize < 0 || this.maximumWeight < 0,
+					"Maximum size and maximum weight cannot be combined");
+			return new BoundedCacheSpec(this);
+		}
+	}
+
+}
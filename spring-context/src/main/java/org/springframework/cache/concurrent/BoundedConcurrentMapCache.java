@@ -0,0 +1,653 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongBiFunction;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.cache.Cache} implementation based on the core JDK
+ * {@code java.util.concurrent} package, bounded in size or weight and with
+ * optional time-to-live and time-to-idle expiration, as defined by a
+ * {@link BoundedCacheSpec}.
+ *
+ * <p>Reads are served straight from a {@link ConcurrentHashMap}; the recency
+ * ordering used for eviction is maintained under a lock which is only
+ * <i>tried</i> on a cache hit, so that heavily contended hits skip reordering
+ * rather than queueing up behind each other. Writes always update the ordering
+ * and evict entries as necessary to bring the cache back within its bounds.
+ *
+ * <p>Expired entries are removed lazily when they are looked up or chosen as
+ * eviction victims, and eagerly through {@link #cleanUp()}.
+ *
+ * <p>Like {@link ConcurrentMapCache}, this implementation does not require any
+ * third-party cache provider. For advanced local caching needs, consider
+ * {@link org.springframework.cache.caffeine.CaffeineCache} instead.
+ *
+ * @author agent
+ * @since 6.0
+ * @see BoundedCacheSpec
+ * @see ConcurrentMapCacheManager#setBoundedCacheSpec
+ */
+public class BoundedConcurrentMapCache extends AbstractValueAdaptingCache {
+
+	/**
+	 * Share of the capacity reserved for the protected segment in
+	 * {@link BoundedCacheSpec.EvictionPolicy#SEGMENTED_LRU} mode.
+	 */
+	private static final double PROTECTED_RATIO = 0.8;
+
+
+	private final String name;
+
+	private final BoundedCacheSpec spec;
+
+	private final ConcurrentHashMap<Object, Node> store = new ConcurrentHashMap<>(256);
+
+	@Nullable
+	private final SerializationDelegate serialization;
+
+	private final LongSupplier ticker;
+
+	private final long capacity;
+
+	private final long protectedCapacity;
+
+	private final long expireAfterWriteNanos;
+
+	private final long expireAfterAccessNanos;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	// Guarded by evictionLock
+	private final NodeList probation = new NodeList();
+
+	// Guarded by evictionLock
+	private final NodeList protectedSegment = new NodeList();
+
+	// Guarded by evictionLock
+	private long weightedSize;
+
+	// Guarded by evictionLock
+	private long protectedWeightedSize;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and spec.
+	 * @param name the name of the cache
+	 * @param spec the bounds and expiration settings to apply
+	 */
+	public BoundedConcurrentMapCache(String name, BoundedCacheSpec spec) {
+		this(name, spec, true);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and spec.
+	 * @param name the name of the cache
+	 * @param spec the bounds and expiration settings to apply
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 */
+	public BoundedConcurrentMapCache(String name, BoundedCacheSpec spec, boolean allowNullValues) {
+		this(name, spec, allowNullValues, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name and spec.
+	 * If the {@link SerializationDelegate} is specified,
+	 * {@link #isStoreByValue() store-by-value} is enabled.
+	 * @param name the name of the cache
+	 * @param spec the bounds and expiration settings to apply
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 */
+	protected BoundedConcurrentMapCache(String name, BoundedCacheSpec spec,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
+
+		this(name, spec, allowNullValues, serialization, System::nanoTime);
+	}
+
+	BoundedConcurrentMapCache(String name, BoundedCacheSpec spec, boolean allowNullValues,
+			@Nullable SerializationDelegate serialization, LongSupplier ticker) {
+
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(spec, "BoundedCacheSpec must not be null");
+		this.name = name;
+		this.spec = spec;
+		this.serialization = serialization;
+		this.ticker = ticker;
+		this.capacity = (spec.getMaximumWeight() >= 0 ? spec.getMaximumWeight() :
+				spec.getMaximumSize() >= 0 ? spec.getMaximumSize() : Long.MAX_VALUE);
+		this.protectedCapacity = (spec.getEvictionPolicy() == BoundedCacheSpec.EvictionPolicy.SEGMENTED_LRU ?
+				(long) (this.capacity * PROTECTED_RATIO) : 0);
+		this.expireAfterWriteNanos = (spec.getExpireAfterWrite() != null ?
+				spec.getExpireAfterWrite().toNanos() : Long.MAX_VALUE);
+		this.expireAfterAccessNanos = (spec.getExpireAfterAccess() != null ?
+				spec.getExpireAfterAccess().toNanos() : Long.MAX_VALUE);
+	}
+
+
+	/**
+	 * Return the spec that this cache has been configured with.
+	 */
+	public final BoundedCacheSpec getSpec() {
+		return this.spec;
+	}
+
+	/**
+	 * Return whether this cache stores a copy of each entry ({@code true}) or
+	 * a reference ({@code false}, default). If store by value is enabled, each
+	 * entry in the cache must be serializable.
+	 */
+	public final boolean isStoreByValue() {
+		return (this.serialization != null);
+	}
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * This implementation returns the cache itself since the underlying store
+	 * is not exposed: its entries carry expiration and ordering metadata.
+	 */
+	@Override
+	public final Object getNativeCache() {
+		return this;
+	}
+
+	/**
+	 * Return the approximate number of entries in this cache, possibly
+	 * including entries which have expired but have not been cleaned up yet.
+	 */
+	public long size() {
+		return this.store.size();
+	}
+
+	/**
+	 * Return the total weight of all entries in this cache, or the number
+	 * of entries if the cache is not bounded by weight.
+	 */
+	public long getWeightedSize() {
+		this.evictionLock.lock();
+		try {
+			return this.weightedSize;
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Return the number of lookups which found a non-expired entry.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of lookups which did not find a non-expired entry.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries which have been removed because of
+	 * the bounds of this cache, or because they expired.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Node node = this.store.get(key);
+		if (node == null) {
+			this.missCount.increment();
+			return null;
+		}
+		long now = this.ticker.getAsLong();
+		if (isExpired(node, now)) {
+			if (this.store.remove(key, node)) {
+				this.evictionCount.increment();
+				afterRemove(node);
+			}
+			this.missCount.increment();
+			return null;
+		}
+		node.accessTime = now;
+		this.hitCount.increment();
+		afterRead(node);
+		return node.value;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object storeValue = lookup(key);
+		if (storeValue != null) {
+			return (T) fromStoreValue(storeValue);
+		}
+		Node[] replaced = new Node[1];
+		Node node = this.store.compute(key, (k, existing) -> {
+			if (existing != null && !isExpired(existing, this.ticker.getAsLong())) {
+				return existing;
+			}
+			replaced[0] = existing;
+			try {
+				return newNode(k, toStoreValue(valueLoader.call()));
+			}
+			catch (Throwable ex) {
+				throw new ValueRetrievalException(key, valueLoader, ex);
+			}
+		});
+		if (replaced[0] != null) {
+			this.evictionCount.increment();
+		}
+		afterWrite(node, replaced[0]);
+		return (T) fromStoreValue(node.value);
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object value = lookup(key);
+		return (value != null ? CompletableFuture.completedFuture(
+				isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value)) : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(value));
+		}
+		return valueLoader.get().thenApply(result -> {
+			ValueWrapper existing = putIfAbsent(key, result);
+			return (existing != null ? (T) existing.get() : result);
+		});
+	}
+
+	@Override
+	@Nullable
+	public Duration getAge(Object key) {
+		Node node = this.store.get(key);
+		if (node == null) {
+			return null;
+		}
+		long now = this.ticker.getAsLong();
+		return (!isExpired(node, now) ? Duration.ofNanos(now - node.writeTime) : null);
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		Node node = newNode(key, toStoreValue(value));
+		Node existing = this.store.put(key, node);
+		afterWrite(node, existing);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		Node node = newNode(key, toStoreValue(value));
+		while (true) {
+			Node existing = this.store.putIfAbsent(key, node);
+			if (existing == null) {
+				afterWrite(node, null);
+				return null;
+			}
+			if (!isExpired(existing, this.ticker.getAsLong())) {
+				return toValueWrapper(existing.value);
+			}
+			if (this.store.replace(key, existing, node)) {
+				this.evictionCount.increment();
+				afterWrite(node, existing);
+				return null;
+			}
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		Node node = this.store.remove(key);
+		if (node != null) {
+			afterRemove(node);
+		}
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		Node node = this.store.remove(key);
+		if (node != null) {
+			afterRemove(node);
+			return !isExpired(node, this.ticker.getAsLong());
+		}
+		return false;
+	}
+
+	@Override
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			this.store.clear();
+			this.probation.clear();
+			this.protectedSegment.clear();
+			this.weightedSize = 0;
+			this.protectedWeightedSize = 0;
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty = !this.store.isEmpty();
+		clear();
+		return notEmpty;
+	}
+
+	/**
+	 * Remove all expired entries from this cache.
+	 */
+	public void cleanUp() {
+		long now = this.ticker.getAsLong();
+		for (Node node : this.store.values()) {
+			if (isExpired(node, now) && this.store.remove(node.key, node)) {
+				this.evictionCount.increment();
+				afterRemove(node);
+			}
+		}
+	}
+
+	@Override
+	protected Object toStoreValue(@Nullable Object userValue) {
+		Object storeValue = super.toStoreValue(userValue);
+		if (this.serialization != null) {
+			try {
+				return this.serialization.serializeToByteArray(storeValue);
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to serialize cache value '" + userValue +
+						"'. Does it implement Serializable?", ex);
+			}
+		}
+		else {
+			return storeValue;
+		}
+	}
+
+	@Override
+	protected Object fromStoreValue(@Nullable Object storeValue) {
+		if (storeValue != null && this.serialization != null) {
+			try {
+				return super.fromStoreValue(this.serialization.deserializeFromByteArray((byte[]) storeValue));
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to deserialize cache value '" + storeValue + "'", ex);
+			}
+		}
+		else {
+			return super.fromStoreValue(storeValue);
+		}
+	}
+
+
+	private Node newNode(Object key, Object storeValue) {
+		ToLongBiFunction<Object, Object> weigher = this.spec.getWeigher();
+		long weight = (weigher != null ? weigher.applyAsLong(key, storeValue) : 1);
+		Assert.state(weight >= 0, "Weigher must not return a negative weight");
+		return new Node(key, storeValue, weight, this.ticker.getAsLong());
+	}
+
+	private boolean isExpired(Node node, long now) {
+		return (now - node.writeTime >= this.expireAfterWriteNanos ||
+				now - node.accessTime >= this.expireAfterAccessNanos);
+	}
+
+	private void afterRead(Node node) {
+		// Reordering is a best-effort optimization: skip it under contention.
+		if (this.evictionLock.tryLock()) {
+			try {
+				if (node.segment == Node.PROBATION && this.protectedCapacity > 0) {
+					promote(node);
+				}
+				else if (node.segment == Node.PROBATION) {
+					this.probation.moveToHead(node);
+				}
+				else if (node.segment == Node.PROTECTED) {
+					this.protectedSegment.moveToHead(node);
+				}
+			}
+			finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void afterWrite(Node node, @Nullable Node replaced) {
+		this.evictionLock.lock();
+		try {
+			if (replaced != null && replaced != node) {
+				unlink(replaced);
+			}
+			// The node may have been removed or replaced concurrently in the meantime
+			if (node.segment == Node.NEW && this.store.get(node.key) == node) {
+				node.segment = Node.PROBATION;
+				this.probation.addFirst(node);
+				this.weightedSize += node.weight;
+			}
+			evictIfNecessary();
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private void afterRemove(Node node) {
+		this.evictionLock.lock();
+		try {
+			unlink(node);
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	private void promote(Node node) {
+		this.probation.remove(node);
+		node.segment = Node.PROTECTED;
+		this.protectedSegment.addFirst(node);
+		this.protectedWeightedSize += node.weight;
+		while (this.protectedWeightedSize > this.protectedCapacity) {
+			Node demoted = this.protectedSegment.last();
+			if (demoted == null) {
+				break;
+			}
+			this.protectedSegment.remove(demoted);
+			this.protectedWeightedSize -= demoted.weight;
+			demoted.segment = Node.PROBATION;
+			this.probation.addFirst(demoted);
+		}
+	}
+
+	private void unlink(Node node) {
+		if (node.segment == Node.PROBATION) {
+			this.probation.remove(node);
+			this.weightedSize -= node.weight;
+		}
+		else if (node.segment == Node.PROTECTED) {
+			this.protectedSegment.remove(node);
+			this.weightedSize -= node.weight;
+			this.protectedWeightedSize -= node.weight;
+		}
+		node.segment = Node.RETIRED;
+	}
+
+	private void evictIfNecessary() {
+		while (this.weightedSize > this.capacity) {
+			Node victim = this.probation.last();
+			if (victim == null) {
+				victim = this.protectedSegment.last();
+				if (victim == null) {
+					return;
+				}
+			}
+			if (this.store.remove(victim.key, victim)) {
+				this.evictionCount.increment();
+			}
+			unlink(victim);
+		}
+	}
+
+
+	/**
+	 * A cache entry, doubling as a node in the recency ordering.
+	 */
+	private static final class Node {
+
+		static final int NEW = 0;
+
+		static final int PROBATION = 1;
+
+		static final int PROTECTED = 2;
+
+		static final int RETIRED = 3;
+
+		final Object key;
+
+		final Object value;
+
+		final long weight;
+
+		final long writeTime;
+
+		volatile long accessTime;
+
+		// Guarded by evictionLock
+		int segment = NEW;
+
+		@Nullable
+		Node prev;
+
+		@Nullable
+		Node next;
+
+		Node(Object key, Object value, long weight, long writeTime) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.writeTime = writeTime;
+			this.accessTime = writeTime;
+		}
+	}
+
+
+	/**
+	 * Intrusive doubly-linked list of nodes, most recently used first.
+	 */
+	private static final class NodeList {
+
+		@Nullable
+		private Node first;
+
+		@Nullable
+		private Node last;
+
+		void addFirst(Node node) {
+			node.prev = null;
+			node.next = this.first;
+			if (this.first != null) {
+				this.first.prev = node;
+			}
+			else {
+				this.last = node;
+			}
+			this.first = node;
+		}
+
+		void remove(Node node) {
+			if (node.prev != null) {
+				node.prev.next = node.next;
+			}
+			else {
+				this.first = node.next;
+			}
+			if (node.next != null) {
+				node.next.prev = node.prev;
+			}
+			else {
+				this.last = node.prev;
+			}
+			node.prev = null;
+			node.next = null;
+		}
+
+		void moveToHead(Node node) {
+			if (this.first != node) {
+				remove(node);
+				addFirst(node);
+			}
+		}
+
+		@Nullable
+		Node last() {
+			return this.last;
+		}
+
+		void clear() {
+			Node node = this.first;
+			while (node != null) {
+				Node next = node.next;
+				node.segment = Node.RETIRED;
+				node.prev = null;
+				node.next = null;
+				node = next;
+			}
+			this.first = null;
+			this.last = null;
+		}
+	}
+
+}
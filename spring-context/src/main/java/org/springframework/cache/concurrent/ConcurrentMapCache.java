@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,12 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.core.serializer.support.SerializationDelegate;
@@ -38,6 +41,11 @@ import org.springframework.util.Assert;
  * them with a predefined internal object. This behavior can be changed through the
  * {@link #ConcurrentMapCache(String, ConcurrentMap, boolean)} constructor.
  *
+ * <p>Write times are only tracked once {@link #getAge(Object)} has been called,
+ * i.e. once refresh-ahead has been requested for this cache. Entries written
+ * before that point, or directly through the {@link #getNativeCache() native
+ * cache}, are considered as written when tracking started.
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -53,6 +61,9 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private final SerializationDelegate serialization;
 
+	@Nullable
+	private volatile WriteTimes writeTimes;
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -141,7 +152,9 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	public <T> T get(Object key, Callable<T> valueLoader) {
 		return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> {
 			try {
-				return toStoreValue(valueLoader.call());
+				Object storeValue = toStoreValue(valueLoader.call());
+				recordWrite(k, storeValue);
+				return storeValue;
 			}
 			catch (Throwable ex) {
 				throw new ValueRetrievalException(key, valueLoader, ex);
@@ -149,40 +162,134 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		}));
 	}
 
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		Object value = lookup(key);
+		return (value != null ? CompletableFuture.completedFuture(
+				isAllowNullValues() ? toValueWrapper(value) : fromStoreValue(value)) : null);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		Object value = lookup(key);
+		if (value != null) {
+			return CompletableFuture.completedFuture((T) fromStoreValue(value));
+		}
+		return valueLoader.get().thenApply(result -> {
+			Object storeValue = toStoreValue(result);
+			Object existing = this.store.putIfAbsent(key, storeValue);
+			if (existing != null) {
+				return (T) fromStoreValue(existing);
+			}
+			recordWrite(key, storeValue);
+			return result;
+		});
+	}
+
+	@Override
+	@Nullable
+	public Duration getAge(Object key) {
+		WriteTimes writeTimes = this.writeTimes;
+		if (writeTimes == null) {
+			writeTimes = startTrackingWriteTimes();
+		}
+		Object storeValue = this.store.get(key);
+		WriteTime writeTime = writeTimes.times.get(key);
+		if (storeValue == null) {
+			if (writeTime != null) {
+				// Entry removed through the native cache
+				writeTimes.times.remove(key, writeTime);
+			}
+			return null;
+		}
+		// Only trust a write time recorded for the value currently stored
+		long time = (writeTime != null && writeTime.storeValue() == storeValue ?
+				writeTime.nanoTime() : writeTimes.trackingStart);
+		return Duration.ofNanos(System.nanoTime() - time);
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
-		this.store.put(key, toStoreValue(value));
+		Object storeValue = toStoreValue(value);
+		this.store.put(key, storeValue);
+		recordWrite(key, storeValue);
 	}
 
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
-		Object existing = this.store.putIfAbsent(key, toStoreValue(value));
+		Object storeValue = toStoreValue(value);
+		Object existing = this.store.putIfAbsent(key, storeValue);
+		if (existing == null) {
+			recordWrite(key, storeValue);
+		}
 		return toValueWrapper(existing);
 	}
 
 	@Override
 	public void evict(Object key) {
 		this.store.remove(key);
+		forgetWrite(key);
 	}
 
 	@Override
 	public boolean evictIfPresent(Object key) {
-		return (this.store.remove(key) != null);
+		boolean present = (this.store.remove(key) != null);
+		forgetWrite(key);
+		return present;
 	}
 
 	@Override
 	public void clear() {
 		this.store.clear();
+		forgetWrites();
 	}
 
 	@Override
 	public boolean invalidate() {
 		boolean notEmpty = !this.store.isEmpty();
 		this.store.clear();
+		forgetWrites();
 		return notEmpty;
 	}
 
+	private synchronized WriteTimes startTrackingWriteTimes() {
+		WriteTimes writeTimes = this.writeTimes;
+		if (writeTimes == null) {
+			writeTimes = new WriteTimes();
+			this.writeTimes = writeTimes;
+		}
+		return writeTimes;
+	}
+
+	private void recordWrite(Object key, Object storeValue) {
+		WriteTimes writeTimes = this.writeTimes;
+		if (writeTimes != null) {
+			WriteTime writeTime = new WriteTime(storeValue, System.nanoTime());
+			writeTimes.times.put(key, writeTime);
+			if (this.store.get(key) != storeValue) {
+				// Concurrently evicted or replaced: do not keep a stale write time
+				writeTimes.times.remove(key, writeTime);
+			}
+		}
+	}
+
+	private void forgetWrite(Object key) {
+		WriteTimes writeTimes = this.writeTimes;
+		if (writeTimes != null) {
+			writeTimes.times.remove(key);
+		}
+	}
+
+	private void forgetWrites() {
+		WriteTimes writeTimes = this.writeTimes;
+		if (writeTimes != null) {
+			writeTimes.times.clear();
+		}
+	}
+
 	@Override
 	protected Object toStoreValue(@Nullable Object userValue) {
 		Object storeValue = super.toStoreValue(userValue);
@@ -215,4 +322,23 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+
+	/**
+	 * Write times of the entries in this cache, tracked once refresh-ahead
+	 * has been requested.
+	 */
+	private static final class WriteTimes {
+
+		final long trackingStart = System.nanoTime();
+
+		final ConcurrentMap<Object, WriteTime> times = new ConcurrentHashMap<>(256);
+	}
+
+
+	/**
+	 * The time at which the given value was stored.
+	 */
+	private record WriteTime(Object storeValue, long nanoTime) {
+	}
+
 }
@@ -19,6 +19,7 @@ package org.springframework.cache.concurrent;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -35,9 +36,14 @@ import org.springframework.lang.Nullable;
  * the set of cache names is pre-defined through {@link #setCacheNames}, with no
  * dynamic creation of further cache regions at runtime.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
- * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * <p>By default, caches are unbounded. A {@link BoundedCacheSpec} may be specified
+ * for all caches or for specific cache names, in which case a corresponding
+ * {@link BoundedConcurrentMapCache} with size, weight and expiration constraints
+ * is built instead.
+ *
+ * <p>Note: This is by no means a sophisticated CacheManager. However, it may be
+ * useful for testing or simple caching scenarios. For advanced local caching needs,
+ * consider
  * {@link org.springframework.cache.jcache.JCacheCacheManager} or
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager}.
  *
@@ -55,6 +61,11 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	private boolean storeByValue = false;
 
+	@Nullable
+	private BoundedCacheSpec boundedCacheSpec;
+
+	private final Map<String, BoundedCacheSpec> boundedCacheSpecs = new LinkedHashMap<>();
+
 	@Nullable
 	private SerializationDelegate serialization;
 
@@ -145,6 +156,45 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the {@link BoundedCacheSpec} to apply to all caches, unless
+	 * overridden for specific cache names through {@link #setBoundedCacheSpecs}.
+	 * <p>Default is none, building unbounded {@link ConcurrentMapCache} instances.
+	 * <p>Note: A change of the bounded cache spec will reset all existing caches,
+	 * if any, to reconfigure them with the new spec.
+	 * @since 6.0
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setBoundedCacheSpec(@Nullable BoundedCacheSpec boundedCacheSpec) {
+		this.boundedCacheSpec = boundedCacheSpec;
+		recreateCaches();
+	}
+
+	/**
+	 * Specify {@link BoundedCacheSpec} instances for specific cache names,
+	 * overriding the {@link #setBoundedCacheSpec default spec} (if any).
+	 * <p>Note: A change of the bounded cache specs will reset all existing caches,
+	 * if any, to reconfigure them with the new specs.
+	 * @since 6.0
+	 * @see BoundedConcurrentMapCache
+	 */
+	public void setBoundedCacheSpecs(Map<String, BoundedCacheSpec> boundedCacheSpecs) {
+		this.boundedCacheSpecs.clear();
+		this.boundedCacheSpecs.putAll(boundedCacheSpecs);
+		recreateCaches();
+	}
+
+	/**
+	 * Return the {@link BoundedCacheSpec} that applies to the given cache name, if any.
+	 * @param name the name of the cache
+	 * @since 6.0
+	 */
+	@Nullable
+	protected BoundedCacheSpec getBoundedCacheSpec(String name) {
+		BoundedCacheSpec spec = this.boundedCacheSpecs.get(name);
+		return (spec != null ? spec : this.boundedCacheSpec);
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -183,12 +233,19 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	}
 
 	/**
-	 * Create a new ConcurrentMapCache instance for the specified cache name.
+	 * Create a new ConcurrentMapCache instance for the specified cache name,
+	 * or a {@link BoundedConcurrentMapCache} if a {@link BoundedCacheSpec}
+	 * applies to the given name.
 	 * @param name the name of the cache
 	 * @return the ConcurrentMapCache (or a decorator thereof)
+	 * @see #getBoundedCacheSpec(String)
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
+		BoundedCacheSpec spec = getBoundedCacheSpec(name);
+		if (spec != null) {
+			return new BoundedConcurrentMapCache(name, spec, isAllowNullValues(), actualSerialization);
+		}
 		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,10 @@
 
 package org.springframework.cache.interceptor;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.function.SingletonSupplier;
@@ -78,6 +82,62 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#retrieve(Object)} on the specified {@link Cache}
+	 * and invoke the error handler if an exception occurs.
+	 * Return {@code null} if the handler does not throw any exception, which
+	 * simulates a cache miss in case of error.
+	 * @since 6.0
+	 * @see Cache#retrieve(Object)
+	 */
+	@Nullable
+	protected CompletableFuture<?> doRetrieve(Cache cache, Object key) {
+		try {
+			return cache.retrieve(key);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return null;  // If the exception is handled, return a cache miss
+		}
+	}
+
+	/**
+	 * Execute {@link Cache#retrieve(Object, Supplier)} on the specified
+	 * {@link Cache} and invoke the error handler if an exception occurs.
+	 * Invoke the given value loader directly if the handler does not throw
+	 * any exception, which simulates a cache miss in case of error.
+	 * @since 6.0
+	 * @see Cache#retrieve(Object, Supplier)
+	 */
+	protected <T> CompletableFuture<T> doRetrieve(Cache cache, Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		try {
+			return cache.retrieve(key, valueLoader);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return valueLoader.get();
+		}
+	}
+
+	/**
+	 * Execute {@link Cache#getAge(Object)} on the specified {@link Cache} and
+	 * invoke the error handler if an exception occurs. Return {@code null}
+	 * if the handler does not throw any exception, in which case the entry
+	 * is not refreshed ahead.
+	 * @since 6.0
+	 * @see Cache#getAge(Object)
+	 */
+	@Nullable
+	protected Duration doGetAge(Cache cache, Object key) {
+		try {
+			return cache.getAge(key);
+		}
+		catch (RuntimeException ex) {
+			getErrorHandler().handleCacheGetError(ex, cache, key);
+			return null;
+		}
+	}
+
 	/**
 	 * Execute {@link Cache#put(Object, Object)} on the specified {@link Cache}
 	 * and invoke the error handler if an exception occurs.
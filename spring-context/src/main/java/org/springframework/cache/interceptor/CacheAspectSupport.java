@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,17 +18,29 @@ package org.springframework.cache.interceptor;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -43,11 +55,14 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.CustomizableThreadCreator;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.ObjectUtils;
@@ -83,12 +98,29 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+	/**
+	 * The maximum number of threads of the default cache refresh executor.
+	 */
+	private static final int DEFAULT_REFRESH_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The maximum number of refreshes queued by the default cache refresh executor.
+	 */
+	private static final int DEFAULT_REFRESH_QUEUE_CAPACITY = 1000;
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
 
 	private final CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator();
 
+	@Nullable
+	private final ReactiveCachingHandler reactiveCachingHandler = (reactorPresent ? new ReactiveCachingHandler() : null);
+
 	@Nullable
 	private CacheOperationSource cacheOperationSource;
 
@@ -97,6 +129,14 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private SingletonSupplier<CacheResolver> cacheResolver;
 
+	@Nullable
+	private SingletonSupplier<CacheLoadCoalescer> cacheLoadCoalescer;
+
+	private SingletonSupplier<Executor> cacheRefreshExecutor =
+			SingletonSupplier.of(CacheAspectSupport::createDefaultCacheRefreshExecutor);
+
+	private final Set<CacheRefreshKey> refreshesInProgress = ConcurrentHashMap.newKeySet();
+
 	@Nullable
 	private BeanFactory beanFactory;
 
@@ -118,6 +158,41 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				() -> SimpleCacheResolver.of(SupplierUtils.resolve(cacheManager)));
 	}
 
+	/**
+	 * Configure this aspect with the given error handler, key generator, cache resolver/manager,
+	 * cache load coalescer and cache refresh executor suppliers, applying the corresponding
+	 * default if a supplier is not resolvable.
+	 * @since 6.0
+	 * @see #setCacheLoadCoalescer
+	 * @see #setCacheRefreshExecutor
+	 */
+	public void configure(
+			@Nullable Supplier<CacheErrorHandler> errorHandler, @Nullable Supplier<KeyGenerator> keyGenerator,
+			@Nullable Supplier<CacheResolver> cacheResolver, @Nullable Supplier<CacheManager> cacheManager,
+			@Nullable Supplier<CacheLoadCoalescer> cacheLoadCoalescer,
+			@Nullable Supplier<Executor> cacheRefreshExecutor) {
+
+		configure(errorHandler, keyGenerator, cacheResolver, cacheManager);
+		this.cacheLoadCoalescer = SingletonSupplier.ofNullable(cacheLoadCoalescer);
+		this.cacheRefreshExecutor = new SingletonSupplier<>(cacheRefreshExecutor,
+				CacheAspectSupport::createDefaultCacheRefreshExecutor);
+	}
+
+	/**
+	 * Create the default cache refresh executor: a small pool of daemon threads
+	 * with a bounded queue, rejecting further refreshes once the queue is full,
+	 * in which case stale values keep being served until the next attempt.
+	 */
+	private static Executor createDefaultCacheRefreshExecutor() {
+		CustomizableThreadCreator threadCreator = new CustomizableThreadCreator("cache-refresh-");
+		threadCreator.setDaemon(true);
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_REFRESH_THREADS, DEFAULT_REFRESH_THREADS,
+				60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(DEFAULT_REFRESH_QUEUE_CAPACITY),
+				threadCreator::createThread);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
 
 	/**
 	 * Set one or more cache operation sources which are used to find the cache
@@ -194,6 +269,53 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Set the {@link CacheLoadCoalescer} to use for coalescing concurrent
+	 * invocations on a {@code @Cacheable} miss for the same key into a single
+	 * invocation, independent of the {@link Cache} implementation in use.
+	 * <p>Default is none, invoking the method for every cache miss unless
+	 * {@code sync} has been requested for the operation. Coalescing does not
+	 * apply to invocations which also need to perform a {@code @CachePut}.
+	 * @since 6.0
+	 */
+	public void setCacheLoadCoalescer(@Nullable CacheLoadCoalescer cacheLoadCoalescer) {
+		this.cacheLoadCoalescer = SingletonSupplier.ofNullable(cacheLoadCoalescer);
+	}
+
+	/**
+	 * Return the {@link CacheLoadCoalescer} to use, if any.
+	 * @since 6.0
+	 */
+	@Nullable
+	public CacheLoadCoalescer getCacheLoadCoalescer() {
+		return SupplierUtils.resolve(this.cacheLoadCoalescer);
+	}
+
+	/**
+	 * Set the {@link Executor} to use for refreshing stale cache entries ahead
+	 * of their expiration, as requested through
+	 * {@link org.springframework.cache.annotation.Cacheable#refreshAfter()}.
+	 * <p>Default is a pool of up to 4 daemon threads with a queue of up to 1000
+	 * refreshes. Refreshes rejected by the executor are skipped, serving the
+	 * stale value until the next attempt.
+	 * <p>Refreshes run after the original invocation has returned, through a
+	 * {@link CacheOperationInvoker#copy() copy} of its invoker. Thread-bound
+	 * context of the caller, such as a transaction, a security context or
+	 * request-scoped beans, is not available to them.
+	 * @since 6.0
+	 */
+	public void setCacheRefreshExecutor(Executor cacheRefreshExecutor) {
+		this.cacheRefreshExecutor = SingletonSupplier.of(cacheRefreshExecutor);
+	}
+
+	/**
+	 * Return the {@link Executor} to use for refreshing stale cache entries.
+	 * @since 6.0
+	 */
+	public Executor getCacheRefreshExecutor() {
+		return this.cacheRefreshExecutor.obtain();
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -371,37 +493,124 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	@Nullable
-	private Object execute(final CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
-		// Special handling of synchronized invocation
+	private Object execute(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
 		if (contexts.isSynchronized()) {
-			CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
-			if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
-				Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
-				Cache cache = context.getCaches().iterator().next();
-				try {
-					return wrapCacheValue(method, handleSynchronizedGet(invoker, key, cache));
-				}
-				catch (Cache.ValueRetrievalException ex) {
-					// Directly propagate ThrowableWrapper from the invoker,
-					// or potentially also an IllegalArgumentException etc.
-					ReflectionUtils.rethrowRuntimeException(ex.getCause());
+			// Special handling of synchronized invocation
+			return executeSynchronized(invoker, method, contexts);
+		}
+
+		// Process any early evictions
+		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
+				CacheOperationExpressionEvaluator.NO_RESULT);
+
+		// Check if we have a cached value matching the conditions
+		Object cacheHit = findCachedValue(invoker, method, contexts);
+		if (cacheHit == null || cacheHit instanceof Cache.ValueWrapper || cacheHit instanceof StaleCacheHit) {
+			return evaluate(cacheHit, invoker, method, contexts);
+		}
+		// Asynchronous cache retrieval: the remaining operations are applied once it completes
+		return cacheHit;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private Object executeSynchronized(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+		CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+		if (isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+			Object key = generateKey(context, CacheOperationExpressionEvaluator.NO_RESULT);
+			Cache cache = context.getCaches().iterator().next();
+			if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+				return retrieveSynchronized(context, cache, key, invoker, () -> {
+					CompletableFuture<Object> result = (CompletableFuture<Object>) invokeOperation(invoker);
+					if (result == null) {
+						throw new IllegalStateException("Returned CompletableFuture must not be null: " + method);
+					}
+					return result;
+				});
+			}
+			if (this.reactiveCachingHandler != null) {
+				Object returnValue = this.reactiveCachingHandler.executeSynchronized(context, invoker, method, cache, key);
+				if (returnValue != ReactiveCachingHandler.NOT_HANDLED) {
+					return returnValue;
 				}
 			}
-			else {
-				// No caching required, only call the underlying method
-				return invokeOperation(invoker);
+			try {
+				return wrapCacheValue(method, handleSynchronizedGet(context, invoker, key, cache));
+			}
+			catch (Cache.ValueRetrievalException ex) {
+				// Directly propagate ThrowableWrapper from the invoker,
+				// or potentially also an IllegalArgumentException etc.
+				ReflectionUtils.rethrowRuntimeException(ex.getCause());
+				// Never reached
+				return null;
 			}
 		}
+		else {
+			// No caching required, only call the underlying method
+			return invokeOperation(invoker);
+		}
+	}
 
+	@Nullable
+	private Object handleSynchronizedGet(
+			CacheOperationContext context, CacheOperationInvoker invoker, Object key, Cache cache) {
 
-		// Process any early evictions
-		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
-				CacheOperationExpressionEvaluator.NO_RESULT);
+		InvocationAwareResult invocationResult = new InvocationAwareResult();
+		Object result = cache.get(key, () -> {
+			invocationResult.invoked = true;
+			if (logger.isTraceEnabled()) {
+				logger.trace("No cache entry for key '" + key + "' in cache " + cache.getName());
+			}
+			return unwrapReturnValue(invokeOperation(invoker));
+		});
+		if (!invocationResult.invoked) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
+			}
+			if (isStale(context, cache, key)) {
+				refreshCacheEntry(context, cache, key, invoker);
+			}
+		}
+		return result;
+	}
 
-		// Check if we have a cached item matching the conditions
-		Cache.ValueWrapper cacheHit = findCachedItem(contexts.get(CacheableOperation.class));
+	private <T> CompletableFuture<T> retrieveSynchronized(CacheOperationContext context, Cache cache, Object key,
+			CacheOperationInvoker invoker, Supplier<CompletableFuture<T>> valueLoader) {
 
-		// Collect puts from any @Cacheable miss, if no cached item is found
+		InvocationAwareResult invocationResult = new InvocationAwareResult();
+		CompletableFuture<T> result = doRetrieve(cache, key, () -> {
+			invocationResult.invoked = true;
+			return valueLoader.get();
+		});
+		if (!invocationResult.invoked && isStale(context, cache, key)) {
+			result.whenComplete((value, ex) -> {
+				if (ex == null) {
+					refreshCacheEntry(context, cache, key, invoker);
+				}
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Evaluate the given cache hit (or miss) against the cache put and late
+	 * evict operations, invoking the method if necessary.
+	 * @param cacheHit a {@link Cache.ValueWrapper} for a synchronous cache hit,
+	 * a {@link CompletableFuture} or reactive value for an asynchronous cache hit,
+	 * or {@code null} in case of a cache miss
+	 * @return the value to return from the method invocation
+	 */
+	@Nullable
+	private Object evaluate(@Nullable Object cacheHit, CacheOperationInvoker invoker, Method method,
+			CacheOperationContexts contexts) {
+
+		StaleCacheHit staleHit = null;
+		if (cacheHit instanceof StaleCacheHit hit) {
+			staleHit = hit;
+			cacheHit = hit.value();
+		}
+
+		// Collect puts from any @Cacheable miss, if no cached value is found
 		List<CachePutRequest> cachePutRequests = new ArrayList<>();
 		if (cacheHit == null) {
 			collectPutRequests(contexts.get(CacheableOperation.class),
@@ -413,43 +622,62 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		if (cacheHit != null && !hasCachePut(contexts)) {
 			// If there are no put requests, just use the cache hit
-			cacheValue = cacheHit.get();
+			cacheValue = unwrapCacheValue(cacheHit);
 			returnValue = wrapCacheValue(method, cacheValue);
+			if (staleHit != null) {
+				// Serve the stale value while refreshing the entry in the background
+				refreshCacheEntry(staleHit.context(), staleHit.cache(), staleHit.key(), invoker);
+			}
 		}
 		else {
 			// Invoke the method if we don't have a cache hit
-			returnValue = invokeOperation(invoker);
+			CacheLoadCoalescer coalescer = getCacheLoadCoalescer();
+			if (cacheHit == null && coalescer != null && !cachePutRequests.isEmpty() && !hasCachePut(contexts)) {
+				// Share any in-flight invocation for the same cache key
+				returnValue = coalescer.load(createLoadKey(method, cachePutRequests), () -> invokeOperation(invoker));
+			}
+			else {
+				returnValue = invokeOperation(invoker);
+			}
 			cacheValue = unwrapReturnValue(returnValue);
 		}
 
-		// Collect any explicit @CachePuts
-		collectPutRequests(contexts.get(CachePutOperation.class), cacheValue, cachePutRequests);
+		// Collect any explicit @CachePuts, their conditions being evaluated against the actual value
+		for (CacheOperationContext context : contexts.get(CachePutOperation.class)) {
+			cachePutRequests.add(new CachePutRequest(context));
+		}
 
 		// Process any collected put requests, either from @CachePut or a @Cacheable miss
+		Object result = cacheValue;
 		for (CachePutRequest cachePutRequest : cachePutRequests) {
-			cachePutRequest.apply(cacheValue);
+			Object returnOverride = cachePutRequest.apply(result);
+			if (returnOverride != null) {
+				result = returnOverride;
+				returnValue = returnOverride;
+			}
 		}
 
 		// Process any late evictions
-		processCacheEvicts(contexts.get(CacheEvictOperation.class), false, cacheValue);
+		Object returnOverride = processCacheEvicts(contexts.get(CacheEvictOperation.class), false, result);
+		if (returnOverride != null) {
+			returnValue = returnOverride;
+		}
 
 		return returnValue;
 	}
 
-	@Nullable
-	private Object handleSynchronizedGet(CacheOperationInvoker invoker, Object key, Cache cache) {
-		InvocationAwareResult invocationResult = new InvocationAwareResult();
-		Object result = cache.get(key, () -> {
-			invocationResult.invoked = true;
-			if (logger.isTraceEnabled()) {
-				logger.trace("No cache entry for key '" + key + "' in cache " + cache.getName());
-			}
-			return unwrapReturnValue(invokeOperation(invoker));
-		});
-		if (!invocationResult.invoked && logger.isTraceEnabled()) {
-			logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
+	private Object createLoadKey(Method method, List<CachePutRequest> cachePutRequests) {
+		List<Object> targets = new ArrayList<>(cachePutRequests.size() * 2);
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			targets.add(cachePutRequest.context.getCacheNames());
+			targets.add(cachePutRequest.key);
 		}
-		return result;
+		return new CacheLoadKey(method, targets);
+	}
+
+	@Nullable
+	private Object unwrapCacheValue(@Nullable Object cacheValue) {
+		return (cacheValue instanceof Cache.ValueWrapper wrapper ? wrapper.get() : cacheValue);
 	}
 
 	@Nullable
@@ -484,12 +712,51 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return (cachePutContexts.size() != excluded.size());
 	}
 
-	private void processCacheEvicts(
+	/**
+	 * Process the evict operations matching the given phase.
+	 * <p>For an asynchronous result, the evictions are deferred until the
+	 * actual value is available.
+	 * @return a replacement for an asynchronous result, or {@code null} if
+	 * the evictions have been performed right away
+	 */
+	@Nullable
+	private Object processCacheEvicts(
 			Collection<CacheOperationContext> contexts, boolean beforeInvocation, @Nullable Object result) {
 
+		if (contexts.isEmpty()) {
+			return null;
+		}
+		List<CacheOperationContext> applicable = new ArrayList<>(contexts.size());
+		for (CacheOperationContext context : contexts) {
+			CacheEvictOperation operation = (CacheEvictOperation) context.metadata.operation;
+			if (beforeInvocation == operation.isBeforeInvocation()) {
+				applicable.add(context);
+			}
+		}
+		if (applicable.isEmpty()) {
+			return null;
+		}
+		if (result instanceof CompletableFuture<?> future) {
+			return future.whenComplete((value, ex) -> {
+				if (ex == null) {
+					performCacheEvicts(applicable, value);
+				}
+			});
+		}
+		if (this.reactiveCachingHandler != null) {
+			Object returnValue = this.reactiveCachingHandler.processCacheEvicts(applicable, result);
+			if (returnValue != ReactiveCachingHandler.NOT_HANDLED) {
+				return returnValue;
+			}
+		}
+		performCacheEvicts(applicable, result);
+		return null;
+	}
+
+	private void performCacheEvicts(List<CacheOperationContext> contexts, @Nullable Object result) {
 		for (CacheOperationContext context : contexts) {
 			CacheEvictOperation operation = (CacheEvictOperation) context.metadata.operation;
-			if (beforeInvocation == operation.isBeforeInvocation() && isConditionPassing(context, result)) {
+			if (isConditionPassing(context, result)) {
 				performCacheEvict(context, operation, result);
 			}
 		}
@@ -522,18 +789,22 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	/**
-	 * Find a cached item only for {@link CacheableOperation} that passes the condition.
-	 * @param contexts the cacheable operations
-	 * @return a {@link Cache.ValueWrapper} holding the cached item,
-	 * or {@code null} if none is found
+	 * Find a cached value only for {@link CacheableOperation} that passes the condition.
+	 * @param invoker the invoker handling the operation being cached
+	 * @param method the method being invoked
+	 * @param contexts the operation contexts
+	 * @return a {@link Cache.ValueWrapper} holding a synchronously retrieved
+	 * cached value, an asynchronous result (such as a {@link CompletableFuture})
+	 * which applies the remaining operations once the cache retrieval completes,
+	 * or {@code null} if no cached value is found
 	 */
 	@Nullable
-	private Cache.ValueWrapper findCachedItem(Collection<CacheOperationContext> contexts) {
+	private Object findCachedValue(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
 		Object result = CacheOperationExpressionEvaluator.NO_RESULT;
-		for (CacheOperationContext context : contexts) {
+		for (CacheOperationContext context : contexts.get(CacheableOperation.class)) {
 			if (isConditionPassing(context, result)) {
 				Object key = generateKey(context, result);
-				Cache.ValueWrapper cached = findInCaches(context, key);
+				Object cached = findInCaches(context, key, invoker, method, contexts);
 				if (cached != null) {
 					return cached;
 				}
@@ -549,9 +820,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	/**
 	 * Collect the {@link CachePutRequest} for all {@link CacheOperation} using
-	 * the specified result item.
+	 * the specified result value.
 	 * @param contexts the contexts to handle
-	 * @param result the result item (never {@code null})
+	 * @param result the result value (never {@code null})
 	 * @param putRequests the collection to update
 	 */
 	private void collectPutRequests(Collection<CacheOperationContext> contexts,
@@ -566,19 +837,150 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	@Nullable
-	private Cache.ValueWrapper findInCaches(CacheOperationContext context, Object key) {
+	private Object findInCaches(CacheOperationContext context, Object key,
+			CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+
 		for (Cache cache : context.getCaches()) {
+			if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+				CompletableFuture<?> result = doRetrieve(cache, key);
+				if (result != null) {
+					boolean stale = isStale(context, cache, key);
+					return result.exceptionally(ex -> {
+						handleRetrievalError(ex, cache, key);
+						return null;
+					}).thenCompose(value -> (CompletableFuture<?>) evaluate(
+							(value != null ? cacheHit(CompletableFuture.completedFuture(unwrapCacheValue(value)),
+									stale, context, cache, key) : null),
+							invoker, method, contexts));
+				}
+				continue;
+			}
+			if (this.reactiveCachingHandler != null) {
+				Object returnValue = this.reactiveCachingHandler.findInCaches(
+						context, cache, key, invoker, method, contexts);
+				if (returnValue != ReactiveCachingHandler.NOT_HANDLED) {
+					if (returnValue != null) {
+						return returnValue;
+					}
+					continue;
+				}
+			}
 			Cache.ValueWrapper wrapper = doGet(cache, key);
 			if (wrapper != null) {
 				if (logger.isTraceEnabled()) {
 					logger.trace("Cache entry for key '" + key + "' found in cache '" + cache.getName() + "'");
 				}
-				return wrapper;
+				return cacheHit(wrapper, isStale(context, cache, key), context, cache, key);
 			}
 		}
 		return null;
 	}
 
+	private Object cacheHit(Object value, boolean stale, CacheOperationContext context, Cache cache, Object key) {
+		return (stale ? new StaleCacheHit(value, context, cache, key) : value);
+	}
+
+	/**
+	 * Determine whether the entry for the given key should be refreshed ahead
+	 * of its expiration, according to the {@code refreshAfter} setting of the
+	 * given {@code @Cacheable} operation.
+	 */
+	private boolean isStale(CacheOperationContext context, Cache cache, Object key) {
+		Duration refreshAfter = ((CacheableOperation) context.metadata.operation).getRefreshAfter();
+		if (refreshAfter == null) {
+			return false;
+		}
+		Duration age = doGetAge(cache, key);
+		return (age != null && age.compareTo(refreshAfter) >= 0);
+	}
+
+	/**
+	 * Refresh the entry for the given key on the cache refresh executor,
+	 * unless a refresh for that entry is already in progress.
+	 * <p>The refresh uses a {@link CacheOperationInvoker#copy() copy} of the
+	 * given invoker, independent of the current invocation.
+	 */
+	private void refreshCacheEntry(
+			CacheOperationContext context, Cache cache, Object key, CacheOperationInvoker invoker) {
+
+		CacheRefreshKey refreshKey = new CacheRefreshKey(cache, key);
+		if (!this.refreshesInProgress.add(refreshKey)) {
+			return;
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Refreshing stale cache entry for key '" + key + "' in cache '" + cache.getName() + "'");
+		}
+		Runnable onCompletion = () -> this.refreshesInProgress.remove(refreshKey);
+		try {
+			// Capture a separate invocation while the current one is still in progress
+			CacheOperationInvoker refreshInvoker = invoker.copy();
+			getCacheRefreshExecutor().execute(() -> performRefresh(context, cache, key, refreshInvoker, onCompletion));
+		}
+		catch (RuntimeException ex) {
+			// Typically a rejected task: keep serving the stale value until the next attempt
+			onCompletion.run();
+			logRefreshFailure(cache, key, ex);
+		}
+	}
+
+	private void performRefresh(CacheOperationContext context, Cache cache, Object key,
+			CacheOperationInvoker invoker, Runnable onCompletion) {
+
+		boolean async = false;
+		try {
+			Object result = unwrapReturnValue(invokeOperation(invoker));
+			Object returnOverride = new CachePutRequest(context, key).apply(result);
+			if (returnOverride instanceof CompletableFuture<?> future) {
+				future.whenComplete((value, ex) -> {
+					if (ex != null) {
+						logRefreshFailure(cache, key, ex);
+					}
+					onCompletion.run();
+				});
+				async = true;
+			}
+			else if (returnOverride != null && this.reactiveCachingHandler != null) {
+				async = this.reactiveCachingHandler.subscribe(returnOverride,
+						ex -> logRefreshFailure(cache, key, ex), onCompletion);
+			}
+		}
+		catch (Throwable ex) {
+			logRefreshFailure(cache, key, ex);
+		}
+		finally {
+			if (!async) {
+				onCompletion.run();
+			}
+		}
+	}
+
+	private void logRefreshFailure(Cache cache, Object key, Throwable ex) {
+		Throwable cause = (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+		if (cause instanceof CacheOperationInvoker.ThrowableWrapper wrapper) {
+			cause = wrapper.getOriginal();
+		}
+		if (logger.isWarnEnabled()) {
+			logger.warn("Failed to refresh cache entry for key '" + key + "' in cache '" + cache.getName() + "'", cause);
+		}
+	}
+
+	/**
+	 * Handle a failed asynchronous cache retrieval through the {@link CacheErrorHandler},
+	 * turning the failure into a cache miss if the error handler does not rethrow it.
+	 */
+	private void handleRetrievalError(Throwable ex, Cache cache, Object key) {
+		Throwable cause = (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+		if (cause instanceof RuntimeException runtimeException) {
+			getErrorHandler().handleCacheGetError(runtimeException, cache, key);
+		}
+		else if (cause instanceof Error error) {
+			throw error;
+		}
+		else {
+			throw new CompletionException(cause);
+		}
+	}
+
 	private boolean isConditionPassing(CacheOperationContext context, @Nullable Object result) {
 		boolean passing = context.isConditionPassing(result);
 		if (!passing && logger.isTraceEnabled()) {
@@ -824,6 +1226,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final CacheOperationContext context;
 
+		@Nullable
 		private final Object key;
 
 		public CachePutRequest(CacheOperationContext context, Object key) {
@@ -831,10 +1234,46 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			this.key = key;
 		}
 
-		public void apply(@Nullable Object result) {
-			if (this.context.canPutToCache(result)) {
+		/**
+		 * Create a put request for a {@code @CachePut} operation, evaluating its
+		 * condition and key against the actual value once it is available.
+		 */
+		public CachePutRequest(CacheOperationContext context) {
+			this.context = context;
+			this.key = null;
+		}
+
+		/**
+		 * Apply this put request to the given result.
+		 * <p>For an asynchronous result, the put is deferred until the actual
+		 * value is available.
+		 * @return a replacement for an asynchronous result, or {@code null} if
+		 * the put has been performed right away
+		 */
+		@Nullable
+		public Object apply(@Nullable Object result) {
+			if (result instanceof CompletableFuture<?> future) {
+				return future.whenComplete((value, ex) -> {
+					if (ex == null) {
+						performCachePut(value);
+					}
+				});
+			}
+			if (reactiveCachingHandler != null) {
+				Object returnValue = reactiveCachingHandler.processPutRequest(this, result);
+				if (returnValue != ReactiveCachingHandler.NOT_HANDLED) {
+					return returnValue;
+				}
+			}
+			performCachePut(result);
+			return null;
+		}
+
+		public void performCachePut(@Nullable Object value) {
+			if (isConditionPassing(this.context, value) && this.context.canPutToCache(value)) {
+				Object key = (this.key != null ? this.key : generateKey(this.context, value));
 				for (Cache cache : this.context.getCaches()) {
-					doPut(cache, this.key, result);
+					doPut(cache, key, value);
 				}
 			}
 		}
@@ -884,6 +1323,29 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 	}
 
+	/**
+	 * Key for a {@link CacheLoadCoalescer} load: the method along with
+	 * the names of the target caches and the cache key for each of them.
+	 */
+	private record CacheLoadKey(Method method, List<Object> targets) {
+	}
+
+
+	/**
+	 * Key for a refresh of a stale cache entry in progress.
+	 */
+	private record CacheRefreshKey(Cache cache, Object key) {
+	}
+
+
+	/**
+	 * A cache hit whose entry is due to be refreshed ahead of its expiration,
+	 * once the hit is actually returned to the caller.
+	 */
+	private record StaleCacheHit(Object value, CacheOperationContext context, Cache cache, Object key) {
+	}
+
+
 	/**
 	 * Internal holder class for recording that a cache method was invoked.
 	 */
@@ -893,4 +1355,120 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	}
 
+
+	/**
+	 * Inner class to avoid a hard dependency on the Reactive Streams API
+	 * and Reactor at runtime: adapts cache operations on methods returning
+	 * a reactive type to the asynchronous {@link Cache#retrieve} variants.
+	 * <p>Multi-value types are cached as a {@code List} of their elements.
+	 */
+	private class ReactiveCachingHandler {
+
+		static final Object NOT_HANDLED = new Object();
+
+		private final ReactiveAdapterRegistry registry = ReactiveAdapterRegistry.getSharedInstance();
+
+		@Nullable
+		public Object executeSynchronized(CacheOperationContext context, CacheOperationInvoker invoker,
+				Method method, Cache cache, Object key) {
+
+			ReactiveAdapter adapter = this.registry.getAdapter(method.getReturnType());
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			if (adapter.isMultiValue()) {
+				// Flux or similar
+				return adapter.fromPublisher(Mono.fromFuture(() -> retrieveSynchronized(context, cache, key, invoker, () ->
+								Flux.from(adapter.<Object>toPublisher(invokeOperation(invoker))).collectList().toFuture()))
+						.flatMapMany(Flux::fromIterable));
+			}
+			// Mono or similar
+			return adapter.fromPublisher(Mono.fromFuture(() -> retrieveSynchronized(context, cache, key, invoker, () ->
+					Mono.from(adapter.<Object>toPublisher(invokeOperation(invoker))).toFuture())));
+		}
+
+		@Nullable
+		public Object findInCaches(CacheOperationContext context, Cache cache, Object key,
+				CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+
+			ReactiveAdapter adapter = this.registry.getAdapter(method.getReturnType());
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			CompletableFuture<?> cachedFuture = doRetrieve(cache, key);
+			if (cachedFuture == null) {
+				return null;
+			}
+			boolean stale = isStale(context, cache, key);
+			Mono<Optional<Object>> cachedValue = Mono.fromFuture(cachedFuture)
+					.onErrorResume(ex -> {
+						handleRetrievalError(ex, cache, key);
+						return Mono.empty();
+					})
+					.map(value -> Optional.of((Object) value))
+					.defaultIfEmpty(Optional.empty());
+			if (adapter.isMultiValue()) {
+				// Flux or similar
+				return adapter.fromPublisher(cachedValue.flatMapMany(value -> Flux.from(adapter.toPublisher(evaluate(
+						value.map(v -> cacheHit(cachedFlux(v), stale, context, cache, key)).orElse(null),
+						invoker, method, contexts)))));
+			}
+			// Mono or similar
+			return adapter.fromPublisher(cachedValue.flatMap(value -> Mono.from(adapter.toPublisher(evaluate(
+					value.map(v -> cacheHit(cachedMono(v), stale, context, cache, key)).orElse(null),
+					invoker, method, contexts)))));
+		}
+
+		private Object cachedMono(Object cachedValue) {
+			return Mono.justOrEmpty(unwrapCacheValue(cachedValue));
+		}
+
+		private Object cachedFlux(Object cachedValue) {
+			Object elements = unwrapCacheValue(cachedValue);
+			return (elements != null ? Flux.fromIterable((Iterable<?>) elements) : Flux.empty());
+		}
+
+		/**
+		 * Subscribe to the given reactive result, e.g. for a background refresh.
+		 * @return {@code true} if subscribed, {@code false} if the result is not
+		 * of a reactive type
+		 */
+		public boolean subscribe(Object result, Consumer<Throwable> onError, Runnable onCompletion) {
+			ReactiveAdapter adapter = this.registry.getAdapter(result.getClass());
+			if (adapter == null) {
+				return false;
+			}
+			Flux.from(adapter.toPublisher(result)).subscribe(value -> {}, ex -> {
+				onError.accept(ex);
+				onCompletion.run();
+			}, onCompletion);
+			return true;
+		}
+
+		public Object processPutRequest(CachePutRequest request, @Nullable Object result) {
+			return processResult(result, request::performCachePut);
+		}
+
+		public Object processCacheEvicts(List<CacheOperationContext> contexts, @Nullable Object result) {
+			return processResult(result, value -> performCacheEvicts(contexts, value));
+		}
+
+		private Object processResult(@Nullable Object result, Consumer<Object> action) {
+			ReactiveAdapter adapter = (result != null ? this.registry.getAdapter(result.getClass()) : null);
+			if (adapter == null) {
+				return NOT_HANDLED;
+			}
+			Publisher<Object> publisher = adapter.toPublisher(result);
+			if (adapter.isMultiValue()) {
+				// Flux or similar: apply the action to the elements once complete
+				return adapter.fromPublisher(Flux.defer(() -> {
+					List<Object> elements = new ArrayList<>();
+					return Flux.from(publisher).doOnNext(elements::add).doOnComplete(() -> action.accept(elements));
+				}));
+			}
+			// Mono or similar
+			return adapter.fromPublisher(Mono.from(publisher).doOnSuccess(action));
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
+import org.springframework.aop.ProxyMethodInvocation;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -49,15 +50,7 @@ public class CacheInterceptor extends CacheAspectSupport implements MethodInterc
 	public Object invoke(final MethodInvocation invocation) throws Throwable {
 		Method method = invocation.getMethod();
 
-		CacheOperationInvoker aopAllianceInvoker = () -> {
-			try {
-				return invocation.proceed();
-			}
-			catch (Throwable ex) {
-				throw new CacheOperationInvoker.ThrowableWrapper(ex);
-			}
-		};
-
+		CacheOperationInvoker aopAllianceInvoker = new MethodInvocationInvoker(invocation);
 		Object target = invocation.getThis();
 		Assert.state(target != null, "Target must not be null");
 		try {
@@ -68,4 +61,38 @@ public class CacheInterceptor extends CacheAspectSupport implements MethodInterc
 		}
 	}
 
+
+	/**
+	 * {@link CacheOperationInvoker} proceeding with a {@link MethodInvocation},
+	 * copied through {@link ProxyMethodInvocation#invocableClone()} if possible,
+	 * so that a copy runs the remaining interceptor chain on its own.
+	 */
+	private static class MethodInvocationInvoker implements CacheOperationInvoker {
+
+		private final MethodInvocation invocation;
+
+		MethodInvocationInvoker(MethodInvocation invocation) {
+			this.invocation = invocation;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke() {
+			try {
+				return this.invocation.proceed();
+			}
+			catch (Throwable ex) {
+				throw new ThrowableWrapper(ex);
+			}
+		}
+
+		@Override
+		public CacheOperationInvoker copy() {
+			if (this.invocation instanceof ProxyMethodInvocation proxyInvocation) {
+				return new MethodInvocationInvoker(proxyInvocation.invocableClone());
+			}
+			return this;
+		}
+	}
+
 }
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Coalesces concurrent invocations of a cached method for the same cache key
+ * into a single invocation (a "single flight"), independent of the capabilities
+ * of the underlying {@link org.springframework.cache.Cache} implementation.
+ *
+ * <p>While a load for a given key is in flight, further invocations for that key
+ * wait for its outcome and share its result (or exception) instead of invoking
+ * the method again. This protects the target method from a thundering herd of
+ * identical invocations when a popular entry is missing from the cache.
+ *
+ * <p>For asynchronous return values, the load remains in flight until the
+ * result is available:
+ * <ul>
+ * <li>A {@link CompletableFuture} is shared with coalesced callers through a
+ * {@link CompletableFuture#copy() copy} of the original future.</li>
+ * <li>A single-value reactive type such as {@code Mono} is adapted to a publisher
+ * which subscribes to the original source once, on first subscription, and
+ * replays its outcome to all subscribers. This requires a
+ * {@link ReactiveAdapterRegistry} adapter for {@code CompletionStage}, as
+ * registered when Reactor is present. Such a load is in flight from the first
+ * subscription to the returned value until its completion: invocations after
+ * the method returned but before the value has been subscribed to are not
+ * coalesced, and a value that is never subscribed to holds no in-flight load.</li>
+ * </ul>
+ * Multi-value reactive types are not coalesced.
+ *
+ * <p>A single instance may be shared between several cache aspects and exposes
+ * basic metrics on the number of invocations which have been coalesced.
+ *
+ * @author agent
+ * @since 6.0
+ * @see CacheAspectSupport#setCacheLoadCoalescer
+ */
+public class CacheLoadCoalescer {
+
+	private static final boolean reactiveStreamsPresent = ClassUtils.isPresent(
+			"org.reactivestreams.Publisher", CacheLoadCoalescer.class.getClassLoader());
+
+
+	private final ConcurrentHashMap<Object, InFlightLoad> inFlightLoads = new ConcurrentHashMap<>(64);
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder coalescedCount = new LongAdder();
+
+	private final ReactiveAdapterRegistry reactiveAdapterRegistry;
+
+
+	/**
+	 * Create a new {@code CacheLoadCoalescer} using the shared
+	 * {@link ReactiveAdapterRegistry} instance.
+	 */
+	public CacheLoadCoalescer() {
+		this(ReactiveAdapterRegistry.getSharedInstance());
+	}
+
+	/**
+	 * Create a new {@code CacheLoadCoalescer} using the given
+	 * {@link ReactiveAdapterRegistry} for the detection of reactive return values.
+	 */
+	public CacheLoadCoalescer(ReactiveAdapterRegistry reactiveAdapterRegistry) {
+		this.reactiveAdapterRegistry = reactiveAdapterRegistry;
+	}
+
+
+	/**
+	 * Invoke the given invoker unless a load for the same key is already in
+	 * flight, in which case its outcome is shared.
+	 * @param loadKey the key identifying the load, typically composed of the
+	 * method, the target caches and the cache key
+	 * @param invoker the invoker for the cached method
+	 * @return the result of the invocation, or of the in-flight load
+	 * @throws CacheOperationInvoker.ThrowableWrapper if the invocation failed
+	 */
+	@Nullable
+	public Object load(Object loadKey, CacheOperationInvoker invoker) {
+		InFlightLoad load = new InFlightLoad();
+		InFlightLoad existing = this.inFlightLoads.putIfAbsent(loadKey, load);
+		if (existing != null) {
+			this.coalescedCount.increment();
+			return existing.await();
+		}
+
+		this.loadCount.increment();
+		Object result;
+		try {
+			result = invoker.invoke();
+		}
+		catch (RuntimeException | Error ex) {
+			this.inFlightLoads.remove(loadKey, load);
+			load.result.completeExceptionally(ex);
+			throw ex;
+		}
+
+		if (result instanceof CompletableFuture<?> future) {
+			load.result.complete(future);
+			future.whenComplete((value, ex) -> this.inFlightLoads.remove(loadKey, load));
+			return result;
+		}
+		if (result != null && reactiveStreamsPresent) {
+			Object shared = new ReactiveLoadHandler().share(result,
+					() -> this.inFlightLoads.putIfAbsent(loadKey, load),
+					() -> this.inFlightLoads.remove(loadKey, load));
+			if (shared != null) {
+				// In flight again once subscribed to, as the source may never be subscribed to
+				this.inFlightLoads.remove(loadKey, load);
+				load.result.complete(shared);
+				return shared;
+			}
+		}
+		this.inFlightLoads.remove(loadKey, load);
+		load.result.complete(result);
+		return result;
+	}
+
+	/**
+	 * Return the number of invocations performed on behalf of this coalescer.
+	 */
+	public long getLoadCount() {
+		return this.loadCount.sum();
+	}
+
+	/**
+	 * Return the number of invocations which have been coalesced into an
+	 * in-flight load instead of invoking the cached method.
+	 */
+	public long getCoalescedCount() {
+		return this.coalescedCount.sum();
+	}
+
+	/**
+	 * Return the number of loads currently in flight.
+	 */
+	public int getInFlightCount() {
+		return this.inFlightLoads.size();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + ": loads=" + getLoadCount() +
+				", coalesced=" + getCoalescedCount() + ", in-flight=" + getInFlightCount();
+	}
+
+
+	/**
+	 * Holder for the outcome of an in-flight load.
+	 */
+	private static class InFlightLoad {
+
+		final CompletableFuture<Object> result = new CompletableFuture<>();
+
+		@Nullable
+		Object await() {
+			Object shared;
+			try {
+				shared = this.result.join();
+			}
+			catch (CompletionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				if (cause instanceof Error error) {
+					throw error;
+				}
+				throw ex;
+			}
+			return (shared instanceof CompletableFuture<?> future ? future.copy() : shared);
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on the Reactive Streams API at runtime.
+	 */
+	private class ReactiveLoadHandler {
+
+		@Nullable
+		Object share(Object result, Runnable onSubscribe, Runnable onCompletion) {
+			ReactiveAdapter adapter = reactiveAdapterRegistry.getAdapter(result.getClass());
+			if (adapter == null || adapter.isMultiValue()) {
+				return null;
+			}
+			ReactiveAdapter futureAdapter = reactiveAdapterRegistry.getAdapter(CompletableFuture.class);
+			if (futureAdapter == null) {
+				return null;
+			}
+			SharedLoadPublisher publisher =
+					new SharedLoadPublisher(adapter.toPublisher(result), futureAdapter, onSubscribe);
+			publisher.future.whenComplete((value, ex) -> onCompletion.run());
+			return adapter.fromPublisher(publisher);
+		}
+	}
+
+
+	/**
+	 * Publisher subscribing to the given source once, replaying its single
+	 * value (or completion signal) to all of its subscribers. The given
+	 * callback is invoked before the source gets subscribed to.
+	 */
+	private static class SharedLoadPublisher implements Publisher<Object> {
+
+		private final Publisher<?> source;
+
+		private final ReactiveAdapter futureAdapter;
+
+		private final Runnable onSubscribe;
+
+		private final AtomicBoolean subscribed = new AtomicBoolean();
+
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+
+		SharedLoadPublisher(Publisher<?> source, ReactiveAdapter futureAdapter, Runnable onSubscribe) {
+			this.source = source;
+			this.futureAdapter = futureAdapter;
+			this.onSubscribe = onSubscribe;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super Object> subscriber) {
+			if (this.subscribed.compareAndSet(false, true)) {
+				this.onSubscribe.run();
+				this.source.subscribe(new Subscriber<Object>() {
+					@Override
+					public void onSubscribe(Subscription subscription) {
+						subscription.request(Long.MAX_VALUE);
+					}
+					@Override
+					public void onNext(Object value) {
+						future.complete(value);
+					}
+					@Override
+					public void onError(Throwable ex) {
+						future.completeExceptionally(ex);
+					}
+					@Override
+					public void onComplete() {
+						future.complete(null);
+					}
+				});
+			}
+			this.futureAdapter.toPublisher(this.future).subscribe(subscriber);
+		}
+	}
+
+}
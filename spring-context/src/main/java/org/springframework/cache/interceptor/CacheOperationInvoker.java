@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,19 @@ public interface CacheOperationInvoker {
 	@Nullable
 	Object invoke() throws ThrowableWrapper;
 
+	/**
+	 * Return an invoker for invoking the cache operation once more, independent
+	 * of this invocation, e.g. to refresh a stale cache entry on another thread
+	 * after this invocation has returned.
+	 * <p>Must be called while this invocation is still in progress. The default
+	 * implementation returns this instance, for invokers that can be invoked
+	 * repeatedly and from any thread.
+	 * @since 6.0
+	 */
+	default CacheOperationInvoker copy() {
+		return this;
+	}
+
 
 	/**
 	 * Wrap any exception thrown while invoking {@link #invoke()}.
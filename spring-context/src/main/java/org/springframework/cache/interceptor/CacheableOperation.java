@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.cache.interceptor;
 
+import java.time.Duration;
+
 import org.springframework.lang.Nullable;
 
 /**
@@ -33,6 +35,9 @@ public class CacheableOperation extends CacheOperation {
 
 	private final boolean sync;
 
+	@Nullable
+	private final Duration refreshAfter;
+
 
 	/**
 	 * Create a new {@link CacheableOperation} instance from the given builder.
@@ -42,6 +47,7 @@ public class CacheableOperation extends CacheOperation {
 		super(b);
 		this.unless = b.unless;
 		this.sync = b.sync;
+		this.refreshAfter = b.refreshAfter;
 	}
 
 
@@ -54,6 +60,16 @@ public class CacheableOperation extends CacheOperation {
 		return this.sync;
 	}
 
+	/**
+	 * Return the age after which a cached value is refreshed ahead of its
+	 * expiration, or {@code null} if entries are not refreshed ahead.
+	 * @since 6.0
+	 */
+	@Nullable
+	public Duration getRefreshAfter() {
+		return this.refreshAfter;
+	}
+
 
 	/**
 	 * A builder that can be used to create a {@link CacheableOperation}.
@@ -66,6 +82,9 @@ public class CacheableOperation extends CacheOperation {
 
 		private boolean sync;
 
+		@Nullable
+		private Duration refreshAfter;
+
 		public void setUnless(String unless) {
 			this.unless = unless;
 		}
@@ -74,6 +93,14 @@ public class CacheableOperation extends CacheOperation {
 			this.sync = sync;
 		}
 
+		/**
+		 * Set the age after which a cached value is refreshed ahead of its expiration.
+		 * @since 6.0
+		 */
+		public void setRefreshAfter(@Nullable Duration refreshAfter) {
+			this.refreshAfter = refreshAfter;
+		}
+
 		@Override
 		protected StringBuilder getOperationDescription() {
 			StringBuilder sb = super.getOperationDescription();
@@ -83,6 +110,11 @@ public class CacheableOperation extends CacheOperation {
 			sb.append(" | sync='");
 			sb.append(this.sync);
 			sb.append('\'');
+			if (this.refreshAfter != null) {
+				sb.append(" | refreshAfter='");
+				sb.append(this.refreshAfter);
+				sb.append('\'');
+			}
 			return sb;
 		}
 
@@ -17,6 +17,8 @@
 package org.springframework.cache.support;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
@@ -80,6 +82,17 @@ public class NoOpCache implements Cache {
 		}
 	}
 
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		return null;
+	}
+
+	@Override
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		return valueLoader.get();
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 	}
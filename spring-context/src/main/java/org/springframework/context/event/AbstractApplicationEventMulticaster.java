@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,11 +18,14 @@ package org.springframework.context.event;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
 import org.springframework.aop.framework.AopProxyUtils;
@@ -32,8 +35,10 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
@@ -55,6 +60,13 @@ import org.springframework.util.ObjectUtils;
  * all events to all registered listeners, invoking them in the calling thread.
  * Alternative implementations could be more sophisticated in those respects.
  *
+ * <p>Once the set of listeners is not expected to change anymore, it may be
+ * {@linkplain #freezeListeners() frozen}: listeners are then retrieved from a
+ * dispatch table keyed by event type and source type, holding immutable lists
+ * of listener instances. This avoids the allocation of a listener collection
+ * per event, at the expense of not detecting any non-singleton listener beans
+ * for event types seen after freezing.
+ *
  * @author Juergen Hoeller
  * @author Stephane Nicoll
  * @since 1.2.3
@@ -66,8 +78,15 @@ public abstract class AbstractApplicationEventMulticaster
 
 	private final DefaultListenerRetriever defaultRetriever = new DefaultListenerRetriever();
 
+	private final Lock retrievalLock = new ReentrantLock();
+
 	final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
+	@Nullable
+	private volatile Map<DispatchKey, List<ApplicationListener<?>>> dispatchTable;
+
+	private boolean freezeListenersOnRefresh;
+
 	@Nullable
 	private ClassLoader beanClassLoader;
 
@@ -91,6 +110,28 @@ public abstract class AbstractApplicationEventMulticaster
 		}
 	}
 
+	/**
+	 * Set whether to {@linkplain #freezeListeners() freeze} the listeners once
+	 * the application context associated with this multicaster has been
+	 * refreshed, as indicated by a {@link ContextRefreshedEvent}.
+	 * <p>Default is {@code false}. Switch this to {@code true} for applications
+	 * publishing a high volume of events after startup.
+	 * @since 6.0
+	 * @see #freezeListeners()
+	 */
+	public void setFreezeListenersOnRefresh(boolean freezeListenersOnRefresh) {
+		this.freezeListenersOnRefresh = freezeListenersOnRefresh;
+	}
+
+	/**
+	 * Return whether the listeners get frozen once the associated application
+	 * context has been refreshed.
+	 * @since 6.0
+	 */
+	public boolean isFreezeListenersOnRefresh() {
+		return this.freezeListenersOnRefresh;
+	}
+
 	private ConfigurableBeanFactory getBeanFactory() {
 		if (this.beanFactory == null) {
 			throw new IllegalStateException("ApplicationEventMulticaster cannot retrieve listener beans " +
@@ -102,7 +143,8 @@ public abstract class AbstractApplicationEventMulticaster
 
 	@Override
 	public void addApplicationListener(ApplicationListener<?> listener) {
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			// Explicitly remove target for a proxy, if registered already,
 			// in order to avoid double invocations of the same listener.
 			Object singletonTarget = AopProxyUtils.getSingletonTarget(listener);
@@ -110,56 +152,141 @@ public abstract class AbstractApplicationEventMulticaster
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
 			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			clearListenerCaches();
+		}
+		finally {
+			this.retrievalLock.unlock();
 		}
 	}
 
 	@Override
 	public void addApplicationListenerBean(String listenerBeanName) {
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			clearListenerCaches();
+		}
+		finally {
+			this.retrievalLock.unlock();
 		}
 	}
 
 	@Override
 	public void removeApplicationListener(ApplicationListener<?> listener) {
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			clearListenerCaches();
+		}
+		finally {
+			this.retrievalLock.unlock();
 		}
 	}
 
 	@Override
 	public void removeApplicationListenerBean(String listenerBeanName) {
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			clearListenerCaches();
+		}
+		finally {
+			this.retrievalLock.unlock();
 		}
 	}
 
 	@Override
 	public void removeApplicationListeners(Predicate<ApplicationListener<?>> predicate) {
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			this.defaultRetriever.applicationListeners.removeIf(predicate);
-			this.retrieverCache.clear();
+			clearListenerCaches();
+		}
+		finally {
+			this.retrievalLock.unlock();
 		}
 	}
 
 	@Override
 	public void removeApplicationListenerBeans(Predicate<String> predicate) {
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			this.defaultRetriever.applicationListenerBeans.removeIf(predicate);
-			this.retrieverCache.clear();
+			clearListenerCaches();
+		}
+		finally {
+			this.retrievalLock.unlock();
 		}
 	}
 
 	@Override
 	public void removeAllListeners() {
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			clearListenerCaches();
+		}
+		finally {
+			this.retrievalLock.unlock();
+		}
+	}
+
+
+	/**
+	 * Freeze the listeners of this multicaster, retrieving the listeners for
+	 * an event from a dispatch table from now on.
+	 * <p>Listeners for a given event type and source type are resolved once,
+	 * on first publication of such an event, and are kept as an immutable list
+	 * of listener instances. Listeners may still be added or removed after
+	 * freezing, which resets the dispatch table. Event types with matching
+	 * non-singleton listener beans are not kept in the dispatch table.
+	 * @since 6.0
+	 * @see #setFreezeListenersOnRefresh
+	 */
+	public void freezeListeners() {
+		this.retrievalLock.lock();
+		try {
+			if (this.dispatchTable == null) {
+				this.dispatchTable = new ConcurrentHashMap<>(64);
+			}
+		}
+		finally {
+			this.retrievalLock.unlock();
+		}
+	}
+
+	/**
+	 * Return whether the listeners of this multicaster have been frozen.
+	 * @since 6.0
+	 * @see #freezeListeners()
+	 */
+	public boolean isListenersFrozen() {
+		return (this.dispatchTable != null);
+	}
+
+	/**
+	 * Freeze the listeners if {@link #setFreezeListenersOnRefresh requested}
+	 * and the given event signals the refresh of the application context
+	 * associated with this multicaster.
+	 * @param event the event that has just been multicast
+	 * @since 6.0
+	 */
+	protected void freezeListenersIfNecessary(ApplicationEvent event) {
+		if (this.freezeListenersOnRefresh && event instanceof ContextRefreshedEvent refreshedEvent &&
+				this.dispatchTable == null) {
+			ApplicationContext context = refreshedEvent.getApplicationContext();
+			if (this.beanFactory == null || (context instanceof ConfigurableApplicationContext cac &&
+					cac.isActive() && cac.getBeanFactory() == this.beanFactory)) {
+				freezeListeners();
+			}
+		}
+	}
+
+	private void clearListenerCaches() {
+		this.retrieverCache.clear();
+		if (this.dispatchTable != null) {
+			this.dispatchTable = new ConcurrentHashMap<>(64);
 		}
 	}
 
@@ -170,9 +297,13 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @see org.springframework.context.ApplicationListener
 	 */
 	protected Collection<ApplicationListener<?>> getApplicationListeners() {
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			return this.defaultRetriever.getApplicationListeners();
 		}
+		finally {
+			this.retrievalLock.unlock();
+		}
 	}
 
 	/**
@@ -189,6 +320,12 @@ public abstract class AbstractApplicationEventMulticaster
 
 		Object source = event.getSource();
 		Class<?> sourceType = (source != null ? source.getClass() : null);
+
+		Map<DispatchKey, List<ApplicationListener<?>>> dispatchTable = this.dispatchTable;
+		if (dispatchTable != null) {
+			return getFrozenApplicationListeners(dispatchTable, event, eventType, sourceType);
+		}
+
 		ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
 
 		// Potential new retriever to populate
@@ -221,6 +358,35 @@ public abstract class AbstractApplicationEventMulticaster
 		return retrieveApplicationListeners(eventType, sourceType, newRetriever);
 	}
 
+	/**
+	 * Retrieve the application listeners for the given event from the given
+	 * dispatch table, adding an entry for the event type if necessary.
+	 */
+	private List<ApplicationListener<?>> getFrozenApplicationListeners(
+			Map<DispatchKey, List<ApplicationListener<?>>> dispatchTable, ApplicationEvent event,
+			ResolvableType eventType, @Nullable Class<?> sourceType) {
+
+		// Plain event classes are keyed by Class, avoiding ResolvableType comparisons
+		Object typeKey = (eventType.getType() == event.getClass() ? event.getClass() : eventType);
+		DispatchKey dispatchKey = new DispatchKey(typeKey, sourceType);
+		List<ApplicationListener<?>> listeners = dispatchTable.get(dispatchKey);
+		if (listeners != null) {
+			return listeners;
+		}
+
+		CachedListenerRetriever retriever = new CachedListenerRetriever();
+		List<ApplicationListener<?>> allListeners = retrieveApplicationListeners(eventType, sourceType, retriever);
+		Set<String> listenerBeans = retriever.applicationListenerBeans;
+		if ((listenerBeans == null || listenerBeans.isEmpty()) && (this.beanClassLoader == null ||
+				(ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
+						(sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader))))) {
+			listeners = Collections.unmodifiableList(allListeners);
+			dispatchTable.putIfAbsent(dispatchKey, listeners);
+			return listeners;
+		}
+		return allListeners;
+	}
+
 	/**
 	 * Actually retrieve the application listeners for the given event and source type.
 	 * @param eventType the event type
@@ -228,7 +394,7 @@ public abstract class AbstractApplicationEventMulticaster
 	 * @param retriever the ListenerRetriever, if supposed to populate one (for caching purposes)
 	 * @return the pre-filtered list of application listeners for the given event and source type
 	 */
-	private Collection<ApplicationListener<?>> retrieveApplicationListeners(
+	private List<ApplicationListener<?>> retrieveApplicationListeners(
 			ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable CachedListenerRetriever retriever) {
 
 		List<ApplicationListener<?>> allListeners = new ArrayList<>();
@@ -237,10 +403,14 @@ public abstract class AbstractApplicationEventMulticaster
 
 		Set<ApplicationListener<?>> listeners;
 		Set<String> listenerBeans;
-		synchronized (this.defaultRetriever) {
+		this.retrievalLock.lock();
+		try {
 			listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
 			listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
 		}
+		finally {
+			this.retrievalLock.unlock();
+		}
 
 		// Add programmatically registered listeners, including ones coming
 		// from ApplicationListenerDetector (singleton beans and inner beans).
@@ -434,6 +604,15 @@ public abstract class AbstractApplicationEventMulticaster
 	}
 
 
+	/**
+	 * Key for the dispatch table of frozen listeners: the event {@link Class}
+	 * for plain events, or the {@link ResolvableType} of the event otherwise,
+	 * along with the source type.
+	 */
+	private record DispatchKey(Object eventType, @Nullable Class<?> sourceType) {
+	}
+
+
 	/**
 	 * Helper class that encapsulates a specific set of target listeners,
 	 * allowing for efficient retrieval of pre-filtered listeners.
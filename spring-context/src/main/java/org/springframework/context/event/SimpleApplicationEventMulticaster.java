@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -143,6 +143,7 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 				invokeListener(listener, event);
 			}
 		}
+		freezeListenersIfNecessary(event);
 	}
 
 	private ResolvableType resolveDefaultEventType(ApplicationEvent event) {
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * A simple implementation of Spring's {@link TaskScheduler} interface, using
+ * a single scheduler thread and executing every scheduled task in an individual
+ * separate thread. This is an attractive choice with virtual threads on JDK 21,
+ * as enabled through {@link #setVirtualThreads(boolean) setVirtualThreads(true)}:
+ * scheduled tasks then scale to a large number of concurrent, possibly blocking
+ * executions without any pool sizing, while respecting the
+ * {@link #setConcurrencyLimit concurrency limit}, if any.
+ *
+ * <p>Fixed-delay and trigger-based tasks are rescheduled once their previous
+ * execution has completed, from the thread that has executed them. Fixed-rate
+ * tasks on the other hand are handed off to a new thread at each period, so
+ * that their executions may overlap if a single execution takes longer than
+ * the period. Any concurrency limit applies in all cases: once reached, the
+ * scheduler thread waits for a running task to complete before handing off
+ * the next one.
+ *
+ * <p>Note that the {@link ScheduledFuture} returned for one-time and fixed-rate
+ * tasks tracks the hand-off to the executing thread rather than the completion
+ * of the task itself.
+ *
+ * @author agent
+ * @since 6.0
+ * @see #setVirtualThreads
+ * @see #setConcurrencyLimit
+ * @see ThreadPoolTaskScheduler
+ */
+@SuppressWarnings("serial")
+public class SimpleAsyncTaskScheduler extends SimpleAsyncTaskExecutor implements TaskScheduler, DisposableBean {
+
+	private final transient HandOffScheduledExecutor scheduledExecutor = new HandOffScheduledExecutor();
+
+	@Nullable
+	private transient ErrorHandler errorHandler;
+
+	private transient Clock clock = Clock.systemDefaultZone();
+
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		Assert.notNull(errorHandler, "ErrorHandler must not be null");
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Set the clock to use for scheduling purposes.
+	 * <p>The default clock is the system clock for the default time zone.
+	 * @see Clock#systemDefaultZone()
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		ErrorHandler errorHandler = this.errorHandler;
+		if (errorHandler == null) {
+			errorHandler = TaskUtils.getDefaultErrorHandler(true);
+		}
+		try {
+			return new ReschedulingRunnable(task, trigger, this.clock, this.scheduledExecutor, errorHandler).schedule();
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Scheduler did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+		try {
+			return this.scheduledExecutor.schedule(errorHandlingTask(task, false),
+					initialDelay(startTime).toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Scheduler did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+		return scheduleAtFixedRate(task, initialDelay(startTime), period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+		return scheduleAtFixedRate(task, Duration.ZERO, period);
+	}
+
+	private ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration initialDelay, Duration period) {
+		Runnable taskToUse = errorHandlingTask(task, true);
+		try {
+			return this.scheduledExecutor.scheduleAtFixedRate(() -> execute(taskToUse),
+					initialDelay.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException("Scheduler did not accept task: " + task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+		return scheduleWithFixedDelay(task, initialDelay(startTime), delay);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+		return scheduleWithFixedDelay(task, Duration.ZERO, delay);
+	}
+
+	private ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration initialDelay, Duration delay) {
+		PeriodicTrigger trigger = new PeriodicTrigger(delay);
+		trigger.setInitialDelay(initialDelay);
+		ScheduledFuture<?> future = schedule(task, trigger);
+		Assert.state(future != null, "PeriodicTrigger did not provide a first execution time");
+		return future;
+	}
+
+	/**
+	 * Shut down the scheduler thread, cancelling any pending executions.
+	 * Tasks that have already been handed off to their own thread complete
+	 * normally.
+	 */
+	@Override
+	public void destroy() {
+		this.scheduledExecutor.shutdownNow();
+	}
+
+
+	private Duration initialDelay(Instant startTime) {
+		Duration initialDelay = Duration.between(this.clock.instant(), startTime);
+		return (initialDelay.isNegative() ? Duration.ZERO : initialDelay);
+	}
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+
+	/**
+	 * Single-threaded {@link ScheduledThreadPoolExecutor} handing delayed
+	 * one-time executions off to the surrounding executor, so that the
+	 * scheduler thread itself never runs any task.
+	 * <p>Periodic executions are scheduled with explicit hand-off above.
+	 */
+	private class HandOffScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+		HandOffScheduledExecutor() {
+			super(1);
+			setThreadFactory(runnable -> {
+				Thread thread = new Thread(runnable, getThreadNamePrefix() + "scheduler");
+				thread.setDaemon(true);
+				return thread;
+			});
+			setRemoveOnCancelPolicy(true);
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			return super.schedule(() -> SimpleAsyncTaskScheduler.this.execute(command), delay, unit);
+		}
+	}
+
+}
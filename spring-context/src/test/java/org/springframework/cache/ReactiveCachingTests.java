@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for annotation-based caching methods returning a {@link CompletableFuture}
+ * or a Reactor {@link Mono} / {@link Flux}.
+ *
+ * @author agent
+ */
+class ReactiveCachingTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private ReactiveCacheableService service;
+
+
+	@BeforeEach
+	void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(ReactiveCacheableService.class);
+	}
+
+	@AfterEach
+	void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	void cacheableCompletableFuture() {
+		Long r1 = this.service.cacheFuture("key").join();
+		Long r2 = this.service.cacheFuture("key").join();
+		Long r3 = this.service.cacheFuture("other").join();
+
+		assertThat(r1).isEqualTo(r2);
+		assertThat(r3).isNotEqualTo(r1);
+		assertThat(cachedValue("future", "key")).isEqualTo(r1);
+	}
+
+	@Test
+	void cacheableCompletableFutureIsCachedOnCompletionOnly() {
+		CompletableFuture<Long> pending = new CompletableFuture<>();
+		this.service.setPendingFuture(pending);
+		CompletableFuture<Long> result = this.service.cacheFuture("key");
+		assertThat(this.context.getBean(CacheManager.class).getCache("future").get("key")).isNull();
+
+		pending.complete(42L);
+		assertThat(result.join()).isEqualTo(42L);
+		assertThat(cachedValue("future", "key")).isEqualTo(42L);
+		assertThat(this.service.cacheFuture("key").join()).isEqualTo(42L);
+	}
+
+	@Test
+	void cacheableCompletableFutureWithSync() {
+		Long r1 = this.service.cacheFutureSync("key").join();
+		Long r2 = this.service.cacheFutureSync("key").join();
+
+		assertThat(r1).isEqualTo(r2);
+		assertThat(cachedValue("futureSync", "key")).isEqualTo(r1);
+	}
+
+	@Test
+	void cacheableMono() {
+		Mono<Long> mono = this.service.cacheMono("key");
+		assertThat(cachedValue("mono", "key")).as("Not subscribed yet").isNull();
+
+		Long r1 = mono.block();
+		Long r2 = this.service.cacheMono("key").block();
+		Long r3 = this.service.cacheMono("other").block();
+
+		assertThat(r1).isEqualTo(r2);
+		assertThat(r3).isNotEqualTo(r1);
+		assertThat(cachedValue("mono", "key")).isEqualTo(r1);
+	}
+
+	@Test
+	void cacheableMonoWithSync() {
+		Long r1 = this.service.cacheMonoSync("key").block();
+		Long r2 = this.service.cacheMonoSync("key").block();
+
+		assertThat(r1).isEqualTo(r2);
+		assertThat(cachedValue("monoSync", "key")).isEqualTo(r1);
+	}
+
+	@Test
+	void cacheableFlux() {
+		List<Long> r1 = this.service.cacheFlux("key").collectList().block();
+		List<Long> r2 = this.service.cacheFlux("key").collectList().block();
+		List<Long> r3 = this.service.cacheFlux("other").collectList().block();
+
+		assertThat(r1).hasSize(2).isEqualTo(r2);
+		assertThat(r3).isNotEqualTo(r1);
+		assertThat(cachedValue("flux", "key")).isEqualTo(r1);
+	}
+
+	@Test
+	void cacheableFluxWithSync() {
+		List<Long> r1 = this.service.cacheFluxSync("key").collectList().block();
+		List<Long> r2 = this.service.cacheFluxSync("key").collectList().block();
+
+		assertThat(r1).hasSize(2).isEqualTo(r2);
+		assertThat(cachedValue("fluxSync", "key")).isEqualTo(r1);
+	}
+
+	@Test
+	void cachePutMonoUsesResolvedValue() {
+		Long r1 = this.service.putMono("key").block();
+		assertThat(cachedValue("mono", "key")).isEqualTo(r1);
+		assertThat(this.service.cacheMono("key").block()).isEqualTo(r1);
+	}
+
+	@Test
+	void cacheEvictCompletableFuture() {
+		Long r1 = this.service.cacheFuture("key").join();
+		CompletableFuture<Void> pending = new CompletableFuture<>();
+		CompletableFuture<Void> result = this.service.evictFuture("key", pending);
+		assertThat(cachedValue("future", "key")).as("Not evicted yet").isEqualTo(r1);
+
+		pending.complete(null);
+		result.join();
+		assertThat(this.context.getBean(CacheManager.class).getCache("future").get("key")).isNull();
+	}
+
+	@Test
+	void cacheEvictMono() {
+		Long r1 = this.service.cacheMono("key").block();
+		Mono<Void> evict = this.service.evictMono("key");
+		assertThat(cachedValue("mono", "key")).as("Not subscribed yet").isEqualTo(r1);
+
+		evict.block();
+		assertThat(this.context.getBean(CacheManager.class).getCache("mono").get("key")).isNull();
+	}
+
+	private Object cachedValue(String cacheName, Object key) {
+		Cache.ValueWrapper wrapper = this.context.getBean(CacheManager.class).getCache(cacheName).get(key);
+		return (wrapper != null ? wrapper.get() : null);
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Bean
+		ReactiveCacheableService reactiveCacheableService() {
+			return new ReactiveCacheableService();
+		}
+	}
+
+
+	static class ReactiveCacheableService {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		private CompletableFuture<Long> pendingFuture;
+
+		public void setPendingFuture(CompletableFuture<Long> pendingFuture) {
+			this.pendingFuture = pendingFuture;
+		}
+
+		@Cacheable("future")
+		public CompletableFuture<Long> cacheFuture(Object arg) {
+			if (this.pendingFuture != null) {
+				return this.pendingFuture;
+			}
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable(cacheNames = "futureSync", sync = true)
+		public CompletableFuture<Long> cacheFutureSync(Object arg) {
+			return CompletableFuture.completedFuture(this.counter.getAndIncrement());
+		}
+
+		@Cacheable("mono")
+		public Mono<Long> cacheMono(Object arg) {
+			return Mono.fromCallable(this.counter::getAndIncrement);
+		}
+
+		@Cacheable(cacheNames = "monoSync", sync = true)
+		public Mono<Long> cacheMonoSync(Object arg) {
+			return Mono.fromCallable(this.counter::getAndIncrement);
+		}
+
+		@Cacheable("flux")
+		public Flux<Long> cacheFlux(Object arg) {
+			return Flux.just(this.counter.getAndIncrement(), 0L);
+		}
+
+		@Cacheable(cacheNames = "fluxSync", sync = true)
+		public Flux<Long> cacheFluxSync(Object arg) {
+			return Flux.just(this.counter.getAndIncrement(), 0L);
+		}
+
+		@CachePut(cacheNames = "mono", key = "#p0", condition = "#result != null")
+		public Mono<Long> putMono(Object arg) {
+			return Mono.fromCallable(this.counter::getAndIncrement);
+		}
+
+		@CacheEvict(cacheNames = "future", key = "#p0")
+		public CompletableFuture<Void> evictFuture(Object arg, CompletableFuture<Void> pending) {
+			return pending;
+		}
+
+		@CacheEvict("mono")
+		public Mono<Void> evictMono(Object arg) {
+			return Mono.empty();
+		}
+	}
+
+}
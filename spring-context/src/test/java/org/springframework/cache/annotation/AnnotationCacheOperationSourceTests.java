@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -154,6 +155,26 @@ public class AnnotationCacheOperationSourceTests {
 				getOps(AnnotatedClass.class, "invalidKeyAndKeyGeneratorSet"));
 	}
 
+	@Test
+	public void refreshAfter() {
+		CacheableOperation millis = (CacheableOperation) getOps(AnnotatedClass.class, "refreshAfterMillis", 1)
+				.iterator().next();
+		assertThat(millis.getRefreshAfter()).isEqualTo(Duration.ofMillis(500));
+		CacheableOperation iso = (CacheableOperation) getOps(AnnotatedClass.class, "refreshAfterIso", 1)
+				.iterator().next();
+		assertThat(iso.getRefreshAfter()).isEqualTo(Duration.ofMinutes(5));
+		CacheableOperation none = (CacheableOperation) getOps(AnnotatedClass.class, "singular", 1)
+				.iterator().next();
+		assertThat(none.getRefreshAfter()).isNull();
+	}
+
+	@Test
+	public void invalidRefreshAfter() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				getOps(AnnotatedClass.class, "invalidRefreshAfter"))
+			.withMessageContaining("refreshAfter");
+	}
+
 	@Test
 	public void customCacheManager() {
 		Collection<CacheOperation> ops = getOps(AnnotatedClass.class, "customCacheManager", 1);
@@ -330,6 +351,18 @@ public class AnnotationCacheOperationSourceTests {
 		public void customCacheManager() {
 		}
 
+		@Cacheable(cacheNames = "test", refreshAfter = "500")
+		public void refreshAfterMillis() {
+		}
+
+		@Cacheable(cacheNames = "test", refreshAfter = "PT5M")
+		public void refreshAfterIso() {
+		}
+
+		@Cacheable(cacheNames = "test", refreshAfter = "5 minutes")
+		public void invalidRefreshAfter() {
+		}
+
 		@Cacheable(cacheNames = "test", cacheResolver = "custom")
 		public void customCacheResolver() {
 		}
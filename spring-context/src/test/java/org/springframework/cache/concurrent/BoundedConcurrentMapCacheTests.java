@@ -0,0 +1,212 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.concurrent.BoundedCacheSpec.EvictionPolicy;
+import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BoundedConcurrentMapCache}.
+ *
+ * @author agent
+ */
+public class BoundedConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<BoundedConcurrentMapCache> {
+
+	private final AtomicLong ticker = new AtomicLong();
+
+	private BoundedConcurrentMapCache cache;
+
+	private BoundedConcurrentMapCache cacheNoNull;
+
+
+	@BeforeEach
+	public void setup() {
+		BoundedCacheSpec spec = BoundedCacheSpec.builder().maximumSize(1000).build();
+		this.cache = new BoundedConcurrentMapCache(CACHE_NAME, spec, true);
+		this.cacheNoNull = new BoundedConcurrentMapCache(CACHE_NAME_NO_NULL, spec, false);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache(boolean allowNull) {
+		return (allowNull ? this.cache : this.cacheNoNull);
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache;
+	}
+
+
+	@Test
+	public void evictLeastRecentlyUsed() {
+		BoundedConcurrentMapCache cache = createCache(
+				BoundedCacheSpec.builder().maximumSize(2).evictionPolicy(EvictionPolicy.LRU).build());
+		cache.put("k1", "v1");
+		cache.put("k2", "v2");
+		assertThat(cache.get("k1")).isNotNull();
+		cache.put("k3", "v3");
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("k1")).isNotNull();
+		assertThat(cache.get("k2")).isNull();
+		assertThat(cache.get("k3")).isNotNull();
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void segmentedLruProtectsEntriesWithHits() {
+		BoundedCacheSpec spec = BoundedCacheSpec.builder().maximumSize(10).build();
+		assertThat(spec.getEvictionPolicy()).isEqualTo(EvictionPolicy.SEGMENTED_LRU);
+		BoundedConcurrentMapCache cache = createCache(spec);
+		cache.put("hot", "value");
+		assertThat(cache.get("hot")).isNotNull();
+
+		// A scan of one-time accesses only evicts from the probationary segment
+		for (int i = 0; i < 100; i++) {
+			cache.put("cold" + i, "value");
+		}
+		assertThat(cache.get("hot")).isNotNull();
+		assertThat(cache.size()).isEqualTo(10);
+		assertThat(cache.getEvictionCount()).isEqualTo(91);
+	}
+
+	@Test
+	public void evictByWeight() {
+		BoundedConcurrentMapCache cache = createCache(BoundedCacheSpec.builder()
+				.maximumWeight(10, (key, value) -> ((String) value).length()).build());
+		cache.put("k1", "12345");
+		cache.put("k2", "1234");
+		assertThat(cache.getWeightedSize()).isEqualTo(9);
+		cache.put("k3", "123");
+
+		assertThat(cache.get("k1")).isNull();
+		assertThat(cache.getWeightedSize()).isEqualTo(7);
+		cache.put("k2", "1");
+		assertThat(cache.getWeightedSize()).isEqualTo(4);
+	}
+
+	@Test
+	public void expireAfterWrite() {
+		BoundedConcurrentMapCache cache = createCache(
+				BoundedCacheSpec.builder().expireAfterWrite(Duration.ofNanos(100)).build());
+		cache.put("key", "value");
+		this.ticker.addAndGet(50);
+		assertThat(cache.get("key")).isNotNull();
+		this.ticker.addAndGet(50);
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void expireAfterAccess() {
+		BoundedConcurrentMapCache cache = createCache(
+				BoundedCacheSpec.builder().expireAfterAccess(Duration.ofNanos(100)).build());
+		cache.put("key", "value");
+		for (int i = 0; i < 5; i++) {
+			this.ticker.addAndGet(50);
+			assertThat(cache.get("key")).isNotNull();
+		}
+		this.ticker.addAndGet(100);
+		assertThat(cache.get("key")).isNull();
+	}
+
+	@Test
+	public void expiredEntryIsReloaded() {
+		BoundedConcurrentMapCache cache = createCache(
+				BoundedCacheSpec.builder().expireAfterWrite(Duration.ofNanos(100)).build());
+		assertThat(cache.get("key", () -> "v1")).isEqualTo("v1");
+		assertThat(cache.putIfAbsent("key", "v2").get()).isEqualTo("v1");
+		this.ticker.addAndGet(100);
+		assertThat(cache.get("key", () -> "v3")).isEqualTo("v3");
+		this.ticker.addAndGet(100);
+		assertThat(cache.putIfAbsent("key", "v4")).isNull();
+		assertThat(cache.get("key").get()).isEqualTo("v4");
+	}
+
+	@Test
+	public void getAge() {
+		BoundedConcurrentMapCache cache = createCache(
+				BoundedCacheSpec.builder().expireAfterWrite(Duration.ofNanos(100)).build());
+		assertThat(cache.getAge("key")).isNull();
+		cache.put("key", "value");
+		this.ticker.addAndGet(40);
+		assertThat(cache.getAge("key")).isEqualTo(Duration.ofNanos(40));
+		cache.put("key", "value2");
+		this.ticker.addAndGet(10);
+		assertThat(cache.getAge("key")).isEqualTo(Duration.ofNanos(10));
+		this.ticker.addAndGet(100);
+		assertThat(cache.getAge("key")).isNull();
+	}
+
+	@Test
+	public void cleanUpRemovesExpiredEntries() {
+		BoundedConcurrentMapCache cache = createCache(
+				BoundedCacheSpec.builder().expireAfterWrite(Duration.ofNanos(100)).build());
+		cache.put("k1", "v1");
+		this.ticker.addAndGet(60);
+		cache.put("k2", "v2");
+		this.ticker.addAndGet(60);
+		cache.cleanUp();
+
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getWeightedSize()).isEqualTo(1);
+		assertThat(cache.get("k2")).isNotNull();
+	}
+
+	@Test
+	public void clearResetsWeightedSize() {
+		BoundedConcurrentMapCache cache = createCache(BoundedCacheSpec.builder().maximumSize(2).build());
+		cache.put("k1", "v1");
+		cache.put("k2", "v2");
+		assertThat(cache.invalidate()).isTrue();
+		assertThat(cache.getWeightedSize()).isEqualTo(0);
+
+		cache.put("k3", "v3");
+		cache.put("k4", "v4");
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getEvictionCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void maximumSizeAndWeightCannotBeCombined() {
+		assertThatIllegalStateException().isThrownBy(() -> BoundedCacheSpec.builder()
+				.maximumSize(10).maximumWeight(10, (key, value) -> 1).build());
+	}
+
+
+	private BoundedConcurrentMapCache createCache(BoundedCacheSpec spec) {
+		return new BoundedConcurrentMapCache(CACHE_NAME, spec, true, null, this.ticker::get);
+	}
+
+}
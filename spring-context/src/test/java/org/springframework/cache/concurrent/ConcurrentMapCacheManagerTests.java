@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.util.Collections;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
@@ -131,4 +133,29 @@ public class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	public void testBoundedCacheSpecs() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1", "c2");
+		BoundedCacheSpec defaultSpec = BoundedCacheSpec.builder().maximumSize(100).build();
+		BoundedCacheSpec c2Spec = BoundedCacheSpec.builder().maximumSize(1).build();
+		cm.setBoundedCacheSpec(defaultSpec);
+		cm.setBoundedCacheSpecs(Collections.singletonMap("c2", c2Spec));
+
+		Cache cache1 = cm.getCache("c1");
+		assertThat(cache1).isInstanceOf(BoundedConcurrentMapCache.class);
+		assertThat(((BoundedConcurrentMapCache) cache1).getSpec()).isSameAs(defaultSpec);
+		Cache cache2 = cm.getCache("c2");
+		assertThat(cache2).isInstanceOf(BoundedConcurrentMapCache.class);
+		assertThat(((BoundedConcurrentMapCache) cache2).getSpec()).isSameAs(c2Spec);
+
+		cache2.put("key1", "value1");
+		cache2.put("key2", "value2");
+		assertThat(cache2.get("key1")).isNull();
+		assertThat(cache2.get("key2").get()).isEqualTo("value2");
+
+		cm.setBoundedCacheSpec(null);
+		assertThat(cm.getCache("c1")).isInstanceOf(ConcurrentMapCache.class);
+		assertThat(cm.getCache("c2")).isInstanceOf(BoundedConcurrentMapCache.class);
+	}
+
 }
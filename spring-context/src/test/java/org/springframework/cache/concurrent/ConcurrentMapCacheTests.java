@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,18 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.cache.Cache;
 import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
 import org.springframework.core.serializer.support.SerializationDelegate;
 
@@ -115,6 +118,66 @@ public class ConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<Con
 			.withMessageContaining("Some garbage");
 	}
 
+	@Test
+	public void testRetrieve() {
+		String key = createRandomKey();
+		assertThat(this.cache.retrieve(key)).isNull();
+
+		this.cache.put(key, null);
+		CompletableFuture<?> result = this.cache.retrieve(key);
+		assertThat(result).isNotNull();
+		assertThat(result.join()).isInstanceOf(Cache.ValueWrapper.class);
+		assertThat(((Cache.ValueWrapper) result.join()).get()).isNull();
+
+		this.cacheNoNull.put(key, "value");
+		assertThat(this.cacheNoNull.retrieve(key).join()).isEqualTo("value");
+	}
+
+	@Test
+	public void testRetrieveWithLoader() {
+		String key = createRandomKey();
+		CompletableFuture<String> pending = new CompletableFuture<>();
+		CompletableFuture<String> result = this.cache.retrieve(key, () -> pending);
+		assertThat(result).isNotDone();
+		assertThat(this.cache.get(key)).isNull();
+
+		pending.complete("value");
+		assertThat(result.join()).isEqualTo("value");
+		assertThat(this.cache.get(key).get()).isEqualTo("value");
+		assertThat(this.cache.retrieve(key, () -> CompletableFuture.completedFuture("other")).join())
+				.isEqualTo("value");
+	}
+
+	@Test
+	public void testGetAge() throws InterruptedException {
+		String key = createRandomKey();
+		assertThat(this.cache.getAge(key)).isNull();
+
+		this.cache.put(key, "value");
+		Thread.sleep(10);
+		assertThat(this.cache.getAge(key)).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+
+		this.cache.put(key, "value2");
+		assertThat(this.cache.getAge(key)).isLessThan(Duration.ofMillis(10));
+
+		this.cache.evict(key);
+		assertThat(this.cache.getAge(key)).isNull();
+	}
+
+	@Test
+	public void testGetAgeWithNativeCacheChanges() throws InterruptedException {
+		String key = createRandomKey();
+		assertThat(this.cache.getAge(key)).isNull();
+		Thread.sleep(10);
+
+		this.cache.put(key, "value");
+		this.nativeCache.remove(key);
+		assertThat(this.cache.getAge(key)).isNull();
+
+		this.cache.put(key, "value");
+		this.nativeCache.put(key, "value2");
+		assertThat(this.cache.getAge(key)).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+	}
 
 	private ConcurrentMapCache createCacheWithStoreByValue() {
 		return new ConcurrentMapCache(CACHE_NAME, this.nativeCache, true,
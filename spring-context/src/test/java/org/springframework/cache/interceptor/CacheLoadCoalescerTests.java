@@ -0,0 +1,268 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link CacheLoadCoalescer}.
+ *
+ * @author agent
+ */
+public class CacheLoadCoalescerTests {
+
+	private final CacheLoadCoalescer coalescer = new CacheLoadCoalescer();
+
+
+	@Test
+	public void concurrentLoadsAreCoalesced() throws Exception {
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoad = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		CacheOperationInvoker invoker = () -> {
+			invocations.incrementAndGet();
+			loadStarted.countDown();
+			await(releaseLoad);
+			return "value";
+		};
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<Object> leader = executor.submit(() -> this.coalescer.load("key", invoker));
+			assertThat(loadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+			List<Future<Object>> followers = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				followers.add(executor.submit(() -> this.coalescer.load("key", invoker)));
+			}
+			while (this.coalescer.getCoalescedCount() < 3) {
+				Thread.sleep(5);
+			}
+			releaseLoad.countDown();
+
+			assertThat(leader.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+			for (Future<Object> follower : followers) {
+				assertThat(follower.get(10, TimeUnit.SECONDS)).isEqualTo("value");
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(invocations).hasValue(1);
+		assertThat(this.coalescer.getLoadCount()).isEqualTo(1);
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void sequentialLoadsAreNotCoalesced() {
+		AtomicInteger invocations = new AtomicInteger();
+		assertThat(this.coalescer.load("key", invocations::incrementAndGet)).isEqualTo(1);
+		assertThat(this.coalescer.load("key", invocations::incrementAndGet)).isEqualTo(2);
+		assertThat(this.coalescer.getCoalescedCount()).isEqualTo(0);
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void failedLoadIsNotRetained() {
+		CacheOperationInvoker failing = () -> {
+			throw new CacheOperationInvoker.ThrowableWrapper(new IllegalStateException("test"));
+		};
+		assertThatExceptionOfType(CacheOperationInvoker.ThrowableWrapper.class)
+				.isThrownBy(() -> this.coalescer.load("key", failing))
+				.withCauseInstanceOf(IllegalStateException.class);
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(0);
+		assertThat(this.coalescer.load("key", () -> "value")).isEqualTo("value");
+	}
+
+	@Test
+	public void completableFutureLoadIsSharedUntilCompletion() {
+		CompletableFuture<String> future = new CompletableFuture<>();
+		AtomicInteger invocations = new AtomicInteger();
+		CacheOperationInvoker invoker = () -> {
+			invocations.incrementAndGet();
+			return future;
+		};
+
+		assertThat(this.coalescer.load("key", invoker)).isSameAs(future);
+		Object shared = this.coalescer.load("key", invoker);
+		assertThat(shared).isInstanceOf(CompletableFuture.class).isNotSameAs(future);
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(1);
+
+		future.complete("value");
+		assertThat(((CompletableFuture<?>) shared).join()).isEqualTo("value");
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(0);
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	public void monoLoadIsSubscribedOnce() {
+		Sinks.One<String> sink = Sinks.one();
+		AtomicInteger invocations = new AtomicInteger();
+		AtomicInteger subscriptions = new AtomicInteger();
+		CacheOperationInvoker invoker = () -> {
+			invocations.incrementAndGet();
+			return sink.asMono().doOnSubscribe(subscription -> subscriptions.incrementAndGet());
+		};
+
+		Mono<?> first = (Mono<?>) this.coalescer.load("key", invoker);
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(0);
+		CompletableFuture<?> firstResult = first.toFuture();
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(1);
+
+		Mono<?> second = (Mono<?>) this.coalescer.load("key", invoker);
+		assertThat(this.coalescer.getCoalescedCount()).isEqualTo(1);
+		CompletableFuture<?> secondResult = second.toFuture();
+
+		sink.tryEmitValue("value");
+		assertThat(firstResult.join()).isEqualTo("value");
+		assertThat(secondResult.join()).isEqualTo("value");
+		assertThat(invocations).hasValue(1);
+		assertThat(subscriptions).hasValue(1);
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void unsubscribedMonoLoadIsNotRetained() {
+		CacheOperationInvoker invoker = () -> Mono.just("value");
+
+		this.coalescer.load("key", invoker);
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(0);
+
+		Mono<?> second = (Mono<?>) this.coalescer.load("key", invoker);
+		assertThat(this.coalescer.getLoadCount()).isEqualTo(2);
+		assertThat(this.coalescer.getCoalescedCount()).isEqualTo(0);
+		assertThat(second.block()).isEqualTo("value");
+		assertThat(this.coalescer.getInFlightCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void cacheableMissesAreCoalesced() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(Config.class);
+		try {
+			SlowService service = context.getBean(SlowService.class);
+			CacheLoadCoalescer coalescer = context.getBean(CacheLoadCoalescer.class);
+
+			ExecutorService executor = Executors.newFixedThreadPool(2);
+			try {
+				Future<String> first = executor.submit(() -> service.get("key"));
+				assertThat(service.getLoadStarted().await(10, TimeUnit.SECONDS)).isTrue();
+				Future<String> second = executor.submit(() -> service.get("key"));
+				while (coalescer.getCoalescedCount() < 1) {
+					Thread.sleep(5);
+				}
+				service.getReleaseLoad().countDown();
+				assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("key1");
+				assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("key1");
+			}
+			finally {
+				executor.shutdownNow();
+			}
+			assertThat(service.get("key")).isEqualTo("key1");
+			assertThat(service.getInvocations()).isEqualTo(1);
+		}
+		finally {
+			context.close();
+		}
+	}
+
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			throw new CacheOperationInvoker.ThrowableWrapper(ex);
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config implements CachingConfigurer {
+
+		@Override
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Override
+		@Bean
+		public CacheLoadCoalescer cacheLoadCoalescer() {
+			return new CacheLoadCoalescer();
+		}
+
+		@Bean
+		public SlowService slowService() {
+			return new SlowService();
+		}
+	}
+
+
+	static class SlowService {
+
+		private final CountDownLatch loadStarted = new CountDownLatch(1);
+
+		private final CountDownLatch releaseLoad = new CountDownLatch(1);
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		@Cacheable("test")
+		public String get(String key) {
+			int invocation = this.invocations.incrementAndGet();
+			this.loadStarted.countDown();
+			await(this.releaseLoad);
+			return key + invocation;
+		}
+
+		public CountDownLatch getLoadStarted() {
+			return this.loadStarted;
+		}
+
+		public CountDownLatch getReleaseLoad() {
+			return this.releaseLoad;
+		}
+
+		public int getInvocations() {
+			return this.invocations.get();
+		}
+	}
+
+}
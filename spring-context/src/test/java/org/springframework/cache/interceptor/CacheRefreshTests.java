@@ -0,0 +1,262 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for refresh-ahead of stale entries, as requested through
+ * {@link Cacheable#refreshAfter()}.
+ *
+ * @author agent
+ */
+public class CacheRefreshTests {
+
+	private AnnotationConfigApplicationContext context;
+
+	private RefreshingService service;
+
+	private RecordingExecutor executor;
+
+
+	@BeforeEach
+	public void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.service = this.context.getBean(RefreshingService.class);
+		this.executor = this.context.getBean(RecordingExecutor.class);
+	}
+
+	@AfterEach
+	public void close() {
+		this.context.close();
+	}
+
+
+	@Test
+	public void staleValueIsServedWhileRefreshing() throws InterruptedException {
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		assertThat(this.executor.tasks).isEmpty();
+
+		Thread.sleep(60);
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		assertThat(this.executor.tasks).hasSize(1);
+		assertThat(this.service.get("key")).as("Refresh already in progress").isEqualTo("key1");
+		assertThat(this.executor.tasks).hasSize(1);
+		assertThat(this.service.getInvocations()).isEqualTo(1);
+
+		this.executor.runAll();
+		assertThat(this.service.getInvocations()).isEqualTo(2);
+		assertThat(this.service.get("key")).isEqualTo("key2");
+		assertThat(this.executor.tasks).isEmpty();
+	}
+
+	@Test
+	public void failedRefreshKeepsStaleValue() throws InterruptedException {
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		Thread.sleep(60);
+
+		this.service.setFailing(true);
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		this.executor.runAll();
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		assertThat(this.executor.tasks).as("New refresh attempt").hasSize(1);
+
+		this.service.setFailing(false);
+		this.executor.runAll();
+		assertThat(this.service.get("key")).isEqualTo("key3");
+	}
+
+	@Test
+	public void synchronizedStaleValueIsServedWhileRefreshing() throws InterruptedException {
+		assertThat(this.service.getSync("key")).isEqualTo("key1");
+		assertThat(this.service.getSync("key")).isEqualTo("key1");
+		Thread.sleep(60);
+
+		assertThat(this.service.getSync("key")).isEqualTo("key1");
+		this.executor.runAll();
+		assertThat(this.service.getSync("key")).isEqualTo("key2");
+	}
+
+	@Test
+	public void completableFutureStaleValueIsServedWhileRefreshing() throws InterruptedException {
+		assertThat(this.service.getFuture("key").join()).isEqualTo("key1");
+		assertThat(this.service.getFuture("key").join()).isEqualTo("key1");
+		Thread.sleep(60);
+
+		assertThat(this.service.getFuture("key").join()).isEqualTo("key1");
+		this.executor.runAll();
+		assertThat(this.service.getFuture("key").join()).isEqualTo("key2");
+	}
+
+
+	@Test
+	public void refreshProceedsWithSeparateInvocation() throws InterruptedException {
+		RecordingInterceptor interceptor = this.context.getBean(RecordingInterceptor.class);
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		Thread.sleep(60);
+
+		assertThat(this.service.get("key")).isEqualTo("key1");
+		this.executor.runAll();
+		assertThat(interceptor.invocations).hasSize(2);
+		assertThat(interceptor.invocations.get(1)).isNotSameAs(interceptor.invocations.get(0));
+		assertThat(interceptor.invocations.get(1).getArguments()).containsExactly("key");
+	}
+
+	@Test
+	public void defaultRefreshExecutorIsBounded() {
+		Executor executor = new CacheInterceptor().getCacheRefreshExecutor();
+		assertThat(executor).isInstanceOfSatisfying(ThreadPoolExecutor.class, pool -> {
+			assertThat(pool.getMaximumPoolSize()).isLessThanOrEqualTo(4);
+			assertThat(pool.getQueue().remainingCapacity()).isEqualTo(1000);
+		});
+	}
+
+
+	@Configuration
+	@EnableCaching(order = 0)
+	static class Config implements CachingConfigurer {
+
+		@Override
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Override
+		@Bean
+		public RecordingExecutor cacheRefreshExecutor() {
+			return new RecordingExecutor();
+		}
+
+		@Bean
+		public RefreshingService refreshingService() {
+			return new RefreshingService();
+		}
+
+		@Bean
+		public RecordingInterceptor recordingInterceptor() {
+			return new RecordingInterceptor();
+		}
+
+		@Bean
+		@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+		public Advisor recordingAdvisor(RecordingInterceptor recordingInterceptor) {
+			DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+					new NameMatchMethodPointcut().addMethodName("get"), recordingInterceptor);
+			advisor.setOrder(10);
+			return advisor;
+		}
+	}
+
+
+	static class RecordingInterceptor implements MethodInterceptor {
+
+		final List<MethodInvocation> invocations = new ArrayList<>();
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			this.invocations.add(invocation);
+			return invocation.proceed();
+		}
+	}
+
+
+	static class RecordingExecutor implements Executor {
+
+		final List<Runnable> tasks = new ArrayList<>();
+
+		@Override
+		public void execute(Runnable task) {
+			this.tasks.add(task);
+		}
+
+		void runAll() {
+			List<Runnable> tasks = new ArrayList<>(this.tasks);
+			this.tasks.clear();
+			tasks.forEach(Runnable::run);
+		}
+	}
+
+
+	static class RefreshingService {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+		private volatile boolean failing;
+
+		@Cacheable(cacheNames = "test", refreshAfter = "50")
+		public String get(String key) {
+			return load(key);
+		}
+
+		@Cacheable(cacheNames = "sync", refreshAfter = "50", sync = true)
+		public String getSync(String key) {
+			return load(key);
+		}
+
+		@Cacheable(cacheNames = "future", refreshAfter = "50")
+		public CompletableFuture<String> getFuture(String key) {
+			return CompletableFuture.completedFuture(load(key));
+		}
+
+		private String load(String key) {
+			int invocation = this.invocations.incrementAndGet();
+			if (this.failing) {
+				throw new IllegalStateException("Refresh failure");
+			}
+			return key + invocation;
+		}
+
+		public void setFailing(boolean failing) {
+			this.failing = failing;
+		}
+
+		public int getInvocations() {
+			return this.invocations.get();
+		}
+	}
+
+}
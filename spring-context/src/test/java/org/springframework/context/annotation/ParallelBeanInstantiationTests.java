@@ -0,0 +1,156 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for parallel pre-instantiation of singletons within an
+ * application context, through
+ * {@link org.springframework.beans.factory.support.DefaultListableBeanFactory#setBootstrapExecutor}.
+ *
+ * @author agent
+ */
+class ParallelBeanInstantiationTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+
+	@AfterEach
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	void autoProxyAppliesAdvisorCreatedInParallel() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.getDefaultListableBeanFactory().setBootstrapExecutor(this.executor);
+		context.registerBean(DefaultAdvisorAutoProxyCreator.class);
+		context.registerBean("advisor", SlowAdvisor.class);
+		for (int i = 0; i < 3; i++) {
+			context.registerBean("service" + i, SimpleService.class);
+		}
+		context.refresh();
+
+		// Each service has been post-processed while the advisor was in creation
+		for (int i = 0; i < 3; i++) {
+			Service service = context.getBean("service" + i, Service.class);
+			assertThat(AopUtils.isAopProxy(service)).isTrue();
+			assertThat(service.process()).isEqualTo("advised processed");
+		}
+		context.close();
+	}
+
+	@Test
+	void configurationClassBeanMethodsCalledInParallel() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getDefaultListableBeanFactory().setBootstrapExecutor(this.executor);
+		context.register(InterBeanReferenceConfig.class);
+		context.refresh();
+
+		SharedBean shared = context.getBean(SharedBean.class);
+		for (int i = 1; i <= 3; i++) {
+			assertThat(context.getBean("holder" + i, SharedBeanHolder.class).shared).isSameAs(shared);
+		}
+		assertThat(context.getBean(InterBeanReferenceConfig.class).sharedInstances.get()).isEqualTo(1);
+		context.close();
+	}
+
+
+	interface Service {
+
+		String process();
+	}
+
+
+	static class SimpleService implements Service {
+
+		@Override
+		public String process() {
+			return "processed";
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	static class SlowAdvisor extends NameMatchMethodPointcutAdvisor {
+
+		SlowAdvisor() throws InterruptedException {
+			Thread.sleep(200);
+			setMappedName("process");
+			setAdvice((MethodInterceptor) invocation -> "advised " + invocation.proceed());
+		}
+	}
+
+
+	static class SharedBean {
+	}
+
+
+	static class SharedBeanHolder {
+
+		final SharedBean shared;
+
+		SharedBeanHolder(SharedBean shared) {
+			this.shared = shared;
+		}
+	}
+
+
+	@Configuration
+	static class InterBeanReferenceConfig {
+
+		final AtomicInteger sharedInstances = new AtomicInteger();
+
+		@Bean
+		SharedBean shared() throws InterruptedException {
+			Thread.sleep(200);
+			this.sharedInstances.incrementAndGet();
+			return new SharedBean();
+		}
+
+		@Bean
+		SharedBeanHolder holder1() throws InterruptedException {
+			return new SharedBeanHolder(shared());
+		}
+
+		@Bean
+		SharedBeanHolder holder2() throws InterruptedException {
+			return new SharedBeanHolder(shared());
+		}
+
+		@Bean
+		SharedBeanHolder holder3() throws InterruptedException {
+			return new SharedBeanHolder(shared());
+		}
+	}
+
+}
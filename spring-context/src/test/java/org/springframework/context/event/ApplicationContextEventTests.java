@@ -351,6 +351,65 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(multicaster.getApplicationListeners().isEmpty()).isTrue();
 	}
 
+	@Test
+	public void frozenListenersInApplicationContext() {
+		StaticApplicationContext context = new StaticApplicationContext();
+		RootBeanDefinition multicasterDef = new RootBeanDefinition(SimpleApplicationEventMulticaster.class);
+		multicasterDef.getPropertyValues().add("freezeListenersOnRefresh", true);
+		context.registerBeanDefinition("applicationEventMulticaster", multicasterDef);
+		context.registerBeanDefinition("listener1", new RootBeanDefinition(MyOrderedListener1.class));
+		context.registerBeanDefinition("listener2", new RootBeanDefinition(MyStringPayloadListener.class));
+		context.refresh();
+
+		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
+		assertThat(multicaster.isListenersFrozen()).isTrue();
+
+		MyOrderedListener1 listener1 = context.getBean("listener1", MyOrderedListener1.class);
+		MyStringPayloadListener listener2 = context.getBean("listener2", MyStringPayloadListener.class);
+		listener1.seenEvents.clear();
+		MyEvent event1 = new MyEvent(context);
+		MyOtherEvent event2 = new MyOtherEvent(context);
+		context.publishEvent(event1);
+		context.publishEvent(event2);
+		context.publishEvent(event1);
+		context.publishEvent("event3");
+		context.publishEvent(4);
+		context.publishEvent("event5");
+		assertThat(listener1.seenEvents).hasSize(6).startsWith(event1, event2, event1);
+		assertThat(listener2.seenPayloads).containsExactly("event3", "event5");
+
+		MyOrderedListener3 listener3 = new MyOrderedListener3();
+		context.addApplicationListener(listener3);
+		assertThat(multicaster.isListenersFrozen()).isTrue();
+		context.publishEvent(event2);
+		assertThat(listener3.seenEvents).containsExactly(event2);
+
+		context.close();
+	}
+
+	@Test
+	public void nonSingletonListenerWithFrozenListeners() {
+		StaticApplicationContext context = new StaticApplicationContext();
+		RootBeanDefinition listener = new RootBeanDefinition(MyNonSingletonListener.class);
+		listener.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		context.registerBeanDefinition("listener", listener);
+		context.refresh();
+
+		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
+		assertThat(multicaster.isListenersFrozen()).isFalse();
+		multicaster.freezeListeners();
+
+		MyEvent event1 = new MyEvent(context);
+		context.publishEvent(event1);
+		assertThat(MyNonSingletonListener.seenEvents).contains(event1);
+		MyNonSingletonListener.seenEvents.clear();
+		context.publishEvent(event1);
+		assertThat(MyNonSingletonListener.seenEvents).contains(event1);
+		MyNonSingletonListener.seenEvents.clear();
+
+		context.close();
+	}
+
 	@Test
 	public void nonSingletonListenerInApplicationContext() {
 		StaticApplicationContext context = new StaticApplicationContext();
@@ -628,6 +687,17 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 	}
 
 
+	public static class MyStringPayloadListener implements ApplicationListener<PayloadApplicationEvent<String>> {
+
+		public final List<String> seenPayloads = new ArrayList<>();
+
+		@Override
+		public void onApplicationEvent(PayloadApplicationEvent<String> event) {
+			this.seenPayloads.add(event.getPayload());
+		}
+	}
+
+
 	public static class MyNonSingletonListener implements ApplicationListener<ApplicationEvent> {
 
 		public static final Set<ApplicationEvent> seenEvents = new HashSet<>();
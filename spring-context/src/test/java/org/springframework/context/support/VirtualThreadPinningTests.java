@@ -0,0 +1,203 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.support;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Verifies that singleton creation and event multicasting do not pin the
+ * carrier thread when running on virtual threads, using the JFR
+ * {@code jdk.VirtualThreadPinned} event. Only runs on a JDK with
+ * virtual thread support, e.g. with {@code -PtestToolchain=21}.
+ *
+ * @author agent
+ */
+class VirtualThreadPinningTests {
+
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+	private static final int TASK_COUNT = 32;
+
+
+	@TempDir
+	Path tempDir;
+
+
+	@BeforeEach
+	void assumeVirtualThreads() {
+		assumeTrue(VirtualThreadTaskExecutor.isSupported(), "Virtual threads not supported");
+	}
+
+
+	@Test
+	void concurrentSingletonCreation() throws Exception {
+		// Warm up class loading on a platform thread first
+		runSingletonCreation(1, new SimpleAsyncTaskExecutor());
+
+		List<RecordedEvent> events = recordPinnedEvents(() ->
+				runSingletonCreation(TASK_COUNT, new VirtualThreadTaskExecutor()::execute));
+		assertThat(events).isEmpty();
+	}
+
+	@Test
+	void concurrentEventPublication() throws Exception {
+		runEventPublication(1, new SimpleAsyncTaskExecutor());
+
+		List<RecordedEvent> events = recordPinnedEvents(() ->
+				runEventPublication(TASK_COUNT, new VirtualThreadTaskExecutor()::execute));
+		assertThat(events).isEmpty();
+	}
+
+
+	private void runSingletonCreation(int taskCount, Executor executor) throws Exception {
+		GenericApplicationContext context = new GenericApplicationContext();
+		RootBeanDefinition bd = new RootBeanDefinition(SlowBean.class);
+		bd.setLazyInit(true);
+		context.registerBeanDefinition("slowBean", bd);
+		context.refresh();
+		runConcurrently(taskCount, executor, () -> context.getBean(SlowBean.class));
+		assertThat(SlowBean.instances.get()).isGreaterThan(0);
+		context.close();
+	}
+
+	private void runEventPublication(int taskCount, Executor executor) throws Exception {
+		GenericApplicationContext context = new GenericApplicationContext();
+		RootBeanDefinition bd = new RootBeanDefinition(SlowListener.class);
+		bd.setLazyInit(true);
+		context.registerBeanDefinition("slowListener", bd);
+		context.refresh();
+		runConcurrently(taskCount, executor, () -> context.publishEvent(new TestEvent(context)));
+		assertThat(context.getBean(SlowListener.class).events.get()).isGreaterThanOrEqualTo(taskCount);
+		context.close();
+	}
+
+	private void runConcurrently(int taskCount, Executor executor, Runnable task) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>(taskCount);
+		for (int i = 0; i < taskCount; i++) {
+			FutureTask<Object> future = new FutureTask<>(() -> {
+				start.await();
+				task.run();
+				return null;
+			});
+			futures.add(future);
+			executor.execute(future);
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+	}
+
+	private List<RecordedEvent> recordPinnedEvents(ThrowingRunnable workload) throws Exception {
+		Path file = this.tempDir.resolve("pinning.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+			recording.start();
+			workload.run();
+			recording.stop();
+			recording.dump(file);
+		}
+		return RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+				.filter(this::pinnedInFramework)
+				.toList();
+	}
+
+	private boolean pinnedInFramework(RecordedEvent event) {
+		if (event.getStackTrace() == null) {
+			return false;
+		}
+		for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+			String typeName = frame.getMethod().getType().getName();
+			if (typeName.startsWith("org.springframework.") && !typeName.startsWith(getClass().getName())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	@FunctionalInterface
+	private interface ThrowingRunnable {
+
+		void run() throws Exception;
+	}
+
+
+	@SuppressWarnings("serial")
+	static class TestEvent extends ApplicationEvent {
+
+		TestEvent(Object source) {
+			super(source);
+		}
+	}
+
+
+	static class SlowBean {
+
+		static final AtomicInteger instances = new AtomicInteger();
+
+		SlowBean() throws InterruptedException {
+			// Blocking call during singleton creation
+			Thread.sleep(50);
+			instances.incrementAndGet();
+		}
+	}
+
+
+	static class SlowListener implements ApplicationListener<TestEvent> {
+
+		final AtomicInteger events = new AtomicInteger();
+
+		SlowListener() throws InterruptedException {
+			Thread.sleep(50);
+		}
+
+		@Override
+		public void onApplicationEvent(TestEvent event) {
+			this.events.incrementAndGet();
+		}
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.scheduling.Trigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SimpleAsyncTaskScheduler}.
+ *
+ * @author agent
+ */
+class SimpleAsyncTaskSchedulerTests {
+
+	private final SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+
+
+	@AfterEach
+	void shutdown() {
+		this.scheduler.destroy();
+	}
+
+
+	@Test
+	void scheduleOneTimeTask() throws Exception {
+		this.scheduler.setThreadNamePrefix("one-time-");
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicReference<String> threadName = new AtomicReference<>();
+		this.scheduler.schedule(() -> {
+			threadName.set(Thread.currentThread().getName());
+			latch.countDown();
+		}, Instant.now().plusMillis(10));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(threadName.get()).startsWith("one-time-");
+	}
+
+	@Test
+	void scheduleTriggerTask() throws Exception {
+		AtomicInteger runCount = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(3);
+		Trigger trigger = triggerContext -> (runCount.get() < 3 ? Instant.now() : null);
+		this.scheduler.schedule(() -> {
+			runCount.incrementAndGet();
+			latch.countDown();
+		}, trigger);
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+	}
+
+	@Test
+	void scheduleWithFixedDelay() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(latch::countDown, Duration.ofMillis(10));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(true);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	void scheduleAtFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(latch::countDown, Duration.ofMillis(10));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(true);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	void cancelledTaskDoesNotRun() throws Exception {
+		AtomicInteger runCount = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(runCount::incrementAndGet, Instant.now().plusSeconds(10));
+		assertThat(future.cancel(false)).isTrue();
+		Thread.sleep(50);
+		assertThat(runCount.get()).isEqualTo(0);
+	}
+
+}
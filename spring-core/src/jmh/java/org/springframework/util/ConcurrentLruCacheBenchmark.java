@@ -0,0 +1,190 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link ConcurrentLruCache}, compared to the previous
+ * implementation based on a {@code ConcurrentLinkedDeque} and a read-write lock.
+ * Keys follow a Zipfian distribution, so that most lookups hit a small set of
+ * hot entries while the least popular keys cause evictions.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(Threads.MAX)
+public class ConcurrentLruCacheBenchmark {
+
+	@Benchmark
+	public void lruCache(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.lruCache.get(key));
+		}
+	}
+
+	@Benchmark
+	public void lockingLruCache(BenchmarkData data, Blackhole bh) {
+		for (String key : data.keys) {
+			bh.consume(data.lockingLruCache.get(key));
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"64", "1024"})
+		public int capacity;
+
+		@Param({"0.8", "1.2"})
+		public double skew;
+
+		@Param("4096")
+		public int keyCount;
+
+		@Param("512")
+		public int sampleSize;
+
+		public ConcurrentLruCache<String, String> lruCache;
+
+		public LockingLruCache<String, String> lockingLruCache;
+
+		public String[] keys;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			this.lruCache = new ConcurrentLruCache<>(this.capacity, this::generateValue);
+			this.lockingLruCache = new LockingLruCache<>(this.capacity, this::generateValue);
+			double[] cumulative = zipfDistribution(this.keyCount, this.skew);
+			Random random = new Random(42);
+			this.keys = new String[this.sampleSize];
+			for (int i = 0; i < this.sampleSize; i++) {
+				this.keys[i] = "key" + sample(cumulative, random.nextDouble());
+			}
+		}
+
+		private String generateValue(String key) {
+			return key + "value";
+		}
+
+		private static double[] zipfDistribution(int keyCount, double skew) {
+			double[] cumulative = new double[keyCount];
+			double sum = 0;
+			for (int i = 0; i < keyCount; i++) {
+				sum += 1 / Math.pow(i + 1, skew);
+				cumulative[i] = sum;
+			}
+			for (int i = 0; i < keyCount; i++) {
+				cumulative[i] /= sum;
+			}
+			return cumulative;
+		}
+
+		private static int sample(double[] cumulative, double value) {
+			int index = Arrays.binarySearch(cumulative, value);
+			return (index >= 0 ? index : -index - 1);
+		}
+	}
+
+
+	/**
+	 * The {@code ConcurrentLruCache} implementation as of Spring Framework 5.3,
+	 * reordering a {@code ConcurrentLinkedDeque} on every cache hit.
+	 */
+	static class LockingLruCache<K, V> {
+
+		private final int sizeLimit;
+
+		private final Function<K, V> generator;
+
+		private final ConcurrentHashMap<K, V> cache = new ConcurrentHashMap<>();
+
+		private final ConcurrentLinkedDeque<K> queue = new ConcurrentLinkedDeque<>();
+
+		private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+		private volatile int size;
+
+		LockingLruCache(int sizeLimit, Function<K, V> generator) {
+			this.sizeLimit = sizeLimit;
+			this.generator = generator;
+		}
+
+		V get(K key) {
+			V cached = this.cache.get(key);
+			if (cached != null) {
+				if (this.size < this.sizeLimit) {
+					return cached;
+				}
+				this.lock.readLock().lock();
+				try {
+					if (this.queue.removeLastOccurrence(key)) {
+						this.queue.offer(key);
+					}
+					return cached;
+				}
+				finally {
+					this.lock.readLock().unlock();
+				}
+			}
+
+			this.lock.writeLock().lock();
+			try {
+				cached = this.cache.get(key);
+				if (cached != null) {
+					if (this.queue.removeLastOccurrence(key)) {
+						this.queue.offer(key);
+					}
+					return cached;
+				}
+				V value = this.generator.apply(key);
+				if (this.size == this.sizeLimit) {
+					K leastUsed = this.queue.poll();
+					if (leastUsed != null) {
+						this.cache.remove(leastUsed);
+					}
+				}
+				this.queue.offer(key);
+				this.cache.put(key, value);
+				this.size = this.cache.size();
+				return value;
+			}
+			finally {
+				this.lock.writeLock().unlock();
+			}
+		}
+	}
+
+}
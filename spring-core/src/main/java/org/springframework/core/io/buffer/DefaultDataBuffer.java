@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,7 +60,7 @@ public class DefaultDataBuffer implements DataBuffer {
 	private int writePosition;
 
 
-	private DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
+	DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
 		Assert.notNull(dataBufferFactory, "DefaultDataBufferFactory must not be null");
 		Assert.notNull(byteBuffer, "ByteBuffer must not be null");
 		this.dataBufferFactory = dataBufferFactory;
@@ -92,7 +92,7 @@ public class DefaultDataBuffer implements DataBuffer {
 		return this.byteBuffer;
 	}
 
-	private void setNativeBuffer(ByteBuffer byteBuffer) {
+	void setNativeBuffer(ByteBuffer byteBuffer) {
 		this.byteBuffer = byteBuffer;
 		this.capacity = byteBuffer.remaining();
 	}
@@ -189,7 +189,7 @@ public class DefaultDataBuffer implements DataBuffer {
 
 		if (newCapacity > oldCapacity) {
 			ByteBuffer oldBuffer = this.byteBuffer;
-			ByteBuffer newBuffer = allocate(newCapacity, oldBuffer.isDirect());
+			ByteBuffer newBuffer = allocateNativeBuffer(newCapacity, oldBuffer.isDirect());
 			oldBuffer.position(0).limit(oldBuffer.capacity());
 			newBuffer.position(0).limit(oldBuffer.capacity());
 			newBuffer.put(oldBuffer);
@@ -198,7 +198,7 @@ public class DefaultDataBuffer implements DataBuffer {
 		}
 		else if (newCapacity < oldCapacity) {
 			ByteBuffer oldBuffer = this.byteBuffer;
-			ByteBuffer newBuffer = allocate(newCapacity, oldBuffer.isDirect());
+			ByteBuffer newBuffer = allocateNativeBuffer(newCapacity, oldBuffer.isDirect());
 			if (readPosition < newCapacity) {
 				if (writePosition > newCapacity) {
 					writePosition = newCapacity;
@@ -227,7 +227,14 @@ public class DefaultDataBuffer implements DataBuffer {
 		return this;
 	}
 
-	private static ByteBuffer allocate(int capacity, boolean direct) {
+	/**
+	 * Allocate the native buffer to switch to when changing the capacity.
+	 * <p>The default implementation allocates a new heap or direct buffer.
+	 * @param capacity the new capacity
+	 * @param direct whether the current native buffer is a direct buffer
+	 * @since 6.0
+	 */
+	ByteBuffer allocateNativeBuffer(int capacity, boolean direct) {
 		return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
 	}
 
@@ -336,13 +343,21 @@ public class DefaultDataBuffer implements DataBuffer {
 			this.byteBuffer.position(index);
 			ByteBuffer slice = this.byteBuffer.slice();
 			slice.limit(length);
-			return new SlicedDefaultDataBuffer(slice, this.dataBufferFactory, length);
+			return createSlice(slice, this.dataBufferFactory, length);
 		}
 		finally {
 			this.byteBuffer.position(oldPosition);
 		}
 	}
 
+	/**
+	 * Create a buffer for a slice of this buffer's native buffer.
+	 * @since 6.0
+	 */
+	DefaultDataBuffer createSlice(ByteBuffer slice, DefaultDataBufferFactory dataBufferFactory, int length) {
+		return new SlicedDefaultDataBuffer(slice, dataBufferFactory, length);
+	}
+
 	@Override
 	public ByteBuffer asByteBuffer() {
 		return asByteBuffer(this.readPosition, readableByteCount());
@@ -507,7 +522,7 @@ public class DefaultDataBuffer implements DataBuffer {
 	}
 
 
-	private static class SlicedDefaultDataBuffer extends DefaultDataBuffer {
+	static class SlicedDefaultDataBuffer extends DefaultDataBuffer {
 
 		SlicedDefaultDataBuffer(ByteBuffer byteBuffer, DefaultDataBufferFactory dataBufferFactory, int length) {
 			super(dataBufferFactory, byteBuffer);
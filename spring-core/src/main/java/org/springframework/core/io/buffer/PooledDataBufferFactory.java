@@ -0,0 +1,494 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link DefaultDataBufferFactory} that allocates
+ * {@link PooledDataBuffer PooledDataBuffers} from a pool of {@link ByteBuffer
+ * ByteBuffers}, for runtimes without a buffer pool of their own such as Servlet
+ * containers and Undertow. Pooling is opt-in, e.g. through
+ * {@code ServletHttpHandlerAdapter#setDataBufferFactory}, and only safe if the
+ * runtime is done with the content of a buffer by the time it is released.
+ *
+ * <p>Buffers are pooled in size classes, with a power-of-two capacity from 64
+ * bytes up to a {@link #PooledDataBufferFactory(boolean, int, int, int) maximum
+ * pooled capacity}. Each size class has a shared arena with a bounded number of
+ * free buffers. Size classes up to 8K are fronted by a small cache of free
+ * buffers per thread. Requests for larger buffers are served with unpooled
+ * buffers.
+ *
+ * <p>A buffer returns to the pool once its reference count drops to zero through
+ * {@link PooledDataBuffer#release()} or {@link DataBufferUtils#release}, after
+ * which it must not be used anymore: a released buffer and its slices fail on
+ * any further access. Slices share the reference count of the buffer they were
+ * created from. Buffers that are never released are reclaimed
+ * by the garbage collector, at the cost of a new allocation; use
+ * {@link #getActiveAllocationCount()} to detect such leaks.
+ *
+ * @author agent
+ * @since 6.0
+ * @see PooledDataBuffer
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default maximum capacity of pooled buffers: 64K.
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default maximum number of free buffers per size class in the shared arena.
+	 */
+	public static final int DEFAULT_ARENA_CAPACITY = 256;
+
+	/**
+	 * The default maximum number of free buffers per size class cached per thread.
+	 */
+	public static final int DEFAULT_THREAD_CACHE_CAPACITY = 16;
+
+	/**
+	 * Shared instance based on the default settings, except for a thread
+	 * cache of only 2 free buffers per size class since the shared instance
+	 * may be used from any number of threads.
+	 */
+	public static final PooledDataBufferFactory sharedInstance = new PooledDataBufferFactory(
+			false, DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_ARENA_CAPACITY, 2);
+
+	private static final int MIN_POOLED_CAPACITY_SHIFT = 6;
+
+	private static final int MAX_THREAD_CACHED_CAPACITY = 8 * 1024;
+
+	private static final ByteBuffer RELEASED_BUFFER = ByteBuffer.allocate(0).asReadOnlyBuffer();
+
+
+	private final boolean preferDirect;
+
+	private final int maxPooledCapacity;
+
+	private final ArrayBlockingQueue<ByteBuffer>[] arenas;
+
+	@Nullable
+	private final ThreadLocal<ThreadCache> threadCaches;
+
+	private final LongAdder activeAllocations = new LongAdder();
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with default settings,
+	 * pooling heap buffers.
+	 * @see #sharedInstance
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct
+	 * buffers should be pooled rather than heap buffers.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_ARENA_CAPACITY, DEFAULT_THREAD_CACHE_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with custom pool settings.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param maxPooledCapacity the maximum capacity of pooled buffers,
+	 * rounded up to a power of two
+	 * @param arenaCapacity the maximum number of free buffers per size class
+	 * in the shared arena
+	 * @param threadCacheCapacity the maximum number of free buffers per size
+	 * class up to 8K cached per thread, or 0 for no thread-local caching
+	 */
+	@SuppressWarnings("unchecked")
+	public PooledDataBufferFactory(boolean preferDirect, int maxPooledCapacity, int arenaCapacity,
+			int threadCacheCapacity) {
+
+		super(preferDirect);
+		Assert.isTrue(maxPooledCapacity > 0, "'maxPooledCapacity' must be larger than 0");
+		Assert.isTrue(maxPooledCapacity <= (1 << 30), "'maxPooledCapacity' must not be larger than 1G");
+		Assert.isTrue(arenaCapacity > 0, "'arenaCapacity' must be larger than 0");
+		Assert.isTrue(threadCacheCapacity >= 0, "'threadCacheCapacity' must not be negative");
+		this.preferDirect = preferDirect;
+		int sizeClassCount = sizeClass(maxPooledCapacity) + 1;
+		this.maxPooledCapacity = sizeClassCapacity(sizeClassCount - 1);
+		this.arenas = new ArrayBlockingQueue[sizeClassCount];
+		for (int i = 0; i < sizeClassCount; i++) {
+			this.arenas[i] = new ArrayBlockingQueue<>(arenaCapacity);
+		}
+		int threadCachedSizeClassCount = Math.min(sizeClassCount, sizeClass(MAX_THREAD_CACHED_CAPACITY) + 1);
+		this.threadCaches = (threadCacheCapacity > 0 ?
+				ThreadLocal.withInitial(() -> new ThreadCache(threadCachedSizeClassCount, threadCacheCapacity)) : null);
+	}
+
+
+	/**
+	 * Return the number of buffers allocated by this factory that have not
+	 * been released yet, e.g. for detecting buffer leaks in tests.
+	 */
+	public long getActiveAllocationCount() {
+		return this.activeAllocations.sum();
+	}
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' must not be negative");
+		return new PooledDefaultDataBuffer(this, initialCapacity);
+	}
+
+
+	/**
+	 * Obtain a cleared buffer with at least the given capacity from the pool,
+	 * or allocate a new one.
+	 */
+	ByteBuffer allocateChunk(int capacity) {
+		this.activeAllocations.increment();
+		if (capacity > this.maxPooledCapacity) {
+			return allocate(capacity);
+		}
+		int sizeClass = sizeClass(capacity);
+		ByteBuffer chunk = null;
+		if (this.threadCaches != null && capacity <= MAX_THREAD_CACHED_CAPACITY) {
+			chunk = this.threadCaches.get().poll(sizeClass);
+		}
+		if (chunk == null) {
+			chunk = this.arenas[sizeClass].poll();
+		}
+		if (chunk == null) {
+			return allocate(sizeClassCapacity(sizeClass));
+		}
+		chunk.clear();
+		return chunk;
+	}
+
+	/**
+	 * Return the given buffer, obtained from {@link #allocateChunk}, to the pool.
+	 */
+	void releaseChunk(ByteBuffer chunk) {
+		this.activeAllocations.decrement();
+		int capacity = chunk.capacity();
+		if (capacity > this.maxPooledCapacity) {
+			return;
+		}
+		int sizeClass = sizeClass(capacity);
+		if (this.threadCaches == null || capacity > MAX_THREAD_CACHED_CAPACITY ||
+				!this.threadCaches.get().offer(sizeClass, chunk)) {
+			this.arenas[sizeClass].offer(chunk);
+		}
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return (this.preferDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	private static int sizeClass(int capacity) {
+		if (capacity <= (1 << MIN_POOLED_CAPACITY_SHIFT)) {
+			return 0;
+		}
+		return (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1)) - MIN_POOLED_CAPACITY_SHIFT;
+	}
+
+	private static int sizeClassCapacity(int sizeClass) {
+		return 1 << (sizeClass + MIN_POOLED_CAPACITY_SHIFT);
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + this.preferDirect +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+
+	/**
+	 * Stacks of free buffers per size class, confined to a single thread.
+	 */
+	private static final class ThreadCache {
+
+		private final ByteBuffer[][] buffers;
+
+		private final int[] sizes;
+
+		ThreadCache(int sizeClassCount, int capacity) {
+			this.buffers = new ByteBuffer[sizeClassCount][capacity];
+			this.sizes = new int[sizeClassCount];
+		}
+
+		@Nullable
+		ByteBuffer poll(int sizeClass) {
+			int size = this.sizes[sizeClass];
+			if (size == 0) {
+				return null;
+			}
+			ByteBuffer[] stack = this.buffers[sizeClass];
+			ByteBuffer buffer = stack[--size];
+			stack[size] = null;
+			this.sizes[sizeClass] = size;
+			return buffer;
+		}
+
+		boolean offer(int sizeClass, ByteBuffer buffer) {
+			int size = this.sizes[sizeClass];
+			ByteBuffer[] stack = this.buffers[sizeClass];
+			if (size == stack.length) {
+				return false;
+			}
+			stack[size] = buffer;
+			this.sizes[sizeClass] = size + 1;
+			return true;
+		}
+	}
+
+
+	/**
+	 * {@link DefaultDataBuffer} backed by a pooled {@code ByteBuffer}, with its
+	 * capacity limited to the requested capacity.
+	 * <p>Keeps track of its slices, so that a chunk that is still referenced by
+	 * slices is only returned to the pool once the shared reference count drops
+	 * to zero, and so that all of them can be invalidated at that point.
+	 */
+	private static final class PooledDefaultDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private static final AtomicIntegerFieldUpdater<PooledDefaultDataBuffer> REF_COUNT_UPDATER =
+				AtomicIntegerFieldUpdater.newUpdater(PooledDefaultDataBuffer.class, "refCount");
+
+		private final PooledDataBufferFactory dataBufferFactory;
+
+		private ByteBuffer chunk;
+
+		@Nullable
+		private List<PooledSlicedDataBuffer> slices;
+
+		@Nullable
+		private List<ByteBuffer> retiredChunks;
+
+		private volatile int refCount = 1;
+
+		PooledDefaultDataBuffer(PooledDataBufferFactory dataBufferFactory, int capacity) {
+			this(dataBufferFactory, dataBufferFactory.allocateChunk(capacity), capacity);
+		}
+
+		private PooledDefaultDataBuffer(PooledDataBufferFactory dataBufferFactory, ByteBuffer chunk, int capacity) {
+			super(dataBufferFactory, limit(chunk, capacity));
+			this.dataBufferFactory = dataBufferFactory;
+			this.chunk = chunk;
+		}
+
+		private static ByteBuffer limit(ByteBuffer chunk, int capacity) {
+			return chunk.duplicate().clear().limit(capacity);
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			ByteBuffer oldChunk = this.chunk;
+			super.capacity(newCapacity);
+			if (this.chunk != oldChunk) {
+				synchronized (this) {
+					if (this.slices != null) {
+						// Still referenced by slices: keep until the final release
+						if (this.retiredChunks == null) {
+							this.retiredChunks = new ArrayList<>(1);
+						}
+						this.retiredChunks.add(oldChunk);
+						return this;
+					}
+				}
+				this.dataBufferFactory.releaseChunk(oldChunk);
+			}
+			return this;
+		}
+
+		@Override
+		ByteBuffer allocateNativeBuffer(int capacity, boolean direct) {
+			this.chunk = this.dataBufferFactory.allocateChunk(capacity);
+			return limit(this.chunk, capacity).slice();
+		}
+
+		@Override
+		DefaultDataBuffer createSlice(ByteBuffer slice, DefaultDataBufferFactory dataBufferFactory, int length) {
+			return addSlice(new PooledSlicedDataBuffer(slice, dataBufferFactory, length, this));
+		}
+
+		synchronized PooledSlicedDataBuffer addSlice(PooledSlicedDataBuffer slice) {
+			if (this.slices == null) {
+				this.slices = new ArrayList<>(4);
+			}
+			this.slices.add(slice);
+			return slice;
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = asInputStream();
+			return (releaseOnClose ? new ReleasingInputStream(inputStream, this) : inputStream);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return (this.refCount > 0);
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			int refCount;
+			do {
+				refCount = this.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("Cannot retain released buffer: " + this);
+				}
+			}
+			while (!REF_COUNT_UPDATER.compareAndSet(this, refCount, refCount + 1));
+			return this;
+		}
+
+		@Override
+		public PooledDataBuffer touch(Object hint) {
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			int refCount;
+			do {
+				refCount = this.refCount;
+				if (refCount <= 0) {
+					throw new IllegalStateException("Buffer has already been released: " + this);
+				}
+			}
+			while (!REF_COUNT_UPDATER.compareAndSet(this, refCount, refCount - 1));
+			if (refCount == 1) {
+				deallocate();
+				return true;
+			}
+			return false;
+		}
+
+		private synchronized void deallocate() {
+			// Fail on any further access rather than exposing a chunk owned by someone else
+			setNativeBuffer(RELEASED_BUFFER);
+			if (this.slices != null) {
+				for (PooledSlicedDataBuffer slice : this.slices) {
+					slice.setNativeBuffer(RELEASED_BUFFER);
+				}
+				this.slices = null;
+			}
+			if (this.retiredChunks != null) {
+				for (ByteBuffer retiredChunk : this.retiredChunks) {
+					this.dataBufferFactory.releaseChunk(retiredChunk);
+				}
+				this.retiredChunks = null;
+			}
+			this.dataBufferFactory.releaseChunk(this.chunk);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("PooledDefaultDataBuffer (r: %d, w: %d, c: %d, refCount: %d)",
+					readPosition(), writePosition(), capacity(), this.refCount);
+		}
+	}
+
+
+	/**
+	 * Slice of a {@link PooledDefaultDataBuffer}, sharing its reference count.
+	 */
+	private static final class PooledSlicedDataBuffer extends DefaultDataBuffer.SlicedDefaultDataBuffer
+			implements PooledDataBuffer {
+
+		private final PooledDefaultDataBuffer parent;
+
+		PooledSlicedDataBuffer(ByteBuffer byteBuffer, DefaultDataBufferFactory dataBufferFactory, int length,
+				PooledDefaultDataBuffer parent) {
+
+			super(byteBuffer, dataBufferFactory, length);
+			this.parent = parent;
+		}
+
+		@Override
+		DefaultDataBuffer createSlice(ByteBuffer slice, DefaultDataBufferFactory dataBufferFactory, int length) {
+			return this.parent.addSlice(new PooledSlicedDataBuffer(slice, dataBufferFactory, length, this.parent));
+		}
+
+		@Override
+		public InputStream asInputStream(boolean releaseOnClose) {
+			InputStream inputStream = asInputStream();
+			return (releaseOnClose ? new ReleasingInputStream(inputStream, this) : inputStream);
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.parent.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public PooledDataBuffer touch(Object hint) {
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+	}
+
+
+	/**
+	 * {@code InputStream} that releases the underlying buffer when closed.
+	 */
+	private static final class ReleasingInputStream extends FilterInputStream {
+
+		private final PooledDataBuffer dataBuffer;
+
+		private boolean closed;
+
+		ReleasingInputStream(InputStream inputStream, PooledDataBuffer dataBuffer) {
+			super(inputStream);
+			this.dataBuffer = dataBuffer;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (!this.closed) {
+				this.closed = true;
+				DataBufferUtils.release(this.dataBuffer);
+			}
+		}
+	}
+
+}
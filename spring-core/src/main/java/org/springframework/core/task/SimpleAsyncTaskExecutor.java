@@ -38,7 +38,8 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  *
  * <p><b>NOTE: This implementation does not reuse threads!</b> Consider a
  * thread-pooling TaskExecutor implementation instead, in particular for
- * executing a large number of short-lived tasks.
+ * executing a large number of short-lived tasks. Alternatively, on JDK 21,
+ * consider switching this executor to {@link #setVirtualThreads virtual threads}.
  *
  * @author Juergen Hoeller
  * @since 2.0
@@ -69,6 +70,11 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	@Nullable
 	private ThreadFactory threadFactory;
 
+	private boolean virtualThreads;
+
+	@Nullable
+	private transient volatile ThreadFactory virtualThreadFactory;
+
 	@Nullable
 	private TaskDecorator taskDecorator;
 
@@ -117,6 +123,37 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 		return this.threadFactory;
 	}
 
+	/**
+	 * Switch this executor to virtual threads, for JDK 21 or higher
+	 * (or JDK 19/20 with preview features enabled).
+	 * <p>Default is {@code false}, creating platform threads. When switched
+	 * on, each task is executed on a new virtual thread named according to the
+	 * {@link #setThreadNamePrefix thread name prefix}, while still respecting
+	 * the {@link #setConcurrencyLimit concurrency limit}, if any. Other thread
+	 * settings such as priority and daemon flag do not apply to virtual threads.
+	 * <p>This setting is ignored if an external {@link #setThreadFactory thread
+	 * factory} has been specified.
+	 * @throws IllegalStateException if virtual threads are not supported on
+	 * the current JVM
+	 * @since 6.0
+	 * @see VirtualThreadTaskExecutor
+	 */
+	public void setVirtualThreads(boolean virtual) {
+		if (virtual && !VirtualThreadDelegate.isSupported()) {
+			throw new IllegalStateException("Virtual threads are not supported on this JVM");
+		}
+		this.virtualThreads = virtual;
+		this.virtualThreadFactory = null;
+	}
+
+	/**
+	 * Return whether this executor uses virtual threads.
+	 * @since 6.0
+	 */
+	public final boolean isVirtualThreads() {
+		return this.virtualThreads;
+	}
+
 	/**
 	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
 	 * about to be executed.
@@ -239,14 +276,29 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	 * <p>The default implementation creates a new Thread and starts it.
 	 * @param task the Runnable to execute
 	 * @see #setThreadFactory
+	 * @see #setVirtualThreads
 	 * @see #createThread
 	 * @see java.lang.Thread#start()
 	 */
 	protected void doExecute(Runnable task) {
-		Thread thread = (this.threadFactory != null ? this.threadFactory.newThread(task) : createThread(task));
+		ThreadFactory factory = (this.threadFactory != null ? this.threadFactory : getVirtualThreadFactory());
+		Thread thread = (factory != null ? factory.newThread(task) : createThread(task));
 		thread.start();
 	}
 
+	@Nullable
+	private ThreadFactory getVirtualThreadFactory() {
+		if (!this.virtualThreads) {
+			return null;
+		}
+		ThreadFactory factory = this.virtualThreadFactory;
+		if (factory == null) {
+			factory = VirtualThreadDelegate.virtualThreadFactory(getThreadNamePrefix());
+			this.virtualThreadFactory = factory;
+		}
+		return factory;
+	}
+
 
 	/**
 	 * Subclass of the general ConcurrencyThrottleSupport class,
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Internal delegate for virtual thread handling on JDK 21+, accessing the
+ * {@code Thread.Builder} API reflectively since this codebase is compiled
+ * against JDK 17.
+ *
+ * <p>Reflection is only involved when building a {@link ThreadFactory}: the
+ * factory itself is a regular JDK instance, creating virtual threads without
+ * any further indirection.
+ *
+ * @author agent
+ * @since 6.0
+ * @see VirtualThreadTaskExecutor
+ * @see SimpleAsyncTaskExecutor#setVirtualThreads
+ */
+abstract class VirtualThreadDelegate {
+
+	@Nullable
+	private static final Method ofVirtualMethod =
+			ClassUtils.getMethodIfAvailable(Thread.class, "ofVirtual");
+
+	@Nullable
+	private static final Method nameMethod;
+
+	@Nullable
+	private static final Method factoryMethod;
+
+	private static final boolean supported;
+
+	static {
+		Method name = null;
+		Method factory = null;
+		boolean available = false;
+		if (ofVirtualMethod != null) {
+			try {
+				Class<?> builderClass = ClassUtils.forName(
+						"java.lang.Thread$Builder", VirtualThreadDelegate.class.getClassLoader());
+				name = builderClass.getMethod("name", String.class, long.class);
+				factory = builderClass.getMethod("factory");
+				// Fails on JDK 19/20 unless preview features are enabled
+				ofVirtualMethod.invoke(null);
+				available = true;
+			}
+			catch (Throwable ex) {
+				// Virtual threads not available on this JVM
+			}
+		}
+		nameMethod = name;
+		factoryMethod = factory;
+		supported = available;
+	}
+
+
+	/**
+	 * Determine whether virtual threads are supported on the current JVM.
+	 */
+	public static boolean isSupported() {
+		return supported;
+	}
+
+	/**
+	 * Create a factory for unnamed virtual threads.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public static ThreadFactory virtualThreadFactory() {
+		return (ThreadFactory) invoke(factoryMethod, builder());
+	}
+
+	/**
+	 * Create a factory for virtual threads named with the given prefix,
+	 * followed by a counter.
+	 * @param threadNamePrefix the prefix for the names of the created threads
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public static ThreadFactory virtualThreadFactory(String threadNamePrefix) {
+		Object builder = invoke(nameMethod, builder(), threadNamePrefix, 1L);
+		return (ThreadFactory) invoke(factoryMethod, builder);
+	}
+
+	private static Object builder() {
+		if (!supported || ofVirtualMethod == null) {
+			throw new IllegalStateException("Virtual threads are not supported on this JVM: " +
+					"JDK 21 or higher required (or JDK 19/20 with preview features enabled)");
+		}
+		return invoke(ofVirtualMethod, null);
+	}
+
+	private static Object invoke(@Nullable Method method, @Nullable Object target, Object... args) {
+		if (method == null) {
+			throw new IllegalStateException("Virtual threads are not supported on this JVM");
+		}
+		Object result = ReflectionUtils.invokeMethod(method, target, args);
+		if (result == null) {
+			throw new IllegalStateException("Unexpected null result from " + method);
+		}
+		return result;
+	}
+
+}
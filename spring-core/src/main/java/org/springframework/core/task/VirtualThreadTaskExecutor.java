@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link TaskExecutor} implementation based on virtual threads, starting
+ * a new virtual thread for each task. Requires a JVM with virtual thread
+ * support: JDK 21 or higher, or JDK 19/20 with preview features enabled.
+ *
+ * <p>For a concurrency limit on top of virtual threads, consider a
+ * {@link SimpleAsyncTaskExecutor} with {@link SimpleAsyncTaskExecutor#setVirtualThreads
+ * virtual threads} and a {@link SimpleAsyncTaskExecutor#setConcurrencyLimit
+ * concurrency limit} instead.
+ *
+ * @author agent
+ * @since 6.0
+ * @see SimpleAsyncTaskExecutor#setVirtualThreads
+ */
+public class VirtualThreadTaskExecutor implements AsyncTaskExecutor {
+
+	private final ThreadFactory virtualThreadFactory;
+
+
+	/**
+	 * Create a new {@code VirtualThreadTaskExecutor} without thread naming.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public VirtualThreadTaskExecutor() {
+		this.virtualThreadFactory = VirtualThreadDelegate.virtualThreadFactory();
+	}
+
+	/**
+	 * Create a new {@code VirtualThreadTaskExecutor} with thread names based
+	 * on the given thread name prefix followed by a counter (e.g. "test-1").
+	 * @param threadNamePrefix the prefix for thread names (e.g. "test-")
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		this.virtualThreadFactory = VirtualThreadDelegate.virtualThreadFactory(threadNamePrefix);
+	}
+
+
+	/**
+	 * Determine whether virtual threads are supported on the current JVM.
+	 */
+	public static boolean isSupported() {
+		return VirtualThreadDelegate.isSupported();
+	}
+
+	/**
+	 * Return the underlying virtual {@link ThreadFactory}.
+	 * Can also be used for custom thread creation elsewhere.
+	 */
+	public final ThreadFactory getVirtualThreadFactory() {
+		return this.virtualThreadFactory;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "Runnable must not be null");
+		this.virtualThreadFactory.newThread(task).start();
+	}
+
+	@Deprecated
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,37 @@
 
 package org.springframework.util;
 
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
+import org.springframework.lang.Nullable;
+
 /**
  * Simple LRU (Least Recently Used) cache, bounded by a specified cache limit.
  *
  * <p>This implementation is backed by a {@code ConcurrentHashMap} for storing
- * the cached values and a {@code ConcurrentLinkedDeque} for ordering the keys
- * and choosing the least recently used key when the cache is at full capacity.
+ * the cached values and a doubly-linked list for ordering the entries and
+ * choosing the least recently used entry when the cache is at full capacity.
+ *
+ * <p>In order to keep cache hits free of contention, the access order is not
+ * updated on every read. Instead, reads are recorded in striped, lossy read
+ * buffers, and writes in a write buffer; both are replayed against the access
+ * order in batches, under a lock which is only ever tried, never waited for,
+ * by the threads accessing the cache. Under heavy contention, some reads may
+ * therefore not be recorded at all, which approximates the access order by
+ * a sample of the recent reads. Along the same lines, the cache may briefly
+ * exceed its size limit while concurrent additions are pending.
+ *
+ * <p>This approach is inspired by the design of
+ * <a href="https://github.com/ben-manes/concurrentlinkedhashmap">ConcurrentLinkedHashMap</a>
+ * and <a href="https://github.com/ben-manes/caffeine">Caffeine</a>.
  *
  * @author Brian Clozel
  * @author Juergen Hoeller
@@ -42,13 +61,17 @@ public class ConcurrentLruCache<K, V> {
 
 	private final Function<K, V> generator;
 
-	private final ConcurrentHashMap<K, V> cache = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<K, Node<K, V>> cache = new ConcurrentHashMap<>(16, 0.75f, 16);
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final EvictionQueue<K, V> evictionQueue = new EvictionQueue<>();
 
-	private final ConcurrentLinkedDeque<K> queue = new ConcurrentLinkedDeque<>();
+	private final ReadOperations<K, V> readOperations;
 
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Queue<Runnable> writeOperations = new ConcurrentLinkedQueue<>();
 
-	private volatile int size;
+	private final AtomicReference<DrainStatus> drainStatus = new AtomicReference<>(DrainStatus.IDLE);
 
 
 	/**
@@ -62,12 +85,15 @@ public class ConcurrentLruCache<K, V> {
 		Assert.notNull(generator, "Generator function must not be null");
 		this.sizeLimit = sizeLimit;
 		this.generator = generator;
+		this.readOperations = new ReadOperations<>(this.evictionQueue);
 	}
 
 
 	/**
 	 * Retrieve an entry from the cache, potentially triggering generation
 	 * of the value.
+	 * <p>Note that the value for a given key may be generated more than once
+	 * if that key is concurrently requested while not present in the cache.
 	 * @param key the key to retrieve the entry for
 	 * @return the cached or newly generated value
 	 */
@@ -76,49 +102,23 @@ public class ConcurrentLruCache<K, V> {
 			return this.generator.apply(key);
 		}
 
-		V cached = this.cache.get(key);
-		if (cached != null) {
-			if (this.size < this.sizeLimit) {
-				return cached;
-			}
-			this.lock.readLock().lock();
-			try {
-				if (this.queue.removeLastOccurrence(key)) {
-					this.queue.offer(key);
-				}
-				return cached;
-			}
-			finally {
-				this.lock.readLock().unlock();
-			}
+		Node<K, V> node = this.cache.get(key);
+		if (node != null) {
+			afterRead(node);
+			return node.value;
 		}
 
-		this.lock.writeLock().lock();
-		try {
-			// Retrying in case of concurrent reads on the same key
-			cached = this.cache.get(key);
-			if (cached != null) {
-				if (this.queue.removeLastOccurrence(key)) {
-					this.queue.offer(key);
-				}
-				return cached;
-			}
-			// Generate value first, to prevent size inconsistency
-			V value = this.generator.apply(key);
-			if (this.size == this.sizeLimit) {
-				K leastUsed = this.queue.poll();
-				if (leastUsed != null) {
-					this.cache.remove(leastUsed);
-				}
-			}
-			this.queue.offer(key);
-			this.cache.put(key, value);
-			this.size = this.cache.size();
-			return value;
+		V value = this.generator.apply(key);
+		Node<K, V> newNode = new Node<>(key, value);
+		Node<K, V> existing = this.cache.putIfAbsent(key, newNode);
+		if (existing != null) {
+			// Concurrently generated: keep the cached value, use ours for this call
+			afterRead(existing);
 		}
-		finally {
-			this.lock.writeLock().unlock();
+		else {
+			afterWrite(new AddTask(newNode));
 		}
+		return value;
 	}
 
 	/**
@@ -138,30 +138,32 @@ public class ConcurrentLruCache<K, V> {
 	 * {@code false} if there was no matching key
 	 */
 	public boolean remove(K key) {
-		this.lock.writeLock().lock();
-		try {
-			boolean wasPresent = (this.cache.remove(key) != null);
-			this.queue.remove(key);
-			this.size = this.cache.size();
-			return wasPresent;
-		}
-		finally {
-			this.lock.writeLock().unlock();
+		Node<K, V> node = this.cache.remove(key);
+		if (node == null) {
+			return false;
 		}
+		node.alive = false;
+		afterWrite(new RemovalTask(node));
+		return true;
 	}
 
 	/**
 	 * Immediately remove all entries from this cache.
 	 */
 	public void clear() {
-		this.lock.writeLock().lock();
+		this.evictionLock.lock();
 		try {
-			this.cache.clear();
-			this.queue.clear();
-			this.size = 0;
+			// Link pending additions first, so that they get removed as well
+			processWriteOperations();
+			Node<K, V> node;
+			while ((node = this.evictionQueue.poll()) != null) {
+				this.cache.remove(node.key, node);
+				node.alive = false;
+			}
+			this.readOperations.clear();
 		}
 		finally {
-			this.lock.writeLock().unlock();
+			this.evictionLock.unlock();
 		}
 	}
 
@@ -170,7 +172,7 @@ public class ConcurrentLruCache<K, V> {
 	 * @see #sizeLimit()
 	 */
 	public int size() {
-		return this.size;
+		return this.cache.size();
 	}
 
 	/**
@@ -182,4 +184,354 @@ public class ConcurrentLruCache<K, V> {
 		return this.sizeLimit;
 	}
 
+
+	private void afterRead(Node<K, V> node) {
+		boolean delayable = this.readOperations.recordRead(node);
+		if (this.drainStatus.get().shouldDrain(delayable)) {
+			drainOperations();
+		}
+	}
+
+	private void afterWrite(Runnable task) {
+		this.writeOperations.add(task);
+		this.drainStatus.lazySet(DrainStatus.REQUIRED);
+		drainOperations();
+	}
+
+	private void drainOperations() {
+		if (this.evictionLock.tryLock()) {
+			try {
+				this.drainStatus.lazySet(DrainStatus.PROCESSING);
+				this.readOperations.drain();
+				processWriteOperations();
+			}
+			finally {
+				// A concurrent write may have requested another drain in the meantime
+				this.drainStatus.compareAndSet(DrainStatus.PROCESSING, DrainStatus.IDLE);
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	private void processWriteOperations() {
+		Runnable task;
+		while ((task = this.writeOperations.poll()) != null) {
+			task.run();
+		}
+	}
+
+	private void evictEntries() {
+		while (this.evictionQueue.size() > this.sizeLimit) {
+			Node<K, V> node = this.evictionQueue.poll();
+			if (node == null) {
+				return;
+			}
+			this.cache.remove(node.key, node);
+			node.alive = false;
+		}
+	}
+
+
+	/**
+	 * Whether the read and write buffers need to be drained.
+	 */
+	private enum DrainStatus {
+
+		/** No drain is required, unless the read buffer is full. */
+		IDLE {
+			@Override
+			boolean shouldDrain(boolean delayable) {
+				return !delayable;
+			}
+		},
+
+		/** A drain is required, typically for a pending write. */
+		REQUIRED {
+			@Override
+			boolean shouldDrain(boolean delayable) {
+				return true;
+			}
+		},
+
+		/** A drain is in progress. */
+		PROCESSING {
+			@Override
+			boolean shouldDrain(boolean delayable) {
+				return false;
+			}
+		};
+
+		abstract boolean shouldDrain(boolean delayable);
+	}
+
+
+	/**
+	 * Write operation linking a newly added entry into the access order.
+	 */
+	private final class AddTask implements Runnable {
+
+		private final Node<K, V> node;
+
+		AddTask(Node<K, V> node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			// The entry may have been removed before this task got processed
+			if (this.node.alive) {
+				evictionQueue.add(this.node);
+				evictEntries();
+			}
+		}
+	}
+
+
+	/**
+	 * Write operation unlinking a removed entry from the access order.
+	 */
+	private final class RemovalTask implements Runnable {
+
+		private final Node<K, V> node;
+
+		RemovalTask(Node<K, V> node) {
+			this.node = node;
+		}
+
+		@Override
+		public void run() {
+			evictionQueue.remove(this.node);
+		}
+	}
+
+
+	/**
+	 * Striped, lossy buffers for recording reads, each stripe being a ring
+	 * buffer written to by the threads mapped onto it and drained in batches
+	 * under the eviction lock.
+	 */
+	private static final class ReadOperations<K, V> {
+
+		private static final int STRIPE_COUNT = stripeCount();
+
+		private static final int STRIPE_MASK = STRIPE_COUNT - 1;
+
+		private static final int MAX_PENDING_READS = 32;
+
+		private static final int MAX_DRAIN_COUNT = 2 * MAX_PENDING_READS;
+
+		private static final int BUFFER_SIZE = 2 * MAX_DRAIN_COUNT;
+
+		private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+		private final EvictionQueue<K, V> evictionQueue;
+
+		private final AtomicReferenceArray<Node<K, V>>[] buffers;
+
+		private final AtomicLong[] recordedCounts;
+
+		private final AtomicLongArray drainedCounts;
+
+		// guarded by the eviction lock
+		private final long[] readCounts;
+
+		@SuppressWarnings("unchecked")
+		ReadOperations(EvictionQueue<K, V> evictionQueue) {
+			this.evictionQueue = evictionQueue;
+			this.buffers = new AtomicReferenceArray[STRIPE_COUNT];
+			this.recordedCounts = new AtomicLong[STRIPE_COUNT];
+			for (int i = 0; i < STRIPE_COUNT; i++) {
+				this.buffers[i] = new AtomicReferenceArray<>(BUFFER_SIZE);
+				this.recordedCounts[i] = new AtomicLong();
+			}
+			this.drainedCounts = new AtomicLongArray(STRIPE_COUNT);
+			this.readCounts = new long[STRIPE_COUNT];
+		}
+
+		private static int stripeCount() {
+			int processors = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+			return Integer.highestOneBit(Math.max(processors - 1, 1)) << 1;
+		}
+
+		private static int stripeIndex() {
+			return ((int) Thread.currentThread().getId()) & STRIPE_MASK;
+		}
+
+		/**
+		 * Record a read of the given entry, unless the buffer is full.
+		 * @return {@code true} if draining the buffers may be delayed,
+		 * {@code false} if they should be drained as soon as possible
+		 */
+		boolean recordRead(Node<K, V> node) {
+			int stripe = stripeIndex();
+			AtomicLong recordedCount = this.recordedCounts[stripe];
+			while (true) {
+				long index = recordedCount.get();
+				long pending = index - this.drainedCounts.get(stripe);
+				if (pending >= BUFFER_SIZE) {
+					// Buffer full: drop this read rather than waiting for the drain
+					return false;
+				}
+				// Reserve the slot only while it is free, never wrapping onto undrained slots
+				if (recordedCount.compareAndSet(index, index + 1)) {
+					this.buffers[stripe].lazySet((int) (index & BUFFER_MASK), node);
+					return (pending < MAX_PENDING_READS);
+				}
+			}
+		}
+
+		/**
+		 * Replay the recorded reads against the access order.
+		 */
+		void drain() {
+			int start = stripeIndex();
+			for (int i = 0; i < STRIPE_COUNT; i++) {
+				drainStripe((start + i) & STRIPE_MASK);
+			}
+		}
+
+		private void drainStripe(int stripe) {
+			AtomicReferenceArray<Node<K, V>> buffer = this.buffers[stripe];
+			long readCount = this.readCounts[stripe];
+			for (int i = 0; i < MAX_DRAIN_COUNT; i++) {
+				int index = (int) (readCount & BUFFER_MASK);
+				Node<K, V> node = buffer.get(index);
+				if (node == null) {
+					// Not recorded yet, or not written to by a racing thread
+					break;
+				}
+				buffer.lazySet(index, null);
+				this.evictionQueue.moveToBack(node);
+				readCount++;
+			}
+			this.readCounts[stripe] = readCount;
+			this.drainedCounts.lazySet(stripe, readCount);
+		}
+
+		void clear() {
+			for (int stripe = 0; stripe < STRIPE_COUNT; stripe++) {
+				AtomicReferenceArray<Node<K, V>> buffer = this.buffers[stripe];
+				for (int i = 0; i < BUFFER_SIZE; i++) {
+					buffer.lazySet(i, null);
+				}
+				long recordedCount = this.recordedCounts[stripe].get();
+				this.readCounts[stripe] = recordedCount;
+				this.drainedCounts.lazySet(stripe, recordedCount);
+			}
+		}
+	}
+
+
+	/**
+	 * Doubly-linked list of cache entries in access order, from the least
+	 * recently used to the most recently used entry. Only to be accessed
+	 * under the eviction lock.
+	 */
+	private static final class EvictionQueue<K, V> {
+
+		@Nullable
+		private Node<K, V> first;
+
+		@Nullable
+		private Node<K, V> last;
+
+		private int size;
+
+		int size() {
+			return this.size;
+		}
+
+		boolean contains(Node<K, V> node) {
+			return (node.prev != null || node.next != null || node == this.first);
+		}
+
+		void add(Node<K, V> node) {
+			if (!contains(node)) {
+				linkLast(node);
+				this.size++;
+			}
+		}
+
+		@Nullable
+		Node<K, V> poll() {
+			Node<K, V> node = this.first;
+			if (node != null) {
+				unlink(node);
+				this.size--;
+			}
+			return node;
+		}
+
+		void remove(Node<K, V> node) {
+			if (contains(node)) {
+				unlink(node);
+				this.size--;
+			}
+		}
+
+		void moveToBack(Node<K, V> node) {
+			if (node != this.last && contains(node)) {
+				unlink(node);
+				linkLast(node);
+			}
+		}
+
+		private void linkLast(Node<K, V> node) {
+			Node<K, V> last = this.last;
+			this.last = node;
+			if (last == null) {
+				this.first = node;
+			}
+			else {
+				last.next = node;
+				node.prev = last;
+			}
+		}
+
+		private void unlink(Node<K, V> node) {
+			Node<K, V> prev = node.prev;
+			Node<K, V> next = node.next;
+			if (prev == null) {
+				this.first = next;
+			}
+			else {
+				prev.next = next;
+				node.prev = null;
+			}
+			if (next == null) {
+				this.last = prev;
+			}
+			else {
+				next.prev = prev;
+				node.next = null;
+			}
+		}
+	}
+
+
+	/**
+	 * A cache entry, linked into the {@link EvictionQueue} once added.
+	 */
+	private static final class Node<K, V> {
+
+		final K key;
+
+		final V value;
+
+		volatile boolean alive = true;
+
+		// guarded by the eviction lock
+		@Nullable
+		Node<K, V> prev;
+
+		// guarded by the eviction lock
+		@Nullable
+		Node<K, V> next;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PooledDataBufferFactory}.
+ *
+ * @author agent
+ */
+class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 1024, 4, 2);
+
+
+	@Test
+	void allocateWithRequestedCapacity() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+		assertThat(buffer.capacity()).isEqualTo(100);
+		assertThat(buffer.factory()).isSameAs(this.bufferFactory);
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(1);
+
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	void reuseReleasedBuffer() {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		ByteBuffer nativeBuffer = buffer.getNativeBuffer();
+		buffer.write("foo", StandardCharsets.UTF_8);
+		DataBufferUtils.release(buffer);
+
+		// Same size class of 128 bytes
+		DefaultDataBuffer reused = this.bufferFactory.allocateBuffer(120);
+		assertThat(reused.capacity()).isEqualTo(120);
+		assertThat(reused.readableByteCount()).isEqualTo(0);
+		assertThat(isSameMemory(reused.getNativeBuffer(), nativeBuffer)).isTrue();
+
+		// Different size class
+		DefaultDataBuffer other = this.bufferFactory.allocateBuffer(200);
+		assertThat(isSameMemory(other.getNativeBuffer(), nativeBuffer)).isFalse();
+		release(reused, other);
+	}
+
+	@Test
+	void reuseBufferReleasedOnOtherThread() throws Exception {
+		DefaultDataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+		ByteBuffer nativeBuffer = buffer.getNativeBuffer();
+		// Fill up the thread cache of the other thread, returning the buffer to the arena
+		DataBuffer cached1 = this.bufferFactory.allocateBuffer(100);
+		DataBuffer cached2 = this.bufferFactory.allocateBuffer(100);
+		Thread thread = new Thread(() -> release(cached1, cached2, buffer));
+		thread.start();
+		thread.join();
+
+		DefaultDataBuffer reused = this.bufferFactory.allocateBuffer(100);
+		assertThat(isSameMemory(reused.getNativeBuffer(), nativeBuffer)).isTrue();
+		release(reused);
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	void allocateLargerThanMaxPooledCapacity() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(2048);
+		assertThat(buffer.capacity()).isEqualTo(2048);
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(1);
+		release(buffer);
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	void growCapacity() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(4);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		buffer.write("barbarbar", StandardCharsets.UTF_8);
+		assertThat(buffer.capacity()).isGreaterThanOrEqualTo(12);
+		assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("foobarbarbar");
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(1);
+		release(buffer);
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	void sliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+
+		DataBuffer slice = buffer.retainedSlice(3, 3);
+		assertThat(slice.toString(StandardCharsets.UTF_8)).isEqualTo("bar");
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+		assertThat(((PooledDataBuffer) slice).isAllocated()).isTrue();
+		assertThat(DataBufferUtils.release(slice)).isTrue();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	void sliceRetainsChunkOnGrowingParent() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+		DataBuffer slice = buffer.slice(3, 3);
+
+		buffer.ensureCapacity(100);
+		buffer.write("baz", StandardCharsets.UTF_8);
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(2);
+
+		// The old chunk must not be handed out while still referenced by the slice
+		DataBuffer other = this.bufferFactory.allocateBuffer(8);
+		other.write("qux", StandardCharsets.UTF_8);
+		assertThat(slice.toString(StandardCharsets.UTF_8)).isEqualTo("bar");
+		assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("foobarbaz");
+
+		release(buffer, other);
+		assertThat(this.bufferFactory.getActiveAllocationCount()).isEqualTo(0);
+	}
+
+	@Test
+	void accessReleasedBuffer() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+		DataBuffer slice = buffer.slice(3, 3);
+		release(buffer);
+
+		assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(buffer::read);
+		assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(slice::read);
+	}
+
+	@Test
+	void releaseOnInputStreamClose() throws Exception {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+		buffer.write("foo", StandardCharsets.UTF_8);
+
+		try (InputStream inputStream = buffer.asInputStream(true)) {
+			assertThat(inputStream.readAllBytes()).isEqualTo("foo".getBytes(StandardCharsets.UTF_8));
+		}
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+	}
+
+	@Test
+	void retainReleasedBuffer() {
+		PooledDataBuffer buffer = (PooledDataBuffer) this.bufferFactory.allocateBuffer(8);
+		buffer.release();
+		assertThatIllegalStateException().isThrownBy(buffer::retain);
+	}
+
+
+	private static boolean isSameMemory(ByteBuffer buffer1, ByteBuffer buffer2) {
+		return (buffer1.array() == buffer2.array());
+	}
+
+	private static void release(DataBuffer... buffers) {
+		for (DataBuffer buffer : buffers) {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,18 @@
 
 package org.springframework.util;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -82,4 +94,112 @@ class ConcurrentLruCacheTests {
 		assertThat(this.cache.contains("k3")).isTrue();
 	}
 
+	@Test
+	void getEvictsLeastRecentlyUsed() {
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.size()).isEqualTo(2);
+		assertThat(this.cache.contains("k1")).isTrue();
+		assertThat(this.cache.contains("k2")).isFalse();
+		assertThat(this.cache.contains("k3")).isTrue();
+	}
+
+	@Test
+	void zeroSizeLimitAlwaysGenerates() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(0, key -> key + "value");
+		assertThat(cache.get("k1")).isEqualTo("k1value");
+		assertThat(cache.size()).isEqualTo(0);
+		assertThat(cache.contains("k1")).isFalse();
+	}
+
+	@Test
+	void concurrentAccessRemainsBounded() throws Exception {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(64, key -> "value" + key);
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int j = 0; j < 10_000; j++) {
+						// Skewed towards a small set of hot keys
+						int key = (random.nextInt(4) == 0 ? random.nextInt(1000) : random.nextInt(16));
+						assertThat(cache.get(key)).isEqualTo("value" + key);
+						if (j % 1000 == 0) {
+							cache.remove(key);
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		// Any pending operation gets processed with the next addition
+		cache.get(-1);
+		assertThat(cache.size()).isLessThanOrEqualTo(64);
+		assertThat(cache.contains(-1)).isTrue();
+		cache.clear();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void contendedReadsAreDrained() throws Exception {
+		ConcurrentLruCache<Integer, String> cache = new ConcurrentLruCache<>(64, key -> "value" + key);
+		for (int key = 0; key < 16; key++) {
+			cache.get(key);
+		}
+		int threads = 4 * Runtime.getRuntime().availableProcessors();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int j = 0; j < 100_000; j++) {
+						cache.get(j & 15);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		// Every addition drains a bounded number of reads per stripe
+		for (int key = 100; key < 110; key++) {
+			cache.get(key);
+		}
+		Object readOperations = getField(cache, "readOperations");
+		AtomicLong[] recordedCounts = (AtomicLong[]) getField(readOperations, "recordedCounts");
+		AtomicLongArray drainedCounts = (AtomicLongArray) getField(readOperations, "drainedCounts");
+		for (int stripe = 0; stripe < recordedCounts.length; stripe++) {
+			assertThat(drainedCounts.get(stripe)).as("Drained reads of stripe " + stripe)
+					.isEqualTo(recordedCounts[stripe].get());
+		}
+	}
+
+	private static Object getField(Object target, String name) throws Exception {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(target);
+	}
+
 }
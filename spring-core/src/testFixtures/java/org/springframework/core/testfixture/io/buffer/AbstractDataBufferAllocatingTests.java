@@ -46,6 +46,7 @@ import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBufferFactory;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -122,7 +123,11 @@ public abstract class AbstractDataBufferAllocatingTests {
 	}
 
 	private void verifyAllocations() {
-		if (this.bufferFactory instanceof NettyDataBufferFactory) {
+		if (this.bufferFactory instanceof PooledDataBufferFactory pooledFactory) {
+			long total = pooledFactory.getActiveAllocationCount();
+			assertThat(total).as("DataBuffer Leak: " + total + " unreleased allocations").isEqualTo(0);
+		}
+		else if (this.bufferFactory instanceof NettyDataBufferFactory) {
 			ByteBufAllocator allocator = ((NettyDataBufferFactory) this.bufferFactory).getByteBufAllocator();
 			if (allocator instanceof PooledByteBufAllocator) {
 				Instant start = Instant.now();
@@ -175,7 +180,12 @@ public abstract class AbstractDataBufferAllocatingTests {
 			arguments(named("DefaultDataBufferFactory - preferDirect = true",
 					new DefaultDataBufferFactory(true))),
 			arguments(named("DefaultDataBufferFactory - preferDirect = false",
-					new DefaultDataBufferFactory(false)))
+					new DefaultDataBufferFactory(false))),
+			// Small pooled capacity for growing beyond it, no thread-local caching
+			arguments(named("PooledDataBufferFactory - preferDirect = true",
+					new PooledDataBufferFactory(true, 4096, 16, 0))),
+			arguments(named("PooledDataBufferFactory - preferDirect = false",
+					new PooledDataBufferFactory(false, 4096, 16, 0)))
 		);
 	}
 
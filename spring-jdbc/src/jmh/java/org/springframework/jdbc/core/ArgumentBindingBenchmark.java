@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.Date;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * Benchmarks for executing statements with plain argument arrays against an
+ * in-memory HSQL database, with and without cached argument binding plans.
+ *
+ * @author agent
+ * @see ArgumentBindingPlan
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ArgumentBindingBenchmark {
+
+	private static final String UPDATE_SQL =
+			"update person set name = ?, nickname = ?, birth_date = ?, balance = ? where id = ?";
+
+	private static final String QUERY_SQL =
+			"select count(*) from person where name = ? and (nickname = ? or nickname is null) and id = ?";
+
+
+	@Benchmark
+	public void update(DatabaseData data, Blackhole bh) {
+		bh.consume(data.jdbcTemplate.update(UPDATE_SQL, "Bubba", null, data.birthDate, 1234.56, 1));
+	}
+
+	@Benchmark
+	public void query(DatabaseData data, Blackhole bh) {
+		bh.consume(data.jdbcTemplate.queryForObject(QUERY_SQL, Integer.class, "Bubba", null, 1));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class DatabaseData {
+
+		@Param({"0", "256"})
+		public int bindingPlanCacheLimit;
+
+		public EmbeddedDatabase database;
+
+		public JdbcTemplate jdbcTemplate;
+
+		public Date birthDate = new Date(1221222L);
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.database = new EmbeddedDatabaseBuilder()
+					.setType(EmbeddedDatabaseType.HSQL)
+					.generateUniqueName(true)
+					.build();
+			this.jdbcTemplate = new JdbcTemplate(this.database);
+			this.jdbcTemplate.setBindingPlanCacheLimit(this.bindingPlanCacheLimit);
+			this.jdbcTemplate.execute("create table person (id integer primary key, name varchar(50), " +
+					"nickname varchar(50), birth_date timestamp, balance decimal(10,2))");
+			this.jdbcTemplate.update("insert into person (id, name) values (?, ?)", 1, "Bubba");
+		}
+
+		@TearDown(Level.Trial)
+		public void shutdown() {
+			this.database.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+
+import org.springframework.jdbc.support.SqlValue;
+import org.springframework.lang.Nullable;
+
+/**
+ * Binding plan for the arguments of a SQL statement, with the
+ * {@link PreparedStatement} setter to use for each argument resolved once
+ * for a given signature of argument types.
+ *
+ * <p>Binds plain argument values exactly like {@link StatementCreatorUtils}
+ * does for an unknown SQL type, but without re-evaluating the value type on
+ * every execution. The SQL type for {@code null} arguments is determined on
+ * first use and then reused, avoiding repeated
+ * {@link PreparedStatement#getParameterMetaData()} calls. Special argument
+ * values such as {@link SqlParameterValue} and {@link SqlTypeValue} are
+ * passed on to {@link StatementCreatorUtils} as usual.
+ *
+ * <p>A plan is specific to a SQL statement and the database it is executed
+ * against, and is meant to be cached along with the SQL statement.
+ *
+ * @author agent
+ * @since 6.0
+ * @see ArgumentPreparedStatementSetter
+ * @see JdbcTemplate#setBindingPlanCacheLimit
+ */
+final class ArgumentBindingPlan {
+
+	private static final byte NULL = 0;
+
+	private static final byte STRING = 1;
+
+	private static final byte DATE = 2;
+
+	private static final byte CALENDAR = 3;
+
+	private static final byte OBJECT = 4;
+
+	private static final byte DELEGATE = 5;
+
+	private static final int UNRESOLVED = Integer.MAX_VALUE;
+
+
+	private final Class<?>[] argTypes;
+
+	private final byte[] binders;
+
+	@Nullable
+	private final int[] nullTypes;
+
+
+	private ArgumentBindingPlan(Class<?>[] argTypes, byte[] binders, boolean hasNulls) {
+		this.argTypes = argTypes;
+		this.binders = binders;
+		if (hasNulls) {
+			this.nullTypes = new int[binders.length];
+			Arrays.fill(this.nullTypes, UNRESOLVED);
+		}
+		else {
+			this.nullTypes = null;
+		}
+	}
+
+
+	/**
+	 * Determine whether this plan applies to the given arguments,
+	 * i.e. whether their types match the signature of this plan.
+	 */
+	boolean matches(Object[] args) {
+		if (args.length != this.argTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < args.length; i++) {
+			Object arg = args[i];
+			if ((arg != null ? arg.getClass() : null) != this.argTypes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Bind the given arguments to the given statement.
+	 * @param ps the PreparedStatement
+	 * @param args the arguments to bind, matching this plan
+	 * @throws SQLException if thrown by PreparedStatement methods
+	 * @see #matches
+	 */
+	void bind(PreparedStatement ps, Object[] args) throws SQLException {
+		for (int i = 0; i < args.length; i++) {
+			Object arg = args[i];
+			int paramIndex = i + 1;
+			switch (this.binders[i]) {
+				case NULL -> bindNull(ps, i);
+				case STRING -> ps.setString(paramIndex, arg.toString());
+				case DATE -> ps.setTimestamp(paramIndex, new Timestamp(((java.util.Date) arg).getTime()));
+				case CALENDAR -> {
+					Calendar cal = (Calendar) arg;
+					ps.setTimestamp(paramIndex, new Timestamp(cal.getTime().getTime()), cal);
+				}
+				case OBJECT -> ps.setObject(paramIndex, arg);
+				default -> {
+					if (arg instanceof SqlParameterValue paramValue) {
+						StatementCreatorUtils.setParameterValue(ps, paramIndex, paramValue, paramValue.getValue());
+					}
+					else {
+						StatementCreatorUtils.setParameterValue(ps, paramIndex, SqlTypeValue.TYPE_UNKNOWN, arg);
+					}
+				}
+			}
+		}
+	}
+
+	private void bindNull(PreparedStatement ps, int index) throws SQLException {
+		// Racy single-check: concurrent executions resolve the same type at worst.
+		int nullType = this.nullTypes[index];
+		if (nullType == UNRESOLVED) {
+			nullType = StatementCreatorUtils.resolveNullType(ps, index + 1);
+			this.nullTypes[index] = nullType;
+		}
+		StatementCreatorUtils.setResolvedNull(ps, index + 1, nullType);
+	}
+
+
+	/**
+	 * Create a binding plan for the signature of the given arguments.
+	 * @param args the arguments to bind
+	 * @return the binding plan
+	 */
+	static ArgumentBindingPlan forArguments(Object[] args) {
+		Class<?>[] argTypes = new Class<?>[args.length];
+		byte[] binders = new byte[args.length];
+		boolean hasNulls = false;
+		for (int i = 0; i < args.length; i++) {
+			Object arg = args[i];
+			if (arg == null) {
+				binders[i] = NULL;
+				hasNulls = true;
+			}
+			else {
+				argTypes[i] = arg.getClass();
+				binders[i] = determineBinder(argTypes[i]);
+			}
+		}
+		return new ArgumentBindingPlan(argTypes, binders, hasNulls);
+	}
+
+	private static byte determineBinder(Class<?> argType) {
+		if (SqlParameterValue.class.isAssignableFrom(argType) || SqlTypeValue.class.isAssignableFrom(argType) ||
+				SqlValue.class.isAssignableFrom(argType)) {
+			return DELEGATE;
+		}
+		else if (StatementCreatorUtils.isStringValue(argType)) {
+			return STRING;
+		}
+		else if (StatementCreatorUtils.isDateValue(argType)) {
+			return DATE;
+		}
+		else if (Calendar.class.isAssignableFrom(argType)) {
+			return CALENDAR;
+		}
+		else {
+			return OBJECT;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.jdbc.core;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.lang.Nullable;
 
@@ -32,6 +33,9 @@ public class ArgumentPreparedStatementSetter implements PreparedStatementSetter,
 	@Nullable
 	private final Object[] args;
 
+	@Nullable
+	private AtomicReference<ArgumentBindingPlan> bindingPlan;
+
 
 	/**
 	 * Create a new ArgPreparedStatementSetter for the given arguments.
@@ -42,9 +46,29 @@ public class ArgumentPreparedStatementSetter implements PreparedStatementSetter,
 	}
 
 
+	/**
+	 * Bind the arguments through a cached {@link ArgumentBindingPlan}, held in the
+	 * given reference and replaced if the argument types do not match it.
+	 * @param bindingPlan the reference to the binding plan for the SQL statement
+	 * @since 6.0
+	 */
+	void setBindingPlan(AtomicReference<ArgumentBindingPlan> bindingPlan) {
+		this.bindingPlan = bindingPlan;
+	}
+
+
 	@Override
 	public void setValues(PreparedStatement ps) throws SQLException {
 		if (this.args != null) {
+			if (this.bindingPlan != null) {
+				ArgumentBindingPlan plan = this.bindingPlan.get();
+				if (plan == null || !plan.matches(this.args)) {
+					plan = ArgumentBindingPlan.forArguments(this.args);
+					this.bindingPlan.set(plan);
+				}
+				plan.bind(ps, this.args);
+				return;
+			}
 			for (int i = 0; i < this.args.length; i++) {
 				Object arg = this.args[i];
 				doSetValue(ps, i + 1, arg);
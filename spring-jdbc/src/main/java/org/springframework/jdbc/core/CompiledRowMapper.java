@@ -0,0 +1,578 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link RowMapper} implementation that converts a row into a new instance
+ * of the specified mapped target class, as a fast alternative to
+ * {@link BeanPropertyRowMapper} and {@link DataClassRowMapper}.
+ *
+ * <p>Columns are matched to data class constructor parameters and to bean
+ * property setters the same way as in {@code DataClassRowMapper}: either
+ * directly or by transforming a name separating the parts with underscores
+ * to the same name using "camel" case. The mapping is compiled once per
+ * result set shape, i.e. per distinct list of column names, into direct
+ * {@code ResultSet} getter calls for the target types and {@link MethodHandle}
+ * invocations of the constructor and the setters. Mapping a row therefore
+ * involves neither a {@code BeanWrapper} nor any reflective property access.
+ * No classes are generated at runtime, so this mapper works the same way
+ * on an ahead-of-time compiled native image.
+ *
+ * <p>Column values are converted to the target types through the configured
+ * {@link ConversionService} only if they are not assignable already. Note that,
+ * in contrast to {@code BeanPropertyRowMapper}, JavaBeans property editors are
+ * not applied.
+ *
+ * @author agent
+ * @since 6.0
+ * @param <T> the result type
+ * @see BeanPropertyRowMapper
+ * @see DataClassRowMapper
+ */
+public class CompiledRowMapper<T> implements RowMapper<T> {
+
+	private static final int PLAN_CACHE_SIZE = 64;
+
+
+	/** Logger available to subclasses. */
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final Class<T> mappedClass;
+
+	private final MethodHandle constructor;
+
+	private final ConstructorParameter[] constructorParameters;
+
+	private final Map<String, MappedProperty> mappedFields = new HashMap<>();
+
+	private final Set<String> mappedProperties = new HashSet<>();
+
+	@Nullable
+	private ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+	private boolean checkFullyPopulated = false;
+
+	private boolean primitivesDefaultedForNullValue = false;
+
+	private final ConcurrentLruCache<List<String>, MappingPlan> planCache =
+			new ConcurrentLruCache<>(PLAN_CACHE_SIZE, this::createPlan);
+
+	@Nullable
+	private volatile ResultSetPlan currentPlan;
+
+
+	/**
+	 * Create a new {@code CompiledRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 */
+	public CompiledRowMapper(Class<T> mappedClass) {
+		Assert.notNull(mappedClass, "Mapped class must not be null");
+		this.mappedClass = mappedClass;
+
+		Constructor<T> ctor = BeanUtils.getResolvableConstructor(mappedClass);
+		this.constructor = unreflectConstructor(ctor);
+		int paramCount = ctor.getParameterCount();
+		this.constructorParameters = new ConstructorParameter[paramCount];
+		Set<String> constructorParameterNames = new HashSet<>();
+		if (paramCount > 0) {
+			String[] paramNames = BeanUtils.getParameterNames(ctor);
+			for (int i = 0; i < paramCount; i++) {
+				TypeDescriptor td = new TypeDescriptor(new MethodParameter(ctor, i));
+				this.constructorParameters[i] = new ConstructorParameter(paramNames[i], td);
+				constructorParameterNames.add(paramNames[i]);
+			}
+		}
+
+		for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
+			Method writeMethod = pd.getWriteMethod();
+			if (writeMethod != null && !constructorParameterNames.contains(pd.getName())) {
+				TypeDescriptor td = new TypeDescriptor(
+						new MethodParameter(writeMethod, 0).withContainingClass(mappedClass));
+				MappedProperty property = new MappedProperty(pd.getName(), td, unreflectSetter(writeMethod));
+				this.mappedFields.put(lowerCaseName(pd.getName()), property);
+				this.mappedFields.putIfAbsent(underscoreName(pd.getName()), property);
+				this.mappedProperties.add(pd.getName());
+			}
+		}
+	}
+
+
+	/**
+	 * Get the class that we are mapping to.
+	 */
+	public final Class<T> getMappedClass() {
+		return this.mappedClass;
+	}
+
+	/**
+	 * Set a {@link ConversionService} for converting JDBC values to constructor
+	 * parameter and bean property types, or {@code null} for none.
+	 * <p>Default is a shared {@link DefaultConversionService}.
+	 */
+	public void setConversionService(@Nullable ConversionService conversionService) {
+		this.conversionService = conversionService;
+	}
+
+	/**
+	 * Return the {@link ConversionService} for converting JDBC values,
+	 * or {@code null} if none.
+	 */
+	@Nullable
+	public ConversionService getConversionService() {
+		return this.conversionService;
+	}
+
+	/**
+	 * Set whether we're strictly validating that all bean properties have been mapped
+	 * from corresponding database fields.
+	 * <p>Default is {@code false}, accepting unpopulated properties in the target bean.
+	 */
+	public void setCheckFullyPopulated(boolean checkFullyPopulated) {
+		this.checkFullyPopulated = checkFullyPopulated;
+	}
+
+	/**
+	 * Return whether we're strictly validating that all bean properties have been
+	 * mapped from corresponding database fields.
+	 */
+	public boolean isCheckFullyPopulated() {
+		return this.checkFullyPopulated;
+	}
+
+	/**
+	 * Set whether we're defaulting Java primitives in the case of mapping a null value
+	 * from corresponding database fields.
+	 * <p>Default is {@code false}, throwing an exception when nulls are mapped to Java primitives.
+	 */
+	public void setPrimitivesDefaultedForNullValue(boolean primitivesDefaultedForNullValue) {
+		this.primitivesDefaultedForNullValue = primitivesDefaultedForNullValue;
+	}
+
+	/**
+	 * Return whether we're defaulting Java primitives in the case of mapping a null value
+	 * from corresponding database fields.
+	 */
+	public boolean isPrimitivesDefaultedForNullValue() {
+		return this.primitivesDefaultedForNullValue;
+	}
+
+
+	/**
+	 * Convert the given name to lower case.
+	 * By default, conversions will happen within the US locale.
+	 * @param name the original name
+	 * @return the converted name
+	 */
+	protected String lowerCaseName(String name) {
+		return name.toLowerCase(Locale.US);
+	}
+
+	/**
+	 * Convert a name in camelCase to an underscored name in lower case.
+	 * Any upper case letters are converted to lower case with a preceding underscore.
+	 * @param name the original name
+	 * @return the converted name
+	 * @see #lowerCaseName
+	 */
+	protected String underscoreName(String name) {
+		if (!StringUtils.hasLength(name)) {
+			return "";
+		}
+
+		StringBuilder result = new StringBuilder();
+		result.append(Character.toLowerCase(name.charAt(0)));
+		for (int i = 1; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (Character.isUpperCase(c)) {
+				result.append('_').append(Character.toLowerCase(c));
+			}
+			else {
+				result.append(c);
+			}
+		}
+		return result.toString();
+	}
+
+
+	/**
+	 * Map the current row through the mapping plan for the columns of the
+	 * given {@code ResultSet}, compiling the plan on first use.
+	 */
+	@Override
+	public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+		return obtainPlan(rs).mapRow(rs, rowNum);
+	}
+
+	private MappingPlan obtainPlan(ResultSet rs) throws SQLException {
+		ResultSetPlan current = this.currentPlan;
+		if (current != null && current.resultSet.get() == rs) {
+			return current.plan;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		String[] columns = new String[columnCount];
+		for (int index = 1; index <= columnCount; index++) {
+			columns[index - 1] = JdbcUtils.lookupColumnName(rsmd, index);
+		}
+		MappingPlan plan = this.planCache.get(Arrays.asList(columns));
+		this.currentPlan = new ResultSetPlan(rs, plan);
+		return plan;
+	}
+
+	private MappingPlan createPlan(List<String> columns) {
+		Map<String, Integer> columnIndexes = new LinkedHashMap<>();
+		for (int i = 0; i < columns.size(); i++) {
+			columnIndexes.putIfAbsent(lowerCaseName(StringUtils.delete(columns.get(i), " ")), i + 1);
+		}
+
+		ColumnBinding[] arguments = new ColumnBinding[this.constructorParameters.length];
+		for (int i = 0; i < arguments.length; i++) {
+			ConstructorParameter parameter = this.constructorParameters[i];
+			Integer index = columnIndexes.get(lowerCaseName(parameter.name()));
+			if (index == null) {
+				index = columnIndexes.get(underscoreName(parameter.name()));
+			}
+			if (index == null) {
+				throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain a column for " +
+						"constructor parameter '" + parameter.name() + "' of " + this.mappedClass + ": " + columns);
+			}
+			arguments[i] = new ColumnBinding(index, columns.get(index - 1), parameter.name(),
+					parameter.typeDescriptor(), null);
+		}
+
+		List<ColumnBinding> properties = new ArrayList<>();
+		Set<String> populatedProperties = new HashSet<>();
+		columnIndexes.forEach((field, index) -> {
+			MappedProperty property = this.mappedFields.get(field);
+			if (property != null && populatedProperties.add(property.name())) {
+				properties.add(new ColumnBinding(index, columns.get(index - 1), property.name(),
+						property.typeDescriptor(), property.setter()));
+			}
+		});
+		if (isCheckFullyPopulated() && !populatedProperties.equals(this.mappedProperties)) {
+			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
+					"necessary to populate object of " + this.mappedClass + ": " + this.mappedProperties);
+		}
+
+		if (logger.isDebugEnabled()) {
+			for (ColumnBinding binding : arguments) {
+				logger.debug("Mapping column '" + binding.column() + "' to constructor parameter '" +
+						binding.name() + "' of type '" + ClassUtils.getQualifiedName(binding.type()) + "'");
+			}
+			for (ColumnBinding binding : properties) {
+				logger.debug("Mapping column '" + binding.column() + "' to property '" +
+						binding.name() + "' of type '" + ClassUtils.getQualifiedName(binding.type()) + "'");
+			}
+		}
+		return new MappingPlan(arguments, properties.toArray(new ColumnBinding[0]));
+	}
+
+	@Nullable
+	private Object convertIfNecessary(@Nullable Object value, ColumnBinding binding) {
+		if (value == null || ClassUtils.isAssignableValue(binding.type(), value)) {
+			return value;
+		}
+		ConversionService cs = getConversionService();
+		if (cs == null) {
+			throw new TypeMismatchException(value, binding.type());
+		}
+		return cs.convert(value, TypeDescriptor.forObject(value), binding.typeDescriptor());
+	}
+
+
+	private static MethodHandle unreflectConstructor(Constructor<?> ctor) {
+		try {
+			ReflectionUtils.makeAccessible(ctor);
+			MethodHandle handle = MethodHandles.lookup().unreflectConstructor(ctor);
+			return handle.asSpreader(Object[].class, ctor.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		}
+		catch (IllegalAccessException ex) {
+			throw new InvalidDataAccessApiUsageException("Cannot access constructor " + ctor, ex);
+		}
+	}
+
+	private static MethodHandle unreflectSetter(Method writeMethod) {
+		try {
+			ReflectionUtils.makeAccessible(writeMethod);
+			return MethodHandles.lookup().unreflect(writeMethod)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		}
+		catch (IllegalAccessException ex) {
+			throw new InvalidDataAccessApiUsageException("Cannot access setter " + writeMethod, ex);
+		}
+	}
+
+	/**
+	 * Determine a reader for the given target type, calling the corresponding
+	 * {@code ResultSet} getter directly for common types and delegating to
+	 * {@link JdbcUtils#getResultSetValue(ResultSet, int, Class)} otherwise.
+	 */
+	private static ColumnReader columnReader(Class<?> type) {
+		if (String.class == type) {
+			return ResultSet::getString;
+		}
+		else if (boolean.class == type || Boolean.class == type) {
+			return (rs, index) -> {
+				boolean value = rs.getBoolean(index);
+				return (rs.wasNull() ? null : value);
+			};
+		}
+		else if (int.class == type || Integer.class == type) {
+			return (rs, index) -> {
+				int value = rs.getInt(index);
+				return (rs.wasNull() ? null : value);
+			};
+		}
+		else if (long.class == type || Long.class == type) {
+			return (rs, index) -> {
+				long value = rs.getLong(index);
+				return (rs.wasNull() ? null : value);
+			};
+		}
+		else if (double.class == type || Double.class == type) {
+			return (rs, index) -> {
+				double value = rs.getDouble(index);
+				return (rs.wasNull() ? null : value);
+			};
+		}
+		else if (BigDecimal.class == type) {
+			return ResultSet::getBigDecimal;
+		}
+		else {
+			return (rs, index) -> JdbcUtils.getResultSetValue(rs, index, type);
+		}
+	}
+
+	@Nullable
+	private static Object defaultValue(Class<?> type) {
+		return (type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null);
+	}
+
+
+	/**
+	 * Static factory method to create a new {@code CompiledRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @see #newInstance(Class, ConversionService)
+	 */
+	public static <T> CompiledRowMapper<T> newInstance(Class<T> mappedClass) {
+		return new CompiledRowMapper<>(mappedClass);
+	}
+
+	/**
+	 * Static factory method to create a new {@code CompiledRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @param conversionService the {@link ConversionService} for converting
+	 * JDBC values, or {@code null} for none
+	 * @see #newInstance(Class)
+	 * @see #setConversionService
+	 */
+	public static <T> CompiledRowMapper<T> newInstance(
+			Class<T> mappedClass, @Nullable ConversionService conversionService) {
+
+		CompiledRowMapper<T> rowMapper = newInstance(mappedClass);
+		rowMapper.setConversionService(conversionService);
+		return rowMapper;
+	}
+
+
+	@FunctionalInterface
+	private interface ColumnReader {
+
+		@Nullable
+		Object read(ResultSet rs, int index) throws SQLException;
+	}
+
+
+	private record ConstructorParameter(String name, TypeDescriptor typeDescriptor) {
+	}
+
+
+	private record MappedProperty(String name, TypeDescriptor typeDescriptor, MethodHandle setter) {
+	}
+
+
+	/**
+	 * The plan used for the most recent {@code ResultSet}.
+	 */
+	private final class ResultSetPlan {
+
+		private final WeakReference<ResultSet> resultSet;
+
+		private final MappingPlan plan;
+
+		ResultSetPlan(ResultSet resultSet, MappingPlan plan) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.plan = plan;
+		}
+	}
+
+
+	/**
+	 * Binding of a result set column to a constructor parameter or to a
+	 * bean property setter.
+	 */
+	private static final class ColumnBinding {
+
+		private final int index;
+
+		private final String column;
+
+		private final String name;
+
+		private final TypeDescriptor typeDescriptor;
+
+		private final Class<?> type;
+
+		private final ColumnReader reader;
+
+		@Nullable
+		private final Object defaultValue;
+
+		@Nullable
+		private final MethodHandle setter;
+
+		ColumnBinding(int index, String column, String name, TypeDescriptor typeDescriptor,
+				@Nullable MethodHandle setter) {
+
+			this.index = index;
+			this.column = column;
+			this.name = name;
+			this.typeDescriptor = typeDescriptor;
+			this.type = typeDescriptor.getType();
+			this.reader = columnReader(this.type);
+			this.defaultValue = defaultValue(this.type);
+			this.setter = setter;
+		}
+
+		String column() {
+			return this.column;
+		}
+
+		String name() {
+			return this.name;
+		}
+
+		TypeDescriptor typeDescriptor() {
+			return this.typeDescriptor;
+		}
+
+		Class<?> type() {
+			return this.type;
+		}
+	}
+
+
+	/**
+	 * Mapping for a specific list of result set columns.
+	 */
+	private final class MappingPlan {
+
+		private final ColumnBinding[] arguments;
+
+		private final ColumnBinding[] properties;
+
+		MappingPlan(ColumnBinding[] arguments, ColumnBinding[] properties) {
+			this.arguments = arguments;
+			this.properties = properties;
+		}
+
+		@SuppressWarnings("unchecked")
+		T mapRow(ResultSet rs, int rowNum) throws SQLException {
+			Object[] args = new Object[this.arguments.length];
+			for (int i = 0; i < args.length; i++) {
+				ColumnBinding binding = this.arguments[i];
+				Object value = convertIfNecessary(binding.reader.read(rs, binding.index), binding);
+				args[i] = (value != null ? value : binding.defaultValue);
+			}
+			Object mappedObject;
+			try {
+				mappedObject = constructor.invokeExact(args);
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new DataRetrievalFailureException("Failed to instantiate " + mappedClass, ex);
+			}
+
+			for (ColumnBinding binding : this.properties) {
+				Object value = convertIfNecessary(binding.reader.read(rs, binding.index), binding);
+				if (value == null && binding.defaultValue != null) {
+					if (isPrimitivesDefaultedForNullValue()) {
+						continue;
+					}
+					throw new TypeMismatchException((Object) null, binding.type);
+				}
+				Assert.state(binding.setter != null, "No setter");
+				try {
+					binding.setter.invokeExact(mappedObject, value);
+				}
+				catch (RuntimeException | Error ex) {
+					throw ex;
+				}
+				catch (Throwable ex) {
+					throw new DataRetrievalFailureException(
+							"Unable to map column '" + binding.column + "' to property '" + binding.name + "'", ex);
+				}
+			}
+			return (T) mappedObject;
+		}
+	}
+
+}
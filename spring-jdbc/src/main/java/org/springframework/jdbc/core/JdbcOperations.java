@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@ package org.springframework.jdbc.core;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
@@ -592,6 +594,90 @@ public interface JdbcOperations {
 	<T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args)
 			throws DataAccessException;
 
+	/**
+	 * Query using a forward-only prepared statement in streaming mode, mapping
+	 * each row to a result object via a RowMapper, and turning it into an
+	 * iterable and closeable Stream which fetches further rows from the
+	 * database in chunks of the given fetch size while being consumed.
+	 * <p>In contrast to {@link #queryForStream(PreparedStatementCreator, RowMapper)},
+	 * database-specific settings for cursor-based retrieval are applied as well,
+	 * e.g. switching off auto-commit on PostgreSQL for the duration of the query.
+	 * @param psc a callback that creates a forward-only PreparedStatement
+	 * given a Connection
+	 * @param fetchSize the number of rows to fetch from the database at once
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 * @see JdbcTemplate#applyStreamingSettings
+	 */
+	<T> Stream<T> queryForStream(PreparedStatementCreator psc, int fetchSize, RowMapper<T> rowMapper)
+			throws DataAccessException;
+
+	/**
+	 * Query given SQL to create a forward-only prepared statement from SQL and
+	 * a list of arguments to bind to the query in streaming mode, mapping each
+	 * row to a result object via a RowMapper, and turning it into an iterable
+	 * and closeable Stream which fetches further rows from the database in
+	 * chunks of the given fetch size while being consumed.
+	 * @param sql the SQL query to execute
+	 * @param fetchSize the number of rows to fetch from the database at once
+	 * @param rowMapper a callback that will map one object per row
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 * @see #queryForStream(PreparedStatementCreator, int, RowMapper)
+	 */
+	<T> Stream<T> queryForStream(String sql, int fetchSize, RowMapper<T> rowMapper, @Nullable Object... args)
+			throws DataAccessException;
+
+	/**
+	 * Query using a forward-only prepared statement in streaming mode, mapping
+	 * each row to a result object via a RowMapper, and passing the mapped
+	 * objects to the given consumer in lists of up to the given chunk size.
+	 * <p>Rows are only fetched from the database once the consumer has
+	 * processed the previous chunk, so the memory held by the query is
+	 * bounded by the chunk size rather than by the size of the result.
+	 * @param psc a callback that creates a forward-only PreparedStatement
+	 * given a Connection
+	 * @param chunkSize the maximum number of objects per chunk, also used
+	 * as fetch size for the query
+	 * @param rowMapper a callback that will map one object per row
+	 * @param chunkConsumer a callback that will process one chunk at a time
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 * @see #queryForStream(PreparedStatementCreator, int, RowMapper)
+	 */
+	<T> void queryForChunks(PreparedStatementCreator psc, int chunkSize, RowMapper<T> rowMapper,
+			Consumer<List<T>> chunkConsumer) throws DataAccessException;
+
+	/**
+	 * Query given SQL to create a forward-only prepared statement from SQL and
+	 * a list of arguments to bind to the query in streaming mode, mapping each
+	 * row to a result object via a RowMapper, and passing the mapped objects to
+	 * the given consumer in lists of up to the given chunk size.
+	 * @param sql the SQL query to execute
+	 * @param chunkSize the maximum number of objects per chunk, also used
+	 * as fetch size for the query
+	 * @param rowMapper a callback that will map one object per row
+	 * @param chunkConsumer a callback that will process one chunk at a time
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 * @see #queryForChunks(PreparedStatementCreator, int, RowMapper, Consumer)
+	 */
+	<T> void queryForChunks(String sql, int chunkSize, RowMapper<T> rowMapper, Consumer<List<T>> chunkConsumer,
+			@Nullable Object... args) throws DataAccessException;
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
@@ -1032,6 +1118,35 @@ public interface JdbcOperations {
 	<T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
 			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
 
+	/**
+	 * Execute multiple batches using the supplied SQL statement with the collect of supplied
+	 * arguments, distributing the batches across up to the given number of Connections
+	 * which execute them in parallel on the given executor.
+	 * <p>Each worker obtains its own Connection from the DataSource, so the batches are not
+	 * executed within a common transaction: this is meant for non-transactional bulk loads.
+	 * Within an active transaction, all batches are executed one after the other on the
+	 * transactional Connection instead. On failure of a batch, no further batches are
+	 * started and the exception is rethrown once all running batches have completed;
+	 * batches which completed before are not rolled back.
+	 * @param sql the SQL statement to execute.
+	 * @param batchArgs the List of Object arrays containing the batch of arguments for the query
+	 * @param batchSize batch size
+	 * @param pss the ParameterizedPreparedStatementSetter to use, needing to be thread-safe
+	 * @param executor the executor to run the workers on
+	 * @param concurrency the maximum number of batches to execute in parallel,
+	 * i.e. the maximum number of Connections to use
+	 * @return an array containing for each batch another array containing the numbers of
+	 * rows affected by each update in the batch, in the order of the batch arguments
+	 * (may also contain special JDBC-defined negative values for affected rows such as
+	 * {@link java.sql.Statement#SUCCESS_NO_INFO}/{@link java.sql.Statement#EXECUTE_FAILED})
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 6.0
+	 * @see #batchUpdate(String, Collection, int, ParameterizedPreparedStatementSetter)
+	 */
+	<T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+			ParameterizedPreparedStatementSetter<T> pss, Executor executor, int concurrency)
+			throws DataAccessException;
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
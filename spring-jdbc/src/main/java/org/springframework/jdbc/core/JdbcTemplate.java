@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.lang.reflect.Proxy;
 import java.sql.BatchUpdateException;
 import java.sql.CallableStatement;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -31,10 +32,16 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -47,6 +54,8 @@ import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.InvalidResultSetAccessException;
 import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.metrics.SqlStatementObservation;
+import org.springframework.jdbc.core.metrics.SqlStatementObserver;
 import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.jdbc.support.JdbcAccessor;
@@ -54,9 +63,12 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -110,6 +122,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 	private static final String RETURN_UPDATE_COUNT_PREFIX = "#update-count-";
 
+	/** Default maximum number of entries for the argument binding plan cache: 256. */
+	public static final int DEFAULT_BINDING_PLAN_CACHE_LIMIT = 256;
+
 
 	/** If this variable is {@code false}, we will throw exceptions on SQL warnings. */
 	private boolean ignoreWarnings = true;
@@ -153,6 +168,14 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 */
 	private boolean resultsMapCaseInsensitive = false;
 
+	/** Observer for the execution of SQL statements. */
+	private SqlStatementObserver statementObserver = SqlStatementObserver.DEFAULT;
+
+	/** Cache of argument binding plans per SQL statement. */
+	@Nullable
+	private volatile ConcurrentLruCache<String, AtomicReference<ArgumentBindingPlan>> bindingPlanCache =
+			new ConcurrentLruCache<>(DEFAULT_BINDING_PLAN_CACHE_LIMIT, sql -> new AtomicReference<>());
+
 
 	/**
 	 * Construct a new JdbcTemplate for bean usage.
@@ -317,6 +340,55 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return this.resultsMapCaseInsensitive;
 	}
 
+	/**
+	 * Set the {@link SqlStatementObserver} to notify about the execution of
+	 * SQL statements, e.g. for recording processing times and row counts.
+	 * <p>The default is a "no op" observer which does not record data.
+	 * @since 6.0
+	 * @see org.springframework.jdbc.core.metrics.InMemorySqlStatementObserver
+	 * @see org.springframework.jdbc.core.metrics.jfr.FlightRecorderSqlStatementObserver
+	 */
+	public void setStatementObserver(SqlStatementObserver statementObserver) {
+		Assert.notNull(statementObserver, "SqlStatementObserver must not be null");
+		this.statementObserver = statementObserver;
+	}
+
+	/**
+	 * Return the {@link SqlStatementObserver} to notify about the execution of
+	 * SQL statements.
+	 * @since 6.0
+	 */
+	public SqlStatementObserver getStatementObserver() {
+		return this.statementObserver;
+	}
+
+	/**
+	 * Specify the maximum number of SQL statements to cache argument binding
+	 * plans for. Default is 256; 0 indicates no caching.
+	 * <p>A binding plan determines the {@link PreparedStatement} setter for each
+	 * argument of a statement executed with plain argument arrays once per
+	 * signature of argument types, including the SQL type for {@code null}
+	 * arguments as obtained from the database. Consider switching caching off
+	 * if this template's DataSource routes to databases of different kinds.
+	 * <p>Only applies to the default {@link ArgumentPreparedStatementSetter}
+	 * as returned by {@link #newArgPreparedStatementSetter(Object[])}.
+	 * @since 6.0
+	 */
+	public void setBindingPlanCacheLimit(int cacheLimit) {
+		this.bindingPlanCache = (cacheLimit > 0 ?
+				new ConcurrentLruCache<>(cacheLimit, sql -> new AtomicReference<>()) : null);
+	}
+
+	/**
+	 * Return the maximum number of SQL statements to cache argument binding
+	 * plans for.
+	 * @since 6.0
+	 */
+	public int getBindingPlanCacheLimit() {
+		ConcurrentLruCache<String, AtomicReference<ArgumentBindingPlan>> cache = this.bindingPlanCache;
+		return (cache != null ? cache.sizeLimit() : 0);
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with a plain java.sql.Connection
@@ -372,6 +444,18 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Nullable
 	private <T> T execute(StatementCallback<T> action, boolean closeResources) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
+		return execute(action, this.statementObserver.start(getSql(action)), closeResources);
+	}
+
+	/**
+	 * Execute the given callback, recording its execution in the given observation.
+	 * <p>If resources are not to be closed, the callback returns a Stream which
+	 * is expected to end the observation once closed, with the observation only
+	 * being ended here in case of a failure.
+	 */
+	@Nullable
+	private <T> T execute(StatementCallback<T> action, SqlStatementObservation observation, boolean closeResources)
+			throws DataAccessException {
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		Statement stmt = null;
@@ -385,6 +469,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		catch (SQLException ex) {
 			// Release Connection early, to avoid potential connection pool deadlock
 			// in the case when the exception translator hasn't been initialized yet.
+			observation.error(ex);
 			String sql = getSql(action);
 			JdbcUtils.closeStatement(stmt);
 			stmt = null;
@@ -392,8 +477,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			con = null;
 			throw translateException("StatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
 			if (closeResources) {
+				observation.end();
 				JdbcUtils.closeStatement(stmt);
 				DataSourceUtils.releaseConnection(con, getDataSource());
 			}
@@ -439,6 +529,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Executing SQL query [" + sql + "]");
 		}
+		SqlStatementObservation observation = this.statementObserver.start(sql);
 
 		/**
 		 * Callback to execute the query.
@@ -450,7 +541,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				ResultSet rs = null;
 				try {
 					rs = stmt.executeQuery(sql);
-					return rse.extractData(rs);
+					T result = rse.extractData(rs);
+					observeRowCount(observation, rse, result);
+					return result;
 				}
 				finally {
 					JdbcUtils.closeResultSet(rs);
@@ -462,7 +555,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			}
 		}
 
-		return execute(new QueryStatementCallback(), true);
+		return execute(new QueryStatementCallback(), observation, true);
 	}
 
 	@Override
@@ -477,12 +570,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 	@Override
 	public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper) throws DataAccessException {
+		SqlStatementObservation observation = this.statementObserver.start(sql);
 		class StreamStatementCallback implements StatementCallback<Stream<T>>, SqlProvider {
 			@Override
 			public Stream<T> doInStatement(Statement stmt) throws SQLException {
 				ResultSet rs = stmt.executeQuery(sql);
 				Connection con = stmt.getConnection();
-				return new ResultSetSpliterator<>(rs, rowMapper).stream().onClose(() -> {
+				return new ResultSetSpliterator<>(rs, rowMapper, observation).stream().onClose(() -> {
 					JdbcUtils.closeResultSet(rs);
 					JdbcUtils.closeStatement(stmt);
 					DataSourceUtils.releaseConnection(con, getDataSource());
@@ -494,7 +588,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			}
 		}
 
-		return result(execute(new StreamStatementCallback(), false));
+		try {
+			return result(execute(new StreamStatementCallback(), observation, false));
+		}
+		catch (RuntimeException | Error ex) {
+			observation.end();
+			throw ex;
+		}
 	}
 
 	@Override
@@ -536,6 +636,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Executing SQL update [" + sql + "]");
 		}
+		SqlStatementObservation observation = this.statementObserver.start(sql);
 
 		/**
 		 * Callback to execute the update statement.
@@ -547,6 +648,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				if (logger.isTraceEnabled()) {
 					logger.trace("SQL update affected " + rows + " rows");
 				}
+				observation.rowCount(rows);
 				return rows;
 			}
 			@Override
@@ -555,7 +657,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			}
 		}
 
-		return updateCount(execute(new UpdateStatementCallback(), true));
+		return updateCount(execute(new UpdateStatementCallback(), observation, true));
 	}
 
 	@Override
@@ -564,6 +666,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Executing SQL batch update of " + sql.length + " statements");
 		}
+		SqlStatementObservation observation = this.statementObserver.start(null);
 
 		/**
 		 * Callback to execute the batch update.
@@ -608,6 +711,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 						}
 					}
 				}
+				observation.rowCount(sumUpdateCounts(rowsAffected));
 				return rowsAffected;
 			}
 
@@ -622,7 +726,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			}
 		}
 
-		int[] result = execute(new BatchUpdateStatementCallback(), true);
+		int[] result = execute(new BatchUpdateStatementCallback(), observation, true);
 		Assert.state(result != null, "No update counts");
 		return result;
 	}
@@ -637,6 +741,19 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			throws DataAccessException {
 
 		Assert.notNull(psc, "PreparedStatementCreator must not be null");
+		return execute(psc, action, this.statementObserver.start(getSql(psc)), closeResources);
+	}
+
+	/**
+	 * Execute the given callback, recording its execution in the given observation.
+	 * <p>If resources are not to be closed, the callback returns a Stream which
+	 * is expected to end the observation once closed, with the observation only
+	 * being ended here in case of a failure.
+	 */
+	@Nullable
+	private <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action,
+			SqlStatementObservation observation, boolean closeResources) throws DataAccessException {
+
 		Assert.notNull(action, "Callback object must not be null");
 		if (logger.isDebugEnabled()) {
 			String sql = getSql(psc);
@@ -655,6 +772,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		catch (SQLException ex) {
 			// Release Connection early, to avoid potential connection pool deadlock
 			// in the case when the exception translator hasn't been initialized yet.
+			observation.error(ex);
 			if (psc instanceof ParameterDisposer) {
 				((ParameterDisposer) psc).cleanupParameters();
 			}
@@ -666,8 +784,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			con = null;
 			throw translateException("PreparedStatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
 			if (closeResources) {
+				observation.end();
 				if (psc instanceof ParameterDisposer) {
 					((ParameterDisposer) psc).cleanupParameters();
 				}
@@ -707,9 +830,11 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			PreparedStatementCreator psc, @Nullable final PreparedStatementSetter pss, final ResultSetExtractor<T> rse)
 			throws DataAccessException {
 
+		Assert.notNull(psc, "PreparedStatementCreator must not be null");
 		Assert.notNull(rse, "ResultSetExtractor must not be null");
 		logger.debug("Executing prepared SQL query");
 
+		SqlStatementObservation observation = this.statementObserver.start(getSql(psc));
 		return execute(psc, new PreparedStatementCallback<T>() {
 			@Override
 			@Nullable
@@ -720,7 +845,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 						pss.setValues(ps);
 					}
 					rs = ps.executeQuery();
-					return rse.extractData(rs);
+					T result = rse.extractData(rs);
+					observeRowCount(observation, rse, result);
+					return result;
 				}
 				finally {
 					JdbcUtils.closeResultSet(rs);
@@ -729,7 +856,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 					}
 				}
 			}
-		}, true);
+		}, observation, true);
 	}
 
 	@Override
@@ -754,13 +881,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Override
 	@Nullable
 	public <T> T query(String sql, @Nullable Object[] args, ResultSetExtractor<T> rse) throws DataAccessException {
-		return query(sql, newArgPreparedStatementSetter(args), rse);
+		return query(sql, newArgPreparedStatementSetter(sql, args), rse);
 	}
 
 	@Override
 	@Nullable
 	public <T> T query(String sql, ResultSetExtractor<T> rse, @Nullable Object... args) throws DataAccessException {
-		return query(sql, newArgPreparedStatementSetter(args), rse);
+		return query(sql, newArgPreparedStatementSetter(sql, args), rse);
 	}
 
 	@Override
@@ -781,12 +908,12 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Deprecated
 	@Override
 	public void query(String sql, @Nullable Object[] args, RowCallbackHandler rch) throws DataAccessException {
-		query(sql, newArgPreparedStatementSetter(args), rch);
+		query(sql, newArgPreparedStatementSetter(sql, args), rch);
 	}
 
 	@Override
 	public void query(String sql, RowCallbackHandler rch, @Nullable Object... args) throws DataAccessException {
-		query(sql, newArgPreparedStatementSetter(args), rch);
+		query(sql, newArgPreparedStatementSetter(sql, args), rch);
 	}
 
 	@Override
@@ -831,21 +958,100 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
 			RowMapper<T> rowMapper) throws DataAccessException {
 
-		return result(execute(psc, ps -> {
+		Assert.notNull(psc, "PreparedStatementCreator must not be null");
+		SqlStatementObservation observation = this.statementObserver.start(getSql(psc));
+		try {
+			return result(execute(psc, ps -> {
+				if (pss != null) {
+					pss.setValues(ps);
+				}
+				ResultSet rs = ps.executeQuery();
+				Connection con = ps.getConnection();
+				return new ResultSetSpliterator<>(rs, rowMapper, observation).stream().onClose(() -> {
+					JdbcUtils.closeResultSet(rs);
+					if (pss instanceof ParameterDisposer) {
+						((ParameterDisposer) pss).cleanupParameters();
+					}
+					JdbcUtils.closeStatement(ps);
+					DataSourceUtils.releaseConnection(con, getDataSource());
+				});
+			}, observation, false));
+		}
+		catch (RuntimeException | Error ex) {
+			observation.end();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Query using a forward-only prepared statement in streaming mode, allowing
+	 * for a PreparedStatementCreator and a PreparedStatementSetter. The returned
+	 * Stream fetches further rows from the database in chunks of the given fetch
+	 * size while being consumed, keeping the Connection until it gets closed.
+	 * <p>Applies {@link #applyStreamingSettings} after the regular statement
+	 * settings. On PostgreSQL, which only uses a cursor within a transaction,
+	 * auto-commit is switched off for the duration of the query unless the
+	 * Connection participates in a Spring-managed transaction already.
+	 * @param psc a callback that creates a forward-only PreparedStatement
+	 * given a Connection
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * @param fetchSize the number of rows to fetch from the database at once
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 */
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			int fetchSize, RowMapper<T> rowMapper) throws DataAccessException {
+
+		Assert.notNull(psc, "PreparedStatementCreator must not be null");
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		Assert.isTrue(fetchSize > 0, "Fetch size must be greater than 0");
+		if (logger.isDebugEnabled()) {
+			String sql = getSql(psc);
+			logger.debug("Executing streaming SQL query" + (sql != null ? " [" + sql + "]" : ""));
+		}
+
+		SqlStatementObservation observation = this.statementObserver.start(getSql(psc));
+		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		boolean resetAutoCommit = false;
+		PreparedStatement ps = null;
+		ResultSet rs = null;
+		try {
+			String databaseProductName = getDatabaseProductName(con);
+			if ("PostgreSQL".equals(databaseProductName) && con.getAutoCommit() &&
+					!DataSourceUtils.isConnectionTransactional(con, getDataSource())) {
+				con.setAutoCommit(false);
+				resetAutoCommit = true;
+			}
+			ps = psc.createPreparedStatement(con);
+			applyStatementSettings(ps);
+			applyStreamingSettings(ps, fetchSize, databaseProductName);
 			if (pss != null) {
 				pss.setValues(ps);
 			}
-			ResultSet rs = ps.executeQuery();
-			Connection con = ps.getConnection();
-			return new ResultSetSpliterator<>(rs, rowMapper).stream().onClose(() -> {
-				JdbcUtils.closeResultSet(rs);
-				if (pss instanceof ParameterDisposer) {
-					((ParameterDisposer) pss).cleanupParameters();
-				}
-				JdbcUtils.closeStatement(ps);
-				DataSourceUtils.releaseConnection(con, getDataSource());
-			});
-		}, false));
+			rs = ps.executeQuery();
+			handleWarnings(ps);
+			StreamingResources resources = new StreamingResources(con, resetAutoCommit, ps, rs, psc, pss);
+			return new ResultSetSpliterator<>(rs, rowMapper, observation).stream().onClose(resources::close);
+		}
+		catch (SQLException ex) {
+			// Release Connection early, to avoid potential connection pool deadlock
+			// in the case when the exception translator hasn't been initialized yet.
+			observation.error(ex);
+			observation.end();
+			String sql = getSql(psc);
+			new StreamingResources(con, resetAutoCommit, ps, rs, psc, pss).close();
+			throw translateException("PreparedStatementCallback", sql, ex);
+		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			observation.end();
+			new StreamingResources(con, resetAutoCommit, ps, rs, psc, pss).close();
+			throw ex;
+		}
 	}
 
 	@Override
@@ -860,7 +1066,55 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 	@Override
 	public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args) throws DataAccessException {
-		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(args), rowMapper);
+		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(sql, args), rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, int fetchSize, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(psc, null, fetchSize, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, int fetchSize, RowMapper<T> rowMapper, @Nullable Object... args)
+			throws DataAccessException {
+
+		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(sql, args),
+				fetchSize, rowMapper);
+	}
+
+	@Override
+	public <T> void queryForChunks(PreparedStatementCreator psc, int chunkSize, RowMapper<T> rowMapper,
+			Consumer<List<T>> chunkConsumer) throws DataAccessException {
+
+		queryForChunks(queryForStream(psc, null, chunkSize, rowMapper), chunkSize, chunkConsumer);
+	}
+
+	@Override
+	public <T> void queryForChunks(String sql, int chunkSize, RowMapper<T> rowMapper, Consumer<List<T>> chunkConsumer,
+			@Nullable Object... args) throws DataAccessException {
+
+		queryForChunks(queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(sql, args),
+				chunkSize, rowMapper), chunkSize, chunkConsumer);
+	}
+
+	private static <T> void queryForChunks(Stream<T> stream, int chunkSize, Consumer<List<T>> chunkConsumer) {
+		Assert.notNull(chunkConsumer, "Chunk consumer must not be null");
+		try (stream) {
+			List<T> chunk = new ArrayList<>(chunkSize);
+			Iterator<T> it = stream.iterator();
+			while (it.hasNext()) {
+				chunk.add(it.next());
+				if (chunk.size() == chunkSize) {
+					chunkConsumer.accept(chunk);
+					chunk = new ArrayList<>(chunkSize);
+				}
+			}
+			if (!chunk.isEmpty()) {
+				chunkConsumer.accept(chunk);
+			}
+		}
 	}
 
 	@Override
@@ -955,8 +1209,10 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	protected int update(final PreparedStatementCreator psc, @Nullable final PreparedStatementSetter pss)
 			throws DataAccessException {
 
+		Assert.notNull(psc, "PreparedStatementCreator must not be null");
 		logger.debug("Executing prepared SQL update");
 
+		SqlStatementObservation observation = this.statementObserver.start(getSql(psc));
 		return updateCount(execute(psc, ps -> {
 			try {
 				if (pss != null) {
@@ -966,6 +1222,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				if (logger.isTraceEnabled()) {
 					logger.trace("SQL update affected " + rows + " rows");
 				}
+				observation.rowCount(rows);
 				return rows;
 			}
 			finally {
@@ -973,7 +1230,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 					((ParameterDisposer) pss).cleanupParameters();
 				}
 			}
-		}, true));
+		}, observation, true));
 	}
 
 	@Override
@@ -985,11 +1242,14 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	public int update(final PreparedStatementCreator psc, final KeyHolder generatedKeyHolder)
 			throws DataAccessException {
 
+		Assert.notNull(psc, "PreparedStatementCreator must not be null");
 		Assert.notNull(generatedKeyHolder, "KeyHolder must not be null");
 		logger.debug("Executing SQL update and returning generated keys");
 
+		SqlStatementObservation observation = this.statementObserver.start(getSql(psc));
 		return updateCount(execute(psc, ps -> {
 			int rows = ps.executeUpdate();
+			observation.rowCount(rows);
 			List<Map<String, Object>> generatedKeys = generatedKeyHolder.getKeyList();
 			generatedKeys.clear();
 			ResultSet keys = ps.getGeneratedKeys();
@@ -1007,7 +1267,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				logger.trace("SQL update affected " + rows + " rows and returned " + generatedKeys.size() + " keys");
 			}
 			return rows;
-		}, true));
+		}, observation, true));
 	}
 
 	@Override
@@ -1022,7 +1282,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 	@Override
 	public int update(String sql, @Nullable Object... args) throws DataAccessException {
-		return update(sql, newArgPreparedStatementSetter(args));
+		return update(sql, newArgPreparedStatementSetter(sql, args));
 	}
 
 	@Override
@@ -1031,7 +1291,8 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			logger.debug("Executing SQL batch update [" + sql + "]");
 		}
 
-		int[] result = execute(sql, (PreparedStatementCallback<int[]>) ps -> {
+		SqlStatementObservation observation = this.statementObserver.start(sql);
+		int[] result = execute(new SimplePreparedStatementCreator(sql), ps -> {
 			try {
 				int batchSize = pss.getBatchSize();
 				InterruptibleBatchPreparedStatementSetter ipss =
@@ -1045,7 +1306,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 						}
 						ps.addBatch();
 					}
-					return ps.executeBatch();
+					int[] rowsAffected = ps.executeBatch();
+					observation.rowCount(sumUpdateCounts(rowsAffected));
+					return rowsAffected;
 				}
 				else {
 					List<Integer> rowsAffected = new ArrayList<>();
@@ -1060,6 +1323,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 					for (int i = 0; i < rowsAffectedArray.length; i++) {
 						rowsAffectedArray[i] = rowsAffected.get(i);
 					}
+					observation.rowCount(sumUpdateCounts(rowsAffectedArray));
 					return rowsAffectedArray;
 				}
 			}
@@ -1068,7 +1332,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 					((ParameterDisposer) pss).cleanupParameters();
 				}
 			}
-		});
+		}, observation, true);
 
 		Assert.state(result != null, "No result array");
 		return result;
@@ -1123,7 +1387,8 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Executing SQL batch update [" + sql + "] with a batch size of " + batchSize);
 		}
-		int[][] result = execute(sql, (PreparedStatementCallback<int[][]>) ps -> {
+		SqlStatementObservation observation = this.statementObserver.start(sql);
+		int[][] result = execute(new SimplePreparedStatementCreator(sql), ps -> {
 			List<int[]> rowsAffected = new ArrayList<>();
 			try {
 				boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
@@ -1151,6 +1416,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				for (int i = 0; i < result1.length; i++) {
 					result1[i] = rowsAffected.get(i);
 				}
+				observation.rowCount(sumUpdateCounts(result1));
 				return result1;
 			}
 			finally {
@@ -1158,12 +1424,114 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 					((ParameterDisposer) pss).cleanupParameters();
 				}
 			}
-		});
+		}, observation, true);
 
 		Assert.state(result != null, "No result array");
 		return result;
 	}
 
+	@Override
+	public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+			ParameterizedPreparedStatementSetter<T> pss, Executor executor, int concurrency)
+			throws DataAccessException {
+
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than 0");
+		List<T> args = (batchArgs instanceof List<T> list ? list : new ArrayList<>(batchArgs));
+		int batchCount = (args.size() + batchSize - 1) / batchSize;
+		int workerCount = Math.min(concurrency, batchCount);
+		if (workerCount <= 1 || TransactionSynchronizationManager.isActualTransactionActive()) {
+			// Batches within a transaction need to share its Connection
+			return batchUpdate(sql, args, batchSize, pss);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL batch update [" + sql + "] with a batch size of " + batchSize +
+					" on " + workerCount + " Connections");
+		}
+
+		int[][][] batchResults = new int[batchCount][][];
+		AtomicInteger nextBatch = new AtomicInteger();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Runnable worker = () -> {
+			SqlStatementObservation observation = this.statementObserver.start(sql);
+			execute(new SimplePreparedStatementCreator(sql), ps -> {
+				boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+				long rowCount = 0;
+				int batchIdx;
+				while (failure.get() == null && (batchIdx = nextBatch.getAndIncrement()) < batchCount) {
+					List<T> batch = args.subList(batchIdx * batchSize, Math.min((batchIdx + 1) * batchSize, args.size()));
+					if (logger.isTraceEnabled()) {
+						logger.trace("Sending SQL batch update #" + (batchIdx + 1) + " with " + batch.size() + " items");
+					}
+					batchResults[batchIdx] = executeBatch(ps, batch, batchSupported, pss);
+					rowCount += sumUpdateCounts(batchResults[batchIdx]);
+				}
+				observation.rowCount(rowCount);
+				return null;
+			}, observation, true);
+		};
+
+		try {
+			List<CompletableFuture<Void>> workers = new ArrayList<>(workerCount);
+			for (int i = 0; i < workerCount; i++) {
+				try {
+					workers.add(CompletableFuture.runAsync(() -> {
+						try {
+							worker.run();
+						}
+						catch (Throwable ex) {
+							failure.compareAndSet(null, ex);
+						}
+					}, executor));
+				}
+				catch (RejectedExecutionException ex) {
+					failure.compareAndSet(null, ex);
+					break;
+				}
+			}
+			CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).join();
+		}
+		finally {
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+		}
+
+		Throwable ex = failure.get();
+		if (ex != null) {
+			ReflectionUtils.rethrowRuntimeException(ex);
+		}
+		List<int[]> rowsAffected = new ArrayList<>(batchCount);
+		for (int[][] batchResult : batchResults) {
+			Collections.addAll(rowsAffected, batchResult);
+		}
+		return rowsAffected.toArray(new int[0][]);
+	}
+
+	/**
+	 * Execute the given batch of arguments on the given PreparedStatement.
+	 * @return the rows affected, as a single array for a JDBC batch
+	 * or as one array per update if batch updates are not supported
+	 */
+	private static <T> int[][] executeBatch(PreparedStatement ps, List<T> batch, boolean batchSupported,
+			ParameterizedPreparedStatementSetter<T> pss) throws SQLException {
+
+		if (batchSupported) {
+			for (T obj : batch) {
+				pss.setValues(ps, obj);
+				ps.addBatch();
+			}
+			return new int[][] {ps.executeBatch()};
+		}
+		int[][] rowsAffected = new int[batch.size()][];
+		for (int i = 0; i < rowsAffected.length; i++) {
+			pss.setValues(ps, batch.get(i));
+			rowsAffected[i] = new int[] {ps.executeUpdate()};
+		}
+		return rowsAffected;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
@@ -1181,6 +1549,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			logger.debug("Calling stored procedure" + (sql != null ? " [" + sql  + "]" : ""));
 		}
 
+		SqlStatementObservation observation = this.statementObserver.start(getSql(csc));
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		CallableStatement cs = null;
 		try {
@@ -1193,6 +1562,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		catch (SQLException ex) {
 			// Release Connection early, to avoid potential connection pool deadlock
 			// in the case when the exception translator hasn't been initialized yet.
+			observation.error(ex);
 			if (csc instanceof ParameterDisposer) {
 				((ParameterDisposer) csc).cleanupParameters();
 			}
@@ -1204,7 +1574,12 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			con = null;
 			throw translateException("CallableStatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			observation.error(ex);
+			throw ex;
+		}
 		finally {
+			observation.end();
 			if (csc instanceof ParameterDisposer) {
 				((ParameterDisposer) csc).cleanupParameters();
 			}
@@ -1468,6 +1843,33 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		DataSourceUtils.applyTimeout(stmt, getDataSource(), getQueryTimeout());
 	}
 
+	/**
+	 * Prepare the given JDBC Statement for a streaming query, applying the
+	 * given fetch size after the {@link #applyStatementSettings regular settings}.
+	 * <p>The default implementation sets the fetch size as a hint for the driver,
+	 * except for the MySQL driver which only streams the result row by row for
+	 * a fetch size of {@link Integer#MIN_VALUE} (unless configured with
+	 * {@code useCursorFetch=true}) and reads the entire result into memory
+	 * otherwise. Can be overridden for further driver-specific settings.
+	 * @param stmt the JDBC Statement to prepare
+	 * @param fetchSize the number of rows to fetch from the database at once
+	 * @param databaseProductName the product name of the database in use
+	 * as provided in database meta-data, or {@code null} if not known
+	 * @throws SQLException if thrown by JDBC API
+	 * @since 6.0
+	 * @see #queryForStream(PreparedStatementCreator, PreparedStatementSetter, int, RowMapper)
+	 */
+	protected void applyStreamingSettings(Statement stmt, int fetchSize, @Nullable String databaseProductName)
+			throws SQLException {
+
+		if ("MySQL".equals(databaseProductName)) {
+			stmt.setFetchSize(Integer.MIN_VALUE);
+		}
+		else {
+			stmt.setFetchSize(fetchSize);
+		}
+	}
+
 	/**
 	 * Create a new arg-based PreparedStatementSetter using the args passed in.
 	 * <p>By default, we'll create an {@link ArgumentPreparedStatementSetter}.
@@ -1479,6 +1881,25 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return new ArgumentPreparedStatementSetter(args);
 	}
 
+	/**
+	 * Create a new arg-based PreparedStatementSetter for the given SQL statement,
+	 * binding through a cached {@link ArgumentBindingPlan} where possible.
+	 * @param sql the SQL statement to execute
+	 * @param args object array with arguments
+	 * @return the new PreparedStatementSetter to use
+	 * @see #newArgPreparedStatementSetter(Object[])
+	 * @see #setBindingPlanCacheLimit
+	 */
+	private PreparedStatementSetter newArgPreparedStatementSetter(String sql, @Nullable Object[] args) {
+		PreparedStatementSetter pss = newArgPreparedStatementSetter(args);
+		ConcurrentLruCache<String, AtomicReference<ArgumentBindingPlan>> cache = this.bindingPlanCache;
+		if (cache != null && args != null && args.length > 0 &&
+				pss.getClass() == ArgumentPreparedStatementSetter.class) {
+			((ArgumentPreparedStatementSetter) pss).setBindingPlan(cache.get(sql));
+		}
+		return pss;
+	}
+
 	/**
 	 * Create a new arg-type-based PreparedStatementSetter using the args and types passed in.
 	 * <p>By default, we'll create an {@link ArgumentTypePreparedStatementSetter}.
@@ -1557,6 +1978,54 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 	}
 
+	/**
+	 * Determine the product name of the database behind the given Connection.
+	 * @param con the JDBC Connection to check
+	 * @return the product name, or {@code null} if not known
+	 */
+	@Nullable
+	private static String getDatabaseProductName(Connection con) throws SQLException {
+		DatabaseMetaData metaData = con.getMetaData();
+		return (metaData != null ? metaData.getDatabaseProductName() : null);
+	}
+
+	/**
+	 * Record the number of rows returned by a query if known from the given
+	 * ResultSetExtractor: the rows mapped by a {@link RowMapperResultSetExtractor},
+	 * or the rows processed by a {@link RowCallbackHandler}.
+	 * @param observation the observation of the query
+	 * @param rse the ResultSetExtractor used for the query
+	 * @param result the result of the ResultSetExtractor
+	 */
+	private static void observeRowCount(
+			SqlStatementObservation observation, ResultSetExtractor<?> rse, @Nullable Object result) {
+
+		if (rse instanceof RowMapperResultSetExtractor && result instanceof List<?> rows) {
+			observation.rowCount(rows.size());
+		}
+		else if (rse instanceof RowCallbackHandlerResultSetExtractor rchExtractor) {
+			observation.rowCount(rchExtractor.getRowCount());
+		}
+	}
+
+	private static long sumUpdateCounts(int[][] batchUpdateCounts) {
+		long rowCount = 0;
+		for (int[] updateCounts : batchUpdateCounts) {
+			rowCount += sumUpdateCounts(updateCounts);
+		}
+		return rowCount;
+	}
+
+	private static long sumUpdateCounts(int[] updateCounts) {
+		long rowCount = 0;
+		for (int updateCount : updateCounts) {
+			if (updateCount > 0) {
+				rowCount += updateCount;
+			}
+		}
+		return rowCount;
+	}
+
 	private static <T> T result(@Nullable T result) {
 		Assert.state(result != null, "No result");
 		return result;
@@ -1626,6 +2095,65 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	/**
+	 * JDBC resources held by a streaming query until its Stream gets closed.
+	 */
+	private class StreamingResources {
+
+		@Nullable
+		private Connection con;
+
+		private final boolean resetAutoCommit;
+
+		@Nullable
+		private final PreparedStatement ps;
+
+		@Nullable
+		private final ResultSet rs;
+
+		private final PreparedStatementCreator psc;
+
+		@Nullable
+		private final PreparedStatementSetter pss;
+
+		public StreamingResources(Connection con, boolean resetAutoCommit, @Nullable PreparedStatement ps,
+				@Nullable ResultSet rs, PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss) {
+
+			this.con = con;
+			this.resetAutoCommit = resetAutoCommit;
+			this.ps = ps;
+			this.rs = rs;
+			this.psc = psc;
+			this.pss = pss;
+		}
+
+		public void close() {
+			Connection con = this.con;
+			if (con == null) {
+				return;
+			}
+			this.con = null;
+			JdbcUtils.closeResultSet(this.rs);
+			if (this.pss instanceof ParameterDisposer) {
+				((ParameterDisposer) this.pss).cleanupParameters();
+			}
+			if (this.psc instanceof ParameterDisposer) {
+				((ParameterDisposer) this.psc).cleanupParameters();
+			}
+			JdbcUtils.closeStatement(this.ps);
+			if (this.resetAutoCommit) {
+				try {
+					con.setAutoCommit(true);
+				}
+				catch (SQLException ex) {
+					logger.debug("Could not reset auto-commit after streaming query", ex);
+				}
+			}
+			DataSourceUtils.releaseConnection(con, getDataSource());
+		}
+	}
+
+
 	/**
 	 * Simple adapter for PreparedStatementCreator, allowing to use a plain SQL statement.
 	 */
@@ -1683,6 +2211,8 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 		private final RowCallbackHandler rch;
 
+		private int rowCount = 0;
+
 		public RowCallbackHandlerResultSetExtractor(RowCallbackHandler rch) {
 			this.rch = rch;
 		}
@@ -1692,14 +2222,21 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		public Object extractData(ResultSet rs) throws SQLException {
 			while (rs.next()) {
 				this.rch.processRow(rs);
+				this.rowCount++;
 			}
 			return null;
 		}
+
+		public int getRowCount() {
+			return this.rowCount;
+		}
 	}
 
 
 	/**
 	 * Spliterator for queryForStream adaptation of a ResultSet to a Stream.
+	 * <p>Counts the rows consumed from the ResultSet, reporting them to the
+	 * given observation and ending it once the Stream gets closed.
 	 * @since 5.3
 	 */
 	private static class ResultSetSpliterator<T> implements Spliterator<T> {
@@ -1708,11 +2245,14 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 		private final RowMapper<T> rowMapper;
 
+		private final SqlStatementObservation observation;
+
 		private int rowNum = 0;
 
-		public ResultSetSpliterator(ResultSet rs, RowMapper<T> rowMapper) {
+		public ResultSetSpliterator(ResultSet rs, RowMapper<T> rowMapper, SqlStatementObservation observation) {
 			this.rs = rs;
 			this.rowMapper = rowMapper;
+			this.observation = observation;
 		}
 
 		@Override
@@ -1725,7 +2265,9 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				return false;
 			}
 			catch (SQLException ex) {
-				throw new InvalidResultSetAccessException(ex);
+				InvalidResultSetAccessException accessException = new InvalidResultSetAccessException(ex);
+				this.observation.error(accessException);
+				throw accessException;
 			}
 		}
 
@@ -1746,7 +2288,10 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 
 		public Stream<T> stream() {
-			return StreamSupport.stream(this, false);
+			return StreamSupport.stream(this, false).onClose(() -> {
+				this.observation.rowCount(this.rowNum);
+				this.observation.end();
+			});
 		}
 	}
 
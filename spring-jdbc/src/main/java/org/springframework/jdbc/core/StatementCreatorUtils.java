@@ -245,42 +245,7 @@ public abstract class StatementCreatorUtils {
 			throws SQLException {
 
 		if (sqlType == SqlTypeValue.TYPE_UNKNOWN || (sqlType == Types.OTHER && typeName == null)) {
-			boolean useSetObject = false;
-			Integer sqlTypeToUse = null;
-			if (!shouldIgnoreGetParameterType) {
-				try {
-					sqlTypeToUse = ps.getParameterMetaData().getParameterType(paramIndex);
-				}
-				catch (SQLException ex) {
-					if (logger.isDebugEnabled()) {
-						logger.debug("JDBC getParameterType call failed - using fallback method instead: " + ex);
-					}
-				}
-			}
-			if (sqlTypeToUse == null) {
-				// Proceed with database-specific checks
-				sqlTypeToUse = Types.NULL;
-				DatabaseMetaData dbmd = ps.getConnection().getMetaData();
-				String jdbcDriverName = dbmd.getDriverName();
-				String databaseProductName = dbmd.getDatabaseProductName();
-				if (databaseProductName.startsWith("Informix") ||
-						(jdbcDriverName.startsWith("Microsoft") && jdbcDriverName.contains("SQL Server"))) {
-						// "Microsoft SQL Server JDBC Driver 3.0" versus "Microsoft JDBC Driver 4.0 for SQL Server"
-					useSetObject = true;
-				}
-				else if (databaseProductName.startsWith("DB2") ||
-						jdbcDriverName.startsWith("jConnect") ||
-						jdbcDriverName.startsWith("SQLServer") ||
-						jdbcDriverName.startsWith("Apache Derby")) {
-					sqlTypeToUse = Types.VARCHAR;
-				}
-			}
-			if (useSetObject) {
-				ps.setObject(paramIndex, null);
-			}
-			else {
-				ps.setNull(paramIndex, sqlTypeToUse);
-			}
+			setResolvedNull(ps, paramIndex, resolveNullType(ps, paramIndex));
 		}
 		else if (typeName != null) {
 			ps.setNull(paramIndex, sqlType, typeName);
@@ -290,6 +255,61 @@ public abstract class StatementCreatorUtils {
 		}
 	}
 
+	/**
+	 * Resolve the SQL type to use for a null value of unknown type at the given
+	 * parameter index, respecting database-specific peculiarities.
+	 * <p>The outcome only depends on the statement and the database, so callers
+	 * may cache it for repeated executions of the same SQL statement.
+	 * @param ps the prepared statement
+	 * @param paramIndex the index of the parameter
+	 * @return the SQL type for a {@link PreparedStatement#setNull} call, or
+	 * {@link SqlTypeValue#TYPE_UNKNOWN} for a {@code setObject(paramIndex, null)} call
+	 * @since 6.0
+	 * @see #setResolvedNull
+	 */
+	static int resolveNullType(PreparedStatement ps, int paramIndex) throws SQLException {
+		if (!shouldIgnoreGetParameterType) {
+			try {
+				return ps.getParameterMetaData().getParameterType(paramIndex);
+			}
+			catch (SQLException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("JDBC getParameterType call failed - using fallback method instead: " + ex);
+				}
+			}
+		}
+		// Proceed with database-specific checks
+		DatabaseMetaData dbmd = ps.getConnection().getMetaData();
+		String jdbcDriverName = dbmd.getDriverName();
+		String databaseProductName = dbmd.getDatabaseProductName();
+		if (databaseProductName.startsWith("Informix") ||
+				(jdbcDriverName.startsWith("Microsoft") && jdbcDriverName.contains("SQL Server"))) {
+				// "Microsoft SQL Server JDBC Driver 3.0" versus "Microsoft JDBC Driver 4.0 for SQL Server"
+			return SqlTypeValue.TYPE_UNKNOWN;
+		}
+		else if (databaseProductName.startsWith("DB2") ||
+				jdbcDriverName.startsWith("jConnect") ||
+				jdbcDriverName.startsWith("SQLServer") ||
+				jdbcDriverName.startsWith("Apache Derby")) {
+			return Types.VARCHAR;
+		}
+		return Types.NULL;
+	}
+
+	/**
+	 * Set the specified PreparedStatement parameter to null, using a SQL type
+	 * obtained from {@link #resolveNullType}.
+	 * @since 6.0
+	 */
+	static void setResolvedNull(PreparedStatement ps, int paramIndex, int resolvedType) throws SQLException {
+		if (resolvedType == SqlTypeValue.TYPE_UNKNOWN) {
+			ps.setObject(paramIndex, null);
+		}
+		else {
+			ps.setNull(paramIndex, resolvedType);
+		}
+	}
+
 	private static void setValue(PreparedStatement ps, int paramIndex, int sqlType,
 			@Nullable String typeName, @Nullable Integer scale, Object inValue) throws SQLException {
 
@@ -419,7 +439,7 @@ public abstract class StatementCreatorUtils {
 	/**
 	 * Check whether the given value can be treated as a String value.
 	 */
-	private static boolean isStringValue(Class<?> inValueType) {
+	static boolean isStringValue(Class<?> inValueType) {
 		// Consider any CharSequence (including StringBuffer and StringBuilder) as a String.
 		return (CharSequence.class.isAssignableFrom(inValueType) ||
 				StringWriter.class.isAssignableFrom(inValueType));
@@ -429,7 +449,7 @@ public abstract class StatementCreatorUtils {
 	 * Check whether the given value is a {@code java.util.Date}
 	 * (but not one of the JDBC-specific subclasses).
 	 */
-	private static boolean isDateValue(Class<?> inValueType) {
+	static boolean isDateValue(Class<?> inValueType) {
 		return (java.util.Date.class.isAssignableFrom(inValueType) &&
 				!(java.sql.Date.class.isAssignableFrom(inValueType) ||
 						java.sql.Time.class.isAssignableFrom(inValueType) ||
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -272,6 +272,20 @@ public class TableMetaDataContext {
 	 * @return the insert string to be used
 	 */
 	public String createInsertString(String... generatedKeyNames) {
+		return createInsertString(1, generatedKeyNames);
+	}
+
+	/**
+	 * Build a multi-row insert string based on configuration and meta-data
+	 * information, i.e. an insert statement with a {@code VALUES} list of
+	 * the given number of rows, e.g. {@code INSERT INTO t (a, b) VALUES(?, ?), (?, ?)}.
+	 * <p>Parameters need to be bound row by row, in column order.
+	 * @param rowCount the number of rows to insert with the statement
+	 * @return the insert string to be used
+	 * @since 6.0
+	 */
+	public String createInsertString(int rowCount, String... generatedKeyNames) {
+		Assert.isTrue(rowCount > 0, "Row count must be greater than 0");
 		Set<String> keys = new LinkedHashSet<>(generatedKeyNames.length);
 		for (String key : generatedKeyNames) {
 			keys.add(key.toUpperCase());
@@ -314,6 +328,11 @@ public class TableMetaDataContext {
 		String params = String.join(", ", Collections.nCopies(columnCount, "?"));
 		insertStatement.append(params);
 		insertStatement.append(')');
+		for (int i = 1; i < rowCount; i++) {
+			insertStatement.append(", (");
+			insertStatement.append(params);
+			insertStatement.append(')');
+		}
 		return insertStatement.toString();
 	}
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Default "no op" {@code SqlStatementObserver} implementation.
+ *
+ * <p>This variant is designed for minimal overhead and does not record data.
+ *
+ * @author agent
+ * @since 6.0
+ */
+class DefaultSqlStatementObserver implements SqlStatementObserver {
+
+	private static final DefaultSqlStatementObservation DEFAULT_OBSERVATION = new DefaultSqlStatementObservation();
+
+
+	@Override
+	public SqlStatementObservation start(@Nullable String sql) {
+		return DEFAULT_OBSERVATION;
+	}
+
+
+	static class DefaultSqlStatementObservation implements SqlStatementObservation {
+
+		@Override
+		public void rowCount(long rowCount) {
+		}
+
+		@Override
+		public void error(Throwable ex) {
+		}
+
+		@Override
+		public void end() {
+		}
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * {@link SqlStatementObserver} implementation which aggregates
+ * {@link SqlStatementStatistics} per normalized SQL statement in memory,
+ * and keeps a sample of the most recent slow statement executions.
+ *
+ * <p>SQL statements are normalized through their {@link ParsedSql}
+ * representation, with named parameters and expanded {@code IN} parameter
+ * lists turned into a single {@code ?} placeholder: e.g. the executions of
+ * {@code "SELECT * FROM person WHERE id IN (:ids)"} via
+ * {@code NamedParameterJdbcTemplate} are recorded as one statement
+ * {@code "SELECT * FROM person WHERE id IN (?)"}, independent of the
+ * number of ids.
+ *
+ * @author agent
+ * @since 6.0
+ * @see org.springframework.jdbc.core.JdbcTemplate#setStatementObserver
+ */
+public class InMemorySqlStatementObserver implements SqlStatementObserver {
+
+	/** Key for the statistics of statements without known SQL. */
+	public static final String UNKNOWN_SQL = "<unknown>";
+
+	private static final Pattern PARAMETER_LIST_PATTERN =
+			Pattern.compile("(\\bIN\\s*\\(\\s*)\\?(?:\\s*,\\s*\\?)+(\\s*\\))", Pattern.CASE_INSENSITIVE);
+
+	private static final int DEFAULT_CACHE_LIMIT = 256;
+
+
+	private final ConcurrentLruCache<String, String> normalizedSqlCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, InMemorySqlStatementObserver::normalizeSql);
+
+	private final Map<String, SqlStatementStatistics> statistics = new ConcurrentHashMap<>();
+
+	private final Deque<SlowStatement> slowStatements = new ConcurrentLinkedDeque<>();
+
+	private final AtomicInteger slowStatementCount = new AtomicInteger();
+
+	private volatile int statementLimit = 1000;
+
+	private volatile long slowStatementThresholdNanos = Duration.ofSeconds(1).toNanos();
+
+	private volatile int slowStatementSampleSize = 100;
+
+
+	/**
+	 * Specify the maximum number of distinct statements to keep statistics for.
+	 * Executions of further statements are only considered as slow statements.
+	 * <p>Default is 1000.
+	 */
+	public void setStatementLimit(int statementLimit) {
+		this.statementLimit = statementLimit;
+	}
+
+	/**
+	 * Return the maximum number of distinct statements to keep statistics for.
+	 */
+	public int getStatementLimit() {
+		return this.statementLimit;
+	}
+
+	/**
+	 * Specify the processing time from which on a statement execution is
+	 * kept as {@link #getSlowStatements() slow statement}.
+	 * <p>Default is 1 second.
+	 */
+	public void setSlowStatementThreshold(Duration slowStatementThreshold) {
+		Assert.notNull(slowStatementThreshold, "Slow statement threshold must not be null");
+		this.slowStatementThresholdNanos = slowStatementThreshold.toNanos();
+	}
+
+	/**
+	 * Return the processing time from which on a statement execution is
+	 * kept as slow statement.
+	 */
+	public Duration getSlowStatementThreshold() {
+		return Duration.ofNanos(this.slowStatementThresholdNanos);
+	}
+
+	/**
+	 * Specify the number of most recent slow statement executions to keep.
+	 * <p>Default is 100. Set this to 0 for not keeping any slow statements.
+	 */
+	public void setSlowStatementSampleSize(int slowStatementSampleSize) {
+		Assert.isTrue(slowStatementSampleSize >= 0, "Slow statement sample size must not be negative");
+		this.slowStatementSampleSize = slowStatementSampleSize;
+	}
+
+	/**
+	 * Return the number of most recent slow statement executions to keep.
+	 */
+	public int getSlowStatementSampleSize() {
+		return this.slowStatementSampleSize;
+	}
+
+
+	@Override
+	public SqlStatementObservation start(@Nullable String sql) {
+		return new InMemorySqlStatementObservation(sql);
+	}
+
+	/**
+	 * Return the statistics for the given SQL statement.
+	 * @param sql the SQL statement, normalized or as executed
+	 * @return the statistics, or {@code null} if the statement has not been recorded
+	 */
+	@Nullable
+	public SqlStatementStatistics getStatistics(String sql) {
+		return this.statistics.get(this.normalizedSqlCache.get(sql));
+	}
+
+	/**
+	 * Return the statistics for all recorded statements.
+	 */
+	public Collection<SqlStatementStatistics> getStatistics() {
+		return Collections.unmodifiableCollection(this.statistics.values());
+	}
+
+	/**
+	 * Return the sample of most recent slow statement executions,
+	 * from the least recent to the most recent one.
+	 */
+	public List<SlowStatement> getSlowStatements() {
+		return new ArrayList<>(this.slowStatements);
+	}
+
+	/**
+	 * Clear all statistics and slow statements recorded so far.
+	 */
+	public void reset() {
+		this.statistics.clear();
+		this.slowStatements.clear();
+		this.slowStatementCount.set(0);
+	}
+
+	private void record(@Nullable String sql, long timeNanos, long rowCount, boolean failed) {
+		String key = (sql != null ? this.normalizedSqlCache.get(sql) : UNKNOWN_SQL);
+		SqlStatementStatistics stats = this.statistics.get(key);
+		if (stats == null && this.statistics.size() < this.statementLimit) {
+			stats = this.statistics.computeIfAbsent(key, SqlStatementStatistics::new);
+		}
+		if (stats != null) {
+			stats.record(timeNanos, rowCount, failed);
+		}
+		int sampleSize = this.slowStatementSampleSize;
+		if (timeNanos >= this.slowStatementThresholdNanos && sampleSize > 0) {
+			this.slowStatements.addLast(new SlowStatement(
+					(sql != null ? sql : UNKNOWN_SQL), Duration.ofNanos(timeNanos), rowCount, failed, Instant.now()));
+			if (this.slowStatementCount.incrementAndGet() > sampleSize && this.slowStatements.pollFirst() != null) {
+				this.slowStatementCount.decrementAndGet();
+			}
+		}
+	}
+
+
+	/**
+	 * Normalize the given SQL statement for aggregating its statistics,
+	 * turning named parameters into a single {@code ?} each and expanded
+	 * parameter lists within an {@code IN} clause into a single {@code ?}.
+	 * <p>Other runs of placeholders, e.g. in a {@code VALUES} clause or
+	 * within function arguments, are retained as-is.
+	 * @param sql the SQL statement as executed
+	 * @return the normalized SQL statement
+	 * @see NamedParameterUtils#parseSqlStatement(String)
+	 */
+	public static String normalizeSql(String sql) {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, null);
+		return PARAMETER_LIST_PATTERN.matcher(sqlToUse).replaceAll("$1?$2");
+	}
+
+
+	private class InMemorySqlStatementObservation implements SqlStatementObservation {
+
+		@Nullable
+		private final String sql;
+
+		private final long startTime = System.nanoTime();
+
+		private long rowCount = -1;
+
+		private boolean failed;
+
+		InMemorySqlStatementObservation(@Nullable String sql) {
+			this.sql = sql;
+		}
+
+		@Override
+		public void rowCount(long rowCount) {
+			this.rowCount = rowCount;
+		}
+
+		@Override
+		public void error(Throwable ex) {
+			this.failed = true;
+		}
+
+		@Override
+		public void end() {
+			record(this.sql, System.nanoTime() - this.startTime, this.rowCount, this.failed);
+		}
+	}
+
+
+	/**
+	 * A slow execution of a SQL statement, as sampled by an
+	 * {@link InMemorySqlStatementObserver}.
+	 */
+	public static final class SlowStatement {
+
+		private final String sql;
+
+		private final Duration time;
+
+		private final long rowCount;
+
+		private final boolean failed;
+
+		private final Instant timestamp;
+
+		SlowStatement(String sql, Duration time, long rowCount, boolean failed, Instant timestamp) {
+			this.sql = sql;
+			this.time = time;
+			this.rowCount = rowCount;
+			this.failed = failed;
+			this.timestamp = timestamp;
+		}
+
+		/**
+		 * Return the SQL statement as executed.
+		 */
+		public String getSql() {
+			return this.sql;
+		}
+
+		/**
+		 * Return the processing time of the execution.
+		 */
+		public Duration getTime() {
+			return this.time;
+		}
+
+		/**
+		 * Return the number of rows returned or affected, or -1 if not known.
+		 */
+		public long getRowCount() {
+			return this.rowCount;
+		}
+
+		/**
+		 * Return whether the execution failed.
+		 */
+		public boolean isFailed() {
+			return this.failed;
+		}
+
+		/**
+		 * Return the point in time when the execution ended.
+		 */
+		public Instant getTimestamp() {
+			return this.timestamp;
+		}
+
+		@Override
+		public String toString() {
+			return "SlowStatement [" + this.sql + "]: time=" + this.time.toMillis() + "ms, rows=" +
+					this.rowCount + (this.failed ? ", failed" : "");
+		}
+	}
+
+}
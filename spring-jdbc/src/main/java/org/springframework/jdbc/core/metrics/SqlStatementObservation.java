@@ -0,0 +1,55 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+/**
+ * The observation of the execution of a single SQL statement,
+ * started by a {@link SqlStatementObserver}.
+ *
+ * <p>Once the statement has been executed, its result is reported through
+ * {@link #rowCount} or {@link #error}, followed by a call to {@link #end()}.
+ *
+ * @author agent
+ * @since 6.0
+ */
+public interface SqlStatementObservation {
+
+	/**
+	 * Record the number of rows returned by a query or affected by an update.
+	 * <p>Only called for queries with a {@link org.springframework.jdbc.core.RowMapper}
+	 * or a {@link org.springframework.jdbc.core.RowCallbackHandler} and for updates,
+	 * not for results of a custom {@link org.springframework.jdbc.core.ResultSetExtractor}
+	 * or of a statement callback where the number of rows is not known.
+	 * @param rowCount the number of rows
+	 */
+	void rowCount(long rowCount);
+
+	/**
+	 * Record the exception that the execution of the statement failed with.
+	 * @param ex the exception thrown
+	 */
+	void error(Throwable ex);
+
+	/**
+	 * Record the end of the execution of the statement.
+	 * <p>For a streaming query, this happens once the returned
+	 * {@link java.util.stream.Stream} gets closed.
+	 * <p>Once ended, changes on the observation are not allowed.
+	 */
+	void end();
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Observes the execution of SQL statements by
+ * {@link org.springframework.jdbc.core.JdbcTemplate}, using an
+ * {@link SqlStatementObservation} per statement to collect its
+ * processing time, the number of rows returned or affected, and errors.
+ *
+ * <p>Statements executed through a
+ * {@link org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate}
+ * are observed by its underlying {@code JdbcTemplate}.
+ *
+ * @author agent
+ * @since 6.0
+ * @see org.springframework.jdbc.core.JdbcTemplate#setStatementObserver
+ * @see InMemorySqlStatementObserver
+ * @see org.springframework.jdbc.core.metrics.jfr.FlightRecorderSqlStatementObserver
+ */
+public interface SqlStatementObserver {
+
+	/**
+	 * Default "no op" {@code SqlStatementObserver} implementation.
+	 * <p>This variant is designed for minimal overhead and does not record data.
+	 */
+	SqlStatementObserver DEFAULT = new DefaultSqlStatementObserver();
+
+	/**
+	 * Create a new observation for a statement and mark its beginning.
+	 * @param sql the SQL statement to be executed, or {@code null} if not known
+	 * (e.g. for a {@code PreparedStatementCreator} that does not implement
+	 * {@link org.springframework.jdbc.core.SqlProvider})
+	 */
+	SqlStatementObservation start(@Nullable String sql);
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated statistics for the executions of a SQL statement,
+ * as recorded by an {@link InMemorySqlStatementObserver}.
+ *
+ * <p>Processing times are counted in a histogram with fixed bucket
+ * boundaries from 1 ms to 5 s, see {@link #getHistogramBounds()}.
+ *
+ * @author agent
+ * @since 6.0
+ */
+public class SqlStatementStatistics {
+
+	private static final long[] HISTOGRAM_BOUNDS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+	private static final long[] HISTOGRAM_BOUNDS_NANOS = new long[HISTOGRAM_BOUNDS_MILLIS.length];
+
+	static {
+		for (int i = 0; i < HISTOGRAM_BOUNDS_MILLIS.length; i++) {
+			HISTOGRAM_BOUNDS_NANOS[i] = TimeUnit.MILLISECONDS.toNanos(HISTOGRAM_BOUNDS_MILLIS[i]);
+		}
+	}
+
+
+	private final String sql;
+
+	private final LongAdder executionCount = new LongAdder();
+
+	private final LongAdder errorCount = new LongAdder();
+
+	private final LongAdder totalTimeNanos = new LongAdder();
+
+	private final LongAccumulator maxTimeNanos = new LongAccumulator(Long::max, 0);
+
+	private final LongAdder rowCount = new LongAdder();
+
+	private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BOUNDS_NANOS.length + 1);
+
+
+	SqlStatementStatistics(String sql) {
+		this.sql = sql;
+	}
+
+
+	/**
+	 * Record an execution of the statement.
+	 * @param timeNanos the processing time in nanoseconds
+	 * @param rowCount the number of rows returned or affected, or -1 if not known
+	 * @param failed whether the execution failed
+	 */
+	void record(long timeNanos, long rowCount, boolean failed) {
+		this.executionCount.increment();
+		if (failed) {
+			this.errorCount.increment();
+		}
+		this.totalTimeNanos.add(timeNanos);
+		this.maxTimeNanos.accumulate(timeNanos);
+		if (rowCount > 0) {
+			this.rowCount.add(rowCount);
+		}
+		int bucket = 0;
+		while (bucket < HISTOGRAM_BOUNDS_NANOS.length && timeNanos > HISTOGRAM_BOUNDS_NANOS[bucket]) {
+			bucket++;
+		}
+		this.histogram.incrementAndGet(bucket);
+	}
+
+
+	/**
+	 * Return the normalized SQL statement that these statistics refer to.
+	 * @see InMemorySqlStatementObserver#normalizeSql(String)
+	 */
+	public String getSql() {
+		return this.sql;
+	}
+
+	/**
+	 * Return the number of executions of the statement.
+	 */
+	public long getExecutionCount() {
+		return this.executionCount.sum();
+	}
+
+	/**
+	 * Return the number of failed executions of the statement.
+	 */
+	public long getErrorCount() {
+		return this.errorCount.sum();
+	}
+
+	/**
+	 * Return the total processing time of all executions.
+	 */
+	public Duration getTotalTime() {
+		return Duration.ofNanos(this.totalTimeNanos.sum());
+	}
+
+	/**
+	 * Return the mean processing time per execution.
+	 */
+	public Duration getMeanTime() {
+		long count = getExecutionCount();
+		return (count > 0 ? Duration.ofNanos(this.totalTimeNanos.sum() / count) : Duration.ZERO);
+	}
+
+	/**
+	 * Return the maximum processing time of a single execution.
+	 */
+	public Duration getMaxTime() {
+		return Duration.ofNanos(this.maxTimeNanos.get());
+	}
+
+	/**
+	 * Return the total number of rows returned or affected by all executions,
+	 * as far as known.
+	 */
+	public long getRowCount() {
+		return this.rowCount.sum();
+	}
+
+	/**
+	 * Return the upper bounds of the histogram buckets, in ascending order.
+	 * The last bucket of the {@link #getHistogramCounts() histogram counts}
+	 * has no upper bound.
+	 */
+	public static Duration[] getHistogramBounds() {
+		Duration[] bounds = new Duration[HISTOGRAM_BOUNDS_MILLIS.length];
+		for (int i = 0; i < bounds.length; i++) {
+			bounds[i] = Duration.ofMillis(HISTOGRAM_BOUNDS_MILLIS[i]);
+		}
+		return bounds;
+	}
+
+	/**
+	 * Return the number of executions per histogram bucket, i.e. with a
+	 * processing time up to the corresponding {@link #getHistogramBounds() bound}
+	 * and above the bound of the previous bucket.
+	 */
+	public long[] getHistogramCounts() {
+		long[] counts = new long[this.histogram.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = this.histogram.get(i);
+		}
+		return counts;
+	}
+
+
+	@Override
+	public String toString() {
+		return "SqlStatementStatistics [" + this.sql + "]: executions=" + getExecutionCount() +
+				", errors=" + getErrorCount() + ", mean=" + getMeanTime().toMillis() + "ms" +
+				", max=" + getMaxTime().toMillis() + "ms, rows=" + getRowCount();
+	}
+
+}
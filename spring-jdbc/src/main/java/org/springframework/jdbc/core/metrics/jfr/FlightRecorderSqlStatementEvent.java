@@ -0,0 +1,61 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * {@link Event} extension for recording the execution of a SQL statement
+ * in Java Flight Recorder.
+ *
+ * <p>Slow statements can be sampled through the standard {@code threshold}
+ * setting of the event type, e.g. {@code 20 ms}.
+ *
+ * @author agent
+ * @since 6.0
+ */
+@Category({"Spring Application", "JDBC"})
+@Label("SQL Statement")
+@Description("Execution of a SQL statement by JdbcTemplate")
+class FlightRecorderSqlStatementEvent extends Event {
+
+	@Label("SQL")
+	public final String sql;
+
+	@Label("Row Count")
+	@Description("Number of rows returned or affected, or -1 if not known")
+	long rowCount = -1;
+
+	@Label("Error")
+	String error = "";
+
+	public FlightRecorderSqlStatementEvent(String sql) {
+		this.sql = sql;
+	}
+
+	public void setRowCount(long rowCount) {
+		this.rowCount = rowCount;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics.jfr;
+
+import org.springframework.jdbc.core.metrics.SqlStatementObservation;
+import org.springframework.jdbc.core.metrics.SqlStatementObserver;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link SqlStatementObserver} implementation for the Java Flight Recorder.
+ *
+ * <p>This variant records the execution of each statement as a
+ * {@link FlightRecorderSqlStatementEvent JFR event}, including its
+ * duration, SQL, row count and error if any.
+ *
+ * @author agent
+ * @since 6.0
+ * @see org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup
+ */
+public class FlightRecorderSqlStatementObserver implements SqlStatementObserver {
+
+	@Override
+	public SqlStatementObservation start(@Nullable String sql) {
+		return new FlightRecorderSqlStatementObservation(sql != null ? sql : "");
+	}
+
+
+	private static class FlightRecorderSqlStatementObservation implements SqlStatementObservation {
+
+		private final FlightRecorderSqlStatementEvent event;
+
+		FlightRecorderSqlStatementObservation(String sql) {
+			this.event = new FlightRecorderSqlStatementEvent(sql);
+			this.event.begin();
+		}
+
+		@Override
+		public void rowCount(long rowCount) {
+			this.event.setRowCount(rowCount);
+		}
+
+		@Override
+		public void error(Throwable ex) {
+			this.event.setError(ex.getClass().getName() + ": " + ex.getMessage());
+		}
+
+		@Override
+		public void end() {
+			this.event.end();
+			this.event.commit();
+		}
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Support for observing the execution of SQL statements by {@code JdbcTemplate},
+ * recording processing times, row counts and slow statements.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.jdbc.core.metrics;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
@@ -258,6 +259,82 @@ public interface NamedParameterJdbcOperations {
 	<T> Stream<T> queryForStream(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper)
 			throws DataAccessException;
 
+	/**
+	 * Query given SQL to create a forward-only prepared statement from SQL and
+	 * a list of arguments to bind to the query in streaming mode, mapping each
+	 * row to a Java object via a RowMapper, and turning it into an iterable and
+	 * closeable Stream which fetches further rows from the database in chunks
+	 * of the given fetch size while being consumed.
+	 * @param sql the SQL query to execute
+	 * @param fetchSize the number of rows to fetch from the database at once
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rowMapper object that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 * @see JdbcOperations#queryForStream(org.springframework.jdbc.core.PreparedStatementCreator, int, RowMapper)
+	 */
+	<T> Stream<T> queryForStream(String sql, int fetchSize, SqlParameterSource paramSource, RowMapper<T> rowMapper)
+			throws DataAccessException;
+
+	/**
+	 * Query given SQL to create a forward-only prepared statement from SQL and
+	 * a list of arguments to bind to the query in streaming mode, mapping each
+	 * row to a Java object via a RowMapper, and turning it into an iterable and
+	 * closeable Stream which fetches further rows from the database in chunks
+	 * of the given fetch size while being consumed.
+	 * @param sql the SQL query to execute
+	 * @param fetchSize the number of rows to fetch from the database at once
+	 * @param paramMap map of parameters to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type)
+	 * @param rowMapper object that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 * @see JdbcOperations#queryForStream(org.springframework.jdbc.core.PreparedStatementCreator, int, RowMapper)
+	 */
+	<T> Stream<T> queryForStream(String sql, int fetchSize, Map<String, ?> paramMap, RowMapper<T> rowMapper)
+			throws DataAccessException;
+
+	/**
+	 * Query given SQL to create a forward-only prepared statement from SQL and
+	 * a list of arguments to bind to the query in streaming mode, mapping each
+	 * row to a Java object via a RowMapper, and passing the mapped objects to
+	 * the given consumer in lists of up to the given chunk size.
+	 * @param sql the SQL query to execute
+	 * @param chunkSize the maximum number of objects per chunk, also used
+	 * as fetch size for the query
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rowMapper object that will map one object per row
+	 * @param chunkConsumer object that will process one chunk at a time
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 * @see JdbcOperations#queryForChunks(org.springframework.jdbc.core.PreparedStatementCreator, int, RowMapper, Consumer)
+	 */
+	<T> void queryForChunks(String sql, int chunkSize, SqlParameterSource paramSource, RowMapper<T> rowMapper,
+			Consumer<List<T>> chunkConsumer) throws DataAccessException;
+
+	/**
+	 * Query given SQL to create a forward-only prepared statement from SQL and
+	 * a list of arguments to bind to the query in streaming mode, mapping each
+	 * row to a Java object via a RowMapper, and passing the mapped objects to
+	 * the given consumer in lists of up to the given chunk size.
+	 * @param sql the SQL query to execute
+	 * @param chunkSize the maximum number of objects per chunk, also used
+	 * as fetch size for the query
+	 * @param paramMap map of parameters to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type)
+	 * @param rowMapper object that will map one object per row
+	 * @param chunkConsumer object that will process one chunk at a time
+	 * @throws DataAccessException if the query fails
+	 * @since 6.0
+	 * @see JdbcOperations#queryForChunks(org.springframework.jdbc.core.PreparedStatementCreator, int, RowMapper, Consumer)
+	 */
+	<T> void queryForChunks(String sql, int chunkSize, Map<String, ?> paramMap, RowMapper<T> rowMapper,
+			Consumer<List<T>> chunkConsumer) throws DataAccessException;
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
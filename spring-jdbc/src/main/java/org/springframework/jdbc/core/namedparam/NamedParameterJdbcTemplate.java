@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -235,6 +235,35 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return queryForStream(sql, new MapSqlParameterSource(paramMap), rowMapper);
 	}
 
+	@Override
+	public <T> Stream<T> queryForStream(String sql, int fetchSize, SqlParameterSource paramSource,
+			RowMapper<T> rowMapper) throws DataAccessException {
+
+		return getJdbcOperations().queryForStream(getPreparedStatementCreator(sql, paramSource), fetchSize, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, int fetchSize, Map<String, ?> paramMap, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(sql, fetchSize, new MapSqlParameterSource(paramMap), rowMapper);
+	}
+
+	@Override
+	public <T> void queryForChunks(String sql, int chunkSize, SqlParameterSource paramSource, RowMapper<T> rowMapper,
+			Consumer<List<T>> chunkConsumer) throws DataAccessException {
+
+		getJdbcOperations().queryForChunks(
+				getPreparedStatementCreator(sql, paramSource), chunkSize, rowMapper, chunkConsumer);
+	}
+
+	@Override
+	public <T> void queryForChunks(String sql, int chunkSize, Map<String, ?> paramMap, RowMapper<T> rowMapper,
+			Consumer<List<T>> chunkConsumer) throws DataAccessException {
+
+		queryForChunks(sql, chunkSize, new MapSqlParameterSource(paramMap), rowMapper, chunkConsumer);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
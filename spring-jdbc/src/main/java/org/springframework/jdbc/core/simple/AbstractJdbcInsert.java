@@ -88,6 +88,9 @@ public abstract class AbstractJdbcInsert {
 	/** The SQL type information for the insert columns. */
 	private int[] insertTypes = new int[0];
 
+	/** The strategy used for bulk inserts. */
+	private BulkInsertStrategy bulkInsertStrategy = new MultiRowValuesInsertStrategy();
+
 
 	/**
 	 * Constructor to be used when initializing using a {@link DataSource}.
@@ -221,6 +224,26 @@ public abstract class AbstractJdbcInsert {
 		this.tableMetaDataContext.setOverrideIncludeSynonymsDefault(override);
 	}
 
+	/**
+	 * Specify the strategy to use for bulk inserts.
+	 * <p>The default is a {@link MultiRowValuesInsertStrategy}.
+	 * @since 6.0
+	 * @see #doExecuteBulk(int, SqlParameterSource...)
+	 */
+	public void setBulkInsertStrategy(BulkInsertStrategy bulkInsertStrategy) {
+		Assert.notNull(bulkInsertStrategy, "BulkInsertStrategy must not be null");
+		checkIfConfigurationModificationIsAllowed();
+		this.bulkInsertStrategy = bulkInsertStrategy;
+	}
+
+	/**
+	 * Get the strategy to use for bulk inserts.
+	 * @since 6.0
+	 */
+	public BulkInsertStrategy getBulkInsertStrategy() {
+		return this.bulkInsertStrategy;
+	}
+
 	/**
 	 * Get the insert string to be used.
 	 */
@@ -582,6 +605,65 @@ public abstract class AbstractJdbcInsert {
 				});
 	}
 
+	/**
+	 * Delegate method that executes a bulk insert using the passed-in Maps of parameters,
+	 * inserting the rows in chunks of the given size through the {@link BulkInsertStrategy}.
+	 * @param chunkSize the maximum number of rows to insert at once
+	 * @param batch array of Maps with parameter names and values to be used in bulk insert
+	 * @return array of number of rows affected per chunk
+	 * @since 6.0
+	 */
+	@SuppressWarnings("unchecked")
+	protected int[] doExecuteBulk(int chunkSize, Map<String, ?>... batch) {
+		checkCompiled();
+		List<List<Object>> batchValues = new ArrayList<>(batch.length);
+		for (Map<String, ?> args : batch) {
+			batchValues.add(matchInParameterValuesWithInsertColumns(args));
+		}
+		return executeBulkInternal(chunkSize, batchValues);
+	}
+
+	/**
+	 * Delegate method that executes a bulk insert using the passed-in {@link SqlParameterSource SqlParameterSources},
+	 * inserting the rows in chunks of the given size through the {@link BulkInsertStrategy}.
+	 * @param chunkSize the maximum number of rows to insert at once
+	 * @param batch array of SqlParameterSource with parameter names and values to be used in bulk insert
+	 * @return array of number of rows affected per chunk
+	 * @since 6.0
+	 */
+	protected int[] doExecuteBulk(int chunkSize, SqlParameterSource... batch) {
+		checkCompiled();
+		List<List<Object>> batchValues = new ArrayList<>(batch.length);
+		for (SqlParameterSource parameterSource : batch) {
+			batchValues.add(matchInParameterValuesWithInsertColumns(parameterSource));
+		}
+		return executeBulkInternal(chunkSize, batchValues);
+	}
+
+	/**
+	 * Delegate method to execute the bulk insert.
+	 */
+	private int[] executeBulkInternal(int chunkSize, List<List<Object>> batchValues) {
+		Assert.isTrue(chunkSize > 0, "Chunk size must be greater than 0");
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing bulk insert into table [" + getTableName() + "] with " +
+					batchValues.size() + " rows in chunks of size: " + chunkSize);
+		}
+		BulkInsertStrategy strategy = this.bulkInsertStrategy;
+		int[] insertTypes = getInsertTypes();
+		int[] updateCounts = getJdbcTemplate().execute((ConnectionCallback<int[]>) con -> {
+			int[] rowsAffected = new int[(batchValues.size() + chunkSize - 1) / chunkSize];
+			for (int i = 0; i < rowsAffected.length; i++) {
+				List<List<Object>> chunk = batchValues.subList(
+						i * chunkSize, Math.min((i + 1) * chunkSize, batchValues.size()));
+				rowsAffected[i] = strategy.insertRows(con, this.tableMetaDataContext, insertTypes, chunk);
+			}
+			return rowsAffected;
+		});
+		Assert.state(updateCounts != null, "No update counts");
+		return updateCounts;
+	}
+
 	/**
 	 * Internal implementation for setting parameter values.
 	 * @param preparedStatement the PreparedStatement
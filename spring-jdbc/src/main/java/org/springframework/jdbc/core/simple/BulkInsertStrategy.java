@@ -0,0 +1,57 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.jdbc.core.metadata.TableMetaDataContext;
+
+/**
+ * Strategy interface for inserting a chunk of rows into a table in one go,
+ * as used by {@link AbstractJdbcInsert#doExecuteBulk} for bulk inserts.
+ *
+ * <p>The default {@link MultiRowValuesInsertStrategy} issues a single
+ * {@code INSERT} statement with a multi-row {@code VALUES} list per chunk.
+ * Implementations may use driver-specific bulk APIs instead, e.g. the
+ * {@code CopyManager} of the PostgreSQL driver for a {@code COPY ... FROM STDIN}
+ * command, obtained through {@link Connection#unwrap}.
+ *
+ * @author agent
+ * @since 6.0
+ * @see SimpleJdbcInsert#usingBulkInsertStrategy
+ */
+@FunctionalInterface
+public interface BulkInsertStrategy {
+
+	/**
+	 * Insert the given chunk of rows into the table described by the given context.
+	 * @param con the JDBC Connection to use
+	 * @param tableMetaDataContext the context for the target table, providing
+	 * the table name and the names of the insert columns
+	 * @param columnTypes the SQL types of the insert columns, as defined in
+	 * {@link java.sql.Types}, or {@link org.springframework.jdbc.core.SqlTypeValue#TYPE_UNKNOWN}
+	 * @param rows the values of each row, in the order of the insert columns
+	 * @return the number of rows affected
+	 * @throws SQLException if thrown by JDBC methods
+	 * @see TableMetaDataContext#getTableColumns()
+	 */
+	int insertRows(Connection con, TableMetaDataContext tableMetaDataContext, int[] columnTypes,
+			List<List<Object>> rows) throws SQLException;
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.metadata.TableMetaDataContext;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Default {@link BulkInsertStrategy}, rewriting each chunk of rows into a
+ * single {@code INSERT} statement with a multi-row {@code VALUES} list,
+ * e.g. {@code INSERT INTO t (a, b) VALUES(?, ?), (?, ?), (?, ?)}.
+ *
+ * <p>This sends the entire chunk to the database in one round trip, even
+ * for drivers which execute JDBC batches row by row. Note that databases
+ * limit the number of bind parameters per statement (e.g. 2100 on SQL Server
+ * and 32767 on PostgreSQL), so the chunk size times the number of columns
+ * needs to stay below that limit. Databases without support for multi-row
+ * {@code VALUES} lists, such as Oracle, require a different strategy.
+ *
+ * @author agent
+ * @since 6.0
+ * @see TableMetaDataContext#createInsertString(int, String...)
+ */
+public class MultiRowValuesInsertStrategy implements BulkInsertStrategy {
+
+	@Override
+	public int insertRows(Connection con, TableMetaDataContext tableMetaDataContext, int[] columnTypes,
+			List<List<Object>> rows) throws SQLException {
+
+		PreparedStatement ps = con.prepareStatement(tableMetaDataContext.createInsertString(rows.size()));
+		try {
+			int paramIndex = 0;
+			for (List<Object> values : rows) {
+				int colIndex = 0;
+				for (Object value : values) {
+					int sqlType = (colIndex < columnTypes.length ? columnTypes[colIndex] : SqlTypeValue.TYPE_UNKNOWN);
+					StatementCreatorUtils.setParameterValue(ps, ++paramIndex, sqlType, value);
+					colIndex++;
+				}
+			}
+			return ps.executeUpdate();
+		}
+		finally {
+			JdbcUtils.closeStatement(ps);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -112,6 +112,12 @@ public class SimpleJdbcInsert extends AbstractJdbcInsert implements SimpleJdbcIn
 		return this;
 	}
 
+	@Override
+	public SimpleJdbcInsert usingBulkInsertStrategy(BulkInsertStrategy bulkInsertStrategy) {
+		setBulkInsertStrategy(bulkInsertStrategy);
+		return this;
+	}
+
 	@Override
 	public int execute(Map<String, ?> args) {
 		return doExecute(args);
@@ -153,4 +159,15 @@ public class SimpleJdbcInsert extends AbstractJdbcInsert implements SimpleJdbcIn
 		return doExecuteBatch(batch);
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public int[] executeBulk(int chunkSize, Map<String, ?>... batch) {
+		return doExecuteBulk(chunkSize, batch);
+	}
+
+	@Override
+	public int[] executeBulk(int chunkSize, SqlParameterSource... batch) {
+		return doExecuteBulk(chunkSize, batch);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -80,6 +80,15 @@ public interface SimpleJdbcInsertOperations {
 	 */
 	SimpleJdbcInsertOperations includeSynonymsForTableColumnMetaData();
 
+	/**
+	 * Specify the strategy to use for {@link #executeBulk bulk inserts}.
+	 * <p>The default is a {@link MultiRowValuesInsertStrategy}.
+	 * @param bulkInsertStrategy the strategy to use
+	 * @return the instance of this SimpleJdbcInsert
+	 * @since 6.0
+	 */
+	SimpleJdbcInsertOperations usingBulkInsertStrategy(BulkInsertStrategy bulkInsertStrategy);
+
 
 	/**
 	 * Execute the insert using the values passed in.
@@ -150,4 +159,33 @@ public interface SimpleJdbcInsertOperations {
 	 */
 	int[] executeBatch(SqlParameterSource... batch);
 
+	/**
+	 * Execute a bulk insert using the batch of values passed in, inserting
+	 * up to the given number of rows at once through the configured
+	 * {@link BulkInsertStrategy}, e.g. with a multi-row {@code VALUES} list.
+	 * <p>In contrast to {@link #executeBatch}, this does not rely on the
+	 * JDBC driver for sending the rows of a batch to the database together.
+	 * @param chunkSize the maximum number of rows to insert at once
+	 * @param batch an array of Maps containing a batch of column names and corresponding value
+	 * @return the array of number of rows affected per chunk
+	 * @since 6.0
+	 * @see #usingBulkInsertStrategy
+	 */
+	@SuppressWarnings("unchecked")
+	int[] executeBulk(int chunkSize, Map<String, ?>... batch);
+
+	/**
+	 * Execute a bulk insert using the batch of values passed in, inserting
+	 * up to the given number of rows at once through the configured
+	 * {@link BulkInsertStrategy}, e.g. with a multi-row {@code VALUES} list.
+	 * <p>In contrast to {@link #executeBatch}, this does not rely on the
+	 * JDBC driver for sending the rows of a batch to the database together.
+	 * @param chunkSize the maximum number of rows to insert at once
+	 * @param batch an array of SqlParameterSource containing values for the batch
+	 * @return the array of number of rows affected per chunk
+	 * @since 6.0
+	 * @see #usingBulkInsertStrategy
+	 */
+	int[] executeBulk(int chunkSize, SqlParameterSource... batch);
+
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ArgumentBindingPlan}.
+ *
+ * @author agent
+ */
+class ArgumentBindingPlanTests {
+
+	private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+
+	@Test
+	void bindPlainValues() throws Exception {
+		Date date = new Date(1000L);
+		GregorianCalendar cal = new GregorianCalendar();
+		Object[] args = {"test", new StringBuilder("builder"), 42, date, cal, new SqlParameterValue(Types.DECIMAL, 5)};
+
+		ArgumentBindingPlan.forArguments(args).bind(this.preparedStatement, args);
+
+		verify(this.preparedStatement).setString(1, "test");
+		verify(this.preparedStatement).setString(2, "builder");
+		verify(this.preparedStatement).setObject(3, 42);
+		verify(this.preparedStatement).setTimestamp(4, new Timestamp(1000L));
+		verify(this.preparedStatement).setTimestamp(5, new Timestamp(cal.getTime().getTime()), cal);
+		verify(this.preparedStatement).setObject(6, 5, Types.DECIMAL);
+	}
+
+	@Test
+	void matchesArgumentTypes() {
+		ArgumentBindingPlan plan = ArgumentBindingPlan.forArguments(new Object[] {"a", 1, null});
+
+		assertThat(plan.matches(new Object[] {"b", 2, null})).isTrue();
+		assertThat(plan.matches(new Object[] {"b", 2L, null})).isFalse();
+		assertThat(plan.matches(new Object[] {"b", 2, "c"})).isFalse();
+		assertThat(plan.matches(new Object[] {"b", 2})).isFalse();
+	}
+
+	@Test
+	void nullTypeResolvedOnce() throws Exception {
+		ParameterMetaData pmd = mock(ParameterMetaData.class);
+		given(this.preparedStatement.getParameterMetaData()).willReturn(pmd);
+		given(pmd.getParameterType(2)).willReturn(Types.INTEGER);
+		Object[] args = {"test", null};
+		ArgumentBindingPlan plan = ArgumentBindingPlan.forArguments(args);
+
+		plan.bind(this.preparedStatement, args);
+		plan.bind(this.preparedStatement, args);
+
+		verify(pmd, times(1)).getParameterType(2);
+		verify(this.preparedStatement, times(2)).setNull(2, Types.INTEGER);
+	}
+
+	@Test
+	void argumentPreparedStatementSetterReplacesMismatchingPlan() throws Exception {
+		AtomicReference<ArgumentBindingPlan> planHolder = new AtomicReference<>();
+		ArgumentPreparedStatementSetter setter = new ArgumentPreparedStatementSetter(new Object[] {"test"});
+		setter.setBindingPlan(planHolder);
+		setter.setValues(this.preparedStatement);
+		ArgumentBindingPlan plan = planHolder.get();
+
+		setter = new ArgumentPreparedStatementSetter(new Object[] {"other"});
+		setter.setBindingPlan(planHolder);
+		setter.setValues(this.preparedStatement);
+		assertThat(planHolder.get()).isSameAs(plan);
+
+		setter = new ArgumentPreparedStatementSetter(new Object[] {7});
+		setter.setBindingPlan(planHolder);
+		setter.setValues(this.preparedStatement);
+		assertThat(planHolder.get()).isNotSameAs(plan);
+
+		verify(this.preparedStatement).setString(1, "test");
+		verify(this.preparedStatement).setString(1, "other");
+		verify(this.preparedStatement).setObject(1, 7);
+	}
+
+}
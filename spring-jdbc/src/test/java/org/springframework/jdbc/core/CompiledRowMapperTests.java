@@ -0,0 +1,150 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.test.ConcretePerson;
+import org.springframework.jdbc.core.test.ConstructorPerson;
+import org.springframework.jdbc.core.test.ConstructorPersonWithSetters;
+import org.springframework.jdbc.core.test.ExtendedPerson;
+import org.springframework.jdbc.core.test.Person;
+import org.springframework.jdbc.core.test.SpacePerson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link CompiledRowMapper}.
+ *
+ * @author agent
+ */
+class CompiledRowMapperTests extends AbstractRowMapperTests {
+
+	@Test
+	void staticQueryWithBean() throws Exception {
+		Mock mock = new Mock();
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people",
+				new CompiledRowMapper<>(Person.class));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void mappingWithInheritance() throws Exception {
+		Mock mock = new Mock();
+		List<ConcretePerson> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people",
+				new CompiledRowMapper<>(ConcretePerson.class));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void staticQueryWithDataClass() throws Exception {
+		Mock mock = new Mock();
+		List<ConstructorPerson> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people",
+				new CompiledRowMapper<>(ConstructorPerson.class));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void staticQueryWithDataClassAndSetters() throws Exception {
+		Mock mock = new Mock(MockType.FOUR);
+		List<ConstructorPersonWithSetters> result = mock.getJdbcTemplate().query(
+				"select name, age, birthdate, balance from people",
+				new CompiledRowMapper<>(ConstructorPersonWithSetters.class));
+		assertThat(result).hasSize(1);
+		ConstructorPersonWithSetters person = result.get(0);
+		assertThat(person.name()).isEqualTo("BUBBA");
+		assertThat(person.age()).isEqualTo(22L);
+		assertThat(person.birthDate()).usingComparator(Date::compareTo).isEqualTo(new java.util.Date(1221222L));
+		assertThat(person.balance()).isEqualTo(new BigDecimal("1234.56"));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void staticQueryWithDataRecord() throws Exception {
+		Mock mock = new Mock();
+		List<RecordPerson> result = mock.getJdbcTemplate().query(
+				"select name, age, birth_date, balance from people",
+				new CompiledRowMapper<>(RecordPerson.class));
+		assertThat(result).hasSize(1);
+		RecordPerson person = result.get(0);
+		assertThat(person.name()).isEqualTo("Bubba");
+		assertThat(person.age()).isEqualTo(22L);
+		assertThat(person.birth_date()).usingComparator(Date::compareTo).isEqualTo(new java.util.Date(1221222L));
+		assertThat(person.balance()).isEqualTo(new BigDecimal("1234.56"));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void queryWithSpaceInColumnNameAndConversion() throws Exception {
+		Mock mock = new Mock(MockType.THREE);
+		List<SpacePerson> result = mock.getJdbcTemplate().query(
+				"select last_name as \"Last Name\", age, birth_date, balance from people",
+				new CompiledRowMapper<>(SpacePerson.class));
+		assertThat(result).hasSize(1);
+		verifyPerson(result.get(0));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void mappingWithUnpopulatedFieldsNotAccepted() throws Exception {
+		Mock mock = new Mock();
+		CompiledRowMapper<ExtendedPerson> mapper = new CompiledRowMapper<>(ExtendedPerson.class);
+		mapper.setCheckFullyPopulated(true);
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				mock.getJdbcTemplate().query("select name, age, birth_date, balance from people", mapper));
+	}
+
+	@Test
+	void mappingNullValue() throws Exception {
+		Mock mock = new Mock(MockType.TWO);
+		assertThatExceptionOfType(TypeMismatchException.class).isThrownBy(() ->
+				mock.getJdbcTemplate().query("select name, null as age, birth_date, balance from people",
+						new CompiledRowMapper<>(Person.class)));
+	}
+
+	@Test
+	void mappingNullValueWithPrimitivesDefaulted() throws Exception {
+		Mock mock = new Mock(MockType.TWO);
+		CompiledRowMapper<Person> mapper = new CompiledRowMapper<>(Person.class);
+		mapper.setPrimitivesDefaultedForNullValue(true);
+		List<Person> result = mock.getJdbcTemplate().query(
+				"select name, null as age, birth_date, balance from people", mapper);
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).getAge()).isEqualTo(0L);
+	}
+
+
+	record RecordPerson(String name, long age, Date birth_date, BigDecimal balance) {
+	}
+
+}
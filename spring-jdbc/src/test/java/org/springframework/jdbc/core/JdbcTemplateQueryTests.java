@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,10 +19,12 @@ package org.springframework.jdbc.core;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -40,6 +42,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -378,6 +381,70 @@ public class JdbcTemplateQueryTests {
 		verify(this.preparedStatement).close();
 	}
 
+	@Test
+	public void testQueryForStreamWithFetchSize() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID = ?";
+		given(this.resultSet.next()).willReturn(true, false);
+		given(this.resultSet.getInt(1)).willReturn(22);
+		try (Stream<Integer> s = this.template.queryForStream(sql, 100, (rs, rowNum) -> rs.getInt(1), 3)) {
+			assertThat(s).containsExactly(22);
+		}
+		verify(this.preparedStatement).setFetchSize(100);
+		verify(this.preparedStatement).setObject(1, 3);
+		verify(this.connection, never()).setAutoCommit(false);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForStreamWithFetchSizeOnPostgreSQL() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR";
+		DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+		given(metaData.getDatabaseProductName()).willReturn("PostgreSQL");
+		given(this.connection.getMetaData()).willReturn(metaData);
+		given(this.connection.getAutoCommit()).willReturn(true);
+		given(this.resultSet.next()).willReturn(true, false);
+		given(this.resultSet.getInt(1)).willReturn(22);
+		try (Stream<Integer> s = this.template.queryForStream(sql, 100, (rs, rowNum) -> rs.getInt(1))) {
+			assertThat(s).containsExactly(22);
+			verify(this.connection).setAutoCommit(false);
+			verify(this.connection, never()).setAutoCommit(true);
+		}
+		verify(this.preparedStatement).setFetchSize(100);
+		verify(this.connection).setAutoCommit(true);
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForStreamWithFetchSizeOnMySQL() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR";
+		DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+		given(metaData.getDatabaseProductName()).willReturn("MySQL");
+		given(this.connection.getMetaData()).willReturn(metaData);
+		given(this.resultSet.next()).willReturn(false);
+		try (Stream<Integer> s = this.template.queryForStream(sql, 100, (rs, rowNum) -> rs.getInt(1))) {
+			assertThat(s).isEmpty();
+		}
+		verify(this.preparedStatement).setFetchSize(Integer.MIN_VALUE);
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForChunks() throws Exception {
+		String sql = "SELECT AGE FROM CUSTMR WHERE ID < ?";
+		given(this.resultSet.next()).willReturn(true, true, true, true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(1, 2, 3, 4, 5);
+		List<List<Integer>> chunks = new ArrayList<>();
+		this.template.queryForChunks(sql, 2, (rs, rowNum) -> rs.getInt(1), chunks::add, 6);
+		assertThat(chunks).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+		verify(this.preparedStatement).setFetchSize(2);
+		verify(this.preparedStatement).setObject(1, 6);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
 	@Test
 	public void testQueryForObjectWithArgsAndInteger() throws Exception {
 		String sql = "SELECT AGE FROM CUSTMR WHERE ID = ?";
@@ -776,6 +776,51 @@ public class JdbcTemplateTests {
 		verify(this.connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testBatchUpdateWithCollectionOfObjectsOnExecutor() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300);
+		final int[] rowsAffected1 = new int[] {1, 2};
+		final int[] rowsAffected2 = new int[] {3};
+
+		given(this.preparedStatement.executeBatch()).willReturn(rowsAffected1, rowsAffected2);
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		int[][] actualRowsAffected = template.batchUpdate(sql, ids, 2, setter, Runnable::run, 2);
+		assertThat(actualRowsAffected.length).as("executed 2 batches").isEqualTo(2);
+		assertThat(actualRowsAffected[0]).containsExactly(rowsAffected1);
+		assertThat(actualRowsAffected[1]).containsExactly(rowsAffected2);
+
+		verify(this.preparedStatement, times(3)).addBatch();
+		verify(this.preparedStatement).setInt(1, ids.get(0));
+		verify(this.preparedStatement).setInt(1, ids.get(1));
+		verify(this.preparedStatement).setInt(1, ids.get(2));
+		verify(this.preparedStatement, times(2)).close();
+		verify(this.connection, times(2)).close();
+	}
+
+	@Test
+	public void testBatchUpdateWithCollectionOfObjectsOnExecutorFailsFast() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300);
+
+		SQLException sqlException = new SQLException("Bad update");
+		given(this.preparedStatement.executeBatch()).willThrow(sqlException);
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				template.batchUpdate(sql, ids, 1, setter, Runnable::run, 2))
+			.withCause(sqlException);
+		verify(this.preparedStatement).executeBatch();
+		verify(this.connection, times(2)).close();
+	}
+
 	@Test
 	public void testCouldNotGetConnectionForOperationOrExceptionTranslator() throws SQLException {
 		SQLException sqlException = new SQLException("foo", "07xxx");
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link InMemorySqlStatementObserver}.
+ *
+ * @author agent
+ */
+class InMemorySqlStatementObserverTests {
+
+	private final Connection connection = mock(Connection.class);
+
+	private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+	private final ResultSet resultSet = mock(ResultSet.class);
+
+	private final InMemorySqlStatementObserver observer = new InMemorySqlStatementObserver();
+
+	private final JdbcTemplate template = new JdbcTemplate();
+
+
+	@BeforeEach
+	void setUp() throws Exception {
+		DataSource dataSource = mock(DataSource.class);
+		given(dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.prepareStatement(anyString())).willReturn(this.preparedStatement);
+		given(this.preparedStatement.executeQuery()).willReturn(this.resultSet);
+		this.template.setDataSource(dataSource);
+		this.template.setStatementObserver(this.observer);
+	}
+
+
+	@Test
+	void normalizeSql() {
+		assertThat(InMemorySqlStatementObserver.normalizeSql("SELECT * FROM person WHERE id = ?"))
+				.isEqualTo("SELECT * FROM person WHERE id = ?");
+		assertThat(InMemorySqlStatementObserver.normalizeSql("SELECT * FROM person WHERE id = :id AND name = :name"))
+				.isEqualTo("SELECT * FROM person WHERE id = ? AND name = ?");
+		assertThat(InMemorySqlStatementObserver.normalizeSql("SELECT * FROM person WHERE id IN (?, ?,?)"))
+				.isEqualTo("SELECT * FROM person WHERE id IN (?)");
+		assertThat(InMemorySqlStatementObserver.normalizeSql("SELECT ':id' FROM person"))
+				.isEqualTo("SELECT ':id' FROM person");
+		assertThat(InMemorySqlStatementObserver.normalizeSql("SELECT * FROM person WHERE id in( ?,? )"))
+				.isEqualTo("SELECT * FROM person WHERE id in( ? )");
+		assertThat(InMemorySqlStatementObserver.normalizeSql("INSERT INTO person (id, name) VALUES (?, ?)"))
+				.isEqualTo("INSERT INTO person (id, name) VALUES (?, ?)");
+		assertThat(InMemorySqlStatementObserver.normalizeSql("SELECT COALESCE(?, ?) FROM person"))
+				.isEqualTo("SELECT COALESCE(?, ?) FROM person");
+	}
+
+	@Test
+	void queryStatistics() throws Exception {
+		given(this.resultSet.next()).willReturn(true, true, false, true, false);
+		given(this.resultSet.getInt(1)).willReturn(1, 2, 3);
+
+		String sql = "SELECT age FROM person WHERE id > ?";
+		this.template.query(sql, (rs, rowNum) -> rs.getInt(1), 1);
+		this.template.query(sql, (rs, rowNum) -> rs.getInt(1), 2);
+
+		SqlStatementStatistics stats = this.observer.getStatistics(sql);
+		assertThat(stats).isNotNull();
+		assertThat(stats.getSql()).isEqualTo(sql);
+		assertThat(stats.getExecutionCount()).isEqualTo(2);
+		assertThat(stats.getErrorCount()).isEqualTo(0);
+		assertThat(stats.getRowCount()).isEqualTo(3);
+		assertThat(stats.getMaxTime()).isLessThanOrEqualTo(stats.getTotalTime());
+		assertThat(stats.getHistogramCounts()).hasSize(SqlStatementStatistics.getHistogramBounds().length + 1);
+		assertThat(Arrays.stream(stats.getHistogramCounts()).sum()).isEqualTo(2);
+		assertThat(this.observer.getSlowStatements()).isEmpty();
+	}
+
+	@Test
+	void streamingQueryStatistics() throws Exception {
+		given(this.resultSet.next()).willReturn(true, true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(1, 2, 3);
+
+		String sql = "SELECT age FROM person WHERE id > ?";
+		try (Stream<Integer> stream = this.template.queryForStream(sql, (rs, rowNum) -> rs.getInt(1), 1)) {
+			// Observation not ended before the Stream gets closed
+			assertThat(this.observer.getStatistics(sql)).isNull();
+			assertThat(stream.limit(2)).containsExactly(1, 2);
+		}
+
+		SqlStatementStatistics stats = this.observer.getStatistics(sql);
+		assertThat(stats).isNotNull();
+		assertThat(stats.getExecutionCount()).isEqualTo(1);
+		assertThat(stats.getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void rowCallbackHandlerQueryStatistics() throws Exception {
+		given(this.resultSet.next()).willReturn(true, true, false);
+
+		String sql = "SELECT age FROM person WHERE id > ?";
+		this.template.query(sql, rs -> {}, 1);
+
+		SqlStatementStatistics stats = this.observer.getStatistics(sql);
+		assertThat(stats).isNotNull();
+		assertThat(stats.getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void callbackResultNotCountedAsRows() throws Exception {
+		String sql = "SELECT age FROM person WHERE id > ?";
+		this.template.execute(sql, (PreparedStatementCallback<Integer>) ps -> 42);
+		this.template.query(sql, (ResultSetExtractor<List<Integer>>) rs -> List.of(1, 2, 3), 1);
+
+		SqlStatementStatistics stats = this.observer.getStatistics(sql);
+		assertThat(stats).isNotNull();
+		assertThat(stats.getExecutionCount()).isEqualTo(2);
+		assertThat(stats.getRowCount()).isEqualTo(0);
+	}
+
+	@Test
+	void updateStatistics() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willReturn(3);
+
+		this.template.update("UPDATE person SET age = age + 1 WHERE age > ?", 30);
+
+		SqlStatementStatistics stats = this.observer.getStatistics("UPDATE person SET age = age + 1 WHERE age > ?");
+		assertThat(stats).isNotNull();
+		assertThat(stats.getExecutionCount()).isEqualTo(1);
+		assertThat(stats.getRowCount()).isEqualTo(3);
+	}
+
+	@Test
+	void batchUpdateStatistics() throws Exception {
+		DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+		given(metaData.supportsBatchUpdates()).willReturn(true);
+		given(this.connection.getMetaData()).willReturn(metaData);
+		given(this.preparedStatement.getConnection()).willReturn(this.connection);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 2});
+
+		String sql = "UPDATE person SET age = ? WHERE id = ?";
+		this.template.batchUpdate(sql, List.of(new Object[] {30, 1}, new Object[] {40, 2}));
+
+		SqlStatementStatistics stats = this.observer.getStatistics(sql);
+		assertThat(stats).isNotNull();
+		assertThat(stats.getExecutionCount()).isEqualTo(1);
+		assertThat(stats.getRowCount()).isEqualTo(3);
+	}
+
+	@Test
+	void namedParameterStatementsAggregated() throws Exception {
+		given(this.resultSet.next()).willReturn(false);
+		NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(this.template);
+
+		String sql = "SELECT age FROM person WHERE id IN (:ids)";
+		namedTemplate.query(sql, Map.of("ids", List.of(1, 2)), (rs, rowNum) -> rs.getInt(1));
+		namedTemplate.query(sql, Map.of("ids", List.of(1, 2, 3)), (rs, rowNum) -> rs.getInt(1));
+
+		assertThat(this.observer.getStatistics()).hasSize(1);
+		SqlStatementStatistics stats = this.observer.getStatistics(sql);
+		assertThat(stats).isNotNull();
+		assertThat(stats.getSql()).isEqualTo("SELECT age FROM person WHERE id IN (?)");
+		assertThat(stats.getExecutionCount()).isEqualTo(2);
+		assertThat(stats.getRowCount()).isEqualTo(0);
+	}
+
+	@Test
+	void failedStatementsAndSlowStatements() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willThrow(new SQLException("Bad update"));
+		this.observer.setSlowStatementThreshold(Duration.ZERO);
+		this.observer.setSlowStatementSampleSize(2);
+
+		String sql = "DELETE FROM person WHERE id = ?";
+		for (int i = 0; i < 3; i++) {
+			int id = i;
+			assertThatExceptionOfType(DataAccessException.class).isThrownBy(() -> this.template.update(sql, id));
+		}
+
+		SqlStatementStatistics stats = this.observer.getStatistics(sql);
+		assertThat(stats).isNotNull();
+		assertThat(stats.getExecutionCount()).isEqualTo(3);
+		assertThat(stats.getErrorCount()).isEqualTo(3);
+		assertThat(this.observer.getSlowStatements()).hasSize(2).allSatisfy(slowStatement -> {
+			assertThat(slowStatement.getSql()).isEqualTo(sql);
+			assertThat(slowStatement.isFailed()).isTrue();
+			assertThat(slowStatement.getRowCount()).isEqualTo(-1);
+		});
+
+		this.observer.reset();
+		assertThat(this.observer.getStatistics()).isEmpty();
+		assertThat(this.observer.getSlowStatements()).isEmpty();
+	}
+
+	@Test
+	void statementLimit() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		this.observer.setStatementLimit(1);
+
+		this.template.update("DELETE FROM person WHERE id = ?", 1);
+		this.template.update("DELETE FROM address WHERE id = ?", 1);
+
+		assertThat(this.observer.getStatistics()).singleElement()
+				.extracting(SqlStatementStatistics::getSql).isEqualTo("DELETE FROM person WHERE id = ?");
+	}
+
+}
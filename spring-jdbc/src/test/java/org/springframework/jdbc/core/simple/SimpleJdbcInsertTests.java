@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,14 @@ package org.springframework.jdbc.core.simple;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
@@ -30,6 +34,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -107,6 +112,70 @@ class SimpleJdbcInsertTests {
 		verify(tableResultSet).close();
 	}
 
+	@Test
+	void bulkInsertWithMultiRowValues() throws Exception {
+		ResultSet tableResultSet = mock(ResultSet.class);
+		given(tableResultSet.next()).willReturn(true, false);
+
+		given(databaseMetaData.getUserName()).willReturn("me");
+		given(databaseMetaData.getTables(null, null, "me", null)).willReturn(tableResultSet);
+
+		ResultSet columnResultSet = mock(ResultSet.class);
+		given(databaseMetaData.getColumns(null, "me", null, null)).willReturn(columnResultSet);
+		given(columnResultSet.next()).willReturn(true, true, false);
+		given(columnResultSet.getString("COLUMN_NAME")).willReturn("col1", "col2");
+		given(columnResultSet.getInt("DATA_TYPE")).willReturn(Types.VARCHAR);
+		given(columnResultSet.getBoolean("NULLABLE")).willReturn(false);
+
+		Connection insertConnection = mock(Connection.class);
+		given(dataSource.getConnection()).willReturn(connection, insertConnection);
+		PreparedStatement chunkStatement = mock(PreparedStatement.class);
+		PreparedStatement lastChunkStatement = mock(PreparedStatement.class);
+		given(insertConnection.prepareStatement("INSERT INTO me (col1, col2) VALUES(?, ?), (?, ?)"))
+				.willReturn(chunkStatement);
+		given(insertConnection.prepareStatement("INSERT INTO me (col1, col2) VALUES(?, ?)"))
+				.willReturn(lastChunkStatement);
+		given(chunkStatement.executeUpdate()).willReturn(2);
+		given(lastChunkStatement.executeUpdate()).willReturn(1);
+
+		SimpleJdbcInsert insert = new SimpleJdbcInsert(dataSource).withTableName("me");
+		int[] updateCounts = insert.executeBulk(2,
+				Map.of("col1", "a", "col2", "b"), Map.of("col1", "c", "col2", "d"), Map.of("col1", "e", "col2", "f"));
+
+		assertThat(updateCounts).containsExactly(2, 1);
+		verify(chunkStatement).setString(1, "a");
+		verify(chunkStatement).setString(2, "b");
+		verify(chunkStatement).setString(3, "c");
+		verify(chunkStatement).setString(4, "d");
+		verify(chunkStatement).close();
+		verify(lastChunkStatement).setString(1, "e");
+		verify(lastChunkStatement).setString(2, "f");
+		verify(lastChunkStatement).close();
+		verify(insertConnection).close();
+	}
+
+	@Test
+	void bulkInsertWithCustomStrategy() throws Exception {
+		Connection insertConnection = mock(Connection.class);
+		given(dataSource.getConnection()).willReturn(connection, insertConnection);
+
+		List<List<List<Object>>> chunks = new ArrayList<>();
+		SimpleJdbcInsertOperations insert = new SimpleJdbcInsert(dataSource).withTableName("me")
+				.usingColumns("col1").withoutTableColumnMetaDataAccess()
+				.usingBulkInsertStrategy((con, context, columnTypes, rows) -> {
+					assertThat(context.getTableColumns()).containsExactly("col1");
+					chunks.add(new ArrayList<>(rows));
+					return rows.size();
+				});
+		int[] updateCounts = insert.executeBulk(2, new MapSqlParameterSource("col1", "a"),
+				new MapSqlParameterSource("col1", "b"), new MapSqlParameterSource("col1", "c"));
+
+		assertThat(updateCounts).containsExactly(2, 1);
+		assertThat(chunks).containsExactly(
+				List.of(List.of("a"), List.of("b")), List.of(List.of("c")));
+		verify(insertConnection).close();
+	}
+
 	@Test  // gh-26486
 	void exceptionThrownWhileRetrievingColumnNamesFromMetadata() throws Exception {
 		ResultSet tableResultSet = mock(ResultSet.class);
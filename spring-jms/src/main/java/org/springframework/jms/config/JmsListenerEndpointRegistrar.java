@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,11 +18,13 @@ package org.springframework.jms.config;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
-import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
 import org.springframework.messaging.handler.annotation.support.MessageHandlerMethodFactory;
@@ -57,7 +59,7 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 
 	private boolean startImmediately;
 
-	private Object mutex = this.endpointDescriptors;
+	private Lock lock = new ReentrantLock();
 
 
 	/**
@@ -124,8 +126,8 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
-		if (beanFactory instanceof ConfigurableBeanFactory) {
-			this.mutex = ((ConfigurableBeanFactory) beanFactory).getSingletonMutex();
+		if (beanFactory instanceof DefaultSingletonBeanRegistry registry) {
+			this.lock = registry.getSingletonLock();
 		}
 	}
 
@@ -137,13 +139,17 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 
 	protected void registerAllEndpoints() {
 		Assert.state(this.endpointRegistry != null, "No JmsListenerEndpointRegistry set");
-		synchronized (this.mutex) {
+		this.lock.lock();
+		try {
 			for (JmsListenerEndpointDescriptor descriptor : this.endpointDescriptors) {
 				this.endpointRegistry.registerListenerContainer(
 						descriptor.endpoint, resolveContainerFactory(descriptor));
 			}
 			this.startImmediately = true;  // trigger immediate startup
 		}
+		finally {
+			this.lock.unlock();
+		}
 	}
 
 	private JmsListenerContainerFactory<?> resolveContainerFactory(JmsListenerEndpointDescriptor descriptor) {
@@ -180,7 +186,8 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 		// Factory may be null, we defer the resolution right before actually creating the container
 		JmsListenerEndpointDescriptor descriptor = new JmsListenerEndpointDescriptor(endpoint, factory);
 
-		synchronized (this.mutex) {
+		this.lock.lock();
+		try {
 			if (this.startImmediately) {  // register and start immediately
 				Assert.state(this.endpointRegistry != null, "No JmsListenerEndpointRegistry set");
 				this.endpointRegistry.registerListenerContainer(descriptor.endpoint,
@@ -190,6 +197,9 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 				this.endpointDescriptors.add(descriptor);
 			}
 		}
+		finally {
+			this.lock.unlock();
+		}
 	}
 
 	/**
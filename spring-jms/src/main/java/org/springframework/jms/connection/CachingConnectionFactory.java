@@ -214,21 +214,24 @@ public class CachingConnectionFactory extends SingleConnectionFactory {
 	public void resetConnection() {
 		this.active = false;
 
+		List<Session> sessionsToClose = new ArrayList<>();
 		synchronized (this.cachedSessions) {
 			for (Deque<Session> sessionList : this.cachedSessions.values()) {
 				synchronized (sessionList) {
-					for (Session session : sessionList) {
-						try {
-							session.close();
-						}
-						catch (Throwable ex) {
-							logger.trace("Could not close cached JMS Session", ex);
-						}
-					}
+					sessionsToClose.addAll(sessionList);
 				}
 			}
 			this.cachedSessions.clear();
 		}
+		// Close the Sessions outside of any monitor, since closing involves I/O.
+		for (Session session : sessionsToClose) {
+			try {
+				session.close();
+			}
+			catch (Throwable ex) {
+				logger.trace("Could not close cached JMS Session", ex);
+			}
+		}
 
 		// Now proceed with actual closing of the shared Connection...
 		super.resetConnection();
@@ -327,20 +330,19 @@ public class CachingConnectionFactory extends SingleConnectionFactory {
 			}
 			else if (methodName.equals("close")) {
 				// Handle close method: don't pass the call on.
-				if (active) {
-					synchronized (this.sessionList) {
-						if (this.sessionList.size() < getSessionCacheSize()) {
-							try {
-								logicalClose((Session) proxy);
-								// Remain open in the session list.
-								return null;
-							}
-							catch (JMSException ex) {
-								logger.trace("Logical close of cached JMS Session failed - discarding it", ex);
-								// Proceed to physical close from here...
-							}
+				if (active && hasCacheCapacity((Session) proxy)) {
+					// Logical close outside of the session list monitor, since it may
+					// involve a rollback as well as closing durable subscribers.
+					try {
+						if (logicalClose((Session) proxy)) {
+							// Remain open in the session list.
+							return null;
 						}
 					}
+					catch (JMSException ex) {
+						logger.trace("Logical close of cached JMS Session failed - discarding it", ex);
+						// Proceed to physical close from here...
+					}
 				}
 				// If we get here, we're supposed to shut down.
 				physicalClose();
@@ -469,7 +471,13 @@ public class CachingConnectionFactory extends SingleConnectionFactory {
 			return new CachedMessageConsumer(consumer);
 		}
 
-		private void logicalClose(Session proxy) throws JMSException {
+		private boolean hasCacheCapacity(Session proxy) {
+			synchronized (this.sessionList) {
+				return (this.sessionList.size() < getSessionCacheSize() || this.sessionList.contains(proxy));
+			}
+		}
+
+		private boolean logicalClose(Session proxy) throws JMSException {
 			// Preserve rollback-on-close semantics.
 			if (this.transactionOpen && this.target.getTransacted()) {
 				this.transactionOpen = false;
@@ -486,7 +494,11 @@ public class CachingConnectionFactory extends SingleConnectionFactory {
 			// Allow for multiple close calls...
 			boolean returned = false;
 			synchronized (this.sessionList) {
-				if (!this.sessionList.contains(proxy)) {
+				if (this.sessionList.contains(proxy)) {
+					return true;
+				}
+				// Re-check since other Sessions might have been returned in the meantime
+				if (this.sessionList.size() < getSessionCacheSize()) {
 					this.sessionList.addLast(proxy);
 					returned = true;
 				}
@@ -494,6 +506,7 @@ public class CachingConnectionFactory extends SingleConnectionFactory {
 			if (returned && logger.isTraceEnabled()) {
 				logger.trace("Returned cached Session: " + this.target);
 			}
+			return returned;
 		}
 
 		private void physicalClose() throws JMSException {
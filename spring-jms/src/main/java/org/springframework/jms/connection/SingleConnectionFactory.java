@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import jakarta.jms.Connection;
 import jakarta.jms.ConnectionFactory;
@@ -115,8 +117,8 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 	/** Whether the shared Connection has been started. */
 	private int startedCount = 0;
 
-	/** Synchronization monitor for the shared Connection. */
-	private final Object connectionMonitor = new Object();
+	/** Lock for the shared Connection. */
+	private final Lock connectionLock = new ReentrantLock();
 
 
 	/**
@@ -251,10 +253,14 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 	@Override
 	public QueueConnection createQueueConnection() throws JMSException {
 		Connection con;
-		synchronized (this.connectionMonitor) {
+		this.connectionLock.lock();
+		try {
 			this.pubSubMode = Boolean.FALSE;
 			con = createConnection();
 		}
+		finally {
+			this.connectionLock.unlock();
+		}
 		if (!(con instanceof QueueConnection)) {
 			throw new jakarta.jms.IllegalStateException(
 					"This SingleConnectionFactory does not hold a QueueConnection but rather: " + con);
@@ -271,10 +277,14 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 	@Override
 	public TopicConnection createTopicConnection() throws JMSException {
 		Connection con;
-		synchronized (this.connectionMonitor) {
+		this.connectionLock.lock();
+		try {
 			this.pubSubMode = Boolean.TRUE;
 			con = createConnection();
 		}
+		finally {
+			this.connectionLock.unlock();
+		}
 		if (!(con instanceof TopicConnection)) {
 			throw new jakarta.jms.IllegalStateException(
 					"This SingleConnectionFactory does not hold a TopicConnection but rather: " + con);
@@ -322,12 +332,16 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 	 * @see #initConnection()
 	 */
 	protected Connection getConnection() throws JMSException {
-		synchronized (this.connectionMonitor) {
+		this.connectionLock.lock();
+		try {
 			if (this.connection == null) {
 				initConnection();
 			}
 			return this.connection;
 		}
+		finally {
+			this.connectionLock.unlock();
+		}
 	}
 
 	/**
@@ -342,7 +356,8 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 			throw new IllegalStateException(
 					"'targetConnectionFactory' is required for lazily initializing a Connection");
 		}
-		synchronized (this.connectionMonitor) {
+		this.connectionLock.lock();
+		try {
 			if (this.connection != null) {
 				closeConnection(this.connection);
 			}
@@ -355,6 +370,9 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 				logger.debug("Established shared JMS Connection: " + this.connection);
 			}
 		}
+		finally {
+			this.connectionLock.unlock();
+		}
 	}
 
 	/**
@@ -384,12 +402,16 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 	 * @see #closeConnection
 	 */
 	public void resetConnection() {
-		synchronized (this.connectionMonitor) {
+		this.connectionLock.lock();
+		try {
 			if (this.connection != null) {
 				closeConnection(this.connection);
 			}
 			this.connection = null;
 		}
+		finally {
+			this.connectionLock.unlock();
+		}
 	}
 
 	/**
@@ -574,7 +596,8 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 					}
 				case "setExceptionListener":
 					// Handle setExceptionListener method: add to the chain.
-					synchronized (connectionMonitor) {
+					connectionLock.lock();
+					try {
 						if (aggregatedExceptionListener != null) {
 							ExceptionListener listener = (ExceptionListener) args[0];
 							if (listener != this.localExceptionListener) {
@@ -596,8 +619,12 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 									"which will allow for registering further ExceptionListeners to the recovery chain.");
 						}
 					}
+					finally {
+						connectionLock.unlock();
+					}
 				case "getExceptionListener":
-					synchronized (connectionMonitor) {
+					connectionLock.lock();
+					try {
 						if (this.localExceptionListener != null) {
 							return this.localExceptionListener;
 						}
@@ -605,6 +632,9 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 							return getExceptionListener();
 						}
 					}
+					finally {
+						connectionLock.unlock();
+					}
 				case "start":
 					localStart();
 					return null;
@@ -613,7 +643,8 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 					return null;
 				case "close":
 					localStop();
-					synchronized (connectionMonitor) {
+					connectionLock.lock();
+					try {
 						if (this.localExceptionListener != null) {
 							if (aggregatedExceptionListener != null) {
 								aggregatedExceptionListener.delegates.remove(this.localExceptionListener);
@@ -621,6 +652,9 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 							this.localExceptionListener = null;
 						}
 					}
+					finally {
+						connectionLock.unlock();
+					}
 					return null;
 				case "createSession":
 				case "createQueueSession":
@@ -664,7 +698,8 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 		}
 
 		private void localStart() throws JMSException {
-			synchronized (connectionMonitor) {
+			connectionLock.lock();
+			try {
 				if (!this.locallyStarted) {
 					this.locallyStarted = true;
 					if (startedCount == 0 && connection != null) {
@@ -673,10 +708,14 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 					startedCount++;
 				}
 			}
+			finally {
+				connectionLock.unlock();
+			}
 		}
 
 		private void localStop() throws JMSException {
-			synchronized (connectionMonitor) {
+			connectionLock.lock();
+			try {
 				if (this.locallyStarted) {
 					this.locallyStarted = false;
 					if (startedCount == 1 && connection != null) {
@@ -687,6 +726,9 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 					}
 				}
 			}
+			finally {
+				connectionLock.unlock();
+			}
 		}
 
 		private SingleConnectionFactory factory() {
@@ -708,9 +750,13 @@ public class SingleConnectionFactory implements ConnectionFactory, QueueConnecti
 			// Iterate over temporary copy in order to avoid ConcurrentModificationException,
 			// since listener invocations may in turn trigger registration of listeners...
 			Set<ExceptionListener> copy;
-			synchronized (connectionMonitor) {
+			connectionLock.lock();
+			try {
 				copy = new LinkedHashSet<>(this.delegates);
 			}
+			finally {
+				connectionLock.unlock();
+			}
 			for (ExceptionListener listener : copy) {
 				listener.onException(ex);
 			}
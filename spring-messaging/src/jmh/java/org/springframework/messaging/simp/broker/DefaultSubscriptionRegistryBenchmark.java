@@ -43,13 +43,13 @@ public class DefaultSubscriptionRegistryBenchmark {
 		@Param("1000")
 		public int sessions;
 
-		@Param("10")
+		@Param({"10", "200"})
 		public int destinations;
 
 		@Param({"0", "1024"})
 		int cacheSizeLimit;
 
-		@Param({"none", "patternSubscriptions", "selectorHeaders"})
+		@Param({"none", "patternSubscriptions", "segmentPatternSubscriptions", "selectorHeaders"})
 		String specialization;
 
 		public DefaultSubscriptionRegistry registry;
@@ -87,9 +87,7 @@ public class DefaultSubscriptionRegistryBenchmark {
 		}
 
 		public void registerSubscriptions(String sessionId, String destination) {
-			if ("patternSubscriptions".equals(this.specialization)) {
-				destination = "/**/" + destination;
-			}
+			destination = subscriptionDestination(this.specialization, destination);
 			String subscriptionId = "subscription_" + this.uniqueIdGenerator.incrementAndGet();
 			this.registry.registerSubscription(subscribeMessage(sessionId, subscriptionId, destination));
 		}
@@ -127,8 +125,7 @@ public class DefaultSubscriptionRegistryBenchmark {
 			}
 
 			String subscription = String.valueOf(uniqueNumber);
-			String subscribeDestination = "patternSubscriptions".equals(serverState.specialization) ?
-					"/**/" + this.findDestination : this.findDestination;
+			String subscribeDestination = subscriptionDestination(serverState.specialization, this.findDestination);
 			this.subscribe = subscribeMessage(this.session, subscription, subscribeDestination);
 
 			this.unsubscribe = unsubscribeMessage(this.session, subscription);
@@ -170,6 +167,15 @@ public class DefaultSubscriptionRegistryBenchmark {
 		return serverState.registry.findSubscriptionsInternal(request.destination, serverState.findMessage);
 	}
 
+	public static String subscriptionDestination(String specialization, String destination) {
+		return switch (specialization) {
+			case "patternSubscriptions" -> "/**/" + destination;
+			// e.g. "/some/*/3" for "/some/destination/3"
+			case "segmentPatternSubscriptions" -> destination.replace("/destination/", "/*/");
+			default -> destination;
+		};
+	}
+
 	public static Message<?> subscribeMessage(String sessionId, String subscriptionId, String dest) {
 		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
 		accessor.setSessionId(sessionId);
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+
+/**
+ * Benchmarks for creating and copying {@link MessageHeaders}, and for passing
+ * a message through a chain of {@link ChannelInterceptor ChannelInterceptors}
+ * that read its headers, with a final interceptor that may modify them.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MessageHeadersBenchmark {
+
+	@Benchmark
+	public Message<?> buildMessage(HeadersData data) {
+		MessageBuilder<String> builder = MessageBuilder.withPayload(data.payload);
+		for (int i = 0; i < data.headerCount; i++) {
+			builder.setHeader(data.headerNames[i], data.headerValues[i]);
+		}
+		return builder.build();
+	}
+
+	@Benchmark
+	public MessageHeaders copyMessageHeaders(HeadersData data) {
+		return new MessageHeaders(data.message.getHeaders());
+	}
+
+	@Benchmark
+	public void wrapAndReadNativeHeaders(HeadersData data, Blackhole bh) {
+		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(data.simpMessage);
+		bh.consume(accessor.getDestination());
+		bh.consume(accessor.getFirstNativeHeader(data.headerNames[0]));
+	}
+
+	@Benchmark
+	public void sendThroughInterceptors(ChannelData data, Blackhole bh) {
+		bh.consume(data.channel.send(data.message));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class HeadersData {
+
+		@Param({"2", "8"})
+		public int headerCount;
+
+		public String payload = "payload";
+
+		public String[] headerNames;
+
+		public String[] headerValues;
+
+		public Message<String> message;
+
+		public Message<String> simpMessage;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.headerNames = new String[this.headerCount];
+			this.headerValues = new String[this.headerCount];
+			MessageBuilder<String> builder = MessageBuilder.withPayload(this.payload);
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+			accessor.setDestination("/topic/benchmark");
+			accessor.setSessionId("session");
+			for (int i = 0; i < this.headerCount; i++) {
+				this.headerNames[i] = "header" + i;
+				this.headerValues[i] = "value" + i;
+				builder.setHeader(this.headerNames[i], this.headerValues[i]);
+				accessor.setNativeHeader(this.headerNames[i], this.headerValues[i]);
+			}
+			this.message = builder.build();
+			this.simpMessage = MessageBuilder.createMessage(this.payload, accessor.getMessageHeaders());
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class ChannelData {
+
+		@Param({"1", "4"})
+		public int readingInterceptors;
+
+		@Param({"true", "false"})
+		public boolean modifyingInterceptor;
+
+		public ExecutorSubscribableChannel channel;
+
+		public Message<String> message;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			List<ChannelInterceptor> interceptors = new ArrayList<>();
+			for (int i = 0; i < this.readingInterceptors; i++) {
+				interceptors.add(new ReadingInterceptor());
+			}
+			if (this.modifyingInterceptor) {
+				interceptors.add(new ModifyingInterceptor());
+			}
+			this.channel = new ExecutorSubscribableChannel();
+			this.channel.setInterceptors(interceptors);
+			this.channel.subscribe(message -> {});
+
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+			accessor.setDestination("/topic/benchmark");
+			accessor.setSessionId("session");
+			accessor.setNativeHeader("receipt", "r-1");
+			this.message = MessageBuilder.createMessage("payload", accessor.getMessageHeaders());
+		}
+	}
+
+
+	private static class ReadingInterceptor implements ChannelInterceptor {
+
+		@Override
+		public Message<?> preSend(Message<?> message, MessageChannel channel) {
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+			if (accessor.getDestination() == null || accessor.getFirstNativeHeader("receipt") == null) {
+				throw new IllegalStateException("Missing headers");
+			}
+			return message;
+		}
+	}
+
+
+	private static class ModifyingInterceptor implements ChannelInterceptor {
+
+		@Override
+		public Message<?> preSend(Message<?> message, MessageChannel channel) {
+			SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+			accessor.setNativeHeader("intercepted", "true");
+			return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+		}
+	}
+
+}
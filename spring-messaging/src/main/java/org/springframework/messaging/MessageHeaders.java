@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -135,7 +135,7 @@ public class MessageHeaders implements Map<String, Object>, Serializable {
 	 * @param timestamp the {@link #TIMESTAMP} header value
 	 */
 	protected MessageHeaders(@Nullable Map<String, Object> headers, @Nullable UUID id, @Nullable Long timestamp) {
-		this.headers = (headers != null ? new HashMap<>(headers) : new HashMap<>());
+		this.headers = copyHeaders(headers);
 
 		if (id == null) {
 			this.headers.put(ID, getIdGenerator().generateId());
@@ -174,6 +174,23 @@ public class MessageHeaders implements Map<String, Object>, Serializable {
 	}
 
 
+	/**
+	 * Copy the given headers into a map with room for the {@link #ID} and
+	 * {@link #TIMESTAMP} headers, reading the entries of other
+	 * {@code MessageHeaders} directly rather than through their read-only views.
+	 */
+	private static Map<String, Object> copyHeaders(@Nullable Map<String, Object> headers) {
+		if (headers == null) {
+			return new HashMap<>();
+		}
+		Map<String, Object> source = (headers instanceof MessageHeaders messageHeaders ?
+				messageHeaders.headers : headers);
+		Map<String, Object> copy = CollectionUtils.newHashMap(source.size() + 2);
+		copy.putAll(source);
+		return copy;
+	}
+
+
 	protected Map<String, Object> getRawHeaders() {
 		return this.headers;
 	}
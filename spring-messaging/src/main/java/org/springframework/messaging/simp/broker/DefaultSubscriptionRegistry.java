@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
@@ -58,6 +59,11 @@ import org.springframework.util.StringUtils;
  * header on subscription messages with Spring EL expressions evaluated against
  * the headers to filter out messages in addition to destination matching.
  *
+ * <p>As of 6.0, subscriptions are indexed by the segments of their destination
+ * when using an {@link AntPathMatcher}, so that resolving the subscriptions for
+ * a destination that is not in the destination cache only needs to match the
+ * patterns that may apply, based on the literal segments of each pattern.
+ *
  * @author Rossen Stoyanchev
  * @author Sebastien Deleuze
  * @author Juergen Hoeller
@@ -88,12 +94,15 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 	private final SessionRegistry sessionRegistry = new SessionRegistry();
 
+	private final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
+
 
 	/**
 	 * Specify the {@link PathMatcher} to use.
 	 */
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		this.pathMatcher = pathMatcher;
+		this.subscriptionIndex.reset();
 	}
 
 	/**
@@ -154,7 +163,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		Expression expression = getSelectorExpression(message.getHeaders());
 		Subscription subscription = new Subscription(subscriptionId, destination, isPattern, expression);
 
-		this.sessionRegistry.addSubscription(sessionId, subscription);
+		if (this.sessionRegistry.addSubscription(sessionId, subscription)) {
+			this.subscriptionIndex.add(sessionId, subscription);
+		}
 		this.destinationCache.updateAfterNewSubscription(sessionId, subscription);
 	}
 
@@ -189,6 +200,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		if (info != null) {
 			Subscription subscription = info.removeSubscription(subscriptionId);
 			if (subscription != null) {
+				this.subscriptionIndex.remove(sessionId, subscription);
 				this.destinationCache.updateAfterRemovedSubscription(sessionId, subscription);
 			}
 		}
@@ -198,6 +210,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 	public void unregisterAllSubscriptions(String sessionId) {
 		SessionInfo info = this.sessionRegistry.removeSubscriptions(sessionId);
 		if (info != null) {
+			for (Subscription subscription : info.getSubscriptions()) {
+				this.subscriptionIndex.remove(sessionId, subscription);
+			}
 			this.destinationCache.updateAfterRemovedSession(sessionId, info);
 		}
 	}
@@ -276,7 +291,7 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 
 		private LinkedMultiValueMap<String, String> computeMatchingSubscriptions(String destination) {
 			LinkedMultiValueMap<String, String> sessionIdToSubscriptionIds = new LinkedMultiValueMap<>();
-			DefaultSubscriptionRegistry.this.sessionRegistry.forEachSubscription((sessionId, subscription) -> {
+			DefaultSubscriptionRegistry.this.subscriptionIndex.forEachCandidate(destination, (sessionId, subscription) -> {
 				if (subscription.isPattern()) {
 					if (pathMatcher.match(subscription.getDestination(), destination)) {
 						addMatchedSubscriptionId(sessionIdToSubscriptionIds, sessionId, subscription.getId());
@@ -378,6 +393,223 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 		}
 	}
 
+	/**
+	 * Index of all subscriptions by destination, with pattern subscriptions
+	 * in a trie of destination segments, if the {@link PathMatcher} in use is
+	 * an {@link AntPathMatcher} with default token handling. Candidates
+	 * found in the index are a superset of the matching subscriptions and
+	 * still need to be matched against the destination.
+	 */
+	private final class SubscriptionIndex {
+
+		// destination -> subscriptions to that exact destination
+		private final Map<String, Set<IndexEntry>> exactSubscriptions = new ConcurrentHashMap<>();
+
+		private volatile IndexNode patternRoot = new IndexNode();
+
+		// pattern subscriptions, if not indexed by segments
+		private final Set<IndexEntry> unindexedPatterns = ConcurrentHashMap.newKeySet();
+
+		@Nullable
+		private volatile String pathSeparator = getPathSeparator(pathMatcher);
+
+		/**
+		 * Determine the path separator to index pattern segments with through
+		 * the public {@link PathMatcher} contract, or {@code null} if patterns
+		 * cannot be indexed, e.g. with case-insensitive matching or trimmed tokens.
+		 */
+		@Nullable
+		private static String getPathSeparator(PathMatcher pathMatcher) {
+			if (!(pathMatcher instanceof AntPathMatcher)) {
+				return null;
+			}
+			String combined = pathMatcher.combine("a", "b");
+			if (combined.length() < 3 || !combined.startsWith("a") || !combined.endsWith("b")) {
+				return null;
+			}
+			String separator = combined.substring(1, combined.length() - 1);
+			if (pathMatcher.match("a", "A") || pathMatcher.match("a" + separator + "b", "a" + separator + " b")) {
+				return null;
+			}
+			return separator;
+		}
+
+		/**
+		 * Re-create the index for a change of {@link PathMatcher}.
+		 */
+		public synchronized void reset() {
+			this.exactSubscriptions.clear();
+			this.patternRoot = new IndexNode();
+			this.unindexedPatterns.clear();
+			this.pathSeparator = getPathSeparator(pathMatcher);
+			sessionRegistry.forEachSubscription(this::add);
+		}
+
+		public synchronized void add(String sessionId, Subscription subscription) {
+			IndexEntry entry = new IndexEntry(sessionId, subscription);
+			if (!subscription.isPattern()) {
+				this.exactSubscriptions.computeIfAbsent(subscription.getDestination(),
+						destination -> ConcurrentHashMap.newKeySet()).add(entry);
+				return;
+			}
+			String separator = this.pathSeparator;
+			if (separator == null) {
+				this.unindexedPatterns.add(entry);
+				return;
+			}
+			IndexNode node = this.patternRoot;
+			for (String segment : tokenize(subscription.getDestination(), separator)) {
+				if (segment.equals("**")) {
+					node.catchAll.add(entry);
+					return;
+				}
+				node = (isPatternSegment(segment) ?
+						node.getOrCreateWildcardChild() :
+						node.literalChildren.computeIfAbsent(segment, key -> new IndexNode()));
+			}
+			node.subscriptions.add(entry);
+		}
+
+		public synchronized void remove(String sessionId, Subscription subscription) {
+			IndexEntry entry = new IndexEntry(sessionId, subscription);
+			if (!subscription.isPattern()) {
+				String destination = subscription.getDestination();
+				Set<IndexEntry> entries = this.exactSubscriptions.get(destination);
+				if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+					this.exactSubscriptions.remove(destination);
+				}
+				return;
+			}
+			String separator = this.pathSeparator;
+			if (separator == null) {
+				this.unindexedPatterns.remove(entry);
+				return;
+			}
+			remove(this.patternRoot, tokenize(subscription.getDestination(), separator), 0, entry);
+		}
+
+		private void remove(IndexNode node, String[] segments, int index, IndexEntry entry) {
+			if (index == segments.length) {
+				node.subscriptions.remove(entry);
+				return;
+			}
+			String segment = segments[index];
+			if (segment.equals("**")) {
+				node.catchAll.remove(entry);
+				return;
+			}
+			if (isPatternSegment(segment)) {
+				IndexNode child = node.wildcardChild;
+				if (child != null) {
+					remove(child, segments, index + 1, entry);
+					if (child.isEmpty()) {
+						node.wildcardChild = null;
+					}
+				}
+			}
+			else {
+				IndexNode child = node.literalChildren.get(segment);
+				if (child != null) {
+					remove(child, segments, index + 1, entry);
+					if (child.isEmpty()) {
+						node.literalChildren.remove(segment);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Pass the subscriptions that may match the given destination to the
+		 * given consumer: subscriptions to the destination itself, and pattern
+		 * subscriptions that still need to be matched.
+		 */
+		public void forEachCandidate(String destination, BiConsumer<String, Subscription> consumer) {
+			Set<IndexEntry> entries = this.exactSubscriptions.get(destination);
+			if (entries != null) {
+				entries.forEach(entry -> entry.accept(consumer));
+			}
+			this.unindexedPatterns.forEach(entry -> entry.accept(consumer));
+			String separator = this.pathSeparator;
+			if (separator != null) {
+				collect(this.patternRoot, tokenize(destination, separator), 0,
+						destination.endsWith(separator), consumer);
+			}
+		}
+
+		private void collect(IndexNode node, String[] segments, int index, boolean trailingSeparator,
+				BiConsumer<String, Subscription> consumer) {
+
+			node.catchAll.forEach(entry -> entry.accept(consumer));
+			if (index == segments.length) {
+				node.subscriptions.forEach(entry -> entry.accept(consumer));
+				IndexNode child = node.wildcardChild;
+				if (trailingSeparator && child != null) {
+					// Same as AntPathMatcher: a trailing "*" matches a destination ending with the separator
+					child.subscriptions.forEach(entry -> entry.accept(consumer));
+				}
+				return;
+			}
+			IndexNode child = node.literalChildren.get(segments[index]);
+			if (child != null) {
+				collect(child, segments, index + 1, trailingSeparator, consumer);
+			}
+			child = node.wildcardChild;
+			if (child != null) {
+				collect(child, segments, index + 1, trailingSeparator, consumer);
+			}
+		}
+
+		private static String[] tokenize(String destination, String separator) {
+			// Same as AntPathMatcher: empty segments are ignored
+			return StringUtils.tokenizeToStringArray(destination, separator, false, true);
+		}
+
+		private static boolean isPatternSegment(String segment) {
+			return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+		}
+	}
+
+	/**
+	 * Node in the trie of pattern subscriptions, for one pattern segment.
+	 */
+	private static final class IndexNode {
+
+		private final Map<String, IndexNode> literalChildren = new ConcurrentHashMap<>(4);
+
+		@Nullable
+		private volatile IndexNode wildcardChild;
+
+		// patterns ending at this node
+		private final Set<IndexEntry> subscriptions = ConcurrentHashMap.newKeySet();
+
+		// patterns with "**" after this node
+		private final Set<IndexEntry> catchAll = ConcurrentHashMap.newKeySet();
+
+		public IndexNode getOrCreateWildcardChild() {
+			IndexNode child = this.wildcardChild;
+			if (child == null) {
+				child = new IndexNode();
+				this.wildcardChild = child;
+			}
+			return child;
+		}
+
+		public boolean isEmpty() {
+			return (this.literalChildren.isEmpty() && this.wildcardChild == null &&
+					this.subscriptions.isEmpty() && this.catchAll.isEmpty());
+		}
+	}
+
+	/**
+	 * Subscription of a session in the {@link SubscriptionIndex}.
+	 */
+	private record IndexEntry(String sessionId, Subscription subscription) {
+
+		public void accept(BiConsumer<String, Subscription> consumer) {
+			consumer.accept(this.sessionId, this.subscription);
+		}
+	}
+
 	/**
 	 * Registry for all session and their subscriptions.
 	 */
@@ -395,9 +627,9 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 				info.getSubscriptions().forEach(subscription -> consumer.accept(sessionId, subscription)));
 		}
 
-		public void addSubscription(String sessionId, Subscription subscription) {
+		public boolean addSubscription(String sessionId, Subscription subscription) {
 			SessionInfo info = this.sessions.computeIfAbsent(sessionId, _sessionId -> new SessionInfo());
-			info.addSubscription(subscription);
+			return info.addSubscription(subscription);
 		}
 
 		@Nullable
@@ -423,8 +655,8 @@ public class DefaultSubscriptionRegistry extends AbstractSubscriptionRegistry {
 			return this.subscriptionMap.get(subscriptionId);
 		}
 
-		public void addSubscription(Subscription subscription) {
-			this.subscriptionMap.putIfAbsent(subscription.getId(), subscription);
+		public boolean addSubscription(Subscription subscription) {
+			return (this.subscriptionMap.putIfAbsent(subscription.getId(), subscription) == null);
 		}
 
 		@Nullable
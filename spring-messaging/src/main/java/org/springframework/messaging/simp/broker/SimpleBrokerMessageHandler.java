@@ -18,10 +18,13 @@ package org.springframework.messaging.simp.broker;
 
 import java.security.Principal;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
 
 import org.springframework.lang.Nullable;
@@ -31,6 +34,7 @@ import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.SubscribableChannel;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.BatchingExecutorQueue;
 import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.messaging.support.MessageHeaderInitializer;
@@ -44,6 +48,18 @@ import org.springframework.util.PathMatcher;
  * {@link SimpMessageType}, keeps track of subscriptions with the help of a
  * {@link SubscriptionRegistry} and sends messages to subscribers.
  *
+ * <p>By default messages are sent to subscribers on the thread that passes
+ * them to the broker. As of 6.0, a {@link #setShardExecutor shard executor}
+ * can be configured to spread the fan-out over several worker lanes instead.
+ * Each destination is mapped onto one lane by its hash code, and each lane
+ * sends its messages one at a time, so messages to the same destination are
+ * still delivered in the order they were received. Messages to different
+ * destinations may be sent on different lanes though, and therefore reach
+ * a session in a different order than they were received by the broker.
+ * {@code preservePublishOrder} on the broker registration does not restore
+ * that order, as it only preserves the order in which messages are passed
+ * to the client outbound channel.
+ *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
  * @since 4.0
@@ -52,6 +68,13 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
 	private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
+	/**
+	 * The default maximum number of messages a lane sends before it hands its
+	 * worker thread back to the shard executor.
+	 * @since 6.0
+	 */
+	public static final int DEFAULT_SHARD_BATCH_SIZE = 64;
+
 
 	@Nullable
 	private PathMatcher pathMatcher;
@@ -71,6 +94,13 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private MessageHeaderInitializer headerInitializer;
 
+	@Nullable
+	private Executor shardExecutor;
+
+	private int shardCount = Runtime.getRuntime().availableProcessors();
+
+	private int shardBatchSize = DEFAULT_SHARD_BATCH_SIZE;
+
 
 	private SubscriptionRegistry subscriptionRegistry;
 
@@ -79,6 +109,9 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	@Nullable
 	private ScheduledFuture<?> heartbeatFuture;
 
+	@Nullable
+	private volatile List<BatchingExecutorQueue<ShardMessage>> shards;
+
 
 	/**
 	 * Create a SimpleBrokerMessageHandler instance with the given message channels
@@ -250,9 +283,71 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		return this.headerInitializer;
 	}
 
+	/**
+	 * Configure an {@link Executor} to send messages to subscribers on,
+	 * with destinations spread over a number of {@link #setShardCount lanes}
+	 * that preserve the order of messages per destination.
+	 * <p>By default this is not set, and messages are sent to subscribers on
+	 * the thread that passes them to the broker.
+	 * <p>Note that this property needs to be set before the broker is started.
+	 * @since 6.0
+	 */
+	public void setShardExecutor(@Nullable Executor shardExecutor) {
+		this.shardExecutor = shardExecutor;
+	}
+
+	/**
+	 * Return the configured shard executor.
+	 * @since 6.0
+	 */
+	@Nullable
+	public Executor getShardExecutor() {
+		return this.shardExecutor;
+	}
+
+	/**
+	 * Configure the number of lanes that destinations are spread over when
+	 * a {@link #setShardExecutor shard executor} is configured.
+	 * <p>By default this is set to the number of available processors.
+	 * @since 6.0
+	 */
+	public void setShardCount(int shardCount) {
+		Assert.isTrue(shardCount > 0, "Shard count must be greater than 0");
+		this.shardCount = shardCount;
+	}
+
+	/**
+	 * Return the configured number of lanes.
+	 * @since 6.0
+	 */
+	public int getShardCount() {
+		return this.shardCount;
+	}
+
+	/**
+	 * Configure the maximum number of messages a lane sends to subscribers
+	 * in one task before it hands the thread back to the shard executor,
+	 * giving other lanes a chance to run.
+	 * <p>By default this is set to {@link #DEFAULT_SHARD_BATCH_SIZE}.
+	 * @since 6.0
+	 */
+	public void setShardBatchSize(int shardBatchSize) {
+		Assert.isTrue(shardBatchSize > 0, "Shard batch size must be greater than 0");
+		this.shardBatchSize = shardBatchSize;
+	}
+
+	/**
+	 * Return the configured shard batch size.
+	 * @since 6.0
+	 */
+	public int getShardBatchSize() {
+		return this.shardBatchSize;
+	}
+
 
 	@Override
 	public void startInternal() {
+		this.shards = initShards();
 		publishBrokerAvailableEvent();
 		if (this.taskScheduler != null) {
 			Duration interval = initHeartbeatTaskDelay();
@@ -267,6 +362,20 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		}
 	}
 
+	@Nullable
+	private List<BatchingExecutorQueue<ShardMessage>> initShards() {
+		if (this.shardExecutor == null) {
+			return null;
+		}
+		List<BatchingExecutorQueue<ShardMessage>> shards = new ArrayList<>(this.shardCount);
+		for (int i = 0; i < this.shardCount; i++) {
+			// One task per lane at a time, to preserve the order per destination
+			shards.add(new BatchingExecutorQueue<>(this.shardExecutor, this.shardBatchSize, 1,
+					shardMessage -> sendMessageToSubscribers(shardMessage.destination(), shardMessage.message())));
+		}
+		return shards;
+	}
+
 	private Duration initHeartbeatTaskDelay() {
 		if (getHeartbeatValue() == null) {
 			return Duration.ZERO;
@@ -285,6 +394,17 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		if (this.heartbeatFuture != null) {
 			this.heartbeatFuture.cancel(true);
 		}
+		List<BatchingExecutorQueue<ShardMessage>> shards = this.shards;
+		if (shards != null) {
+			this.shards = null;
+			int dropped = 0;
+			for (BatchingExecutorQueue<ShardMessage> shard : shards) {
+				dropped += shard.clear();
+			}
+			if (dropped > 0 && logger.isDebugEnabled()) {
+				logger.debug("Dropped " + dropped + " queued messages on stop.");
+			}
+		}
 	}
 
 	@Override
@@ -302,7 +422,14 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
 		if (SimpMessageType.MESSAGE.equals(messageType)) {
 			logMessage(message);
-			sendMessageToSubscribers(destination, message);
+			List<BatchingExecutorQueue<ShardMessage>> shards = this.shards;
+			if (shards != null) {
+				int index = (destination != null ? Math.floorMod(destination.hashCode(), shards.size()) : 0);
+				shards.get(index).add(new ShardMessage(destination, message));
+			}
+			else {
+				sendMessageToSubscribers(destination, message);
+			}
 		}
 		else if (SimpMessageType.CONNECT.equals(messageType)) {
 			logMessage(message);
@@ -420,12 +547,117 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 		});
 	}
 
+	/**
+	 * Return a String describing internal state and counters.
+	 * Effectively {@code toString()} on {@link #getStats() getStats()}.
+	 * @since 6.0
+	 */
+	public String getStatsInfo() {
+		return getStats().toString();
+	}
+
+	/**
+	 * Return a structured object with internal state and counters,
+	 * including the number of messages waiting in the lanes of a sharded
+	 * broker.
+	 * @since 6.0
+	 */
+	public Stats getStats() {
+		List<BatchingExecutorQueue<ShardMessage>> shards = this.shards;
+		int queued = 0;
+		int maxQueued = 0;
+		long sent = 0;
+		if (shards != null) {
+			for (BatchingExecutorQueue<ShardMessage> shard : shards) {
+				int count = shard.getQueuedCount();
+				queued += count;
+				maxQueued = Math.max(maxQueued, count);
+				sent += shard.getHandledCount();
+			}
+		}
+		return new Stats(this.sessions.size(), (shards != null ? shards.size() : 0), queued, maxQueued, sent);
+	}
+
 	@Override
 	public String toString() {
 		return "SimpleBrokerMessageHandler [" + this.subscriptionRegistry + "]";
 	}
 
 
+	/**
+	 * Contains internal state and counters of a {@link SimpleBrokerMessageHandler}.
+	 * @since 6.0
+	 */
+	public static final class Stats {
+
+		private final int sessionCount;
+
+		private final int shardCount;
+
+		private final int queuedMessageCount;
+
+		private final int maxShardQueuedMessageCount;
+
+		private final long sentMessageCount;
+
+		private Stats(int sessionCount, int shardCount, int queuedMessageCount,
+				int maxShardQueuedMessageCount, long sentMessageCount) {
+
+			this.sessionCount = sessionCount;
+			this.shardCount = shardCount;
+			this.queuedMessageCount = queuedMessageCount;
+			this.maxShardQueuedMessageCount = maxShardQueuedMessageCount;
+			this.sentMessageCount = sentMessageCount;
+		}
+
+		/**
+		 * Return the number of connected sessions.
+		 */
+		public int getSessionCount() {
+			return this.sessionCount;
+		}
+
+		/**
+		 * Return the number of lanes, or 0 if the broker is not sharded.
+		 */
+		public int getShardCount() {
+			return this.shardCount;
+		}
+
+		/**
+		 * Return the number of messages waiting in all lanes.
+		 */
+		public int getQueuedMessageCount() {
+			return this.queuedMessageCount;
+		}
+
+		/**
+		 * Return the number of messages waiting in the most loaded lane.
+		 */
+		public int getMaxShardQueuedMessageCount() {
+			return this.maxShardQueuedMessageCount;
+		}
+
+		/**
+		 * Return the number of messages the lanes have sent to subscribers,
+		 * not including messages that failed to be sent.
+		 */
+		public long getSentMessageCount() {
+			return this.sentMessageCount;
+		}
+
+		@Override
+		public String toString() {
+			if (this.shardCount == 0) {
+				return this.sessionCount + " sessions, not sharded";
+			}
+			return this.sessionCount + " sessions, " + this.shardCount + " shards, " +
+					"queued messages = " + this.queuedMessageCount + " (max " + this.maxShardQueuedMessageCount +
+					" per shard), sent messages = " + this.sentMessageCount;
+		}
+	}
+
+
 	private static class SessionInfo {
 
 		/* STOMP spec: receiver SHOULD take into account an error margin */
@@ -505,6 +737,10 @@ public class SimpleBrokerMessageHandler extends AbstractBrokerMessageHandler {
 	}
 
 
+	private record ShardMessage(@Nullable String destination, Message<?> message) {
+	}
+
+
 	private class HeartbeatTask implements Runnable {
 
 		@Override
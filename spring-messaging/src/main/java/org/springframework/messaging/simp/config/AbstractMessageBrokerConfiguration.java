@@ -163,6 +163,7 @@ public abstract class AbstractMessageBrokerConfiguration implements ApplicationC
 		if (reg.hasInterceptors()) {
 			channel.setInterceptors(reg.getInterceptors());
 		}
+		channel.setBatchSize(reg.getBatchSize());
 		return channel;
 	}
 
@@ -201,6 +202,7 @@ public abstract class AbstractMessageBrokerConfiguration implements ApplicationC
 		if (reg.hasInterceptors()) {
 			channel.setInterceptors(reg.getInterceptors());
 		}
+		channel.setBatchSize(reg.getBatchSize());
 		return channel;
 	}
 
@@ -241,6 +243,7 @@ public abstract class AbstractMessageBrokerConfiguration implements ApplicationC
 		registration.interceptors(new ImmutableMessageChannelInterceptor());
 		channel.setLogger(SimpLogging.forLog(channel.getLogger()));
 		channel.setInterceptors(registration.getInterceptors());
+		channel.setBatchSize(registration.getBatchSize());
 		return channel;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,8 @@ public class ChannelRegistration {
 
 	private final List<ChannelInterceptor> interceptors = new ArrayList<>();
 
+	private int batchSize = 1;
+
 
 	/**
 	 * Configure the thread pool backing this message channel.
@@ -69,6 +71,18 @@ public class ChannelRegistration {
 		return this;
 	}
 
+	/**
+	 * Configure the maximum number of messages for the same subscriber that
+	 * a single task submitted to the thread pool handles. By default this is 1,
+	 * i.e. every message is handed off to the thread pool separately.
+	 * @since 6.0
+	 * @see org.springframework.messaging.support.ExecutorSubscribableChannel#setBatchSize(int)
+	 */
+	public ChannelRegistration batchSize(int batchSize) {
+		this.batchSize = batchSize;
+		return this;
+	}
+
 
 	protected boolean hasTaskExecutor() {
 		return (this.registration != null);
@@ -82,4 +96,8 @@ public class ChannelRegistration {
 		return this.interceptors;
 	}
 
+	protected int getBatchSize() {
+		return this.batchSize;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.messaging.simp.config;
 
+import java.util.concurrent.Executor;
+
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.SubscribableChannel;
@@ -39,6 +41,15 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 	@Nullable
 	private String selectorHeaderName = "selector";
 
+	@Nullable
+	private Executor shardExecutor;
+
+	@Nullable
+	private Integer shardCount;
+
+	@Nullable
+	private Integer shardBatchSize;
+
 
 	/**
 	 * Create a new {@code SimpleBrokerRegistration}.
@@ -97,6 +108,45 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 		this.selectorHeaderName = selectorHeaderName;
 	}
 
+	/**
+	 * Configure an {@link Executor} to send messages to subscribers on, with
+	 * destinations spread over a number of lanes that preserve the order of
+	 * messages per destination.
+	 * <p>By default this is not set, and messages are sent to subscribers on
+	 * the thread that passes them to the broker.
+	 * @since 6.0
+	 * @see SimpleBrokerMessageHandler#setShardExecutor
+	 */
+	public SimpleBrokerRegistration setShardExecutor(Executor shardExecutor) {
+		this.shardExecutor = shardExecutor;
+		return this;
+	}
+
+	/**
+	 * Configure the number of lanes that destinations are spread over when
+	 * a {@link #setShardExecutor shard executor} is configured.
+	 * <p>By default this is set to the number of available processors.
+	 * @since 6.0
+	 * @see SimpleBrokerMessageHandler#setShardCount
+	 */
+	public SimpleBrokerRegistration setShardCount(int shardCount) {
+		this.shardCount = shardCount;
+		return this;
+	}
+
+	/**
+	 * Configure the maximum number of messages a lane sends to subscribers
+	 * in one task before it hands the thread back to the shard executor.
+	 * <p>By default this is set to
+	 * {@link SimpleBrokerMessageHandler#DEFAULT_SHARD_BATCH_SIZE}.
+	 * @since 6.0
+	 * @see SimpleBrokerMessageHandler#setShardBatchSize
+	 */
+	public SimpleBrokerRegistration setShardBatchSize(int shardBatchSize) {
+		this.shardBatchSize = shardBatchSize;
+		return this;
+	}
+
 
 	@Override
 	protected SimpleBrokerMessageHandler getMessageHandler(SubscribableChannel brokerChannel) {
@@ -109,6 +159,15 @@ public class SimpleBrokerRegistration extends AbstractBrokerRegistration {
 			handler.setHeartbeatValue(this.heartbeat);
 		}
 		handler.setSelectorHeaderName(this.selectorHeaderName);
+		if (this.shardExecutor != null) {
+			handler.setShardExecutor(this.shardExecutor);
+		}
+		if (this.shardCount != null) {
+			handler.setShardCount(this.shardCount);
+		}
+		if (this.shardBatchSize != null) {
+			handler.setShardBatchSize(this.shardBatchSize);
+		}
 		return handler;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -453,7 +453,7 @@ public class StompHeaderAccessor extends SimpMessageHeaderAccessor {
 		}
 		StringBuilder sb = new StringBuilder();
 		sb.append(command.name()).append(' ');
-		Map<String, List<String>> nativeHeaders = getNativeHeaders();
+		Object nativeHeaders = getHeader(NATIVE_HEADERS);
 		if (nativeHeaders != null) {
 			sb.append(nativeHeaders);
 		}
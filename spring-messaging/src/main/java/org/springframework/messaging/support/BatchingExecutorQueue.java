@@ -0,0 +1,193 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.support;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Queue of items that are handled by tasks submitted to an {@link Executor},
+ * with every task handling up to a given number of items before it hands its
+ * thread back to the executor.
+ *
+ * <p>Further tasks are submitted as long as the queued items exceed the
+ * capacity of the tasks submitted already, up to a maximum number of
+ * concurrent tasks. With a maximum of 1, items are handled one at a time
+ * in the order they were added.
+ *
+ * <p>A failure to handle one item is logged rather than preventing the
+ * remaining items from being handled. If the executor rejects a task,
+ * the item being added is removed again and the exception is rethrown.
+ *
+ * @author agent
+ * @since 6.0
+ * @param <T> the type of queued items
+ */
+public class BatchingExecutorQueue<T> {
+
+	private static final Log logger = LogFactory.getLog(BatchingExecutorQueue.class);
+
+
+	private final Executor executor;
+
+	private final int batchSize;
+
+	private final int maxConcurrency;
+
+	private final Consumer<T> handler;
+
+	private final Queue<T> items = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queuedCount = new AtomicInteger();
+
+	private final AtomicInteger taskCount = new AtomicInteger();
+
+	private final LongAdder handledCount = new LongAdder();
+
+	private final Runnable task = this::handleBatch;
+
+
+	/**
+	 * Create a new queue.
+	 * @param executor the executor to submit tasks to
+	 * @param batchSize the maximum number of items to handle per task
+	 * @param maxConcurrency the maximum number of tasks submitted at a time
+	 * @param handler the callback to handle every item with
+	 */
+	public BatchingExecutorQueue(Executor executor, int batchSize, int maxConcurrency, Consumer<T> handler) {
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		Assert.isTrue(maxConcurrency > 0, "Max concurrency must be greater than 0");
+		Assert.notNull(handler, "Handler must not be null");
+		this.executor = executor;
+		this.batchSize = batchSize;
+		this.maxConcurrency = maxConcurrency;
+		this.handler = handler;
+	}
+
+
+	/**
+	 * Add an item to the queue, submitting a task to handle it if necessary.
+	 * @param item the item to add
+	 * @throws java.util.concurrent.RejectedExecutionException if the executor
+	 * rejected the task, in which case the item is not queued
+	 */
+	public void add(T item) {
+		this.items.add(item);
+		this.queuedCount.incrementAndGet();
+		try {
+			submitTaskIfNecessary();
+		}
+		catch (RuntimeException ex) {
+			if (this.items.remove(item)) {
+				this.queuedCount.decrementAndGet();
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Submit another task unless the tasks submitted already cover the
+	 * queued items, or the maximum number of tasks has been reached.
+	 */
+	private void submitTaskIfNecessary() {
+		while (true) {
+			int tasks = this.taskCount.get();
+			int queued = this.queuedCount.get();
+			if (queued <= 0 || tasks >= this.maxConcurrency || (long) tasks * this.batchSize >= queued) {
+				return;
+			}
+			if (this.taskCount.compareAndSet(tasks, tasks + 1)) {
+				try {
+					this.executor.execute(this.task);
+				}
+				catch (RuntimeException ex) {
+					this.taskCount.decrementAndGet();
+					throw ex;
+				}
+				return;
+			}
+		}
+	}
+
+	private void handleBatch() {
+		try {
+			for (int i = 0; i < this.batchSize; i++) {
+				T item = this.items.poll();
+				if (item == null) {
+					break;
+				}
+				this.queuedCount.decrementAndGet();
+				try {
+					this.handler.accept(item);
+					this.handledCount.increment();
+				}
+				catch (Exception ex) {
+					logger.error("Failed to handle " + item, ex);
+				}
+			}
+		}
+		finally {
+			this.taskCount.decrementAndGet();
+			try {
+				submitTaskIfNecessary();
+			}
+			catch (RuntimeException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Queued items are handled once the next item is added: " + ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove all queued items without handling them.
+	 * @return the number of removed items
+	 */
+	public int clear() {
+		int count = 0;
+		while (this.items.poll() != null) {
+			this.queuedCount.decrementAndGet();
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of items waiting to be handled.
+	 */
+	public int getQueuedCount() {
+		return this.queuedCount.get();
+	}
+
+	/**
+	 * Return the number of items handled successfully so far.
+	 */
+	public long getHandledCount() {
+		return this.handledCount.sum();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.springframework.messaging.support;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 
 import org.springframework.lang.Nullable;
@@ -26,6 +28,7 @@ import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHandler;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.SubscribableChannel;
+import org.springframework.util.Assert;
 
 /**
  * A {@link SubscribableChannel} that sends messages to each of its subscribers.
@@ -41,6 +44,10 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 
 	private final List<ExecutorChannelInterceptor> executorInterceptors = new ArrayList<>(4);
 
+	private int batchSize = 1;
+
+	private final Map<MessageHandler, BatchingExecutorQueue<Message<?>>> sendQueues = new ConcurrentHashMap<>();
+
 
 	/**
 	 * Create a new {@link ExecutorSubscribableChannel} instance
@@ -66,6 +73,36 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 		return this.executor;
 	}
 
+	/**
+	 * Configure the maximum number of messages for the same subscriber to
+	 * handle within a single task submitted to the executor.
+	 * <p>By default this is 1, i.e. every message is handed off to the executor
+	 * separately for each subscriber. With a higher value, messages are added
+	 * to a queue per subscriber instead, and every task handles up to this many
+	 * messages from the queue, which reduces the number of tasks under heavy
+	 * load. Further tasks are submitted as long as the queued messages exceed
+	 * the capacity of the tasks already submitted, so messages for the same
+	 * subscriber are still handled concurrently.
+	 * <p>{@link ExecutorChannelInterceptor} callbacks are invoked for every
+	 * message, and a failure to handle one message is logged rather than
+	 * preventing the remaining messages of the batch from being handled.
+	 * <p>This has no effect when messages are sent in the caller's thread.
+	 * @param batchSize the maximum number of messages per task
+	 * @since 6.0
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Return the configured maximum number of messages per task.
+	 * @since 6.0
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
 	@Override
 	public void setInterceptors(List<ChannelInterceptor> interceptors) {
 		super.setInterceptors(interceptors);
@@ -92,20 +129,40 @@ public class ExecutorSubscribableChannel extends AbstractSubscribableChannel {
 	}
 
 
+	@Override
+	public boolean unsubscribe(MessageHandler handler) {
+		boolean result = super.unsubscribe(handler);
+		this.sendQueues.remove(handler);
+		return result;
+	}
+
+
 	@Override
 	public boolean sendInternal(Message<?> message, long timeout) {
 		for (MessageHandler handler : getSubscribers()) {
-			SendTask sendTask = new SendTask(message, handler);
 			if (this.executor == null) {
-				sendTask.run();
+				new SendTask(message, handler).run();
+			}
+			else if (this.batchSize > 1) {
+				this.sendQueues.computeIfAbsent(handler, this::createSendQueue).add(message);
 			}
 			else {
-				this.executor.execute(sendTask);
+				this.executor.execute(new SendTask(message, handler));
 			}
 		}
 		return true;
 	}
 
+	/**
+	 * Create the queue of messages for the given subscriber, handled by tasks
+	 * of up to {@link #getBatchSize() batchSize} messages each.
+	 */
+	private BatchingExecutorQueue<Message<?>> createSendQueue(MessageHandler handler) {
+		Assert.state(this.executor != null, "No Executor");
+		return new BatchingExecutorQueue<>(this.executor, this.batchSize, Integer.MAX_VALUE,
+				message -> new SendTask(message, handler).run());
+	}
+
 
 	/**
 	 * Invoke a MessageHandler with ExecutorChannelInterceptors.
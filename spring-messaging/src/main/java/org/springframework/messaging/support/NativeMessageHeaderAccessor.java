@@ -16,10 +16,13 @@
 
 package org.springframework.messaging.support;
 
+import java.io.Serializable;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -40,6 +43,11 @@ import org.springframework.util.ObjectUtils;
  * subclass that also provides factory methods to translate message headers
  * to and from an external messaging source.
  *
+ * <p>An accessor created for a message whose native headers were made read-only
+ * by {@link #setImmutable()} shares the native headers of that message until
+ * they are modified, at which point they are copied. Accessors that only read native headers, e.g. in a
+ * {@link ChannelInterceptor}, therefore do not copy them.
+ *
  * @author Rossen Stoyanchev
  * @since 4.0
  */
@@ -49,6 +57,9 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	public static final String NATIVE_HEADERS = "nativeHeaders";
 
 
+	private boolean nativeHeadersShared;
+
+
 	/**
 	 * Protected constructor to create a new instance.
 	 */
@@ -72,12 +83,13 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	protected NativeMessageHeaderAccessor(@Nullable Message<?> message) {
 		super(message);
 		if (message != null) {
-			@SuppressWarnings("unchecked")
-			Map<String, List<String>> map = (Map<String, List<String>>) getHeader(NATIVE_HEADERS);
+			Map<String, List<String>> map = getNativeHeaderMap();
 			if (map != null) {
-				// setHeader checks for equality but we need copy of native headers
-				setHeader(NATIVE_HEADERS, null);
-				setHeader(NATIVE_HEADERS, new LinkedMultiValueMap<>(map));
+				this.nativeHeadersShared = true;
+				if (!(map instanceof ReadOnlyNativeHeaders)) {
+					// Not known to be read-only: the native headers may still change
+					getNativeHeadersToModify();
+				}
 			}
 		}
 	}
@@ -85,29 +97,59 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 
 	/**
 	 * Subclasses can use this method to access the "native" headers sub-map.
+	 * <p>Native headers shared with the message this accessor was created
+	 * from are copied first, so the returned map may be modified.
 	 */
-	@SuppressWarnings("unchecked")
 	@Nullable
 	protected Map<String, List<String>> getNativeHeaders() {
+		return getNativeHeadersToModify();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private Map<String, List<String>> getNativeHeaderMap() {
 		return (Map<String, List<String>>) getHeader(NATIVE_HEADERS);
 	}
 
+	/**
+	 * Return the native headers, copying them first if they are still shared
+	 * with the message this accessor was created from.
+	 */
+	@Nullable
+	private Map<String, List<String>> getNativeHeadersToModify() {
+		Map<String, List<String>> map = getNativeHeaderMap();
+		if (this.nativeHeadersShared && isMutable()) {
+			this.nativeHeadersShared = false;
+			if (map != null) {
+				LinkedMultiValueMap<String, String> copy = new LinkedMultiValueMap<>(map.size());
+				map.forEach((name, values) -> copy.put(name, new ArrayList<>(values)));
+				// setHeader checks for equality but we need copy of native headers
+				boolean modified = isModified();
+				setHeader(NATIVE_HEADERS, null);
+				setHeader(NATIVE_HEADERS, copy);
+				setModified(modified);
+				map = copy;
+			}
+		}
+		return map;
+	}
+
 	/**
 	 * Return a copy of the native headers sub-map, or an empty map.
 	 */
 	public Map<String, List<String>> toNativeHeaderMap() {
-		Map<String, List<String>> map = getNativeHeaders();
+		Map<String, List<String>> map = getNativeHeaderMap();
 		return (map != null ? new LinkedMultiValueMap<>(map) : Collections.emptyMap());
 	}
 
 	@Override
 	public void setImmutable() {
 		if (isMutable()) {
-			Map<String, List<String>> map = getNativeHeaders();
-			if (map != null) {
+			Map<String, List<String>> map = getNativeHeaderMap();
+			if (map != null && !this.nativeHeadersShared) {
 				// setHeader checks for equality but we need immutable wrapper
 				setHeader(NATIVE_HEADERS, null);
-				setHeader(NATIVE_HEADERS, Collections.unmodifiableMap(map));
+				setHeader(NATIVE_HEADERS, new ReadOnlyNativeHeaders(map));
 			}
 			super.setImmutable();
 		}
@@ -121,7 +163,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 
 		@SuppressWarnings("unchecked")
 		Map<String, List<String>> map = (Map<String, List<String>>) headersToCopy.get(NATIVE_HEADERS);
-		if (map != null && map != getNativeHeaders()) {
+		if (map != null && map != getNativeHeaderMap()) {
 			map.forEach(this::setNativeHeaderValues);
 		}
 
@@ -137,7 +179,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 
 		@SuppressWarnings("unchecked")
 		Map<String, List<String>> map = (Map<String, List<String>>) headersToCopy.get(NATIVE_HEADERS);
-		if (map != null && getNativeHeaders() == null) {
+		if (map != null && getNativeHeaderMap() == null) {
 			map.forEach(this::setNativeHeaderValues);
 		}
 
@@ -149,7 +191,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	 * @param headerName the name of the header
 	 */
 	public boolean containsNativeHeader(String headerName) {
-		Map<String, List<String>> map = getNativeHeaders();
+		Map<String, List<String>> map = getNativeHeaderMap();
 		return (map != null && map.containsKey(headerName));
 	}
 
@@ -160,7 +202,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	 */
 	@Nullable
 	public List<String> getNativeHeader(String headerName) {
-		Map<String, List<String>> map = getNativeHeaders();
+		Map<String, List<String>> map = getNativeHeaderMap();
 		return (map != null ? map.get(headerName) : null);
 	}
 
@@ -171,7 +213,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	 */
 	@Nullable
 	public String getFirstNativeHeader(String headerName) {
-		Map<String, List<String>> map = getNativeHeaders();
+		Map<String, List<String>> map = getNativeHeaderMap();
 		if (map != null) {
 			List<String> values = map.get(headerName);
 			if (!CollectionUtils.isEmpty(values)) {
@@ -188,11 +230,11 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	 */
 	public void setNativeHeader(String name, @Nullable String value) {
 		Assert.state(isMutable(), "Already immutable");
-		Map<String, List<String>> map = getNativeHeaders();
+		Map<String, List<String>> map = getNativeHeaderMap();
 		if (value == null) {
 			if (map != null && map.get(name) != null) {
+				getNativeHeadersToModify().remove(name);
 				setModified(true);
-				map.remove(name);
 			}
 			return;
 		}
@@ -202,9 +244,9 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		}
 		List<String> values = new ArrayList<>(1);
 		values.add(value);
-		if (!ObjectUtils.nullSafeEquals(values, getHeader(name))) {
+		if (!ObjectUtils.nullSafeEquals(values, map.get(name))) {
+			getNativeHeadersToModify().put(name, values);
 			setModified(true);
-			map.put(name, values);
 		}
 	}
 
@@ -214,11 +256,11 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	 */
 	public void setNativeHeaderValues(String name, @Nullable List<String> values) {
 		Assert.state(isMutable(), "Already immutable");
-		Map<String, List<String>> map = getNativeHeaders();
+		Map<String, List<String>> map = getNativeHeaderMap();
 		if (values == null) {
 			if (map != null && map.get(name) != null) {
+				getNativeHeadersToModify().remove(name);
 				setModified(true);
-				map.remove(name);
 			}
 			return;
 		}
@@ -226,9 +268,9 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 			map = new LinkedMultiValueMap<>(3);
 			setHeader(NATIVE_HEADERS, map);
 		}
-		if (!ObjectUtils.nullSafeEquals(values, getHeader(name))) {
+		if (!ObjectUtils.nullSafeEquals(values, map.get(name))) {
+			getNativeHeadersToModify().put(name, new ArrayList<>(values));
 			setModified(true);
-			map.put(name, new ArrayList<>(values));
 		}
 	}
 
@@ -244,7 +286,7 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		if (value == null) {
 			return;
 		}
-		Map<String, List<String>> nativeHeaders = getNativeHeaders();
+		Map<String, List<String>> nativeHeaders = getNativeHeadersToModify();
 		if (nativeHeaders == null) {
 			nativeHeaders = new LinkedMultiValueMap<>(3);
 			setHeader(NATIVE_HEADERS, nativeHeaders);
@@ -275,11 +317,11 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 	@Nullable
 	public List<String> removeNativeHeader(String headerName) {
 		Assert.state(isMutable(), "Already immutable");
-		Map<String, List<String>> nativeHeaders = getNativeHeaders();
-		if (CollectionUtils.isEmpty(nativeHeaders)) {
+		Map<String, List<String>> nativeHeaders = getNativeHeaderMap();
+		if (CollectionUtils.isEmpty(nativeHeaders) || !nativeHeaders.containsKey(headerName)) {
 			return null;
 		}
-		return nativeHeaders.remove(headerName);
+		return getNativeHeadersToModify().remove(headerName);
 	}
 
 
@@ -303,4 +345,40 @@ public class NativeMessageHeaderAccessor extends MessageHeaderAccessor {
 		return null;
 	}
 
+
+	/**
+	 * Read-only view of the native headers of an immutable accessor,
+	 * which can therefore be shared with accessors created for its message.
+	 */
+	private static final class ReadOnlyNativeHeaders extends AbstractMap<String, List<String>> implements Serializable {
+
+		private static final long serialVersionUID = 3806297462718618451L;
+
+		private final Map<String, List<String>> nativeHeaders;
+
+		ReadOnlyNativeHeaders(Map<String, List<String>> nativeHeaders) {
+			this.nativeHeaders = Collections.unmodifiableMap(nativeHeaders);
+		}
+
+		@Override
+		public int size() {
+			return this.nativeHeaders.size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.nativeHeaders.containsKey(key);
+		}
+
+		@Override
+		public List<String> get(Object key) {
+			return this.nativeHeaders.get(key);
+		}
+
+		@Override
+		public Set<Entry<String, List<String>>> entrySet() {
+			return this.nativeHeaders.entrySet();
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -158,6 +158,19 @@ public class MessageHeadersTests {
 		assertThat(keys.contains("key2")).isTrue();
 	}
 
+	@Test
+	public void copyOfMessageHeaders() {
+		Map<String, Object> map = new HashMap<>();
+		map.put("key1", "val1");
+		map.put("key2", 123);
+		MessageHeaders original = new MessageHeaders(map);
+		MessageHeaders copy = new MessageHeaders(original);
+		assertThat(copy).containsEntry("key1", "val1").containsEntry("key2", 123).hasSize(4);
+		assertThat(copy.getId()).isNotNull().isNotEqualTo(original.getId());
+		assertThat(copy.getTimestamp()).isNotNull();
+		assertThat(original).hasSize(4);
+	}
+
 	@Test
 	public void serializeWithAllSerializableHeaders() throws Exception {
 		Map<String, Object> map = new HashMap<>();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.MultiValueMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -453,6 +454,58 @@ public class DefaultSubscriptionRegistryTests {
 		assertThat(this.registry.findSubscriptions(createMessage("/bar")).size()).isEqualTo(2);
 	}
 
+	@Test
+	public void findSubscriptionsWithManyPatterns() {
+		this.registry.setCacheLimit(0);
+		for (int i = 0; i < 100; i++) {
+			this.registry.registerSubscription(subscribeMessage("sess1", "a" + i, "/topic/" + i + "/*"));
+			this.registry.registerSubscription(subscribeMessage("sess1", "b" + i, "/topic/*/" + i));
+			this.registry.registerSubscription(subscribeMessage("sess1", "c" + i, "/topic/" + i + "/**"));
+		}
+		this.registry.registerSubscription(subscribeMessage("sess2", "d", "/**"));
+		this.registry.registerSubscription(subscribeMessage("sess2", "e", "/topic/7/price"));
+		this.registry.registerSubscription(subscribeMessage("sess2", "f", "/topic//7/?rice"));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic/7/price"));
+		assertThat(actual.get("sess1")).containsExactlyInAnyOrder("a7", "c7");
+		assertThat(actual.get("sess2")).containsExactlyInAnyOrder("d", "e", "f");
+
+		actual = this.registry.findSubscriptions(createMessage("/topic/price/7"));
+		assertThat(actual.get("sess1")).containsExactlyInAnyOrder("b7");
+
+		actual = this.registry.findSubscriptions(createMessage("/topic/7"));
+		assertThat(actual.get("sess1")).containsExactlyInAnyOrder("c7");
+
+		// A trailing "*" matches a trailing separator
+		actual = this.registry.findSubscriptions(createMessage("/topic/7/"));
+		assertThat(actual.get("sess1")).containsExactlyInAnyOrder("a7", "c7");
+		assertThat(actual.get("sess2")).containsExactly("d");
+
+		this.registry.unregisterSubscription(unsubscribeMessage("sess1", "c7"));
+		this.registry.unregisterAllSubscriptions("sess2");
+		actual = this.registry.findSubscriptions(createMessage("/topic/7/price"));
+		assertThat(actual).hasSize(1);
+		assertThat(actual.get("sess1")).containsExactly("a7");
+	}
+
+	@Test
+	public void findSubscriptionsWithCustomPathMatcher() {
+		this.registry.registerSubscription(subscribeMessage("sess1", "1", "/topic.PRICE.*"));
+		this.registry.registerSubscription(subscribeMessage("sess1", "2", "/topic.price.**"));
+		this.registry.setPathMatcher(new AntPathMatcher("."));
+
+		MultiValueMap<String, String> actual = this.registry.findSubscriptions(createMessage("/topic.PRICE.IBM"));
+		assertThat(actual.get("sess1")).containsExactly("1");
+
+		AntPathMatcher pathMatcher = new AntPathMatcher(".");
+		pathMatcher.setCaseSensitive(false);
+		this.registry.setPathMatcher(pathMatcher);
+		this.registry.setCacheLimit(0);
+
+		actual = this.registry.findSubscriptions(createMessage("/topic.price.IBM"));
+		assertThat(actual.get("sess1")).containsExactlyInAnyOrder("1", "2");
+	}
+
 	private Message<?> createMessage(String destination) {
 		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
 		accessor.setDestination(destination);
@@ -18,8 +18,10 @@ package org.springframework.messaging.simp.broker;
 
 import java.security.Principal;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -41,6 +43,7 @@ import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.scheduling.TaskScheduler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -151,6 +154,97 @@ public class SimpleBrokerMessageHandlerTests {
 		assertThat(messageCaptured(sess2, "sub3", "/bar")).isTrue();
 	}
 
+	@Test
+	public void subscribePublishWithShards() {
+		List<Runnable> tasks = new ArrayList<>();
+		this.messageHandler.setShardExecutor(tasks::add);
+		this.messageHandler.setShardCount(4);
+		startSession("sess1");
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub2", "/bar"));
+
+		this.messageHandler.handleMessage(createMessage("/foo", "message1"));
+		this.messageHandler.handleMessage(createMessage("/foo", "message2"));
+		this.messageHandler.handleMessage(createMessage("/bar", "message3"));
+
+		verifyNoMoreInteractions(this.clientOutChannel);
+		assertThat(this.messageHandler.getStats().getQueuedMessageCount()).isEqualTo(3);
+		assertThat(tasks).hasSizeBetween(1, 2);
+
+		tasks.forEach(Runnable::run);
+
+		verify(this.clientOutChannel, times(3)).send(this.messageCaptor.capture());
+		List<Object> fooPayloads = this.messageCaptor.getAllValues().stream()
+				.filter(message -> "/foo".equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders())))
+				.map(Message::getPayload)
+				.toList();
+		assertThat(fooPayloads).containsExactly("message1", "message2");
+		assertThat(messageCaptured("sess1", "sub2", "/bar")).isTrue();
+		assertThat(this.messageHandler.getStatsInfo())
+				.isEqualTo("1 sessions, 4 shards, queued messages = 0 (max 0 per shard), sent messages = 3");
+	}
+
+	@Test
+	public void publishWithShardsInBatches() {
+		List<Runnable> tasks = new ArrayList<>();
+		this.messageHandler.setShardExecutor(tasks::add);
+		this.messageHandler.setShardCount(1);
+		this.messageHandler.setShardBatchSize(2);
+		startSession("sess1");
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		for (int i = 0; i < 5; i++) {
+			this.messageHandler.handleMessage(createMessage("/foo", "message" + i));
+		}
+		assertThat(tasks).hasSize(1);
+
+		tasks.remove(0).run();
+		verify(this.clientOutChannel, times(2)).send(any());
+		assertThat(this.messageHandler.getStats().getMaxShardQueuedMessageCount()).isEqualTo(3);
+		assertThat(tasks).hasSize(1);
+
+		tasks.remove(0).run();
+		tasks.remove(0).run();
+		verify(this.clientOutChannel, times(5)).send(any());
+		assertThat(tasks).isEmpty();
+	}
+
+	@Test
+	public void publishWithShardsRejected() {
+		this.messageHandler.setShardExecutor(task -> {
+			throw new RejectedExecutionException("Fake rejection");
+		});
+		this.messageHandler.setShardCount(1);
+		startSession("sess1");
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		assertThatExceptionOfType(RejectedExecutionException.class)
+				.isThrownBy(() -> this.messageHandler.handleMessage(createMessage("/foo", "message1")));
+		assertThat(this.messageHandler.getStats().getQueuedMessageCount()).isEqualTo(0);
+		assertThat(this.messageHandler.getStats().getSentMessageCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void stopWithShardsDropsQueuedMessages() {
+		List<Runnable> tasks = new ArrayList<>();
+		this.messageHandler.setShardExecutor(tasks::add);
+		this.messageHandler.setShardCount(2);
+		startSession("sess1");
+
+		this.messageHandler.handleMessage(createSubscriptionMessage("sess1", "sub1", "/foo"));
+		this.messageHandler.handleMessage(createMessage("/foo", "message1"));
+		this.messageHandler.handleMessage(createMessage("/foo", "message2"));
+		assertThat(this.messageHandler.getStats().getQueuedMessageCount()).isEqualTo(2);
+
+		this.messageHandler.stop();
+		assertThat(this.messageHandler.getStats().getShardCount()).isEqualTo(0);
+		assertThat(this.messageHandler.getStats().getQueuedMessageCount()).isEqualTo(0);
+
+		tasks.forEach(Runnable::run);
+		verifyNoMoreInteractions(this.clientOutChannel);
+	}
+
 	@Test
 	public void connect() {
 		String id = "sess1";
@@ -196,6 +196,7 @@ public class MessageBrokerConfigurationTests {
 				"clientOutboundChannel", AbstractSubscribableChannel.class);
 
 		assertThat(channel.getInterceptors().size()).isEqualTo(4);
+		assertThat(((ExecutorSubscribableChannel) channel).getBatchSize()).isEqualTo(16);
 
 		ThreadPoolTaskExecutor taskExecutor = context.getBean(
 				"clientOutboundChannelExecutor", ThreadPoolTaskExecutor.class);
@@ -647,6 +648,7 @@ public class MessageBrokerConfigurationTests {
 		protected void configureClientOutboundChannel(ChannelRegistration registration) {
 			registration.interceptors(this.interceptor, this.interceptor);
 			registration.taskExecutor().corePoolSize(21).maxPoolSize(22).keepAliveSeconds(23).queueCapacity(24);
+			registration.batchSize(16);
 		}
 
 		@Override
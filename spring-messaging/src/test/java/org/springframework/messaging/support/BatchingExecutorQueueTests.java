@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.messaging.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link BatchingExecutorQueue}.
+ *
+ * @author agent
+ */
+class BatchingExecutorQueueTests {
+
+	private final List<Runnable> tasks = new ArrayList<>();
+
+	private final List<Integer> handled = new ArrayList<>();
+
+
+	@Test
+	void concurrentTasksPerBatch() {
+		BatchingExecutorQueue<Integer> queue = new BatchingExecutorQueue<>(this.tasks::add, 2, 10, this.handled::add);
+		for (int i = 0; i < 5; i++) {
+			queue.add(i);
+		}
+		assertThat(this.tasks).hasSize(3);
+		assertThat(queue.getQueuedCount()).isEqualTo(5);
+
+		this.tasks.forEach(Runnable::run);
+		assertThat(this.handled).containsExactly(0, 1, 2, 3, 4);
+		assertThat(queue.getQueuedCount()).isEqualTo(0);
+		assertThat(queue.getHandledCount()).isEqualTo(5);
+	}
+
+	@Test
+	void serialTasksContinueAfterFailure() {
+		BatchingExecutorQueue<Integer> queue = new BatchingExecutorQueue<>(this.tasks::add, 2, 1, item -> {
+			if (item == 2) {
+				throw new IllegalStateException("Fake exception");
+			}
+			this.handled.add(item);
+		});
+		for (int i = 0; i < 5; i++) {
+			queue.add(i);
+		}
+		assertThat(this.tasks).hasSize(1);
+
+		for (int i = 0; i < this.tasks.size(); i++) {
+			this.tasks.get(i).run();
+		}
+		assertThat(this.tasks).hasSize(3);
+		assertThat(this.handled).containsExactly(0, 1, 3, 4);
+		assertThat(queue.getHandledCount()).isEqualTo(4);
+	}
+
+	@Test
+	void rejectedItemNotQueued() {
+		BatchingExecutorQueue<Integer> queue = new BatchingExecutorQueue<>(task -> {
+			throw new RejectedExecutionException("Fake rejection");
+		}, 2, 1, this.handled::add);
+
+		assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> queue.add(1));
+		assertThat(queue.getQueuedCount()).isEqualTo(0);
+		assertThat(queue.clear()).isEqualTo(0);
+	}
+
+}
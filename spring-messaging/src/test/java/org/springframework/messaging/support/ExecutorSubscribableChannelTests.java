@@ -16,6 +16,9 @@
 
 package org.springframework.messaging.support;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -32,7 +35,9 @@ import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHandler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -96,6 +101,70 @@ public class ExecutorSubscribableChannelTests {
 		assertThat(interceptor.wasAfterHandledInvoked()).isTrue();
 	}
 
+	@Test
+	public void sendWithExecutorInBatches() {
+		BeforeHandleInterceptor interceptor = new BeforeHandleInterceptor();
+		TaskExecutor executor = mock(TaskExecutor.class);
+		ExecutorSubscribableChannel testChannel = new ExecutorSubscribableChannel(executor);
+		testChannel.setBatchSize(2);
+		testChannel.addInterceptor(interceptor);
+		testChannel.subscribe(this.handler);
+		testChannel.send(this.message);
+		testChannel.send(this.message);
+		testChannel.send(this.message);
+		verify(executor, times(2)).execute(this.runnableCaptor.capture());
+		verify(this.handler, never()).handleMessage(this.message);
+
+		this.runnableCaptor.getAllValues().get(0).run();
+		verify(this.handler, times(2)).handleMessage(this.message);
+		this.runnableCaptor.getAllValues().get(1).run();
+		verify(this.handler, times(3)).handleMessage(this.message);
+		verify(executor, times(2)).execute(this.runnableCaptor.capture());
+		assertThat(interceptor.getCounter().get()).isEqualTo(3);
+		assertThat(interceptor.wasAfterHandledInvoked()).isTrue();
+	}
+
+	@Test
+	public void sendWithExecutorInBatchesContinuesAfterFailure() {
+		Message<Object> failingMessage = MessageBuilder.withPayload(this.payload).build();
+		List<Message<?>> handledMessages = new ArrayList<>();
+		TaskExecutor executor = mock(TaskExecutor.class);
+		ExecutorSubscribableChannel testChannel = new ExecutorSubscribableChannel(executor);
+		testChannel.setBatchSize(2);
+		testChannel.subscribe(message -> {
+			handledMessages.add(message);
+			if (message == failingMessage) {
+				throw new IllegalStateException("Fake exception");
+			}
+		});
+		testChannel.send(failingMessage);
+		testChannel.send(this.message);
+		verify(executor).execute(this.runnableCaptor.capture());
+
+		this.runnableCaptor.getValue().run();
+		assertThat(handledMessages).containsExactly(failingMessage, this.message);
+	}
+
+	@Test
+	public void sendWithExecutorInBatchesRejected() {
+		Message<Object> rejectedMessage = MessageBuilder.withPayload(this.payload).build();
+		TaskExecutor executor = mock(TaskExecutor.class);
+		willThrow(new RejectedExecutionException("Fake rejection")).willDoNothing()
+				.given(executor).execute(any(Runnable.class));
+		ExecutorSubscribableChannel testChannel = new ExecutorSubscribableChannel(executor);
+		testChannel.setBatchSize(2);
+		testChannel.subscribe(this.handler);
+		assertThatExceptionOfType(MessageDeliveryException.class)
+				.isThrownBy(() -> testChannel.send(rejectedMessage))
+				.withCauseInstanceOf(RejectedExecutionException.class);
+		testChannel.send(this.message);
+		verify(executor, times(2)).execute(this.runnableCaptor.capture());
+
+		this.runnableCaptor.getAllValues().get(1).run();
+		verify(this.handler).handleMessage(this.message);
+		verifyNoMoreInteractions(this.handler);
+	}
+
 	@Test
 	public void subscribeTwice()  {
 		assertThat(this.channel.subscribe(this.handler)).isTrue();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -74,6 +74,45 @@ public class NativeMessageHeaderAccessorTests {
 		assertThat(actual.get(NativeMessageHeaderAccessor.NATIVE_HEADERS)).isNotSameAs(inputNativeHeaders);
 	}
 
+	@Test
+	void createFromMessageCopiesNativeHeadersOnWrite() {
+		NativeMessageHeaderAccessor sourceAccessor = new NativeMessageHeaderAccessor();
+		sourceAccessor.addNativeHeader("foo", "bar");
+		sourceAccessor.addNativeHeader("bar", "baz");
+		Message<String> source = MessageBuilder.createMessage("p", sourceAccessor.getMessageHeaders());
+
+		NativeMessageHeaderAccessor accessor = new NativeMessageHeaderAccessor(source);
+		accessor.setNativeHeader("bar", "baz");
+		assertThat(accessor.isModified()).isFalse();
+		assertThat(accessor.getFirstNativeHeader("foo")).isEqualTo("bar");
+		assertThat(accessor.toMap().get(NativeMessageHeaderAccessor.NATIVE_HEADERS))
+				.isSameAs(source.getHeaders().get(NativeMessageHeaderAccessor.NATIVE_HEADERS));
+
+		accessor.addNativeHeader("foo", "qux");
+		accessor.removeNativeHeader("bar");
+		assertThat(accessor.isModified()).isTrue();
+		assertThat(accessor.getNativeHeader("foo")).containsExactly("bar", "qux");
+		assertThat(accessor.containsNativeHeader("bar")).isFalse();
+
+		NativeMessageHeaderAccessor sourceCheck = new NativeMessageHeaderAccessor(source);
+		assertThat(sourceCheck.getNativeHeader("foo")).containsExactly("bar");
+		assertThat(sourceCheck.getNativeHeader("bar")).containsExactly("baz");
+	}
+
+	@Test
+	void createFromMutableMessageCopiesNativeHeaders() {
+		NativeMessageHeaderAccessor sourceAccessor = new NativeMessageHeaderAccessor();
+		sourceAccessor.addNativeHeader("foo", "bar");
+		sourceAccessor.setLeaveMutable(true);
+		Message<String> source = MessageBuilder.createMessage("p", sourceAccessor.getMessageHeaders());
+
+		NativeMessageHeaderAccessor accessor = new NativeMessageHeaderAccessor(source);
+		sourceAccessor.addNativeHeader("foo", "baz");
+
+		assertThat(accessor.getNativeHeader("foo")).containsExactly("bar");
+		assertThat(sourceAccessor.getNativeHeader("foo")).containsExactly("bar", "baz");
+	}
+
 	@Test
 	public void createFromMessageNull() {
 		NativeMessageHeaderAccessor headerAccessor = new NativeMessageHeaderAccessor((Message<?>) null);
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks for decoding large JSON arrays into a {@code List} with
+ * {@link AbstractJackson2Decoder#decodeToMono}, aggregating the entire input
+ * versus {@link AbstractJackson2Decoder#setStreamingArrayDecoding streaming}
+ * the array elements.
+ *
+ * @author agent
+ * @see Jackson2JsonEncoderBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonDecoderBenchmark {
+
+	private static final int CHUNK_SIZE = 8192;
+
+
+	/**
+	 * Benchmark data holding JSON arrays split into chunks of 8K.
+	 * An {@code elementCount} parameter can be used to grow the size of the arrays.
+	 */
+	@State(Scope.Benchmark)
+	public static class DecodeData {
+
+		@Param({"100", "10000"})
+		int elementCount;
+
+		@Param({"false", "true"})
+		boolean streaming;
+
+		Jackson2JsonDecoder jsonDecoder;
+
+		List<byte[]> projectChunks;
+
+		List<byte[]> numberChunks;
+
+		ResolvableType projectListType = ResolvableType.forClassWithGenerics(List.class, Project.class);
+
+		ResolvableType numberListType = ResolvableType.forClassWithGenerics(List.class, Long.class);
+
+		@Setup
+		public void setup() throws Exception {
+			ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+			this.jsonDecoder = new Jackson2JsonDecoder(objectMapper);
+			this.jsonDecoder.setMaxInMemorySize(-1);
+			this.jsonDecoder.setStreamingArrayDecoding(this.streaming);
+			List<Project> projects = new ArrayList<>(this.elementCount);
+			List<Long> numbers = new ArrayList<>(this.elementCount);
+			for (int i = 0; i < this.elementCount; i++) {
+				projects.add(new Project("spring" + i, 2));
+				numbers.add(i * 1000L);
+			}
+			this.projectChunks = split(objectMapper.writeValueAsBytes(projects));
+			this.numberChunks = split(objectMapper.writeValueAsBytes(numbers));
+		}
+
+		private static List<byte[]> split(byte[] content) {
+			List<byte[]> chunks = new ArrayList<>();
+			for (int i = 0; i < content.length; i += CHUNK_SIZE) {
+				chunks.add(Arrays.copyOfRange(content, i, Math.min(i + CHUNK_SIZE, content.length)));
+			}
+			return chunks;
+		}
+
+		Flux<DataBuffer> input(List<byte[]> chunks) {
+			return Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+		}
+	}
+
+	@Benchmark
+	public Object decodeProjectsToMono(DecodeData data) {
+		return data.jsonDecoder.decodeToMono(data.input(data.projectChunks), data.projectListType,
+				MediaType.APPLICATION_JSON, Collections.emptyMap()).block();
+	}
+
+	@Benchmark
+	public Object decodeNumbersToMono(DecodeData data) {
+		return data.jsonDecoder.decodeToMono(data.input(data.numberChunks), data.numberListType,
+				MediaType.APPLICATION_JSON, Collections.emptyMap()).block();
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+
+/**
+ * Benchmarks for finding the patterns that match a request path among a large
+ * number of request mappings, most of them with URI variables: matching every
+ * pattern in turn versus matching only the candidates of a {@link PathPatternIndex}.
+ *
+ * @author agent
+ * @see PathMatchingBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathPatternIndexBenchmark {
+
+	@Benchmark
+	public void matchAllPatterns(MappingData data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.patterns) {
+				if (pattern.matches(path)) {
+					bh.consume(pattern);
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void matchIndexedPatterns(MappingData data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			for (PathPattern pattern : data.index.getCandidates(path)) {
+				if (pattern.matches(path)) {
+					bh.consume(pattern);
+				}
+			}
+		}
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class MappingData {
+
+		@Param({"100", "1500"})
+		public int mappingCount;
+
+		@Param("64")
+		public int sampleSize;
+
+		public List<PathPattern> patterns = new ArrayList<>();
+
+		public PathPatternIndex<PathPattern> index = new PathPatternIndex<>();
+
+		public List<PathContainer> requestPaths = new ArrayList<>();
+
+		@Setup(Level.Trial)
+		public void registerPatterns() {
+			PathPatternParser parser = new PathPatternParser();
+			List<String> paths = new ArrayList<>();
+			int resourceCount = this.mappingCount / 5;
+			for (int i = 0; i < resourceCount; i++) {
+				String resource = "/api/v1/resource" + i;
+				addPattern(parser, resource);
+				addPattern(parser, resource + "/{id}");
+				addPattern(parser, resource + "/{id}/items");
+				addPattern(parser, resource + "/{id}/items/{itemId}");
+				addPattern(parser, resource + "/{id}/{attribute}.json");
+				paths.add(resource + "/42");
+				paths.add(resource + "/42/items/7");
+				paths.add(resource + "/42/name.json");
+			}
+			addPattern(parser, "/static/**");
+			paths.add("/static/css/main.css");
+
+			Random random = new Random(42);
+			for (int i = 0; i < this.sampleSize; i++) {
+				this.requestPaths.add(PathContainer.parsePath(paths.get(random.nextInt(paths.size()))));
+			}
+		}
+
+		private void addPattern(PathPatternParser parser, String pattern) {
+			PathPattern pathPattern = parser.parse(pattern);
+			this.patterns.add(pathPattern);
+			this.index.add(pathPattern, pathPattern);
+		}
+	}
+
+}
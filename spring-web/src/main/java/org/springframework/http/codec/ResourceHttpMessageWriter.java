@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -56,6 +56,11 @@ import org.springframework.util.MimeTypeUtils;
  * <p>Also an implementation of {@code HttpMessageWriter} with support for writing one
  * or more {@link ResourceRegion}'s based on the HTTP ranges specified in the request.
  *
+ * <p>File resources and single regions of them are transferred without copying
+ * if the response is a {@link ZeroCopyHttpOutputMessage}, as with Reactor Netty
+ * and Undertow. Otherwise, and on Servlet containers, the content is read into
+ * data buffers.
+ *
  * <p>For reading to a Resource, use {@link ResourceDecoder} wrapped with
  * {@link DecoderHttpMessageReader}.
  *
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,17 +18,27 @@ package org.springframework.http.codec.json;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
 import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import com.fasterxml.jackson.databind.util.ClassUtil;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -48,6 +58,7 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.MimeType;
 
 /**
@@ -63,8 +74,14 @@ import org.springframework.util.MimeType;
  */
 public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport implements HttpMessageDecoder<Object> {
 
+	private static final Set<Class<?>> scalarTypes = Set.of(String.class, Boolean.class,
+			Integer.class, Long.class, Double.class, BigInteger.class, BigDecimal.class);
+
+
 	private int maxInMemorySize = 256 * 1024;
 
+	private boolean streamingArrayDecoding = false;
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -95,6 +112,35 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		return this.maxInMemorySize;
 	}
 
+	/**
+	 * Whether to decode a top-level JSON array into a {@code Collection} or array
+	 * target element by element in {@link #decodeToMono}, e.g. for
+	 * {@code Mono<List<T>>}, rather than aggregating the entire input first.
+	 * <p>When enabled, the input is not joined into a single buffer, and scalar
+	 * elements of simple types like {@code String} or {@code Long} are read
+	 * without further buffering. Since the decoded elements are all held in
+	 * memory, the {@link #setMaxInMemorySize max in-memory size} still applies
+	 * to the total number of bytes consumed, as well as to each array element.
+	 * This applies to target types that an {@code ArrayList} can be assigned to,
+	 * e.g. {@code List} and {@code Collection}, as well as to object arrays and
+	 * arrays of primitive numbers.
+	 * <p>By default this is set to {@code false}.
+	 * @param streamingArrayDecoding whether to decode top-level arrays as a stream
+	 * @since 6.0
+	 */
+	public void setStreamingArrayDecoding(boolean streamingArrayDecoding) {
+		this.streamingArrayDecoding = streamingArrayDecoding;
+	}
+
+	/**
+	 * Return whether top-level JSON arrays are decoded element by element
+	 * in {@link #decodeToMono}.
+	 * @since 6.0
+	 */
+	public boolean isStreamingArrayDecoding() {
+		return this.streamingArrayDecoding;
+	}
+
 
 	@Override
 	public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
@@ -175,10 +221,113 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 	public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
+		if (this.streamingArrayDecoding) {
+			ResolvableType arrayElementType = getArrayElementType(elementType);
+			if (arrayElementType != null) {
+				return decodeArrayToMono(input, elementType, arrayElementType, mimeType, hints);
+			}
+		}
 		return DataBufferUtils.join(input, this.maxInMemorySize)
 				.flatMap(dataBuffer -> Mono.justOrEmpty(decode(dataBuffer, elementType, mimeType, hints)));
 	}
 
+	private Mono<Object> decodeArrayToMono(Publisher<DataBuffer> input, ResolvableType targetType,
+			ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+		ObjectMapper mapper = selectObjectMapper(targetType, mimeType);
+		if (mapper == null) {
+			throw new IllegalStateException("No ObjectMapper for " + targetType);
+		}
+
+		boolean forceUseOfBigDecimal = mapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+		boolean requireArray = !mapper.isEnabled(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+		ObjectReader reader = getObjectReader(mapper, elementType, hints);
+		Class<?> scalarType = getScalarType(mapper, reader.getValueType());
+
+		return Mono.defer(() -> {
+			AtomicLong byteCount = new AtomicLong();
+			Flux<DataBuffer> processed = processInput(input, targetType, mimeType, hints)
+					.doOnNext(dataBuffer -> {
+						long count = byteCount.addAndGet(dataBuffer.readableByteCount());
+						if (this.maxInMemorySize >= 0 && count > this.maxInMemorySize) {
+							DataBufferUtils.release(dataBuffer);
+							throw new DataBufferLimitException(
+									"Exceeded limit on max bytes to buffer : " + this.maxInMemorySize);
+						}
+					});
+			return Jackson2Tokenizer.tokenizeArrayElements(processed, mapper.getFactory(), mapper,
+							scalarType, forceUseOfBigDecimal, requireArray, getMaxInMemorySize())
+					.collect(ArrayList::new, (List<Object> values, Object element) -> {
+						try {
+							values.add(element instanceof TokenBuffer tokenBuffer ?
+									reader.readValue(tokenBuffer.asParser(mapper)) : element);
+						}
+						catch (IOException ex) {
+							throw processException(ex);
+						}
+					})
+					.filter(values -> byteCount.get() > 0)
+					.map(values -> {
+						Object value = (targetType.isArray() ? toArray(values, elementType.toClass()) : values);
+						logValue(value, hints);
+						return value;
+					});
+		});
+	}
+
+	/**
+	 * Return the element type for decoding the given target type from the
+	 * elements of a JSON array, or {@code null} if not supported.
+	 */
+	@Nullable
+	private static ResolvableType getArrayElementType(ResolvableType targetType) {
+		if (targetType.isArray()) {
+			Class<?> componentType = targetType.getComponentType().resolve();
+			// byte[] and char[] are decoded from JSON strings
+			return (componentType != null && componentType != byte.class && componentType != char.class ?
+					targetType.getComponentType() : null);
+		}
+		Class<?> targetClass = targetType.resolve();
+		if (targetClass != null && Collection.class.isAssignableFrom(targetClass) &&
+				targetClass.isAssignableFrom(ArrayList.class)) {
+			ResolvableType elementType = targetType.asCollection().getGeneric();
+			return (elementType.resolve() != null ? elementType : null);
+		}
+		return null;
+	}
+
+	/**
+	 * Return the type of scalar elements to read directly from the parser, provided
+	 * that the mapper uses Jackson's standard deserializer for the element type.
+	 */
+	@Nullable
+	private static Class<?> getScalarType(ObjectMapper mapper, JavaType elementType) {
+		Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(elementType.getRawClass());
+		if (!scalarTypes.contains(type)) {
+			return null;
+		}
+		DeserializationContext context = mapper.getDeserializationContext();
+		if (context instanceof DefaultDeserializationContext defaultContext) {
+			context = defaultContext.createInstance(
+					mapper.getDeserializationConfig(), null, mapper.getInjectableValues());
+		}
+		try {
+			JsonDeserializer<Object> deserializer = context.findRootValueDeserializer(elementType);
+			return (ClassUtil.isJacksonStdImpl(deserializer) ? type : null);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	private static Object toArray(List<Object> values, Class<?> componentType) {
+		Object array = Array.newInstance(componentType, values.size());
+		for (int i = 0; i < values.size(); i++) {
+			Array.set(array, i, values.get(i));
+		}
+		return array;
+	}
+
 	@Override
 	public Object decode(DataBuffer dataBuffer, ResolvableType targetType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) throws DecodingException {
@@ -17,6 +17,8 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -37,12 +39,17 @@ import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
 
 /**
  * {@link Function} to transform a JSON stream of arbitrary size, byte array
  * chunks into a {@code Flux<TokenBuffer>} where each token buffer is a
  * well-formed JSON object.
  *
+ * <p>Alternatively, the elements of a top-level JSON array may be read as they
+ * arrive, with scalar elements of a simple target type read straight from the
+ * parser rather than through a {@code TokenBuffer}.
+ *
  * @author Arjen Poutsma
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
@@ -60,6 +67,11 @@ final class Jackson2Tokenizer {
 
 	private final int maxInMemorySize;
 
+	@Nullable
+	private final Class<?> scalarType;
+
+	private final boolean requireArray;
+
 	private int objectDepth;
 
 	private int arrayDepth;
@@ -68,6 +80,8 @@ final class Jackson2Tokenizer {
 
 	private TokenBuffer tokenBuffer;
 
+	private boolean started;
+
 
 	// TODO: change to ByteBufferFeeder when supported by Jackson
 	// See https://github.com/FasterXML/jackson-core/issues/478
@@ -75,7 +89,8 @@ final class Jackson2Tokenizer {
 
 
 	private Jackson2Tokenizer(JsonParser parser, DeserializationContext deserializationContext,
-			boolean tokenizeArrayElements, boolean forceUseOfBigDecimal, int maxInMemorySize) {
+			boolean tokenizeArrayElements, boolean forceUseOfBigDecimal, int maxInMemorySize,
+			@Nullable Class<?> scalarType, boolean requireArray) {
 
 		this.parser = parser;
 		this.deserializationContext = deserializationContext;
@@ -83,12 +98,14 @@ final class Jackson2Tokenizer {
 		this.forceUseOfBigDecimal = forceUseOfBigDecimal;
 		this.inputFeeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
 		this.maxInMemorySize = maxInMemorySize;
+		this.scalarType = scalarType;
+		this.requireArray = requireArray;
 		this.tokenBuffer = createToken();
 	}
 
 
 
-	private List<TokenBuffer> tokenize(DataBuffer dataBuffer) {
+	private List<Object> tokenize(DataBuffer dataBuffer) {
 		int bufferSize = dataBuffer.readableByteCount();
 		byte[] bytes = new byte[bufferSize];
 		dataBuffer.read(bytes);
@@ -96,7 +113,7 @@ final class Jackson2Tokenizer {
 
 		try {
 			this.inputFeeder.feedInput(bytes, 0, bytes.length);
-			List<TokenBuffer> result = parseTokenBufferFlux();
+			List<Object> result = parseTokenBufferFlux();
 			assertInMemorySize(bufferSize, result);
 			return result;
 		}
@@ -108,7 +125,7 @@ final class Jackson2Tokenizer {
 		}
 	}
 
-	private Flux<TokenBuffer> endOfInput() {
+	private Flux<Object> endOfInput() {
 		return Flux.defer(() -> {
 			this.inputFeeder.endOfInput();
 			try {
@@ -123,8 +140,8 @@ final class Jackson2Tokenizer {
 		});
 	}
 
-	private List<TokenBuffer> parseTokenBufferFlux() throws IOException {
-		List<TokenBuffer> result = new ArrayList<>();
+	private List<Object> parseTokenBufferFlux() throws IOException {
+		List<Object> result = new ArrayList<>();
 
 		// SPR-16151: Smile data format uses null to separate documents
 		boolean previousNull = false;
@@ -141,6 +158,12 @@ final class Jackson2Tokenizer {
 			else {
 				previousNull = false;
 			}
+			if (!this.started) {
+				this.started = true;
+				if (this.requireArray && token != JsonToken.START_ARRAY) {
+					throw new DecodingException("JSON decoding error: Expected top-level JSON array but got " + token);
+				}
+			}
 			updateDepth(token);
 			if (!this.tokenizeArrayElements) {
 				processTokenNormal(token, result);
@@ -161,7 +184,7 @@ final class Jackson2Tokenizer {
 		}
 	}
 
-	private void processTokenNormal(JsonToken token, List<TokenBuffer> result) throws IOException {
+	private void processTokenNormal(JsonToken token, List<Object> result) throws IOException {
 		this.tokenBuffer.copyCurrentEvent(this.parser);
 
 		if ((token.isStructEnd() || token.isScalarValue()) && this.objectDepth == 0 && this.arrayDepth == 0) {
@@ -170,7 +193,15 @@ final class Jackson2Tokenizer {
 		}
 	}
 
-	private void processTokenArray(JsonToken token, List<TokenBuffer> result) throws IOException {
+	private void processTokenArray(JsonToken token, List<Object> result) throws IOException {
+		if (this.scalarType != null && token.isScalarValue() && this.objectDepth == 0 && this.arrayDepth == 1) {
+			Object value = readScalarValue(token, this.scalarType);
+			if (value != null) {
+				result.add(value);
+				return;
+			}
+		}
+
 		if (!isTopLevelArrayToken(token)) {
 			this.tokenBuffer.copyCurrentEvent(this.parser);
 		}
@@ -182,6 +213,45 @@ final class Jackson2Tokenizer {
 		}
 	}
 
+	/**
+	 * Read the current scalar token as a value of the given type, provided
+	 * that the token maps to the type without any coercion.
+	 * @return the value, or {@code null} to go through a {@code TokenBuffer}
+	 */
+	@Nullable
+	private Object readScalarValue(JsonToken token, Class<?> type) throws IOException {
+		if (token == JsonToken.VALUE_STRING) {
+			return (type == String.class ? this.parser.getText() : null);
+		}
+		else if (token == JsonToken.VALUE_NUMBER_INT) {
+			JsonParser.NumberType numberType = this.parser.getNumberType();
+			if (type == Integer.class) {
+				return (numberType == JsonParser.NumberType.INT ? this.parser.getIntValue() : null);
+			}
+			else if (type == Long.class) {
+				return (numberType != JsonParser.NumberType.BIG_INTEGER ? this.parser.getLongValue() : null);
+			}
+			else if (type == BigInteger.class) {
+				return this.parser.getBigIntegerValue();
+			}
+			else if (type == BigDecimal.class) {
+				return this.parser.getDecimalValue();
+			}
+		}
+		else if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+			if (type == Double.class && !this.forceUseOfBigDecimal) {
+				return this.parser.getDoubleValue();
+			}
+			else if (type == BigDecimal.class) {
+				return this.parser.getDecimalValue();
+			}
+		}
+		else if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+			return (type == Boolean.class ? token == JsonToken.VALUE_TRUE : null);
+		}
+		return null;
+	}
+
 	private TokenBuffer createToken() {
 		TokenBuffer tokenBuffer = new TokenBuffer(this.parser, this.deserializationContext);
 		tokenBuffer.forceUseOfBigDecimal(this.forceUseOfBigDecimal);
@@ -193,7 +263,7 @@ final class Jackson2Tokenizer {
 				(token == JsonToken.END_ARRAY && this.arrayDepth == 0));
 	}
 
-	private void assertInMemorySize(int currentBufferSize, List<TokenBuffer> result) {
+	private void assertInMemorySize(int currentBufferSize, List<Object> result) {
 		if (this.maxInMemorySize >= 0) {
 			if (!result.isEmpty()) {
 				this.byteCount = 0;
@@ -228,9 +298,48 @@ final class Jackson2Tokenizer {
 	 * @param maxInMemorySize maximum memory size
 	 * @return the resulting token buffers
 	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
 	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
 			ObjectMapper objectMapper, boolean tokenizeArrays, boolean forceUseOfBigDecimal, int maxInMemorySize) {
 
+		// Without a scalar type, all elements are token buffers
+		return (Flux) tokenize(dataBuffers, jsonFactory, objectMapper, tokenizeArrays, forceUseOfBigDecimal,
+				maxInMemorySize, null, false);
+	}
+
+	/**
+	 * Tokenize the given {@code Flux<DataBuffer>} containing a top-level JSON array
+	 * into its elements, emitting each element as soon as it has been received.
+	 * <p>Scalar elements that map to the given simple type without coercion, e.g.
+	 * JSON strings for {@code String} or JSON integers for {@code Long}, are read
+	 * directly from the parser, whereas all other elements are emitted as
+	 * {@link TokenBuffer}. Only one element at a time is buffered, subject to
+	 * the given maximum memory size.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param objectMapper the current mapper instance
+	 * @param scalarType the wrapper type of scalar elements to read directly,
+	 * i.e. {@code String}, {@code Boolean}, {@code Integer}, {@code Long},
+	 * {@code Double}, {@code BigInteger} or {@code BigDecimal}, if any
+	 * @param forceUseOfBigDecimal if {@code true}, any floating point values encountered
+	 * in source will use {@link java.math.BigDecimal}
+	 * @param requireArray whether to reject input that does not start with an array
+	 * @param maxInMemorySize maximum memory size
+	 * @return the resulting scalar values and token buffers
+	 * @since 6.0
+	 */
+	public static Flux<Object> tokenizeArrayElements(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			ObjectMapper objectMapper, @Nullable Class<?> scalarType, boolean forceUseOfBigDecimal,
+			boolean requireArray, int maxInMemorySize) {
+
+		return tokenize(dataBuffers, jsonFactory, objectMapper, true, forceUseOfBigDecimal,
+				maxInMemorySize, scalarType, requireArray);
+	}
+
+	private static Flux<Object> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			ObjectMapper objectMapper, boolean tokenizeArrays, boolean forceUseOfBigDecimal, int maxInMemorySize,
+			@Nullable Class<?> scalarType, boolean requireArray) {
+
 		try {
 			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
 			DeserializationContext context = objectMapper.getDeserializationContext();
@@ -238,8 +347,8 @@ final class Jackson2Tokenizer {
 				context = ((DefaultDeserializationContext) context).createInstance(
 						objectMapper.getDeserializationConfig(), parser, objectMapper.getInjectableValues());
 			}
-			Jackson2Tokenizer tokenizer =
-					new Jackson2Tokenizer(parser, context, tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize);
+			Jackson2Tokenizer tokenizer = new Jackson2Tokenizer(parser, context, tokenizeArrays,
+					forceUseOfBigDecimal, maxInMemorySize, scalarType, requireArray);
 			return dataBuffers.concatMapIterable(tokenizer::tokenize).concatWith(tokenizer.endOfInput());
 		}
 		catch (IOException ex) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -107,6 +107,15 @@ public class ServletHttpHandlerAdapter implements Servlet {
 		return this.servletPath;
 	}
 
+	/**
+	 * Set the {@link DataBufferFactory} to use for request and response bodies.
+	 * <p>By default this is {@link DefaultDataBufferFactory#sharedInstance}.
+	 * A {@link org.springframework.core.io.buffer.PooledDataBufferFactory} may
+	 * be used instead only if the server is done with the content of a buffer
+	 * once a write call returns, since released buffers are reused right away.
+	 * This is not the case with Jetty, which keeps a written {@code ByteBuffer}
+	 * until an asynchronous write completes.
+	 */
 	public void setDataBufferFactory(DataBufferFactory dataBufferFactory) {
 		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
 		this.dataBufferFactory = dataBufferFactory;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -43,6 +43,10 @@ import org.springframework.util.Assert;
 /**
  * Adapt {@link ServerHttpResponse} to the Servlet {@link HttpServletResponse}.
  *
+ * <p>This response is not a {@link org.springframework.http.ZeroCopyHttpOutputMessage}:
+ * the Servlet API offers no file transfer, so file content is read into data
+ * buffers and written through the {@link ServletOutputStream} like any other body.
+ *
  * @author Rossen Stoyanchev
  * @since 5.0
  */
@@ -54,6 +54,13 @@ public class UndertowHttpHandlerAdapter implements io.undertow.server.HttpHandle
 	}
 
 
+	/**
+	 * Set the {@link DataBufferFactory} to use for request and response bodies.
+	 * <p>By default this is {@link DefaultDataBufferFactory#sharedInstance}.
+	 * A {@link org.springframework.core.io.buffer.PooledDataBufferFactory} may
+	 * be used instead only if the server is done with the content of a buffer
+	 * once a write call returns, since released buffers are reused right away.
+	 */
 	public void setDataBufferFactory(DataBufferFactory bufferFactory) {
 		Assert.notNull(bufferFactory, "DataBufferFactory must not be null");
 		this.bufferFactory = bufferFactory;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,9 +22,12 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -39,6 +42,12 @@ import org.springframework.web.server.WebSession;
 /**
  * Simple Map-based storage for {@link WebSession} instances.
  *
+ * <p>Stored sessions are indexed by their expiration time, so that removing
+ * expired sessions only visits the sessions which are due to expire, rather
+ * than the entire store. Once {@link #setMaxSessions maxSessions} is reached,
+ * new sessions are rejected unless {@link #setEvictLeastRecentlyUsed eviction}
+ * of the least recently used sessions is enabled.
+ *
  * @author Rossen Stoyanchev
  * @author Rob Winch
  * @since 5.0
@@ -50,6 +59,8 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 
 	private int maxSessions = 10000;
 
+	private boolean evictLeastRecentlyUsed;
+
 	private Clock clock = Clock.system(ZoneId.of("GMT"));
 
 	private final Map<String, InMemoryWebSession> sessions = new ConcurrentHashMap<>();
@@ -77,6 +88,30 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 		return this.maxSessions;
 	}
 
+	/**
+	 * Whether to evict the least recently used session in order to store an
+	 * additional session once the {@link #setMaxSessions maxSessions} limit is
+	 * reached, rather than rejecting it with an {@link IllegalStateException}.
+	 * <p>More precisely, the session closest to its expiration is evicted,
+	 * which is the least recently used one for sessions sharing the same
+	 * {@link WebSession#getMaxIdleTime() max idle time}.
+	 * <p>By default set to {@code false}.
+	 * @param evictLeastRecentlyUsed whether to evict sessions when the limit is reached
+	 * @since 6.0
+	 */
+	public void setEvictLeastRecentlyUsed(boolean evictLeastRecentlyUsed) {
+		this.evictLeastRecentlyUsed = evictLeastRecentlyUsed;
+	}
+
+	/**
+	 * Return whether the least recently used session is evicted once the
+	 * {@link #setMaxSessions maxSessions} limit is reached.
+	 * @since 6.0
+	 */
+	public boolean isEvictLeastRecentlyUsed() {
+		return this.evictLeastRecentlyUsed;
+	}
+
 	/**
 	 * Configure the {@link Clock} to use to set lastAccessTime on every created
 	 * session and to calculate if it is expired.
@@ -181,6 +216,8 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 
 		private final AtomicReference<State> state = new AtomicReference<>(State.NEW);
 
+		private final AtomicBoolean indexed = new AtomicBoolean();
+
 
 		public InMemoryWebSession(Instant creationTime) {
 			this.creationTime = creationTime;
@@ -248,7 +285,9 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 		@Override
 		public Mono<Void> save() {
 
-			checkMaxSessionsLimit();
+			if (!isStored()) {
+				checkMaxSessionsLimit();
+			}
 
 			// Implicitly started session..
 			if (!getAttributes().isEmpty()) {
@@ -264,14 +303,27 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 					InMemoryWebSessionStore.this.sessions.remove(this.getId());
 					return Mono.error(new IllegalStateException("Session was invalidated"));
 				}
+
+				if (this.indexed.compareAndSet(false, true)) {
+					expiredSessionChecker.index(this);
+				}
 			}
 
 			return Mono.empty();
 		}
 
+		private boolean isStored() {
+			return (sessions.get(getId()) == this);
+		}
+
 		private void checkMaxSessionsLimit() {
 			if (sessions.size() >= maxSessions) {
-				expiredSessionChecker.removeExpiredSessions(clock.instant());
+				if (evictLeastRecentlyUsed) {
+					expiredSessionChecker.evictSessions(clock.instant());
+				}
+				else {
+					expiredSessionChecker.removeExpiredSessions(clock.instant());
+				}
 				if (sessions.size() >= maxSessions) {
 					throw new IllegalStateException("Max sessions limit reached: " + sessions.size());
 				}
@@ -302,9 +354,28 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 		private void updateLastAccessTime(Instant currentTime) {
 			this.lastAccessTime = currentTime;
 		}
+
+		/**
+		 * Return the time at which this session expires unless accessed again,
+		 * or {@link Instant#MAX} if it never expires.
+		 */
+		private Instant getExpirationTime() {
+			Duration maxIdleTime = this.maxIdleTime;
+			return (maxIdleTime.isNegative() ? Instant.MAX : this.lastAccessTime.plus(maxIdleTime));
+		}
 	}
 
 
+	/**
+	 * Removes expired sessions, based on an index of the stored sessions by
+	 * expiration time.
+	 * <p>The index is not updated when a session is accessed, which would make
+	 * every access pay for the ordering. Instead, each stored session is indexed
+	 * once, and is re-indexed with its actual expiration time when its indexed
+	 * expiration time is reached while it has been accessed in the meantime.
+	 * Removing expired sessions is therefore proportional to the number of
+	 * sessions due to expire, rather than to the number of stored sessions.
+	 */
 	private class ExpiredSessionChecker {
 
 		/** Max time between expiration checks. */
@@ -313,6 +384,11 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 
 		private final ReentrantLock lock = new ReentrantLock();
 
+		private final ConcurrentSkipListSet<Expiration> expirations = new ConcurrentSkipListSet<>(
+				Comparator.comparing(Expiration::time).thenComparingLong(Expiration::sequence));
+
+		private final AtomicLong sequence = new AtomicLong();
+
 		private Instant checkTime = clock.instant().plus(CHECK_PERIOD, ChronoUnit.MILLIS);
 
 
@@ -322,19 +398,24 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 			}
 		}
 
+		public void index(InMemoryWebSession session) {
+			this.expirations.add(new Expiration(
+					session.getExpirationTime(), this.sequence.incrementAndGet(), session));
+		}
+
 		public void removeExpiredSessions(Instant now) {
 			if (sessions.isEmpty()) {
 				return;
 			}
 			if (this.lock.tryLock()) {
 				try {
-					Iterator<InMemoryWebSession> iterator = sessions.values().iterator();
-					while (iterator.hasNext()) {
-						InMemoryWebSession session = iterator.next();
-						if (session.isExpired(now)) {
-							iterator.remove();
-							session.invalidate();
+					Expiration expiration;
+					while ((expiration = this.expirations.pollFirst()) != null) {
+						if (!expiration.time().isBefore(now)) {
+							this.expirations.add(expiration);
+							break;
 						}
+						process(expiration.session(), now);
 					}
 				}
 				finally {
@@ -343,6 +424,65 @@ public class InMemoryWebSessionStore implements WebSessionStore {
 				}
 			}
 		}
+
+		/**
+		 * Remove expired sessions, then evict the sessions closest to their
+		 * expiration until the number of sessions is below the limit.
+		 */
+		public void evictSessions(Instant now) {
+			this.lock.lock();
+			try {
+				Expiration expiration;
+				while (sessions.size() >= maxSessions && (expiration = this.expirations.pollFirst()) != null) {
+					InMemoryWebSession session = expiration.session();
+					if (session.isStored() && !expiration.time().isBefore(session.getExpirationTime())) {
+						// Not accessed since it was indexed: least recently used
+						remove(session);
+					}
+					else {
+						process(session, now);
+					}
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void process(InMemoryWebSession session, Instant now) {
+			if (!session.isStored()) {
+				unindex(session);
+			}
+			else if (session.isExpired(now)) {
+				remove(session);
+			}
+			else {
+				index(session);
+			}
+		}
+
+		private void remove(InMemoryWebSession session) {
+			if (session.isStored()) {
+				sessions.remove(session.getId(), session);
+				session.invalidate();
+			}
+			unindex(session);
+		}
+
+		private void unindex(InMemoryWebSession session) {
+			session.indexed.set(false);
+			// Stored again in the meantime?
+			if (session.isStored() && !session.isExpired() && session.indexed.compareAndSet(false, true)) {
+				index(session);
+			}
+		}
+	}
+
+
+	/**
+	 * Entry in the expiration index.
+	 */
+	private record Expiration(Instant time, long sequence, InMemoryWebSession session) {
 	}
 
 
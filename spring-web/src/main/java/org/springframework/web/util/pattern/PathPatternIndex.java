@@ -0,0 +1,292 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Segment trie of {@link PathPattern PathPatterns} that narrows down the
+ * values registered for patterns to the candidates that may match a given
+ * path, without evaluating every pattern.
+ *
+ * <p>Literal pattern segments are indexed by their text, whereas a segment
+ * with captures or wildcards, e.g. {@code "{id}"} or {@code "*.json"}, matches
+ * any path segment at its position. Patterns ending with {@code "**"} or
+ * {@code "{*path}"} are candidates for all paths below their literal prefix.
+ *
+ * <p>Candidates are a superset of the values whose patterns actually match,
+ * i.e. callers still need to match the patterns of every candidate, and the
+ * same value is returned only once even if it was added for several patterns.
+ *
+ * <p>This class is not thread-safe: concurrent modifications and lookups
+ * need to be guarded externally.
+ *
+ * @author agent
+ * @since 6.0
+ * @param <T> the type of values registered for patterns
+ */
+public class PathPatternIndex<T> {
+
+	private final Node<T> root = new Node<>();
+
+	private boolean caseInsensitiveLiterals;
+
+	private int size;
+
+
+	/**
+	 * Add the given value for the given pattern.
+	 * @param pattern the pattern to index
+	 * @param value the value to return as candidate for matching paths
+	 */
+	public void add(PathPattern pattern, T value) {
+		Assert.notNull(pattern, "PathPattern must not be null");
+		Assert.notNull(value, "Value must not be null");
+		Node<T> node = this.root;
+		PathElement elem = pattern.getHeadSection();
+		while (elem != null) {
+			if (isCatchAll(elem)) {
+				node.getCatchAll().add(value);
+				this.size++;
+				return;
+			}
+			if (elem instanceof SeparatorPathElement) {
+				elem = elem.next;
+				continue;
+			}
+			PathElement segmentEnd = getSegmentEnd(elem);
+			String literal = getLiteral(elem, segmentEnd);
+			if (literal != null) {
+				node = node.getLiteralChildren().computeIfAbsent(literal, key -> new Node<>());
+			}
+			else {
+				if (segmentEnd.next == null) {
+					// A trailing wildcard like "/path/*" also matches "/path/"
+					node.getTerminal().add(value);
+				}
+				if (node.wildcardChild == null) {
+					node.wildcardChild = new Node<>();
+				}
+				node = node.wildcardChild;
+			}
+			elem = segmentEnd.next;
+		}
+		node.getTerminal().add(value);
+		this.size++;
+	}
+
+	/**
+	 * Remove the given value for the given pattern.
+	 * @param pattern the pattern the value was added for
+	 * @param value the value to remove
+	 * @return {@code true} if the value was registered for the pattern
+	 */
+	public boolean remove(PathPattern pattern, T value) {
+		Assert.notNull(pattern, "PathPattern must not be null");
+		boolean removed = remove(this.root, pattern.getHeadSection(), value);
+		if (removed) {
+			this.size--;
+		}
+		return removed;
+	}
+
+	private boolean remove(Node<T> node, @Nullable PathElement elem, T value) {
+		while (elem instanceof SeparatorPathElement) {
+			elem = elem.next;
+		}
+		if (elem == null) {
+			return (node.terminal != null && node.terminal.remove(value));
+		}
+		if (isCatchAll(elem)) {
+			return (node.catchAll != null && node.catchAll.remove(value));
+		}
+		PathElement segmentEnd = getSegmentEnd(elem);
+		String literal = getLiteral(elem, segmentEnd);
+		boolean removed;
+		if (literal != null) {
+			Node<T> child = (node.literalChildren != null ? node.literalChildren.get(literal) : null);
+			removed = (child != null && remove(child, segmentEnd.next, value));
+			if (removed && child.isEmpty()) {
+				node.literalChildren.remove(literal);
+			}
+		}
+		else {
+			Node<T> child = node.wildcardChild;
+			removed = (child != null && remove(child, segmentEnd.next, value));
+			if (removed) {
+				if (segmentEnd.next == null && node.terminal != null) {
+					node.terminal.remove(value);
+				}
+				if (child.isEmpty()) {
+					node.wildcardChild = null;
+				}
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Whether any patterns have been added to this index.
+	 */
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Return the candidate values for the given path, i.e. the values of all
+	 * patterns that may match the path.
+	 * @param path the path to find candidates for
+	 * @return the candidates, possibly empty, in no particular order
+	 */
+	public Collection<T> getCandidates(PathContainer path) {
+		List<String> segments = new ArrayList<>();
+		for (PathContainer.Element element : path.elements()) {
+			if (element instanceof PathContainer.PathSegment segment) {
+				segments.add(segment.valueToMatch());
+			}
+		}
+		Set<T> candidates = new LinkedHashSet<>();
+		collect(this.root, segments, 0, candidates);
+		return candidates;
+	}
+
+	private void collect(Node<T> node, List<String> segments, int index, Set<T> candidates) {
+		addCandidates(node.catchAll, candidates);
+		if (index == segments.size()) {
+			addCandidates(node.terminal, candidates);
+			return;
+		}
+		if (node.literalChildren != null) {
+			String segment = segments.get(index);
+			Node<T> child = node.literalChildren.get(segment);
+			if (child != null) {
+				collect(child, segments, index + 1, candidates);
+			}
+			if (this.caseInsensitiveLiterals) {
+				String lowerCaseSegment = toLowerCase(segment);
+				if (!lowerCaseSegment.equals(segment)) {
+					child = node.literalChildren.get(lowerCaseSegment);
+					if (child != null) {
+						collect(child, segments, index + 1, candidates);
+					}
+				}
+			}
+		}
+		if (node.wildcardChild != null) {
+			collect(node.wildcardChild, segments, index + 1, candidates);
+		}
+	}
+
+	private static <T> void addCandidates(@Nullable List<T> values, Set<T> candidates) {
+		if (values != null) {
+			candidates.addAll(values);
+		}
+	}
+
+
+	private static boolean isCatchAll(PathElement elem) {
+		return (elem instanceof WildcardTheRestPathElement || elem instanceof CaptureTheRestPathElement);
+	}
+
+	/**
+	 * Return the last element of the segment starting with the given element.
+	 */
+	private static PathElement getSegmentEnd(PathElement elem) {
+		while (elem.next != null && !(elem.next instanceof SeparatorPathElement) && !isCatchAll(elem.next)) {
+			elem = elem.next;
+		}
+		return elem;
+	}
+
+	/**
+	 * Return the text of the given segment if it consists of a single literal.
+	 */
+	@Nullable
+	private String getLiteral(PathElement elem, PathElement segmentEnd) {
+		if (elem != segmentEnd || !(elem instanceof LiteralPathElement literalElement)) {
+			return null;
+		}
+		if (!literalElement.isCaseSensitive()) {
+			this.caseInsensitiveLiterals = true;
+		}
+		return String.valueOf(literalElement.getChars());
+	}
+
+	/**
+	 * Lower-case the given segment the same way as {@link LiteralPathElement}.
+	 */
+	private static String toLowerCase(String segment) {
+		char[] chars = new char[segment.length()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(segment.charAt(i));
+		}
+		return String.valueOf(chars);
+	}
+
+
+	private static final class Node<T> {
+
+		@Nullable
+		Map<String, Node<T>> literalChildren;
+
+		@Nullable
+		Node<T> wildcardChild;
+
+		@Nullable
+		List<T> terminal;
+
+		@Nullable
+		List<T> catchAll;
+
+		Map<String, Node<T>> getLiteralChildren() {
+			if (this.literalChildren == null) {
+				this.literalChildren = new HashMap<>();
+			}
+			return this.literalChildren;
+		}
+
+		List<T> getTerminal() {
+			if (this.terminal == null) {
+				this.terminal = new ArrayList<>(1);
+			}
+			return this.terminal;
+		}
+
+		List<T> getCatchAll() {
+			if (this.catchAll == null) {
+				this.catchAll = new ArrayList<>(1);
+			}
+			return this.catchAll;
+		}
+
+		boolean isEmpty() {
+			return ((this.literalChildren == null || this.literalChildren.isEmpty()) && this.wildcardChild == null &&
+					(this.terminal == null || this.terminal.isEmpty()) && (this.catchAll == null || this.catchAll.isEmpty()));
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.CodecException;
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.testfixture.codec.AbstractDecoderTests;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.json.JacksonViewBean.MyJacksonView1;
@@ -161,6 +162,74 @@ public class Jackson2JsonDecoderTests extends AbstractDecoderTests<Jackson2JsonD
 	}
 
 
+	@Test
+	public void decodeToMonoWithStreamingArrayDecoding() {
+		this.decoder.setStreamingArrayDecoding(true);
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},"),
+				stringBuffer("{\"bar\":\"b2\",\"foo\":\"f2\"}]"));
+
+		ResolvableType elementType = ResolvableType.forClassWithGenerics(List.class, Pojo.class);
+
+		testDecodeToMonoAll(input, elementType, step -> step
+				.expectNext(Arrays.asList(new Pojo("f1", "b1"), new Pojo("f2", "b2")))
+				.expectComplete()
+				.verify(), null, null);
+	}
+
+	@Test
+	public void decodeToMonoWithStreamingArrayDecodingExceedingMaxInMemorySize() {
+		this.decoder.setStreamingArrayDecoding(true);
+		this.decoder.setMaxInMemorySize(32);
+		Flux<DataBuffer> input = Flux.concat(
+				stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},"),
+				stringBuffer("{\"bar\":\"b2\",\"foo\":\"f2\"}]"));
+
+		// Each element fits, the array as a whole does not
+		ResolvableType elementType = ResolvableType.forClassWithGenerics(List.class, Pojo.class);
+		testDecodeToMono(input, elementType, step -> step
+				.expectError(DataBufferLimitException.class)
+				.verify(), null, null);
+	}
+
+	@Test
+	public void decodeToMonoWithStreamingArrayDecodingOfScalars() {
+		this.decoder.setStreamingArrayDecoding(true);
+
+		Flux<DataBuffer> input = Flux.concat(stringBuffer("[1, 2, nu"), stringBuffer("ll, 9223372036854775807]"));
+		ResolvableType elementType = ResolvableType.forClassWithGenerics(List.class, Long.class);
+		testDecodeToMono(input, elementType, step -> step
+				.expectNext(Arrays.asList(1L, 2L, null, Long.MAX_VALUE))
+				.verifyComplete(), null, null);
+
+		input = Flux.concat(stringBuffer("[\"a\", \"b\"]"));
+		testDecodeToMono(input, String[].class, step -> step
+				.assertNext(value -> assertThat((String[]) value).containsExactly("a", "b"))
+				.verifyComplete());
+
+		input = Flux.concat(stringBuffer("[1, \"2\", 3.0]"));
+		testDecodeToMono(input, int[].class, step -> step
+				.assertNext(value -> assertThat((int[]) value).containsExactly(1, 2, 3))
+				.verifyComplete());
+
+		// Same as without streaming: null decodes to 0 unless FAIL_ON_NULL_FOR_PRIMITIVES is enabled
+		input = Flux.concat(stringBuffer("[1, null]"));
+		testDecodeToMono(input, int[].class, step -> step
+				.assertNext(value -> assertThat((int[]) value).containsExactly(1, 0))
+				.verifyComplete());
+	}
+
+	@Test
+	public void decodeToMonoWithStreamingArrayDecodingOfNonArray() {
+		this.decoder.setStreamingArrayDecoding(true);
+		Flux<DataBuffer> input = Flux.concat(stringBuffer("{\"bar\":\"b1\",\"foo\":\"f1\"}"));
+		ResolvableType elementType = ResolvableType.forClassWithGenerics(List.class, Pojo.class);
+
+		testDecodeToMono(input, elementType, step -> step
+				.expectError(DecodingException.class)
+				.verify(), null, null);
+	}
+
 	@Test
 	public void decodeEmptyArrayToFlux() {
 		Flux<DataBuffer> input = Flux.from(stringBuffer("[]"));
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,15 +18,18 @@ package org.springframework.http.server.reactive;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Arrays;
 
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.RequestEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.testfixture.http.server.reactive.bootstrap.AbstractHttpHandlerIntegrationTests;
 import org.springframework.web.testfixture.http.server.reactive.bootstrap.HttpServer;
@@ -69,6 +72,24 @@ class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTests {
 		assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
 	}
 
+	@ParameterizedHttpServerTest
+	void zeroCopyRegion(HttpServer httpServer) throws Exception {
+		assumeTrue(httpServer instanceof ReactorHttpServer || httpServer instanceof UndertowHttpServer,
+			"Zero-copy does not support Servlet");
+
+		startServer(httpServer);
+
+		URI url = new URI("http://localhost:" + port + "/region");
+		RequestEntity<?> request = RequestEntity.get(url).build();
+		ResponseEntity<byte[]> response = new RestTemplate().exchange(request, byte[].class);
+
+		byte[] expected = Arrays.copyOfRange(
+				StreamUtils.copyToByteArray(springLogoResource.getInputStream()), 100, 600);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+		assertThat(response.getHeaders().getContentLength()).isEqualTo(500);
+		assertThat(response.getBody()).isEqualTo(expected);
+	}
+
 
 	private static class ZeroCopyHandler implements HttpHandler {
 
@@ -78,6 +99,11 @@ class ZeroCopyIntegrationTests extends AbstractHttpHandlerIntegrationTests {
 				ZeroCopyHttpOutputMessage zeroCopyResponse = (ZeroCopyHttpOutputMessage) response;
 				File logoFile = springLogoResource.getFile();
 				zeroCopyResponse.getHeaders().setContentType(MediaType.IMAGE_PNG);
+				if (request.getPath().value().equals("/region")) {
+					zeroCopyResponse.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+					zeroCopyResponse.getHeaders().setContentLength(500);
+					return zeroCopyResponse.writeWith(logoFile, 100, 500);
+				}
 				zeroCopyResponse.getHeaders().setContentLength(logoFile.length());
 				return zeroCopyResponse.writeWith(logoFile, 0, logoFile.length());
 			}
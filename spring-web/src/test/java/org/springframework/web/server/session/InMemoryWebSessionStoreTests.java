@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -158,6 +158,54 @@ public class InMemoryWebSessionStoreTests {
 			.withMessage("Max sessions limit reached: 10000");
 	}
 
+	@Test
+	public void maxSessionsDoesNotApplyToStoredSession() {
+		this.store.setMaxSessions(1);
+		WebSession session = insertSession();
+		session.getAttributes().put("foo", "bar");
+		session.save().block();
+		assertThat(this.store.getSessions()).containsOnlyKeys(session.getId());
+	}
+
+	@Test
+	public void maxSessionsWithLeastRecentlyUsedEviction() {
+		this.store.setMaxSessions(2);
+		this.store.setEvictLeastRecentlyUsed(true);
+		WebSession session1 = insertSession();
+		forwardClock(Duration.ofMinutes(1));
+		WebSession session2 = insertSession();
+		forwardClock(Duration.ofMinutes(1));
+		assertThat(this.store.retrieveSession(session1.getId()).block()).isSameAs(session1);
+
+		WebSession session3 = insertSession();
+		assertThat(this.store.getSessions()).containsOnlyKeys(session1.getId(), session3.getId());
+		assertThat(session2.isExpired()).isTrue();
+
+		WebSession session4 = insertSession();
+		assertThat(this.store.getSessions()).containsOnlyKeys(session3.getId(), session4.getId());
+	}
+
+	@Test
+	public void removeExpiredSessionsAccountsForLastAccessTime() {
+		WebSession session1 = insertSession();
+		WebSession session2 = insertSession();
+		forwardClock(Duration.ofMinutes(20));
+		assertThat(this.store.retrieveSession(session1.getId()).block()).isSameAs(session1);
+
+		forwardClock(Duration.ofMinutes(15));
+		assertThat(this.store.getSessions()).containsOnlyKeys(session1.getId());
+		assertThat(session2.isExpired()).isTrue();
+
+		forwardClock(Duration.ofMinutes(20));
+		assertThat(this.store.getSessions()).isEmpty();
+		assertThat(session1.isExpired()).isTrue();
+	}
+
+	private void forwardClock(Duration duration) {
+		// Setting the clock removes expired sessions
+		this.store.setClock(Clock.offset(this.store.getClock(), duration));
+	}
+
 	private WebSession insertSession() {
 		WebSession session = this.store.createWebSession().block();
 		assertThat(session).isNotNull();
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PathPatternIndex}.
+ *
+ * @author agent
+ */
+class PathPatternIndexTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+	private final PathPatternIndex<String> index = new PathPatternIndex<>();
+
+
+	@Test
+	void literalPatterns() {
+		add("/", "/projects", "/projects/spring", "/team");
+
+		assertThat(candidates("/")).containsExactly("/");
+		assertThat(candidates("/projects")).containsExactly("/projects");
+		assertThat(candidates("/projects/")).containsExactly("/projects");
+		assertThat(candidates("/projects/spring")).containsExactly("/projects/spring");
+		assertThat(candidates("/projects/reactor")).isEmpty();
+		assertThat(candidates("/blog")).isEmpty();
+	}
+
+	@Test
+	void capturePatterns() {
+		add("/projects/{name}", "/projects/{name}/releases/{version}", "/projects/spring", "/blog/{slug}.atom");
+
+		assertThat(candidates("/projects/spring")).containsExactlyInAnyOrder("/projects/{name}", "/projects/spring");
+		assertThat(candidates("/projects/reactor")).containsExactly("/projects/{name}");
+		assertThat(candidates("/projects/reactor/releases/1.0")).containsExactly("/projects/{name}/releases/{version}");
+		assertThat(candidates("/blog/news.atom")).containsExactly("/blog/{slug}.atom");
+		assertThat(candidates("/team/spring")).isEmpty();
+	}
+
+	@Test
+	void wildcardPatterns() {
+		add("/static/**", "/files/{*path}", "/images/*", "/{*rest}");
+
+		assertThat(candidates("/static")).containsExactlyInAnyOrder("/static/**", "/{*rest}");
+		assertThat(candidates("/static/css/main.css")).containsExactlyInAnyOrder("/static/**", "/{*rest}");
+		assertThat(candidates("/files/a/b")).containsExactlyInAnyOrder("/files/{*path}", "/{*rest}");
+		assertThat(candidates("/images/")).containsExactlyInAnyOrder("/images/*", "/{*rest}");
+		assertThat(candidates("/images/logo.png")).containsExactlyInAnyOrder("/images/*", "/{*rest}");
+		assertThat(candidates("/other")).containsExactly("/{*rest}");
+	}
+
+	@Test
+	void caseInsensitivePatterns() {
+		this.parser.setCaseSensitive(false);
+		add("/Projects/{name}");
+
+		assertThat(candidates("/PROJECTS/spring")).containsExactly("/Projects/{name}");
+		assertThat(candidates("/projects/spring")).containsExactly("/Projects/{name}");
+	}
+
+	@Test
+	void matrixVariables() {
+		add("/cars/{id}");
+
+		assertThat(candidates("/cars;color=red/42")).containsExactly("/cars/{id}");
+	}
+
+	@Test
+	void valueAddedForMultiplePatterns() {
+		this.index.add(this.parser.parse("/projects/{name}"), "projects");
+		this.index.add(this.parser.parse("/projects/spring"), "projects");
+		this.index.add(this.parser.parse("/projects/**"), "projects");
+
+		assertThat(candidates("/projects/spring")).containsExactly("projects");
+	}
+
+	@Test
+	void candidatesIncludeAllMatchingPatterns() {
+		List<PathPattern> patterns = add("", "/", "/a", "/a/", "/a/*", "/a/{id}", "/a/{id}/c", "/a/b*",
+				"/a/{x}.json", "/a/**", "/a/b/{*rest}", "/x/?y", "/c//d", "/*/c", "/a/*/c", "/{*rest}");
+		String[] paths = {"", "/", "/a", "/a/", "/a/b", "/a/b/", "/a/bc", "/a/1/c", "/a/1.json",
+				"/a/b/c/d", "/x/zy", "/c//d", "/c/d", "/q/c", "/a;p=1/b"};
+
+		for (String path : paths) {
+			Collection<String> candidates = candidates(path);
+			for (PathPattern pattern : patterns) {
+				if (pattern.matches(PathContainer.parsePath(path))) {
+					assertThat(candidates).as(path).contains(pattern.getPatternString());
+				}
+			}
+		}
+	}
+
+	@Test
+	void remove() {
+		List<PathPattern> patterns = add("/projects/{name}", "/projects/spring", "/static/**", "/images/*");
+		for (PathPattern pattern : patterns) {
+			assertThat(this.index.remove(pattern, pattern.getPatternString())).isTrue();
+		}
+
+		assertThat(this.index.isEmpty()).isTrue();
+		assertThat(candidates("/projects/spring")).isEmpty();
+		assertThat(candidates("/images/")).isEmpty();
+		assertThat(this.index.remove(patterns.get(0), "/projects/{name}")).isFalse();
+	}
+
+
+	private List<PathPattern> add(String... patterns) {
+		List<PathPattern> result = new ArrayList<>(patterns.length);
+		for (String pattern : patterns) {
+			PathPattern pathPattern = this.parser.parse(pattern);
+			this.index.add(pathPattern, pattern);
+			result.add(pathPattern);
+		}
+		return result;
+	}
+
+	private Collection<String> candidates(String path) {
+		return this.index.getCandidates(PathContainer.parsePath(path));
+	}
+
+}
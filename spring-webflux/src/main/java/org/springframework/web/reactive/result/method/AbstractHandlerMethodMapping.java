@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,10 +36,12 @@ import reactor.core.publisher.Mono;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -49,6 +51,8 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.reactive.handler.AbstractHandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -326,7 +330,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, exchange);
 		}
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, exchange);
+			addMatchingMappings(this.mappingRegistry.getMappingsByPath(exchange), matches, exchange);
 		}
 		if (!matches.isEmpty()) {
 			Comparator<Match> comparator = new MatchComparator(getMappingComparator(exchange));
@@ -442,6 +446,17 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return Collections.emptySet();
 	}
 
+	/**
+	 * Return the parsed patterns of the given mapping, used to narrow down the
+	 * mappings to check for a request path without a direct path match.
+	 * Mappings without parsed patterns are checked for every such request.
+	 * @since 6.0
+	 */
+	@Nullable
+	protected Set<PathPattern> getPathPatterns(T mapping) {
+		return null;
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -473,6 +488,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> pathLookup = new LinkedMultiValueMap<>();
 
+		private final PathPatternIndex<T> patternIndex = new PathPatternIndex<>();
+
+		private final List<T> unindexedMappings = new ArrayList<>();
+
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
 		private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
@@ -496,6 +515,27 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(path);
 		}
 
+		/**
+		 * Return the mappings that may match the given request path, narrowed
+		 * down through the parsed patterns of the mappings. Not thread-safe.
+		 * @since 6.0
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPath(ServerWebExchange exchange) {
+			if (this.patternIndex.isEmpty()) {
+				return this.registry.keySet();
+			}
+			PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+			Collection<T> candidates = this.patternIndex.getCandidates(path);
+			if (this.unindexedMappings.isEmpty()) {
+				return candidates;
+			}
+			List<T> result = new ArrayList<>(candidates.size() + this.unindexedMappings.size());
+			result.addAll(candidates);
+			result.addAll(this.unindexedMappings);
+			return result;
+		}
+
 		/**
 		 * Return CORS configuration. Thread-safe for concurrent use.
 		 */
@@ -530,6 +570,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.pathLookup.add(path, mapping);
 				}
 
+				Set<PathPattern> patterns = getPathPatterns(mapping);
+				if (!CollectionUtils.isEmpty(patterns)) {
+					for (PathPattern pattern : patterns) {
+						this.patternIndex.add(pattern, mapping);
+					}
+				}
+				else {
+					this.unindexedMappings.add(mapping);
+				}
+
 				CorsConfiguration corsConfig = initCorsConfiguration(handler, method, mapping);
 				if (corsConfig != null) {
 					corsConfig.validateAllowCredentials();
@@ -573,6 +623,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				Set<PathPattern> patterns = getPathPatterns(registration.getMapping());
+				if (!CollectionUtils.isEmpty(patterns)) {
+					for (PathPattern pattern : patterns) {
+						this.patternIndex.remove(pattern, registration.getMapping());
+					}
+				}
+				else {
+					this.unindexedMappings.remove(registration.getMapping());
+				}
+
 				this.corsLookup.remove(registration.getHandlerMethod());
 			}
 			finally {
@@ -78,6 +78,11 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getDirectPaths();
 	}
 
+	@Override
+	protected Set<PathPattern> getPathPatterns(RequestMappingInfo info) {
+		return info.getPatternsCondition().getPatterns();
+	}
+
 	/**
 	 * Check if the given RequestMappingInfo matches the current request and
 	 * return a (potentially new) instance with conditions that match the
@@ -39,9 +39,11 @@ import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -49,6 +51,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
 import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
@@ -405,7 +410,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, request);
+			addMatchingMappings(getCandidateMappings(request), matches, request);
 		}
 		if (!matches.isEmpty()) {
 			Match bestMatch = matches.get(0);
@@ -443,6 +448,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 	}
 
+	private Collection<T> getCandidateMappings(HttpServletRequest request) {
+		if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
+			PathContainer path = ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication();
+			return this.mappingRegistry.getMappingsByPath(path);
+		}
+		return this.mappingRegistry.getRegistrations().keySet();
+	}
+
 	private void addMatchingMappings(Collection<T> mappings, List<Match> matches, HttpServletRequest request) {
 		for (T mapping : mappings) {
 			T match = getMatchingMapping(mapping, request);
@@ -544,6 +557,17 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return urls;
 	}
 
+	/**
+	 * Return the parsed patterns of the given mapping, used to narrow down the
+	 * mappings to check for a request path without a direct path match.
+	 * Mappings without parsed patterns are checked for every such request.
+	 * @since 6.0
+	 */
+	@Nullable
+	protected Set<PathPattern> getPathPatterns(T mapping) {
+		return null;
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -574,6 +598,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> pathLookup = new LinkedMultiValueMap<>();
 
+		private final PathPatternIndex<T> patternIndex = new PathPatternIndex<>();
+
+		private final List<T> unindexedMappings = new ArrayList<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -597,6 +625,26 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings that may match the given path, narrowed down
+		 * through the parsed patterns of the mappings. Not thread-safe.
+		 * @since 6.0
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPath(PathContainer path) {
+			if (this.patternIndex.isEmpty()) {
+				return this.registry.keySet();
+			}
+			Collection<T> candidates = this.patternIndex.getCandidates(path);
+			if (this.unindexedMappings.isEmpty()) {
+				return candidates;
+			}
+			List<T> result = new ArrayList<>(candidates.size() + this.unindexedMappings.size());
+			result.addAll(candidates);
+			result.addAll(this.unindexedMappings);
+			return result;
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -638,6 +686,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.pathLookup.add(path, mapping);
 				}
 
+				Set<PathPattern> patterns = getPathPatterns(mapping);
+				if (!CollectionUtils.isEmpty(patterns)) {
+					for (PathPattern pattern : patterns) {
+						this.patternIndex.add(pattern, mapping);
+					}
+				}
+				else {
+					this.unindexedMappings.add(mapping);
+				}
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -705,6 +763,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				Set<PathPattern> patterns = getPathPatterns(registration.getMapping());
+				if (!CollectionUtils.isEmpty(patterns)) {
+					for (PathPattern pattern : patterns) {
+						this.patternIndex.remove(pattern, registration.getMapping());
+					}
+				}
+				else {
+					this.unindexedMappings.remove(registration.getMapping());
+				}
+
 				removeMappingName(registration);
 
 				this.corsLookup.remove(registration.getHandlerMethod());
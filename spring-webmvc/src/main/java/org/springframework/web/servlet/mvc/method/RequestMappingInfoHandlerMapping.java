@@ -98,6 +98,13 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getDirectPaths();
 	}
 
+	@Override
+	@Nullable
+	protected Set<PathPattern> getPathPatterns(RequestMappingInfo info) {
+		PathPatternsRequestCondition condition = info.getPathPatternsCondition();
+		return (condition != null ? condition.getPatterns() : null);
+	}
+
 	/**
 	 * Check if the given RequestMappingInfo matches the current request and
 	 * return a (potentially new) instance with conditions that match the
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -661,6 +661,9 @@ class MessageBrokerBeanDefinitionParser implements BeanDefinitionParser {
 		if (StompBrokerRelayMessageHandler.class == broker.getBeanClass()) {
 			beanDef.getPropertyValues().add("stompBrokerRelay", broker);
 		}
+		else if (SimpleBrokerMessageHandler.class == broker.getBeanClass()) {
+			beanDef.getPropertyValues().add("simpleBroker", broker);
+		}
 		String name = inChannel.getBeanName() + "Executor";
 		if (context.getRegistry().containsBeanDefinition(name)) {
 			beanDef.getPropertyValues().add("inboundChannelExecutor", context.getRegistry().getBeanDefinition(name));
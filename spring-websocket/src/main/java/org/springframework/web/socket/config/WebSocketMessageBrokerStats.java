@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.lang.Nullable;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
 import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -67,6 +68,9 @@ public class WebSocketMessageBrokerStats {
 	@Nullable
 	private StompBrokerRelayMessageHandler stompBrokerRelay;
 
+	@Nullable
+	private SimpleBrokerMessageHandler simpleBroker;
+
 	@Nullable
 	private TaskExecutor inboundChannelExecutor;
 
@@ -108,6 +112,14 @@ public class WebSocketMessageBrokerStats {
 		this.stompBrokerRelay = stompBrokerRelay;
 	}
 
+	/**
+	 * Set the simple broker to report on, when using the simple in-memory broker.
+	 * @since 6.0
+	 */
+	public void setSimpleBroker(SimpleBrokerMessageHandler simpleBroker) {
+		this.simpleBroker = simpleBroker;
+	}
+
 	public void setInboundChannelExecutor(TaskExecutor inboundChannelExecutor) {
 		this.inboundChannelExecutor = inboundChannelExecutor;
 	}
@@ -172,6 +184,15 @@ public class WebSocketMessageBrokerStats {
 		return (this.stompBrokerRelay != null ? this.stompBrokerRelay.getStatsInfo() : "null");
 	}
 
+	/**
+	 * Get stats about the simple broker (when using the simple in-memory broker),
+	 * including the number of messages waiting in the lanes of a sharded broker.
+	 * @since 6.0
+	 */
+	public String getSimpleBrokerStatsInfo() {
+		return (this.simpleBroker != null ? this.simpleBroker.getStatsInfo() : "null");
+	}
+
 	/**
 	 * Get stats about the executor processing incoming messages from WebSocket clients.
 	 */
@@ -229,6 +250,7 @@ public class WebSocketMessageBrokerStats {
 		return "WebSocketSession[" + getWebSocketSessionStatsInfo() + "]" +
 				", stompSubProtocol[" + getStompSubProtocolStatsInfo() + "]" +
 				", stompBrokerRelay[" + getStompBrokerRelayStatsInfo() + "]" +
+				", simpleBroker[" + getSimpleBrokerStatsInfo() + "]" +
 				", inboundChannel[" + getClientInboundExecutorStatsInfo() + "]" +
 				", outboundChannel[" + getClientOutboundExecutorStatsInfo() + "]" +
 				", sockJsScheduler[" + getSockJsTaskSchedulerStatsInfo() + "]";
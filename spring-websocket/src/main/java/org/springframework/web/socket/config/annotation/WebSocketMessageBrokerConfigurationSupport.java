@@ -28,6 +28,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.SimpSessionScope;
 import org.springframework.messaging.simp.annotation.support.SimpAnnotationMethodMessageHandler;
 import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
 import org.springframework.messaging.simp.config.AbstractMessageBrokerConfiguration;
 import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
 import org.springframework.messaging.simp.user.SimpUserRegistry;
@@ -140,6 +141,13 @@ public abstract class WebSocketMessageBrokerConfigurationSupport extends Abstrac
 		if (stompBrokerRelayMessageHandler instanceof StompBrokerRelayMessageHandler) {
 			stats.setStompBrokerRelay((StompBrokerRelayMessageHandler) stompBrokerRelayMessageHandler);
 		}
+		ApplicationContext applicationContext = getApplicationContext();
+		if (applicationContext != null) {
+			applicationContext.getBeanProvider(AbstractBrokerMessageHandler.class).stream()
+					.filter(SimpleBrokerMessageHandler.class::isInstance)
+					.findFirst()
+					.ifPresent(handler -> stats.setSimpleBroker((SimpleBrokerMessageHandler) handler));
+		}
 		stats.setInboundChannelExecutor(inboundExecutor);
 		stats.setOutboundChannelExecutor(outboundExecutor);
 		stats.setSockJsTaskScheduler(scheduler);
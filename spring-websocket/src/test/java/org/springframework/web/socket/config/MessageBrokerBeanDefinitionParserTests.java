@@ -308,6 +308,7 @@ public class MessageBrokerBeanDefinitionParserTests {
 				"stompSubProtocol\\[processed CONNECT\\(0\\)-CONNECTED\\(0\\)-DISCONNECT\\(0\\)], " +
 				"stompBrokerRelay\\[0 sessions, relayhost:1234 \\(not available\\), " +
 				"processed CONNECT\\(0\\)-CONNECTED\\(0\\)-DISCONNECT\\(0\\)], " +
+				"simpleBroker\\[null], " +
 				"inboundChannel\\[pool size = \\d, active threads = \\d, queued tasks = \\d, " +
 				"completed tasks = \\d], " +
 				"outboundChannel\\[pool size = \\d, active threads = \\d, queued tasks = \\d, " +
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2022 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,7 +40,7 @@ class WebSocketMessageBrokerStatsTests {
 	@Test
 	void nullValues() {
 		String expected = "WebSocketSession[null], stompSubProtocol[null], stompBrokerRelay[null], " +
-				"inboundChannel[null], outboundChannel[null], sockJsScheduler[null]";
+				"simpleBroker[null], inboundChannel[null], outboundChannel[null], sockJsScheduler[null]";
 		assertThat(stats).hasToString(expected);
 	}
 